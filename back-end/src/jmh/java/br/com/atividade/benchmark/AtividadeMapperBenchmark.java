@@ -0,0 +1,61 @@
+package br.com.atividade.benchmark;
+
+import br.com.atividade.mapper.AtividadeMapper;
+import br.com.atividade.mapper.AtividadeMapperImpl;
+import br.com.atividade.model.Atividade;
+import br.com.atividade.sevice.dto.output.AtividadeOutput;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversão entidade → {@link AtividadeOutput} pelo MapStruct, item a item e em lista.
+ * Roda com {@code mvn test -Pjmh -Djmh.filtro=AtividadeMapperBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AtividadeMapperBenchmark {
+
+    @Param({"1", "100", "1000"})
+    private int tamanho;
+
+    private final AtividadeMapper mapper = new AtividadeMapperImpl();
+    private List<Atividade> atividades;
+
+    @Setup
+    public void setUp() {
+        atividades = new ArrayList<>(tamanho);
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 6, 0);
+        for (int i = 0; i < tamanho; i++) {
+            Atividade atividade = new Atividade();
+            atividade.setIdAtividade((long) i + 1);
+            atividade.setFuncional("EMP" + (i % 200));
+            atividade.setDataHora(base.plusMinutes(17L * i));
+            atividade.setCodigoAtividade(i % 2 == 0 ? "RUN" : "GYM");
+            atividade.setDescricaoAtividade("Atividade sincronizada do wearable " + i);
+            atividade.setVersao(0L);
+            atividades.add(atividade);
+        }
+    }
+
+    @Benchmark
+    public AtividadeOutput toOutput() {
+        return mapper.toOutput(atividades.get(0));
+    }
+
+    @Benchmark
+    public List<AtividadeOutput> toOutputList() {
+        return mapper.toOutputList(atividades);
+    }
+}
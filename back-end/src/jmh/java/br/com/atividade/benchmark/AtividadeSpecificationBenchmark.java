@@ -0,0 +1,97 @@
+package br.com.atividade.benchmark;
+
+import br.com.atividade.model.Atividade;
+import br.com.atividade.repository.specification.AtividadeSpecification;
+import br.com.atividade.sevice.dto.output.AtividadeOutput;
+import br.com.atividade.sevice.paginacao.CursorAtividade;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.hibernate5.SpringBeanContainer;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Montagem da {@link Specification} de {@code listarAtividadesPaginadas} e da CriteriaQuery projetada que o
+ * repositório executa, sem ir ao banco. Roda com {@code mvn test -Pjmh -Djmh.filtro=AtividadeSpecificationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AtividadeSpecificationBenchmark {
+
+    // funcional: só o filtro mais comum; todos: os cinco filtros + cursor; indice: descrição resolvida em IN de 1000 IDs
+    @Param({"funcional", "todos", "indice"})
+    private String cenario;
+
+    private SessionFactory sessionFactory;
+    private CriteriaBuilder criteriaBuilder;
+    private CursorAtividade cursor;
+    private Set<Long> idsDoIndice;
+
+    @Setup
+    public void setUp() {
+        // Só o metamodelo do Hibernate: dialeto fixo e sem acesso ao JDBC na inicialização. O AtividadeEntityListener
+        // é criado pelo Spring, então basta um bean factory que resolva o ApplicationEventPublisher
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerResolvableDependency(ApplicationEventPublisher.class, (ApplicationEventPublisher) evento -> { });
+        Configuration configuracao = new Configuration()
+                .addAnnotatedClass(Atividade.class)
+                .setProperty(AvailableSettings.DIALECT, "org.hibernate.dialect.H2Dialect")
+                .setProperty(AvailableSettings.ALLOW_METADATA_ON_BOOT, "false")
+                .setProperty(AvailableSettings.USE_SECOND_LEVEL_CACHE, "false");
+        configuracao.getProperties().put(AvailableSettings.BEAN_CONTAINER, new SpringBeanContainer(beanFactory));
+        sessionFactory = configuracao.buildSessionFactory();
+        criteriaBuilder = sessionFactory.getCriteriaBuilder();
+        cursor = new CursorAtividade(LocalDateTime.of(2025, 6, 1, 7, 0), 4242L);
+        idsDoIndice = LongStream.rangeClosed(1, 1000).boxed().collect(Collectors.toSet());
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public CriteriaQuery<AtividadeOutput> montarConsulta() {
+        Specification<Atividade> especificacao = switch (cenario) {
+            case "funcional" -> AtividadeSpecification.comFiltros("EMP001", null, null, null, null)
+                    .and(AtividadeSpecification.aposCursor(null));
+            case "todos" -> AtividadeSpecification.comFiltros("EMP001", "RUN", "parque",
+                            LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31))
+                    .and(AtividadeSpecification.aposCursor(cursor));
+            default -> AtividadeSpecification.comFiltros("EMP001", null, null, null, null)
+                    .and(AtividadeSpecification.comIds(idsDoIndice))
+                    .and(AtividadeSpecification.aposCursor(cursor));
+        };
+
+        CriteriaQuery<AtividadeOutput> consulta = criteriaBuilder.createQuery(AtividadeOutput.class);
+        Root<Atividade> root = consulta.from(Atividade.class);
+        consulta.select(criteriaBuilder.construct(AtividadeOutput.class, root.get("idAtividade"), root.get("funcional"),
+                        root.get("dataHora"), root.get("codigoAtividade"), root.get("descricaoAtividade"), root.get("versao")))
+                .where(especificacao.toPredicate(root, consulta, criteriaBuilder))
+                .orderBy(List.of(criteriaBuilder.asc(root.get("dataHora")), criteriaBuilder.asc(root.get("idAtividade"))));
+        return consulta;
+    }
+}
@@ -0,0 +1,88 @@
+package br.com.atividade.benchmark;
+
+import br.com.atividade.config.LimiteRequisicoesProperties;
+import br.com.atividade.config.limite.BaldesTokens;
+import br.com.atividade.config.limite.LimitadorRequisicoes;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo do limite de requisições por requisição: o consumo no balde de uma chave só disputada por todas as
+ * threads, o consumo espalhado entre muitas chaves e a verificação completa do cliente (rota, IP de origem, balde e
+ * contador). Os baldes repõem rápido o bastante para nenhuma chamada ser recusada, medindo o caminho comum.
+ * Roda com {@code mvn test -Pjmh -Djmh.filtro=LimiteRequisicoesBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(8)
+public class LimiteRequisicoesBenchmark {
+
+    @Param({"1", "10000"})
+    private int chaves;
+
+    private BaldesTokens baldes;
+    private String[] nomes;
+    private String[] ips;
+    private LimitadorRequisicoes limitador;
+
+    @Setup
+    public void setUp() {
+        // Rajada de 10 s: uma thread parada pelo escalonador entre ler o relógio e consumir não vê o balde vazio
+        baldes = new BaldesTokens(1_000_000_000, 1e8, 100_000);
+        nomes = new String[chaves];
+        ips = new String[chaves];
+        for (int i = 0; i < chaves; i++) {
+            nomes[i] = "cliente-" + i;
+            ips[i] = "10.0." + (i >> 8) + "." + (i & 0xFF);
+        }
+
+        LimiteRequisicoesProperties.Balde balde = new LimiteRequisicoesProperties.Balde();
+        balde.setCapacidade(1_000_000_000);
+        balde.setPorSegundo(1e8);
+        LimiteRequisicoesProperties.Regra regra = new LimiteRequisicoesProperties.Regra();
+        regra.setMetodo("GET");
+        regra.setRota("/atividades");
+        regra.setPorCliente(balde);
+        LimiteRequisicoesProperties properties = new LimiteRequisicoesProperties();
+        properties.setRotas(List.of(regra));
+        limitador = new LimitadorRequisicoes(properties, new SimpleMeterRegistry());
+    }
+
+    @State(Scope.Thread)
+    public static class Requisicao {
+
+        private MockHttpServletRequest request;
+
+        @Setup
+        public void setUp(LimiteRequisicoesBenchmark benchmark) {
+            request = new MockHttpServletRequest("GET", "/atividades");
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/atividades");
+            request.setRemoteAddr(benchmark.ips[ThreadLocalRandom.current().nextInt(benchmark.chaves)]);
+        }
+    }
+
+    @Benchmark
+    public long consumir() {
+        return baldes.consumir(nomes[ThreadLocalRandom.current().nextInt(chaves)], 1, System.nanoTime());
+    }
+
+    @Benchmark
+    public void verificarCliente(Requisicao requisicao) {
+        limitador.verificarCliente(requisicao.request);
+    }
+}
@@ -0,0 +1,57 @@
+package br.com.atividade.benchmark;
+
+import br.com.atividade.sevice.dto.output.AtividadeOutput;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização JSON de listas de {@link AtividadeOutput} com o mesmo ObjectMapper que o Spring Boot
+ * configura para a API. Roda com {@code mvn test -Pjmh -Djmh.filtro=SerializacaoAtividadesBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializacaoAtividadesBenchmark {
+
+    @Param({"1", "100", "1000"})
+    private int tamanho;
+
+    private ObjectWriter writer;
+    private List<AtividadeOutput> atividades;
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writerFor(new TypeReference<List<AtividadeOutput>>() { });
+
+        atividades = new ArrayList<>(tamanho);
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 6, 0);
+        for (int i = 0; i < tamanho; i++) {
+            atividades.add(new AtividadeOutput((long) i + 1, "EMP" + (i % 200), base.plusMinutes(17L * i),
+                    i % 2 == 0 ? "RUN" : "GYM", "Atividade sincronizada do wearable " + i, 0L));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializarLista() throws JsonProcessingException {
+        return writer.writeValueAsBytes(atividades);
+    }
+}
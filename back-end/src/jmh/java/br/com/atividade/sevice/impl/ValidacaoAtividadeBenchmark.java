@@ -0,0 +1,81 @@
+package br.com.atividade.sevice.impl;
+
+import br.com.atividade.sevice.dto.input.AtividadeInput;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de validar um {@link AtividadeInput} na criação: Bean Validation ({@code @Valid} no controller) e a
+ * checagem repetida em {@link ValidadorAtividade}. Fica no pacote do serviço porque o validador é package-private.
+ * Roda com {@code mvn test -Pjmh -Djmh.filtro=ValidacaoAtividadeBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ValidacaoAtividadeBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private AtividadeInput valida;
+    private AtividadeInput invalida;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+
+        valida = new AtividadeInput();
+        valida.setFuncional("EMP001");
+        valida.setDataHora(LocalDateTime.of(2025, 6, 1, 7, 0));
+        valida.setCodigoAtividade("RUN");
+        valida.setDescricaoAtividade("Corrida no parque");
+
+        invalida = new AtividadeInput();
+        invalida.setFuncional(" ");
+        invalida.setCodigoAtividade("CODIGO-COM-MAIS-DE-VINTE-CARACTERES");
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<AtividadeInput>> beanValidation() {
+        return validator.validate(valida);
+    }
+
+    // Violações montam mensagens interpoladas e são o caso caro do Hibernate Validator
+    @Benchmark
+    public Set<ConstraintViolation<AtividadeInput>> beanValidationComViolacoes() {
+        return validator.validate(invalida);
+    }
+
+    @Benchmark
+    public AtividadeInput validadorAtividade() {
+        ValidadorAtividade.validar(valida);
+        return valida;
+    }
+
+    // Caminho completo de POST /atividades: as duas validações em sequência
+    @Benchmark
+    public Set<ConstraintViolation<AtividadeInput>> beanValidationMaisValidadorAtividade() {
+        Set<ConstraintViolation<AtividadeInput>> violacoes = validator.validate(valida);
+        ValidadorAtividade.validar(valida);
+        return violacoes;
+    }
+}
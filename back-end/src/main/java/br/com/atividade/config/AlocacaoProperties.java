@@ -0,0 +1,12 @@
+package br.com.atividade.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "atividade.alocacao")
+public class AlocacaoProperties {
+
+    // Pode ser trocado em execução por /actuator/alocacao
+    private volatile boolean habilitada = true;
+}
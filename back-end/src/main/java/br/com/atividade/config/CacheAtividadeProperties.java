@@ -0,0 +1,29 @@
+package br.com.atividade.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "atividade.cache")
+public class CacheAtividadeProperties {
+
+    // Cada instância tem o seu cache, sem invalidação entre elas: o TTL é o atraso máximo com que uma
+    // leitura vê a escrita feita em outra instância
+    private Regiao entidade = new Regiao(10000, Duration.ofSeconds(5));
+
+    private Regiao consultas = new Regiao(1000, Duration.ofSeconds(5));
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Regiao {
+
+        private long tamanhoMaximo;
+
+        private Duration ttl;
+    }
+}
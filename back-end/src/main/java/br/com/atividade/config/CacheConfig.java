@@ -0,0 +1,66 @@
+package br.com.atividade.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+// Cache de segundo nível do Hibernate (JCache sobre Caffeine). As regiões são criadas aqui, com tamanho
+// e TTL vindos de atividade.cache.*, e o CacheManager é entregue pronto ao Hibernate
+@Configuration
+public class CacheConfig {
+
+    public static final String REGIAO_ATIVIDADE = "atividade";
+    public static final String REGIAO_ATIVIDADES_POR_FUNCIONAL = "atividade-por-funcional";
+
+    private static final String REGIAO_CONSULTAS_PADRAO = "default-query-results-region";
+    private static final String REGIAO_TIMESTAMPS = "default-update-timestamps-region";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(CacheAtividadeProperties properties) {
+        // O provider JCache reaproveita o CacheManager por URI; uma URI própria evita que dois contextos
+        // Spring na mesma JVM (ex.: testes) disputem as mesmas regiões
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("atividade:" + UUID.randomUUID()), getClass().getClassLoader());
+
+        criarRegiao(cacheManager, REGIAO_ATIVIDADE, properties.getEntidade());
+        criarRegiao(cacheManager, REGIAO_ATIVIDADES_POR_FUNCIONAL, properties.getConsultas());
+        criarRegiao(cacheManager, REGIAO_CONSULTAS_PADRAO, properties.getConsultas());
+        // Os timestamps de atualização por tabela não podem expirar nem ser despejados antes dos
+        // resultados de consulta que eles invalidam
+        criarRegiao(cacheManager, REGIAO_TIMESTAMPS, null);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    // cache.gets{result=hit|miss}, cache.puts, cache.evictions e cache.removals por região
+    @Bean
+    public MeterBinder hibernateCacheMetrics(CacheManager hibernateCacheManager) {
+        return registry -> hibernateCacheManager.getCacheNames().forEach(regiao ->
+                JCacheMetrics.monitor(registry, hibernateCacheManager.getCache(regiao)));
+    }
+
+    private void criarRegiao(CacheManager cacheManager, String nome, CacheAtividadeProperties.Regiao regiao) {
+        CaffeineConfiguration<Object, Object> configuracao = new CaffeineConfiguration<>();
+        configuracao.setStatisticsEnabled(true);
+        if (regiao != null) {
+            configuracao.setMaximumSize(OptionalLong.of(regiao.getTamanhoMaximo()));
+            configuracao.setExpireAfterWrite(OptionalLong.of(regiao.getTtl().toNanos()));
+        }
+        cacheManager.createCache(nome, configuracao);
+    }
+}
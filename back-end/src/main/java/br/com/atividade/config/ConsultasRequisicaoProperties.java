@@ -0,0 +1,15 @@
+package br.com.atividade.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "atividade.consultas")
+public class ConsultasRequisicaoProperties {
+
+    // Devolve X-Comandos-Sql e Server-Timing (db) em cada resposta; para ambientes fora de produção
+    private boolean cabecalhos = false;
+
+    // Comandos SQL por requisição acima dos quais a requisição é registrada em WARN (0 desliga)
+    private int limiteComandos = 0;
+}
@@ -2,9 +2,10 @@ package br.com.atividade.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.web.cors.CorsConfiguration;
-import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import org.springframework.web.cors.reactive.CorsWebFilter;
 import org.springframework.web.filter.CorsFilter;
 
 import java.util.Arrays;
@@ -13,17 +14,32 @@ import java.util.Arrays;
 public class CorsConfig {
 
     @Bean
+    @Profile("!reativo")
     public CorsFilter corsFilter() {
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", configuracao());
+        
+        return new CorsFilter(source);
+    }
+
+    // Mesmas regras para a API WebFlux do profile reativo
+    @Bean
+    @Profile("reativo")
+    public CorsWebFilter corsWebFilter() {
+        org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource source =
+                new org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", configuracao());
+
+        return new CorsWebFilter(source);
+    }
+
+    private static CorsConfiguration configuracao() {
         CorsConfiguration config = new CorsConfiguration();
         config.setAllowCredentials(true);
         config.addAllowedOriginPattern("*");
         config.addAllowedHeader("*");
         config.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
-        config.setExposedHeaders(Arrays.asList("Location", "Content-Type"));
-        
-        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
-        source.registerCorsConfiguration("/**", config);
-        
-        return new CorsFilter(source);
+        config.setExposedHeaders(Arrays.asList("Location", "Content-Type", "Link", "X-Proximo-Cursor", "ETag", "Retry-After", "X-Ultima-Escrita"));
+        return config;
     }
-}
\ No newline at end of file
+}
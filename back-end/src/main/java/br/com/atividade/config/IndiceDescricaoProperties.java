@@ -0,0 +1,15 @@
+package br.com.atividade.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "atividade.indice-descricao")
+public class IndiceDescricaoProperties {
+
+    private boolean habilitado = true;
+
+    private int limiteCandidatos = 10000;
+
+    private int tamanhoBlocoConstrucao = 1000;
+}
@@ -0,0 +1,56 @@
+package br.com.atividade.config;
+
+import jakarta.validation.Valid;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "atividade.ingestao")
+public class IngestaoProperties {
+
+    private boolean assincrona = false;
+
+    private int capacidadeFila = 8192;
+
+    private int tamanhoLote = 500;
+
+    private Duration intervaloGravacao = Duration.ofMillis(20);
+
+    // Com o banco fora, o lote é tentado de novo indefinidamente; a espera entre as tentativas dobra até esperaMaxima
+    private Duration esperaMaxima = Duration.ofSeconds(30);
+
+    @Valid
+    private Wal wal = new Wal();
+
+    // Log local em disco onde a atividade é registrada antes do 202, para sobreviver a uma queda da instância
+    @Data
+    public static class Wal {
+
+        private boolean habilitado = false;
+
+        private Path diretorio = Path.of("dados", "ingestao-wal");
+
+        private DataSize tamanhoSegmento = DataSize.ofMegabytes(64);
+
+        private Sincronizacao sincronizacao = Sincronizacao.LOTE;
+
+        // Usado apenas com Sincronizacao.INTERVALO
+        private Duration intervaloSincronizacao = Duration.ofMillis(100);
+    }
+
+    public enum Sincronizacao {
+        // fsync a cada atividade, antes do 202
+        ESCRITA,
+        // Requisições concorrentes esperam um único fsync que cobre todas (group commit do log)
+        LOTE,
+        // fsync periódico; o 202 não espera o disco e uma queda do sistema operacional perde até um intervalo
+        INTERVALO
+    }
+}
@@ -0,0 +1,31 @@
+package br.com.atividade.config;
+
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "atividade.jfr")
+public class JfrProperties {
+
+    // Onde as gravações e os despejos são escritos
+    private Path diretorio = Path.of("dados", "jfr");
+
+    // Configuração do JDK usada quando a requisição não informa uma (default ou profile)
+    private String perfilPadrao = "profile";
+
+    // A gravação para sozinha depois desse tempo, caso ninguém a encerre
+    private Duration duracaoMaxima = Duration.ofMinutes(30);
+
+    private DataSize tamanhoMaximo = DataSize.ofMegabytes(100);
+
+    // Despejos e gravações encerradas mantidos no diretório; os mais antigos são apagados a cada novo arquivo
+    @Min(1)
+    private int maximoArquivos = 5;
+}
@@ -0,0 +1,47 @@
+package br.com.atividade.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "atividade.limite-requisicoes")
+public class LimiteRequisicoesProperties {
+
+    private boolean habilitado = true;
+
+    // O cliente é o usuário autenticado ou o IP de origem. O X-Forwarded-For só é lido quando a conexão vem de um
+    // destes endereços (ex.: o balanceador), porque qualquer cliente pode escrever o cabeçalho
+    private List<String> proxiesConfiaveis = new ArrayList<>();
+
+    // Acima disso, chaves novas são recusadas até algum balde voltar a ficar cheio, para que chaves inventadas não
+    // esgotem a memória
+    private int maximoChaves = 100_000;
+
+    private List<Regra> rotas = new ArrayList<>();
+
+    @Data
+    public static class Regra {
+
+        // Método HTTP e padrão da rota como no @RequestMapping (ex.: GET e /atividades)
+        private String metodo;
+
+        private String rota;
+
+        private Balde porCliente;
+
+        private Balde porFuncional;
+    }
+
+    @Data
+    public static class Balde {
+
+        // Rajada máxima: requisições aceitas de uma vez com o balde cheio
+        private int capacidade;
+
+        // Tokens repostos por segundo, a vazão sustentada
+        private double porSegundo;
+    }
+}
@@ -0,0 +1,14 @@
+package br.com.atividade.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "atividade.log")
+public class LogProperties {
+
+    // Fração das requisições com logs DEBUG/INFO (0.0 a 1.0)
+    private double amostragem = 1.0;
+
+    private String cabecalhoRequestId = "X-Request-Id";
+}
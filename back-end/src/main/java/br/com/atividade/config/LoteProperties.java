@@ -0,0 +1,19 @@
+package br.com.atividade.config;
+
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "atividade.lote")
+public class LoteProperties {
+
+    @Min(1)
+    private int tamanhoMaximo = 10000;
+
+    // Divisor do executeBatch a cada tamanhoBatch linhas; zero seria uma divisão por zero em todo lote
+    @Min(1)
+    private int tamanhoBatch = 500;
+}
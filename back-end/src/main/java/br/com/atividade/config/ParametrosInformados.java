@@ -0,0 +1,40 @@
+package br.com.atividade.config;
+
+import java.time.temporal.Temporal;
+import java.util.StringJoiner;
+
+/**
+ * Quais parâmetros de uma chamada vieram preenchidos, para o atributo atividade.filtros dos spans e o campo
+ * parametros dos eventos JFR. Conta como informado um texto não vazio, número, data, booleano ou enum; nulos e
+ * objetos (WebRequest, DTOs) ficam de fora.
+ */
+public final class ParametrosInformados {
+
+    private ParametrosInformados() {
+    }
+
+    public static boolean informado(Object valor) {
+        return valor instanceof CharSequence texto ? !texto.toString().isBlank()
+                : valor instanceof Number || valor instanceof Temporal || valor instanceof Boolean || valor instanceof Enum<?>;
+    }
+
+    // Só os nomes, ex.: funcional,dataInicio,limite
+    public static String nomes(String[] nomes, Object[] valores) {
+        return juntar(nomes, valores, false);
+    }
+
+    // Nomes e valores, ex.: funcional=EMP001,dataInicio=2025-01-01
+    public static String comValores(String[] nomes, Object[] valores) {
+        return juntar(nomes, valores, true);
+    }
+
+    private static String juntar(String[] nomes, Object[] valores, boolean comValor) {
+        StringJoiner parametros = new StringJoiner(",");
+        for (int i = 0; i < valores.length && nomes != null && i < nomes.length; i++) {
+            if (informado(valores[i])) {
+                parametros.add(comValor ? nomes[i] + "=" + valores[i] : nomes[i]);
+            }
+        }
+        return parametros.toString();
+    }
+}
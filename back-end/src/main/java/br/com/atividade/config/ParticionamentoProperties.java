@@ -0,0 +1,32 @@
+package br.com.atividade.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "atividade.particionamento")
+public class ParticionamentoProperties {
+
+    private boolean habilitado = true;
+
+    private String cron = "0 0 3 * * *";
+
+    private int mesesAntecipados = 3;
+
+    // 0 mantém todas as partições
+    private int retencaoMeses = 0;
+
+    private AcaoRetencao acaoRetencao = AcaoRetencao.REMOVER;
+
+    // Quanto esperar pelo lock de manutenção enquanto outra instância executa
+    private Duration esperaLock = Duration.ofMinutes(10);
+
+    public enum AcaoRetencao {
+        // DROP PARTITION: descarta o mês
+        REMOVER,
+        // EXCHANGE PARTITION para atividade_arquivo_pAAAAMM e depois DROP da partição já vazia
+        ARQUIVAR
+    }
+}
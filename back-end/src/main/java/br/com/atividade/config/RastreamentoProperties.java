@@ -0,0 +1,29 @@
+package br.com.atividade.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+// Amostragem e exportação OTLP ficam em management.tracing.* e management.otlp.tracing.* do Spring Boot
+@Data
+@ConfigurationProperties(prefix = "atividade.rastreamento")
+public class RastreamentoProperties {
+
+    private Arquivo arquivo = new Arquivo();
+
+    // Exportação dos spans para arquivo local (OTLP JSON, um lote por linha), para uso sem coletor
+    @Data
+    public static class Arquivo {
+
+        private boolean habilitado = false;
+
+        private Path caminho = Path.of("dados", "rastreamento", "spans.jsonl");
+
+        // Ao atingir o tamanho, o arquivo é rotacionado; os mais antigos além da quantidade são apagados
+        private DataSize tamanhoMaximo = DataSize.ofMegabytes(50);
+
+        private int quantidade = 5;
+    }
+}
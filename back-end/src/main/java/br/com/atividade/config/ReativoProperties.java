@@ -0,0 +1,23 @@
+package br.com.atividade.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+// Conexões R2DBC da API reativa (profile reativo). Apontam para o mesmo banco do spring.datasource,
+// que continua sendo usado pelo Flyway, estatísticas e manutenção de partições
+@Data
+@ConfigurationProperties(prefix = "atividade.reativo")
+public class ReativoProperties {
+
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    private int tamanhoPool = 10;
+
+    private Duration esperaConexao = Duration.ofSeconds(30);
+}
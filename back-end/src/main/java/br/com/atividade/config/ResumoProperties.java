@@ -0,0 +1,19 @@
+package br.com.atividade.config;
+
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "atividade.resumo")
+public class ResumoProperties {
+
+    @Min(1)
+    private int paralelismo = 4;
+
+    // Com menos de um dia a divisão do período ao meio nunca chegaria a uma folha
+    @Min(1)
+    private int diasPorTarefa = 31;
+}
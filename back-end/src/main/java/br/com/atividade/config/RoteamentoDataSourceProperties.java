@@ -0,0 +1,21 @@
+package br.com.atividade.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "atividade.datasource")
+public class RoteamentoDataSourceProperties {
+
+    // Um pool Hikari por réplica (jdbc-url, username, password, maximum-pool-size...); vazio mantém
+    // um único DataSource apontando para o primário
+    private List<HikariConfig> replicas = new ArrayList<>();
+
+    // Depois de uma escrita, o mesmo cliente lê do primário por esse tempo; zero desliga
+    private Duration leituraNoPrimarioAposEscrita = Duration.ofSeconds(5);
+}
@@ -0,0 +1,76 @@
+package br.com.atividade.config.codificacao;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+// Formatos alternativos de resposta escolhidos pelo Accept: application/cbor, application/x-jackson-smile,
+// application/x-protobuf e application/vnd.atividade.colunar+json. Sem Accept (ou com */*) continua JSON
+@Configuration
+public class CodificacaoRespostaConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> builders;
+
+    private final ObjectProvider<ObservationRegistry> observationRegistry;
+
+    private final boolean rastreamentoHabilitado;
+
+    public CodificacaoRespostaConfig(ObjectProvider<Jackson2ObjectMapperBuilder> builders,
+                                     ObjectProvider<ObservationRegistry> observationRegistry,
+                                     @Value("${management.tracing.enabled:true}") boolean rastreamentoHabilitado) {
+        this.builders = builders;
+        this.observationRegistry = observationRegistry;
+        this.rastreamentoHabilitado = rastreamentoHabilitado;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // O Spring MVC já registra CBOR e Smile quando as dependências estão presentes, mas com um ObjectMapper
+        // padrão; troca pelos configurados como o JSON (mesmo formato de datas e módulos)
+        substituir(converters, MappingJackson2CborHttpMessageConverter.class,
+                new MappingJackson2CborHttpMessageConverter(builders.getObject().factory(new CBORFactory()).build()));
+        substituir(converters, MappingJackson2SmileHttpMessageConverter.class,
+                new MappingJackson2SmileHttpMessageConverter(builders.getObject().factory(new SmileFactory()).build()));
+
+        ObjectMapper json = builders.getObject().build();
+        int posicaoJson = indice(converters, MappingJackson2HttpMessageConverter.class);
+        // O span da escrita do JSON só com o rastreamento ligado; desligado fica o conversor padrão
+        if (posicaoJson >= 0 && rastreamentoHabilitado) {
+            ObjectMapper objectMapper = ((MappingJackson2HttpMessageConverter) converters.get(posicaoJson)).getObjectMapper();
+            converters.set(posicaoJson, new JsonObservadoHttpMessageConverter(objectMapper,
+                    observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP)));
+        }
+        converters.add(posicaoJson < 0 ? converters.size() : posicaoJson, new ListaAtividadesColunarConverter(json.getFactory()));
+        converters.add(new ListaAtividadesProtobufConverter());
+    }
+
+    private static void substituir(List<HttpMessageConverter<?>> converters, Class<?> tipo, HttpMessageConverter<?> novo) {
+        int posicao = indice(converters, tipo);
+        if (posicao < 0) {
+            converters.add(novo);
+        } else {
+            converters.set(posicao, novo);
+        }
+    }
+
+    private static int indice(List<HttpMessageConverter<?>> converters, Class<?> tipo) {
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i).getClass().equals(tipo)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,61 @@
+package br.com.atividade.config.codificacao;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+// Respostas com Vary: Accept têm um corpo diferente por formato, mas o controller calcula o ETag antes da
+// negociação. Aqui, já com o tipo escolhido, o ETag forte ganha o tipo da representação e o If-None-Match
+// é avaliado contra ele: o 304 continua evitando a serialização e nunca valida o corpo de outro formato
+@ControllerAdvice
+@Profile("!reativo")
+public class EtagPorRepresentacaoResponseBodyAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        HttpHeaders cabecalhos = response.getHeaders();
+        String etag = cabecalhos.getETag();
+        // Sem corpo (o 304 da marca de alteração) o ETag já vem com o tipo da representação validada
+        if (body == null || etag == null || etag.startsWith("W/") || !cabecalhos.getVary().contains(HttpHeaders.ACCEPT)) {
+            return body;
+        }
+        String etagRepresentacao = etag.substring(0, etag.length() - 1) + "-"
+                + selectedContentType.getType() + "/" + selectedContentType.getSubtype() + "\"";
+        // O HttpEntityMethodProcessor já passou o ETag do controller para a resposta do servlet
+        if (response instanceof ServletServerHttpResponse resposta) {
+            resposta.getServletResponse().setHeader(HttpHeaders.ETAG, etagRepresentacao);
+        } else {
+            cabecalhos.setETag(etagRepresentacao);
+        }
+        if (naoModificado(request.getHeaders().getIfNoneMatch(), etagRepresentacao)) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return null;
+        }
+        return body;
+    }
+
+    // Comparação fraca do If-None-Match (RFC 9110, 13.1.2)
+    private static boolean naoModificado(Iterable<String> ifNoneMatch, String etag) {
+        for (String candidato : ifNoneMatch) {
+            if ("*".equals(candidato) || etag.equals(candidato.startsWith("W/") ? candidato.substring(2) : candidato)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
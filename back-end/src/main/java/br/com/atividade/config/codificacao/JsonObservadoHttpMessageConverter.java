@@ -0,0 +1,34 @@
+package br.com.atividade.config.codificacao;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+
+// O conversor JSON padrão com um span para a escrita do corpo (serialização e envio ao cliente). Sem ele, esse
+// tempo só aparece como a diferença entre o span da rota e o do controller
+public class JsonObservadoHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final ObservationRegistry observationRegistry;
+
+    public JsonObservadoHttpMessageConverter(ObjectMapper objectMapper, ObservationRegistry observationRegistry) {
+        super(objectMapper);
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage) throws IOException {
+        Observation observacao = Observation.createNotStarted("atividade.resposta.json", observationRegistry)
+                .contextualName("AtividadeResposta#escreverJson");
+        if (object instanceof Collection<?> itens) {
+            observacao.highCardinalityKeyValue("atividade.itens", String.valueOf(itens.size()));
+        }
+        observacao.observeChecked(() -> super.writeInternal(object, type, outputMessage));
+    }
+}
@@ -0,0 +1,110 @@
+package br.com.atividade.config.codificacao;
+
+import br.com.atividade.sevice.dto.output.AtividadeOutput;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// JSON colunar: um array por campo, na mesma ordem de linhas. funcional e codigoAtividade, que se repetem
+// muito, saem como dicionário de valores distintos mais o índice de cada linha (-1 para nulo).
+// dataHora sai em epoch millis (UTC)
+public class ListaAtividadesColunarConverter extends ListaAtividadesHttpMessageConverter {
+
+    public static final MediaType COLUNAR = new MediaType("application", "vnd.atividade.colunar+json");
+
+    private final JsonFactory jsonFactory;
+
+    public ListaAtividadesColunarConverter(JsonFactory jsonFactory) {
+        super(COLUNAR);
+        this.jsonFactory = jsonFactory;
+    }
+
+    // O conversor JSON do Jackson também aceita application/*+json. Este fica antes dele na lista e só se
+    // oferece quando o tipo já foi escolhido pelo Accept: sem isso, Accept */* cairia aqui em vez do JSON comum
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return mediaType != null && super.canWrite(type, clazz, mediaType);
+    }
+
+    @Override
+    protected void writeInternal(List<AtividadeOutput> atividades, Type type, HttpOutputMessage outputMessage) throws IOException {
+        JsonGenerator gerador = jsonFactory.createGenerator(outputMessage.getBody(), JsonEncoding.UTF8)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        gerador.writeStartObject();
+        gerador.writeNumberField("quantidade", atividades.size());
+
+        gerador.writeArrayFieldStart("idAtividade");
+        for (AtividadeOutput atividade : atividades) {
+            escreverNumero(gerador, atividade.getIdAtividade());
+        }
+        gerador.writeEndArray();
+
+        escreverDicionario(gerador, "funcional", atividades, AtividadeOutput::getFuncional);
+
+        gerador.writeArrayFieldStart("dataHora");
+        for (AtividadeOutput atividade : atividades) {
+            escreverNumero(gerador, atividade.getDataHora() == null ? null : epochMillis(atividade.getDataHora()));
+        }
+        gerador.writeEndArray();
+
+        escreverDicionario(gerador, "codigoAtividade", atividades, AtividadeOutput::getCodigoAtividade);
+
+        gerador.writeArrayFieldStart("descricaoAtividade");
+        for (AtividadeOutput atividade : atividades) {
+            gerador.writeString(atividade.getDescricaoAtividade());
+        }
+        gerador.writeEndArray();
+
+        gerador.writeArrayFieldStart("versao");
+        for (AtividadeOutput atividade : atividades) {
+            escreverNumero(gerador, atividade.getVersao());
+        }
+        gerador.writeEndArray();
+
+        gerador.writeEndObject();
+        gerador.close();
+    }
+
+    private static void escreverDicionario(JsonGenerator gerador, String campo, List<AtividadeOutput> atividades,
+                                           Function<AtividadeOutput, String> valor) throws IOException {
+        Map<String, Integer> dicionario = new HashMap<>();
+        int[] indices = new int[atividades.size()];
+        gerador.writeObjectFieldStart(campo);
+        gerador.writeArrayFieldStart("dicionario");
+        for (int i = 0; i < atividades.size(); i++) {
+            String texto = valor.apply(atividades.get(i));
+            if (texto == null) {
+                indices[i] = -1;
+                continue;
+            }
+            Integer indice = dicionario.get(texto);
+            if (indice == null) {
+                indice = dicionario.size();
+                dicionario.put(texto, indice);
+                gerador.writeString(texto);
+            }
+            indices[i] = indice;
+        }
+        gerador.writeEndArray();
+        gerador.writeFieldName("indices");
+        gerador.writeArray(indices, 0, indices.length);
+        gerador.writeEndObject();
+    }
+
+    private static void escreverNumero(JsonGenerator gerador, Long numero) throws IOException {
+        if (numero == null) {
+            gerador.writeNull();
+        } else {
+            gerador.writeNumber(numero);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package br.com.atividade.config.codificacao;
+
+import br.com.atividade.sevice.dto.output.AtividadeOutput;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+// Base dos formatos que só existem para respostas de lista (List<AtividadeOutput>), apenas de escrita
+abstract class ListaAtividadesHttpMessageConverter extends AbstractGenericHttpMessageConverter<List<AtividadeOutput>> {
+
+    protected ListaAtividadesHttpMessageConverter(MediaType tipo) {
+        super(tipo);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return ehListaDeAtividades(type) && canWrite(mediaType);
+    }
+
+    @Override
+    public List<AtividadeOutput> read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Formato disponível apenas para respostas", inputMessage);
+    }
+
+    @Override
+    protected List<AtividadeOutput> readInternal(Class<? extends List<AtividadeOutput>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Formato disponível apenas para respostas", inputMessage);
+    }
+
+    // LocalDateTime não tem fuso; é tratado como UTC para virar um número
+    static long epochMillis(LocalDateTime dataHora) {
+        return dataHora.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static boolean ehListaDeAtividades(Type type) {
+        if (type == null) {
+            return false;
+        }
+        ResolvableType lista = ResolvableType.forType(type).as(List.class);
+        return lista != ResolvableType.NONE && AtividadeOutput.class.equals(lista.getGeneric(0).resolve());
+    }
+}
@@ -0,0 +1,86 @@
+package br.com.atividade.config.codificacao;
+
+import br.com.atividade.sevice.dto.output.AtividadeOutput;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+// Mensagem ListaAtividades de proto/atividade.proto, codificada campo a campo com CodedOutputStream em vez de
+// classes geradas pelo protoc. Como no proto3, campos nulos ou zero não são escritos
+public class ListaAtividadesProtobufConverter extends ListaAtividadesHttpMessageConverter {
+
+    public static final MediaType PROTOBUF = new MediaType("application", "x-protobuf");
+
+    private static final int CAMPO_ATIVIDADES = 1;
+    private static final int CAMPO_ID = 1;
+    private static final int CAMPO_FUNCIONAL = 2;
+    private static final int CAMPO_DATA_HORA = 3;
+    private static final int CAMPO_CODIGO = 4;
+    private static final int CAMPO_DESCRICAO = 5;
+    private static final int CAMPO_VERSAO = 6;
+
+    public ListaAtividadesProtobufConverter() {
+        super(PROTOBUF);
+    }
+
+    @Override
+    protected void writeInternal(List<AtividadeOutput> atividades, Type type, HttpOutputMessage outputMessage) throws IOException {
+        CodedOutputStream saida = CodedOutputStream.newInstance(outputMessage.getBody());
+        for (AtividadeOutput atividade : atividades) {
+            saida.writeTag(CAMPO_ATIVIDADES, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            saida.writeUInt32NoTag(tamanho(atividade));
+            escrever(saida, atividade);
+        }
+        saida.flush();
+    }
+
+    private static void escrever(CodedOutputStream saida, AtividadeOutput atividade) throws IOException {
+        if (atividade.getIdAtividade() != null && atividade.getIdAtividade() != 0) {
+            saida.writeInt64(CAMPO_ID, atividade.getIdAtividade());
+        }
+        if (atividade.getFuncional() != null && !atividade.getFuncional().isEmpty()) {
+            saida.writeString(CAMPO_FUNCIONAL, atividade.getFuncional());
+        }
+        if (atividade.getDataHora() != null) {
+            saida.writeInt64(CAMPO_DATA_HORA, epochMillis(atividade.getDataHora()));
+        }
+        if (atividade.getCodigoAtividade() != null && !atividade.getCodigoAtividade().isEmpty()) {
+            saida.writeString(CAMPO_CODIGO, atividade.getCodigoAtividade());
+        }
+        if (atividade.getDescricaoAtividade() != null && !atividade.getDescricaoAtividade().isEmpty()) {
+            saida.writeString(CAMPO_DESCRICAO, atividade.getDescricaoAtividade());
+        }
+        if (atividade.getVersao() != null && atividade.getVersao() != 0) {
+            saida.writeInt64(CAMPO_VERSAO, atividade.getVersao());
+        }
+    }
+
+    // Mensagens aninhadas são prefixadas pelo tamanho, calculado antes de escrever
+    private static int tamanho(AtividadeOutput atividade) {
+        int tamanho = 0;
+        if (atividade.getIdAtividade() != null && atividade.getIdAtividade() != 0) {
+            tamanho += CodedOutputStream.computeInt64Size(CAMPO_ID, atividade.getIdAtividade());
+        }
+        if (atividade.getFuncional() != null && !atividade.getFuncional().isEmpty()) {
+            tamanho += CodedOutputStream.computeStringSize(CAMPO_FUNCIONAL, atividade.getFuncional());
+        }
+        if (atividade.getDataHora() != null) {
+            tamanho += CodedOutputStream.computeInt64Size(CAMPO_DATA_HORA, epochMillis(atividade.getDataHora()));
+        }
+        if (atividade.getCodigoAtividade() != null && !atividade.getCodigoAtividade().isEmpty()) {
+            tamanho += CodedOutputStream.computeStringSize(CAMPO_CODIGO, atividade.getCodigoAtividade());
+        }
+        if (atividade.getDescricaoAtividade() != null && !atividade.getDescricaoAtividade().isEmpty()) {
+            tamanho += CodedOutputStream.computeStringSize(CAMPO_DESCRICAO, atividade.getDescricaoAtividade());
+        }
+        if (atividade.getVersao() != null && atividade.getVersao() != 0) {
+            tamanho += CodedOutputStream.computeInt64Size(CAMPO_VERSAO, atividade.getVersao());
+        }
+        return tamanho;
+    }
+}
@@ -0,0 +1,42 @@
+package br.com.atividade.config.consultas;
+
+import java.time.Duration;
+
+// Comandos SQL executados pelo Hibernate e tempo gasto no banco pela requisição atual. Fora de uma
+// requisição HTTP (jobs, ingestão assíncrona, streaming em outra thread) não há contagem
+public final class ContagemConsultas {
+
+    private static final ThreadLocal<ContagemConsultas> ATUAL = new ThreadLocal<>();
+
+    private int comandos;
+    private long nanos;
+
+    private ContagemConsultas() {
+    }
+
+    static ContagemConsultas iniciar() {
+        ContagemConsultas contagem = new ContagemConsultas();
+        ATUAL.set(contagem);
+        return contagem;
+    }
+
+    static void encerrar() {
+        ATUAL.remove();
+    }
+
+    static void registrar(long nanos) {
+        ContagemConsultas contagem = ATUAL.get();
+        if (contagem != null) {
+            contagem.comandos++;
+            contagem.nanos += nanos;
+        }
+    }
+
+    public int getComandos() {
+        return comandos;
+    }
+
+    public Duration getTempo() {
+        return Duration.ofNanos(nanos);
+    }
+}
@@ -0,0 +1,29 @@
+package br.com.atividade.config.consultas;
+
+import br.com.atividade.config.ConsultasRequisicaoProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class ContagemConsultasConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer contagemConsultasCustomizer() {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER,
+                ContagemConsultasSessionEventListener.class.getName());
+    }
+
+    // Logo depois da correlação, para contar também o que os demais filtros executarem
+    @Bean
+    public FilterRegistrationBean<ContagemConsultasFilter> contagemConsultasFilter(ConsultasRequisicaoProperties properties,
+                                                                                   MeterRegistry meterRegistry) {
+        FilterRegistrationBean<ContagemConsultasFilter> registro = new FilterRegistrationBean<>(new ContagemConsultasFilter(properties, meterRegistry));
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registro;
+    }
+}
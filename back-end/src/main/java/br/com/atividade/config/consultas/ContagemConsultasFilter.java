@@ -0,0 +1,133 @@
+package br.com.atividade.config.consultas;
+
+import br.com.atividade.config.ConsultasRequisicaoProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+
+// Comandos SQL e tempo de banco por requisição: métricas por rota sempre e, fora de produção, cabeçalhos na
+// própria resposta para ver o custo de uma chamada sem abrir o Prometheus
+@Slf4j
+public class ContagemConsultasFilter extends OncePerRequestFilter {
+
+    public static final String CABECALHO_COMANDOS = "X-Comandos-Sql";
+    public static final String METRICA_COMANDOS = "atividade.requisicao.comandos";
+    public static final String METRICA_TEMPO_BANCO = "atividade.requisicao.tempo.banco";
+
+    private final ConsultasRequisicaoProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public ContagemConsultasFilter(ConsultasRequisicaoProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContagemConsultas contagem = ContagemConsultas.iniciar();
+        RespostaComContagem respostaComContagem = properties.isCabecalhos() ? new RespostaComContagem(response, contagem) : null;
+        try {
+            filterChain.doFilter(request, respostaComContagem != null ? respostaComContagem : response);
+        } finally {
+            ContagemConsultas.encerrar();
+            if (respostaComContagem != null) {
+                respostaComContagem.escreverCabecalhos();
+            }
+            registrar(request, contagem);
+        }
+    }
+
+    private void registrar(HttpServletRequest request, ContagemConsultas contagem) {
+        Object rota = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = rota != null ? rota.toString() : "UNKNOWN";
+        DistributionSummary.builder(METRICA_COMANDOS)
+                .baseUnit("comandos")
+                .tag("uri", uri)
+                .tag("method", request.getMethod())
+                .register(meterRegistry)
+                .record(contagem.getComandos());
+        Timer.builder(METRICA_TEMPO_BANCO)
+                .tag("uri", uri)
+                .tag("method", request.getMethod())
+                .register(meterRegistry)
+                .record(contagem.getTempo());
+
+        int limite = properties.getLimiteComandos();
+        if (limite > 0 && contagem.getComandos() > limite) {
+            log.warn("[DB] - {} {} executou {} comandos SQL em {} ms, acima do limite de {}", request.getMethod(), uri,
+                    contagem.getComandos(), contagem.getTempo().toMillis(), limite);
+        }
+    }
+
+    // Os cabeçalhos precisam entrar antes do primeiro byte do corpo; o que a requisição executar depois disso
+    // (ex.: a exportação em streaming) fica só nas métricas
+    private static class RespostaComContagem extends HttpServletResponseWrapper {
+
+        private final ContagemConsultas contagem;
+        private boolean escritos;
+
+        RespostaComContagem(HttpServletResponse response, ContagemConsultas contagem) {
+            super(response);
+            this.contagem = contagem;
+        }
+
+        void escreverCabecalhos() {
+            if (escritos || isCommitted()) {
+                return;
+            }
+            escritos = true;
+            setHeader(CABECALHO_COMANDOS, String.valueOf(contagem.getComandos()));
+            addHeader("Server-Timing", String.format(Locale.ROOT, "db;dur=%.3f", contagem.getTempo().toNanos() / 1_000_000.0));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            escreverCabecalhos();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            escreverCabecalhos();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            escreverCabecalhos();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            escreverCabecalhos();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            escreverCabecalhos();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            escreverCabecalhos();
+            super.sendRedirect(location);
+        }
+    }
+}
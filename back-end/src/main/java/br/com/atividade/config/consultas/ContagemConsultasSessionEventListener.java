@@ -0,0 +1,30 @@
+package br.com.atividade.config.consultas;
+
+import org.hibernate.BaseSessionEventListener;
+
+// Criado pelo Hibernate para cada sessão (hibernate.session.events.auto). Conta cada execução de comando e
+// de lote JDBC, inclusive consultas nativas, e soma o tempo de execução na requisição atual
+public class ContagemConsultasSessionEventListener extends BaseSessionEventListener {
+
+    private long inicio;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        inicio = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        ContagemConsultas.registrar(System.nanoTime() - inicio);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        inicio = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        ContagemConsultas.registrar(System.nanoTime() - inicio);
+    }
+}
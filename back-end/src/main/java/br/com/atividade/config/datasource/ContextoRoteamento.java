@@ -0,0 +1,38 @@
+package br.com.atividade.config.datasource;
+
+// Estado da requisição atual para o roteamento: se o cliente escreveu há pouco (deve ler do primário)
+// e o que fazer quando a requisição escrever. Fora de uma requisição HTTP não há contexto
+public final class ContextoRoteamento {
+
+    private static final ThreadLocal<ContextoRoteamento> ATUAL = new ThreadLocal<>();
+
+    private final boolean leituraNoPrimario;
+    private final Runnable aoEscrever;
+    private boolean escreveu;
+
+    private ContextoRoteamento(boolean leituraNoPrimario, Runnable aoEscrever) {
+        this.leituraNoPrimario = leituraNoPrimario;
+        this.aoEscrever = aoEscrever;
+    }
+
+    public static void iniciar(boolean leituraNoPrimario, Runnable aoEscrever) {
+        ATUAL.set(new ContextoRoteamento(leituraNoPrimario, aoEscrever));
+    }
+
+    public static void encerrar() {
+        ATUAL.remove();
+    }
+
+    static boolean isLeituraNoPrimario() {
+        ContextoRoteamento contexto = ATUAL.get();
+        return contexto != null && contexto.leituraNoPrimario;
+    }
+
+    static void registrarEscrita() {
+        ContextoRoteamento contexto = ATUAL.get();
+        if (contexto != null && !contexto.escreveu) {
+            contexto.escreveu = true;
+            contexto.aoEscrever.run();
+        }
+    }
+}
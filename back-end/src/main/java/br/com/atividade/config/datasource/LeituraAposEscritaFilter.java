@@ -0,0 +1,78 @@
+package br.com.atividade.config.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+// Read-your-writes: quando a requisição escreve no primário, devolve o instante da escrita no cookie e no
+// header X-Ultima-Escrita; enquanto um deles, reenviado, estiver dentro da janela, as leituras desse cliente
+// também vão para o primário e não enxergam o atraso de replicação. O header atende clientes sem cookies
+// (outros serviços, apps); quem não reenvia nenhum dos dois pode ler da réplica um estado anterior à escrita
+public class LeituraAposEscritaFilter extends OncePerRequestFilter {
+
+    static final String COOKIE_ESCRITA = "atividade-escrita";
+
+    public static final String HEADER_ESCRITA = "X-Ultima-Escrita";
+
+    private final Duration janela;
+
+    public LeituraAposEscritaFilter(Duration janela) {
+        this.janela = janela;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (janela.isZero()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        // O cookie é gravado no momento da escrita, antes do controller começar a escrever o corpo
+        ContextoRoteamento.iniciar(escreveuDentroDaJanela(request), () -> {
+            String instante = String.valueOf(System.currentTimeMillis());
+            Cookie cookie = new Cookie(COOKIE_ESCRITA, instante);
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) janela.toSeconds());
+            response.addCookie(cookie);
+            response.setHeader(HEADER_ESCRITA, instante);
+        });
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ContextoRoteamento.encerrar();
+        }
+    }
+
+    private boolean escreveuDentroDaJanela(HttpServletRequest request) {
+        if (dentroDaJanela(request.getHeader(HEADER_ESCRITA))) {
+            return true;
+        }
+        if (request.getCookies() == null) {
+            return false;
+        }
+        for (Cookie cookie : request.getCookies()) {
+            if (COOKIE_ESCRITA.equals(cookie.getName())) {
+                return dentroDaJanela(cookie.getValue());
+            }
+        }
+        return false;
+    }
+
+    private boolean dentroDaJanela(String instante) {
+        if (instante == null) {
+            return false;
+        }
+        try {
+            return System.currentTimeMillis() - Long.parseLong(instante.trim()) < janela.toMillis();
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
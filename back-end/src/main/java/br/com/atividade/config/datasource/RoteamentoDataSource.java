@@ -0,0 +1,54 @@
+package br.com.atividade.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Transações readOnly vão para as réplicas (round-robin); o resto vai para o primário. Precisa ficar atrás
+// de um LazyConnectionDataSourceProxy: o JpaTransactionManager pede a conexão antes de marcar a transação
+// como readOnly no TransactionSynchronizationManager
+public class RoteamentoDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    static final String PRIMARIO = "primario";
+
+    private final List<HikariDataSource> replicas;
+    private final AtomicInteger proximaReplica = new AtomicInteger();
+
+    public RoteamentoDataSource(HikariDataSource primario, List<HikariDataSource> replicas) {
+        this.replicas = replicas;
+        Map<Object, Object> destinos = new HashMap<>();
+        destinos.put(PRIMARIO, primario);
+        for (int i = 0; i < replicas.size(); i++) {
+            destinos.put(i, replicas.get(i));
+        }
+        setTargetDataSources(destinos);
+        setDefaultTargetDataSource(primario);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                ContextoRoteamento.registrarEscrita();
+            }
+            return PRIMARIO;
+        }
+        if (ContextoRoteamento.isLeituraNoPrimario()) {
+            return PRIMARIO;
+        }
+        return Math.floorMod(proximaReplica.getAndIncrement(), replicas.size());
+    }
+
+    // O primário é um bean próprio e é fechado pelo Spring; as réplicas só existem aqui
+    @Override
+    public void close() {
+        replicas.forEach(HikariDataSource::close);
+    }
+}
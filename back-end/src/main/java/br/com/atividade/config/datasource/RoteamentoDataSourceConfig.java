@@ -0,0 +1,71 @@
+package br.com.atividade.config.datasource;
+
+import br.com.atividade.config.RoteamentoDataSourceProperties;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+// Só entra quando há ao menos uma réplica configurada (atividade.datasource.replicas[0].jdbc-url);
+// sem réplicas o DataSource continua sendo o do auto-configure do Spring Boot
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "atividade.datasource.replicas[0]", name = "jdbc-url")
+public class RoteamentoDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimario(DataSourceProperties dataSourceProperties) {
+        HikariDataSource primario = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primario.setPoolName("primario");
+        return primario;
+    }
+
+    @Bean
+    public RoteamentoDataSource roteamentoDataSource(HikariDataSource dataSourcePrimario, RoteamentoDataSourceProperties properties,
+                                                     ObjectProvider<MeterRegistry> meterRegistry) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            HikariConfig configuracao = properties.getReplicas().get(i);
+            if (configuracao.getPoolName() == null) {
+                configuracao.setPoolName("replica-" + i);
+            }
+            configuracao.setReadOnly(true);
+            // hikaricp.connections.* com tag pool=replica-N, como o Spring Boot faz para o primário
+            meterRegistry.ifAvailable(registry -> configuracao.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            replicas.add(new HikariDataSource(configuracao));
+        }
+        log.info("[DB] - Leituras readOnly roteadas para {} réplica(s): {}", replicas.size(),
+                replicas.stream().map(HikariDataSource::getJdbcUrl).toList());
+        return new RoteamentoDataSource(dataSourcePrimario, replicas);
+    }
+
+    // O roteamentoDataSource chega aqui como DataSource: o datasource-micrometer o envolve em um proxy para os spans
+    // JDBC. O proxy fica abaixo do LazyConnectionDataSourceProxy, que adia a escolha até o readOnly da transação;
+    // por isso este bean e o dataSourcePrimario ficam fora da instrumentação (jdbc.excluded-data-source-bean-names)
+    @Bean
+    @Primary
+    public DataSource dataSourceSobDemanda(@Qualifier("roteamentoDataSource") DataSource roteamentoDataSource) {
+        return new LazyConnectionDataSourceProxy(roteamentoDataSource);
+    }
+
+    @Bean
+    public FilterRegistrationBean<LeituraAposEscritaFilter> leituraAposEscritaFilter(RoteamentoDataSourceProperties properties) {
+        return new FilterRegistrationBean<>(new LeituraAposEscritaFilter(properties.getLeituraNoPrimarioAposEscrita()));
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.atividade.config.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name(AtividadeOperacaoEvent.NOME)
+@Label("Operação de Atividade")
+@Category({"Atividade", "Serviço"})
+@Description("Chamada a um método do AtividadeService, com os parâmetros informados e as linhas devolvidas")
+@StackTrace(false)
+public class AtividadeOperacaoEvent extends Event {
+
+    public static final String NOME = "br.com.atividade.Operacao";
+
+    @Label("Operação")
+    String operacao;
+
+    @Label("Parâmetros")
+    @Description("Parâmetros informados no formato nome=valor; os nulos e vazios ficam de fora")
+    String parametros;
+
+    @Label("Linhas")
+    @Description("Atividades devolvidas, gravadas ou exportadas; -1 quando a operação não devolve atividades")
+    int linhas;
+
+    @Label("Do Cache")
+    @Description("A entidade já estava no cache de segundo nível do Hibernate (operações por ID)")
+    boolean doCache;
+
+    @Label("Erro")
+    String erro;
+}
@@ -0,0 +1,68 @@
+package br.com.atividade.config.jfr;
+
+import br.com.atividade.config.ParametrosInformados;
+import br.com.atividade.model.Atividade;
+import br.com.atividade.sevice.dto.output.AtividadeOutput;
+import br.com.atividade.sevice.dto.output.PaginaAtividadeOutput;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.CodeSignature;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Optional;
+
+// Um AtividadeOperacaoEvent por chamada ao AtividadeServiceImpl. Sem gravação ativa, o custo é só o teste
+// de isEnabled(): parâmetros e cache só são lidos quando o evento vai ser gravado
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class EventosJfrAspect {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Around("execution(public * br.com.atividade.sevice.impl.AtividadeServiceImpl.*(..))")
+    public Object registrar(ProceedingJoinPoint joinPoint) throws Throwable {
+        AtividadeOperacaoEvent evento = new AtividadeOperacaoEvent();
+        if (!evento.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        Object[] args = joinPoint.getArgs();
+        // Antes da chamada: depois dela, a própria busca já colocou a entidade no cache
+        evento.doCache = args.length > 0 && args[0] instanceof Long id
+                && entityManagerFactory.getCache().contains(Atividade.class, id);
+        evento.begin();
+        try {
+            Object resultado = joinPoint.proceed();
+            evento.linhas = linhas(resultado);
+            return resultado;
+        } catch (Throwable erro) {
+            evento.linhas = -1;
+            evento.erro = erro.getClass().getSimpleName();
+            throw erro;
+        } finally {
+            evento.end();
+            if (evento.shouldCommit()) {
+                evento.operacao = joinPoint.getSignature().getName();
+                evento.parametros = joinPoint.getSignature() instanceof CodeSignature assinatura
+                        ? ParametrosInformados.comValores(assinatura.getParameterNames(), args) : "";
+                evento.commit();
+            }
+        }
+    }
+
+    private static int linhas(Object resultado) {
+        return switch (resultado) {
+            case Collection<?> colecao -> colecao.size();
+            case PaginaAtividadeOutput pagina -> pagina.getAtividades().size();
+            case Optional<?> opcional -> opcional.isPresent() ? 1 : 0;
+            case AtividadeOutput ignorada -> 1;
+            // exportarAtividadesComFiltros devolve o total exportado
+            case Long total -> total.intValue();
+            case null, default -> -1;
+        };
+    }
+}
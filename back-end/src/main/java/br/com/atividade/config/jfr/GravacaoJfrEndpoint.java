@@ -0,0 +1,185 @@
+package br.com.atividade.config.jfr;
+
+import br.com.atividade.config.JfrProperties;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.text.ParseException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+// /actuator/jfr: inicia, despeja e para uma gravação do Java Flight Recorder com os eventos da JVM (GC, locks,
+// I/O) e os AtividadeOperacaoEvent, para correlacionar uma listagem lenta com o que a JVM fazia no mesmo instante.
+// POST /actuator/jfr/iniciar {"perfil": "profile"}, /actuator/jfr/despejar e /actuator/jfr/parar (corpo JSON, mesmo vazio).
+// Não é exposto por padrão: habilite só na porta de gerenciamento (management.server.port), fora do acesso público
+@Slf4j
+@Component
+@Endpoint(id = "jfr")
+@RequiredArgsConstructor
+public class GravacaoJfrEndpoint {
+
+    private static final String PREFIXO = "atividade-";
+    private static final String EXTENSAO = ".jfr";
+    private static final DateTimeFormatter FORMATO_NOME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private final JfrProperties properties;
+
+    private Recording gravacao;
+    private String perfil;
+
+    public record EstadoGravacao(boolean ativa, String nome, String perfil, Instant inicio, String arquivo) {
+    }
+
+    @ReadOperation
+    public synchronized EstadoGravacao estado() {
+        return estado(null);
+    }
+
+    @WriteOperation
+    public synchronized EstadoGravacao executar(@Selector String acao, @Nullable String perfil) {
+        return switch (acao) {
+            case "iniciar" -> iniciar(perfil != null ? perfil : properties.getPerfilPadrao());
+            case "despejar" -> despejar();
+            case "parar" -> parar();
+            default -> throw new InvalidEndpointRequestException("Ação inválida: " + acao,
+                    "Ação inválida; use iniciar, despejar ou parar");
+        };
+    }
+
+    private EstadoGravacao iniciar(String perfil) {
+        if (ativa()) {
+            throw new InvalidEndpointRequestException("Gravação já ativa: " + gravacao.getName(), "Já existe uma gravação ativa");
+        }
+        Configuration configuracao;
+        try {
+            configuracao = Configuration.getConfiguration(perfil);
+        } catch (IOException | ParseException e) {
+            throw new InvalidEndpointRequestException("Perfil JFR inválido: " + perfil, "Perfil inválido; use default ou profile");
+        }
+        String nome = PREFIXO + LocalDateTime.now().format(FORMATO_NOME);
+        Recording nova = new Recording(configuracao);
+        try {
+            Files.createDirectories(properties.getDiretorio());
+            nova.setName(nome);
+            nova.setToDisk(true);
+            nova.setMaxSize(properties.getTamanhoMaximo().toBytes());
+            nova.setDuration(properties.getDuracaoMaxima());
+            // Gravado no arquivo quando a gravação parar, inclusive ao atingir a duração máxima
+            nova.setDestination(properties.getDiretorio().resolve(nome + EXTENSAO));
+            nova.enable(AtividadeOperacaoEvent.class);
+            nova.start();
+        } catch (IOException e) {
+            nova.close();
+            throw new UncheckedIOException(e);
+        }
+        gravacao = nova;
+        this.perfil = perfil;
+        log.info("[Config] - Gravação JFR {} iniciada com o perfil {}", nome, perfil);
+        return estado(null);
+    }
+
+    // Copia o que foi gravado até agora, sem parar a gravação
+    private EstadoGravacao despejar() {
+        exigirAtiva();
+        Path arquivo = properties.getDiretorio().resolve(gravacao.getName() + "-" + LocalDateTime.now().format(FORMATO_NOME) + EXTENSAO);
+        try {
+            gravacao.dump(arquivo);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("[Config] - Gravação JFR {} despejada em {}", gravacao.getName(), arquivo.toAbsolutePath());
+        removerArquivosAntigos(arquivo);
+        return estado(arquivo);
+    }
+
+    private EstadoGravacao parar() {
+        exigirAtiva();
+        Path arquivo = gravacao.getDestination();
+        gravacao.stop();
+        EstadoGravacao estado = estado(arquivo);
+        gravacao.close();
+        log.info("[Config] - Gravação JFR {} encerrada em {}", estado.nome(), arquivo.toAbsolutePath());
+        removerArquivosAntigos(arquivo);
+        return estado;
+    }
+
+    // Mantém só os maximoArquivos mais recentes, para que despejos repetidos não encham o disco
+    private void removerArquivosAntigos(Path novo) {
+        List<Path> arquivos;
+        try {
+            // O JFR pode copiar os chunks com a data original; a rotação ordena pela hora em que o arquivo foi entregue
+            Files.setLastModifiedTime(novo, FileTime.from(Instant.now()));
+        } catch (IOException e) {
+            log.warn("[Config] - Não foi possível atualizar a data da gravação JFR {}: {}", novo, e.getMessage());
+        }
+        // O JFR cria o destino da gravação ativa já no início; ele só entra na rotação depois de parar
+        Path emGravacao = ativa() ? gravacao.getDestination().toAbsolutePath() : null;
+        try (Stream<Path> listagem = Files.list(properties.getDiretorio())) {
+            arquivos = listagem
+                    .filter(arquivo -> {
+                        String nome = arquivo.getFileName().toString();
+                        return nome.startsWith(PREFIXO) && nome.endsWith(EXTENSAO) && Files.isRegularFile(arquivo)
+                                && !arquivo.toAbsolutePath().equals(emGravacao);
+                    })
+                    .sorted(Comparator.comparing(GravacaoJfrEndpoint::modificadoEm).thenComparing(Path::getFileName).reversed())
+                    .toList();
+        } catch (IOException e) {
+            log.warn("[Config] - Não foi possível listar as gravações JFR em {}: {}", properties.getDiretorio(), e.getMessage());
+            return;
+        }
+        for (Path antigo : arquivos.subList(Math.min(properties.getMaximoArquivos(), arquivos.size()), arquivos.size())) {
+            try {
+                Files.deleteIfExists(antigo);
+                log.info("[Config] - Gravação JFR antiga {} removida", antigo.getFileName());
+            } catch (IOException e) {
+                log.warn("[Config] - Não foi possível remover a gravação JFR {}: {}", antigo, e.getMessage());
+            }
+        }
+    }
+
+    private static FileTime modificadoEm(Path arquivo) {
+        try {
+            return Files.getLastModifiedTime(arquivo);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private void exigirAtiva() {
+        if (!ativa()) {
+            throw new InvalidEndpointRequestException("Nenhuma gravação ativa", "Nenhuma gravação ativa; use iniciar");
+        }
+    }
+
+    private boolean ativa() {
+        return gravacao != null && gravacao.getState() == RecordingState.RUNNING;
+    }
+
+    private EstadoGravacao estado(Path arquivo) {
+        if (gravacao == null) {
+            return new EstadoGravacao(false, null, null, null, null);
+        }
+        Path destino = arquivo != null ? arquivo : gravacao.getDestination();
+        return new EstadoGravacao(ativa(), gravacao.getName(), perfil, gravacao.getStartTime(),
+                destino != null ? destino.toAbsolutePath().toString() : null);
+    }
+}
@@ -0,0 +1,91 @@
+package br.com.atividade.config.limite;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Token bucket por chave na forma de GCRA: em vez de tokens e instante da última reposição, cada balde guarda
+// um único long, o instante teórico em que ele volta a ficar cheio. Consumir é um compareAndSet nesse long,
+// sem lock; a ConcurrentHashMap só trava (por bin) ao criar uma chave nova
+public class BaldesTokens {
+
+    // Com o mapa cheio, os baldes cheios são procurados no máximo uma vez por segundo
+    private static final long INTERVALO_LIMPEZA = TimeUnit.SECONDS.toNanos(1);
+    private static final long NUNCA = Long.MIN_VALUE;
+
+    private final int capacidade;
+    private final long intervalo;
+    private final long rajada;
+    private final int maximoChaves;
+    private final ConcurrentHashMap<String, AtomicLong> baldes = new ConcurrentHashMap<>();
+    private final AtomicLong proximaLimpeza = new AtomicLong(NUNCA);
+
+    public BaldesTokens(int capacidade, double porSegundo, int maximoChaves) {
+        if (capacidade < 1 || porSegundo <= 0) {
+            throw new IllegalArgumentException("Balde com capacidade " + capacidade + " e " + porSegundo + " tokens/s");
+        }
+        this.capacidade = capacidade;
+        this.intervalo = Math.max(1, Math.round(1_000_000_000 / porSegundo));
+        this.rajada = intervalo * capacidade;
+        this.maximoChaves = maximoChaves;
+    }
+
+    // Devolve 0 quando os tokens foram consumidos ou, senão, os nanos até haver tokens suficientes
+    public long consumir(String chave, int tokens, long agora) {
+        AtomicLong cheio = baldes.get(chave);
+        if (cheio == null) {
+            cheio = criar(chave, agora);
+            if (cheio == null) {
+                // Sem lugar para a chave: em até uma rajada algum balde ocioso volta a ficar cheio e sai do mapa
+                return Math.max(rajada, INTERVALO_LIMPEZA);
+            }
+        }
+        // Mais tokens que a capacidade nunca caberiam: cobra o balde inteiro
+        long custo = intervalo * Math.min(tokens, capacidade);
+        while (true) {
+            long atual = cheio.get();
+            long proximo = Math.max(atual, agora) + custo;
+            long espera = proximo - agora - rajada;
+            if (espera > 0) {
+                return espera;
+            }
+            if (cheio.compareAndSet(atual, proximo)) {
+                return 0;
+            }
+        }
+    }
+
+    // Desfaz um consumo já aceito: o instante de balde cheio volta o custo para trás. Se o balde passar a ficar
+    // "mais que cheio", o max(atual, agora) do próximo consumo o trata como cheio; chave já removida está cheia
+    public void devolver(String chave, int tokens) {
+        AtomicLong cheio = baldes.get(chave);
+        if (cheio != null) {
+            cheio.addAndGet(-intervalo * Math.min(tokens, capacidade));
+        }
+    }
+
+    // Um balde compartilhado pelas chaves excedentes deixaria quem inventa chaves esgotar o limite dos clientes
+    // novos legítimos; em vez disso, a chave nova só é recusada se nem a limpeza abrir lugar
+    private AtomicLong criar(String chave, long agora) {
+        if (baldes.size() >= maximoChaves) {
+            long limpeza = proximaLimpeza.get();
+            if ((limpeza == NUNCA || agora - limpeza >= 0) && proximaLimpeza.compareAndSet(limpeza, agora + INTERVALO_LIMPEZA)) {
+                removerCheios(agora);
+            }
+            if (baldes.size() >= maximoChaves) {
+                return null;
+            }
+        }
+        return baldes.computeIfAbsent(chave, nova -> new AtomicLong(agora));
+    }
+
+    // Um balde que já voltou a ficar cheio é igual a um novo e pode sair do mapa. Um consumo concorrente com a
+    // remoção se perde, o que só devolve um token a quem estava ocioso
+    public void removerCheios(long agora) {
+        baldes.values().removeIf(cheio -> cheio.get() - agora <= 0);
+    }
+
+    public int quantidadeChaves() {
+        return baldes.size();
+    }
+}
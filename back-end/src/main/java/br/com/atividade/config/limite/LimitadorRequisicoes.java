@@ -0,0 +1,194 @@
+package br.com.atividade.config.limite;
+
+import br.com.atividade.config.LimiteRequisicoesProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+// Limites por rota em baldes de tokens por cliente da API e por funcional, com contadores de requisições
+// permitidas e recusadas (atividade.limite.requisicoes) e a quantidade de baldes em memória (atividade.limite.chaves)
+@Slf4j
+@Component
+@Profile("!reativo")
+@ConditionalOnProperty(prefix = "atividade.limite-requisicoes", name = "habilitado", havingValue = "true", matchIfMissing = true)
+public class LimitadorRequisicoes {
+
+    public static final String METRICA = "atividade.limite.requisicoes";
+    public static final String METRICA_CHAVES = "atividade.limite.chaves";
+
+    private static final String CABECALHO_ENCAMINHADO = "X-Forwarded-For";
+
+    // Endereço IPv4 ou IPv6; o valor vai para o log e vira chave do mapa
+    private static final Pattern FORMATO_IP = Pattern.compile("[0-9A-Fa-f.:]{2,45}");
+
+    private final LimiteRequisicoesProperties properties;
+    private final Set<String> proxiesConfiaveis;
+    private final Map<String, Limite> limites = new HashMap<>();
+
+    public LimitadorRequisicoes(LimiteRequisicoesProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.proxiesConfiaveis = Set.copyOf(properties.getProxiesConfiaveis());
+        for (LimiteRequisicoesProperties.Regra regra : properties.getRotas()) {
+            String chave = regra.getMetodo().toUpperCase() + " " + regra.getRota();
+            limites.put(chave, new Limite(
+                    limite(regra, "cliente", regra.getPorCliente(), meterRegistry),
+                    limite(regra, "funcional", regra.getPorFuncional(), meterRegistry)));
+            log.info("[Config] - Limite de requisições em {}: por cliente {}, por funcional {}", chave,
+                    descricao(regra.getPorCliente()), descricao(regra.getPorFuncional()));
+        }
+        if (!proxiesConfiaveis.isEmpty()) {
+            log.info("[Config] - X-Forwarded-For aceito apenas de {}", proxiesConfiaveis);
+        }
+    }
+
+    public void verificarCliente(HttpServletRequest request) {
+        Limite limite = limiteDaRota(request);
+        if (limite != null && limite.porCliente() != null) {
+            limite.porCliente().consumir(cliente(request), 1);
+        }
+    }
+
+    public void verificarFuncional(HttpServletRequest request, String funcional, int quantidade) {
+        Limite limite = limiteDaRota(request);
+        if (limite != null && limite.porFuncional() != null && funcional != null && !funcional.isBlank()) {
+            limite.porFuncional().consumir(funcional, quantidade);
+        }
+    }
+
+    // No lote: ou todos os funcionais pagam, ou nenhum. Recusado um deles, os tokens já cobrados dos anteriores
+    // são devolvidos, para que uma requisição recusada não gaste o limite de quem estava dentro dele
+    public void verificarFuncionais(HttpServletRequest request, Map<String, Integer> quantidades) {
+        Limite limite = limiteDaRota(request);
+        if (limite != null && limite.porFuncional() != null) {
+            limite.porFuncional().consumirTodos(quantidades);
+        }
+    }
+
+    public boolean limitaFuncional(HttpServletRequest request) {
+        Limite limite = limiteDaRota(request);
+        return limite != null && limite.porFuncional() != null;
+    }
+
+    @Scheduled(fixedDelayString = "${atividade.limite-requisicoes.limpeza:PT1M}")
+    public void removerBaldesCheios() {
+        long agora = System.nanoTime();
+        limites.values().forEach(limite -> {
+            if (limite.porCliente() != null) {
+                limite.porCliente().baldes().removerCheios(agora);
+            }
+            if (limite.porFuncional() != null) {
+                limite.porFuncional().baldes().removerCheios(agora);
+            }
+        });
+    }
+
+    private Limite limiteDaRota(HttpServletRequest request) {
+        Object rota = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return rota != null ? limites.get(request.getMethod() + " " + rota) : null;
+    }
+
+    // Usuário autenticado ou IP de origem. Atrás de proxies confiáveis, vale o último endereço do X-Forwarded-For
+    // que não é um deles: o que vem antes foi escrito pelo próprio cliente e não identifica ninguém
+    private String cliente(HttpServletRequest request) {
+        Principal usuario = request.getUserPrincipal();
+        if (usuario != null) {
+            return "usuario:" + usuario.getName();
+        }
+        String origem = request.getRemoteAddr();
+        if (!proxiesConfiaveis.contains(origem)) {
+            return origem;
+        }
+        List<String> encaminhados = new ArrayList<>();
+        for (String cabecalho : Collections.list(request.getHeaders(CABECALHO_ENCAMINHADO))) {
+            for (String endereco : cabecalho.split(",")) {
+                encaminhados.add(endereco.trim());
+            }
+        }
+        for (String endereco : encaminhados.reversed()) {
+            if (!proxiesConfiaveis.contains(endereco)) {
+                return FORMATO_IP.matcher(endereco).matches() ? endereco : origem;
+            }
+        }
+        return origem;
+    }
+
+    private LimiteChave limite(LimiteRequisicoesProperties.Regra regra, String tipo, LimiteRequisicoesProperties.Balde balde,
+                               MeterRegistry meterRegistry) {
+        if (balde == null) {
+            return null;
+        }
+        BaldesTokens baldes = new BaldesTokens(balde.getCapacidade(), balde.getPorSegundo(), properties.getMaximoChaves());
+        Gauge.builder(METRICA_CHAVES, baldes, BaldesTokens::quantidadeChaves)
+                .tag("uri", regra.getRota())
+                .tag("method", regra.getMetodo().toUpperCase())
+                .tag("chave", tipo)
+                .register(meterRegistry);
+        return new LimiteChave(tipo, regra.getMetodo().toUpperCase() + " " + regra.getRota(), baldes,
+                contador(meterRegistry, regra, tipo, "permitida"), contador(meterRegistry, regra, tipo, "recusada"));
+    }
+
+    private static Counter contador(MeterRegistry meterRegistry, LimiteRequisicoesProperties.Regra regra, String tipo, String resultado) {
+        return Counter.builder(METRICA)
+                .tag("uri", regra.getRota())
+                .tag("method", regra.getMetodo().toUpperCase())
+                .tag("chave", tipo)
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
+
+    private static String descricao(LimiteRequisicoesProperties.Balde balde) {
+        return balde == null ? "sem limite" : balde.getPorSegundo() + "/s, rajada de " + balde.getCapacidade();
+    }
+
+    private record Limite(LimiteChave porCliente, LimiteChave porFuncional) {
+    }
+
+    // Contadores registrados na inicialização: nada é procurado no MeterRegistry por requisição
+    private record LimiteChave(String tipo, String rota, BaldesTokens baldes, Counter permitidas, Counter recusadas) {
+
+        void consumir(String chave, int tokens) {
+            long espera = baldes.consumir(chave, tokens, System.nanoTime());
+            if (espera > 0) {
+                recusadas.increment();
+                log.debug("[Config] - Limite por {} excedido em {} - {}: {}", tipo, rota, tipo, chave);
+                throw new LimiteExcedidoException("Limite de requisições por " + tipo + " excedido", espera);
+            }
+            permitidas.increment();
+        }
+
+        void consumirTodos(Map<String, Integer> quantidades) {
+            long agora = System.nanoTime();
+            List<Map.Entry<String, Integer>> cobradas = new ArrayList<>(quantidades.size());
+            for (Map.Entry<String, Integer> quantidade : quantidades.entrySet()) {
+                if (quantidade.getKey() == null || quantidade.getKey().isBlank()) {
+                    continue;
+                }
+                long espera = baldes.consumir(quantidade.getKey(), quantidade.getValue(), agora);
+                if (espera > 0) {
+                    cobradas.forEach(cobrada -> baldes.devolver(cobrada.getKey(), cobrada.getValue()));
+                    recusadas.increment();
+                    log.debug("[Config] - Limite por {} excedido em {} - {}: {}", tipo, rota, tipo, quantidade.getKey());
+                    throw new LimiteExcedidoException("Limite de requisições por " + tipo + " excedido", espera);
+                }
+                cobradas.add(quantidade);
+            }
+            permitidas.increment(cobradas.size());
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package br.com.atividade.config.limite;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+// 429 com Retry-After em segundos; o ResponseStatusExceptionResolver copia os cabeçalhos para a resposta
+public class LimiteExcedidoException extends ResponseStatusException {
+
+    private final long segundos;
+
+    public LimiteExcedidoException(String motivo, long esperaNanos) {
+        super(HttpStatus.TOO_MANY_REQUESTS, motivo);
+        this.segundos = Math.max(1, (esperaNanos + 999_999_999) / 1_000_000_000);
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(segundos));
+        return headers;
+    }
+}
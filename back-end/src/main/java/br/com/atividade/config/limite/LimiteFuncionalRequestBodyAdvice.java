@@ -0,0 +1,62 @@
+package br.com.atividade.config.limite;
+
+import br.com.atividade.sevice.dto.input.AtividadeInput;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// No POST o funcional está no corpo: cobra o balde do funcional logo depois da leitura do JSON, antes da
+// validação e do controller. No lote, cada funcional paga um token por atividade, e um funcional acima do
+// limite recusa o lote inteiro sem cobrar os demais
+@ControllerAdvice
+@Profile("!reativo")
+public class LimiteFuncionalRequestBodyAdvice extends RequestBodyAdviceAdapter {
+
+    private final LimitadorRequisicoes limitador;
+
+    // Ausente com o limite desligado e no @WebMvcTest
+    public LimiteFuncionalRequestBodyAdvice(ObjectProvider<LimitadorRequisicoes> limitador) {
+        this.limitador = limitador.getIfAvailable();
+    }
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return limitador != null;
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes atributos)
+                || !limitador.limitaFuncional(atributos.getRequest())) {
+            return body;
+        }
+        HttpServletRequest request = atributos.getRequest();
+        if (body instanceof AtividadeInput atividade) {
+            limitador.verificarFuncional(request, atividade.getFuncional(), 1);
+        } else if (body instanceof Collection<?> atividades) {
+            Map<String, Integer> porFuncional = atividades.stream()
+                    .filter(AtividadeInput.class::isInstance)
+                    .map(atividade -> ((AtividadeInput) atividade).getFuncional())
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.groupingBy(Function.identity(), LinkedHashMap::new, Collectors.summingInt(atividade -> 1)));
+            limitador.verificarFuncionais(request, porFuncional);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,26 @@
+package br.com.atividade.config.limite;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// Sem o LimitadorRequisicoes (atividade.limite-requisicoes.habilitado=false ou @WebMvcTest), nada é registrado
+@Configuration
+@Profile("!reativo")
+public class LimiteRequisicoesConfig implements WebMvcConfigurer {
+
+    private final LimitadorRequisicoes limitador;
+
+    public LimiteRequisicoesConfig(ObjectProvider<LimitadorRequisicoes> limitador) {
+        this.limitador = limitador.getIfAvailable();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (limitador != null) {
+            registry.addInterceptor(new LimiteRequisicoesInterceptor(limitador));
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package br.com.atividade.config.limite;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+// Depois do mapeamento da rota, antes de ler o corpo: cobra o balde do cliente e, nas rotas que filtram por
+// funcional na query (GET /atividades?funcional=), o balde do funcional
+@RequiredArgsConstructor
+public class LimiteRequisicoesInterceptor implements HandlerInterceptor {
+
+    private final LimitadorRequisicoes limitador;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        limitador.verificarCliente(request);
+        limitador.verificarFuncional(request, request.getParameter("funcional"), 1);
+        return true;
+    }
+}
@@ -0,0 +1,30 @@
+package br.com.atividade.config.log;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+// Registrado no logback-spring.xml. Roda antes da formatação, então numa requisição fora da amostra
+// log.info/log.debug (e isInfoEnabled/isDebugEnabled) custam só esta checagem. WARN e ERROR sempre passam
+public class AmostragemLogTurboFilter extends TurboFilter {
+
+    private static final ThreadLocal<Boolean> FORA_DA_AMOSTRA = new ThreadLocal<>();
+
+    static void marcarForaDaAmostra() {
+        FORA_DA_AMOSTRA.set(Boolean.TRUE);
+    }
+
+    static void limpar() {
+        FORA_DA_AMOSTRA.remove();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level == null || level.isGreaterOrEqual(Level.WARN) || FORA_DA_AMOSTRA.get() == null) {
+            return FilterReply.NEUTRAL;
+        }
+        return FilterReply.DENY;
+    }
+}
@@ -0,0 +1,49 @@
+package br.com.atividade.config.log;
+
+import br.com.atividade.config.LogProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+// Coloca o ID da requisição no MDC (campo requestId do log) e na resposta, reaproveitando o X-Request-Id
+// recebido do proxy. Também sorteia se a requisição entra na amostra de logs DEBUG/INFO
+@RequiredArgsConstructor
+public class CorrelacaoRequisicaoFilter extends OncePerRequestFilter {
+
+    public static final String CHAVE_MDC = "requestId";
+
+    // O ID vindo de fora vai para o log e para a resposta: só aceita um formato curto e sem quebras de linha
+    private static final Pattern FORMATO_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    private final LogProperties properties;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String requestId = request.getHeader(properties.getCabecalhoRequestId());
+        if (requestId == null || !FORMATO_ID.matcher(requestId).matches()) {
+            requestId = UUID.randomUUID().toString();
+        }
+        response.setHeader(properties.getCabecalhoRequestId(), requestId);
+
+        MDC.put(CHAVE_MDC, requestId);
+        if (ThreadLocalRandom.current().nextDouble() >= properties.getAmostragem()) {
+            AmostragemLogTurboFilter.marcarForaDaAmostra();
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            AmostragemLogTurboFilter.limpar();
+            MDC.remove(CHAVE_MDC);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package br.com.atividade.config.log;
+
+import br.com.atividade.config.LogProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class LogConfig {
+
+    // Primeiro filtro da cadeia, para que os logs dos demais já saiam com o requestId
+    @Bean
+    public FilterRegistrationBean<CorrelacaoRequisicaoFilter> correlacaoRequisicaoFilter(LogProperties properties) {
+        FilterRegistrationBean<CorrelacaoRequisicaoFilter> registro = new FilterRegistrationBean<>(new CorrelacaoRequisicaoFilter(properties));
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registro;
+    }
+}
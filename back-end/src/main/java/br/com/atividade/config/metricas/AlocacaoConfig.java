@@ -0,0 +1,39 @@
+package br.com.atividade.config.metricas;
+
+import br.com.atividade.config.AlocacaoProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.lang.management.ManagementFactory;
+
+@Slf4j
+@Configuration
+public class AlocacaoConfig {
+
+    @Bean
+    public com.sun.management.ThreadMXBean threadMXBean() {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (threadMXBean.isThreadAllocatedMemorySupported() && !threadMXBean.isThreadAllocatedMemoryEnabled()) {
+            threadMXBean.setThreadAllocatedMemoryEnabled(true);
+        }
+        if (!threadMXBean.isThreadAllocatedMemoryEnabled()) {
+            log.warn("[Config] - JVM sem medição de alocação por thread; atividade.requisicao.alocacao não será publicada");
+        }
+        return threadMXBean;
+    }
+
+    // Depois da correlação e da contagem de consultas, para que a alocação inclua o resto da cadeia e o corpo
+    @Bean
+    public FilterRegistrationBean<AlocacaoRequisicaoFilter> alocacaoRequisicaoFilter(AlocacaoProperties properties,
+                                                                                     MeterRegistry meterRegistry,
+                                                                                     com.sun.management.ThreadMXBean threadMXBean) {
+        FilterRegistrationBean<AlocacaoRequisicaoFilter> registro = new FilterRegistrationBean<>(
+                new AlocacaoRequisicaoFilter(properties, meterRegistry, threadMXBean));
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registro;
+    }
+}
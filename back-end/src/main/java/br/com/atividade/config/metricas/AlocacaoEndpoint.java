@@ -0,0 +1,36 @@
+package br.com.atividade.config.metricas;
+
+import br.com.atividade.config.AlocacaoProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+// /actuator/alocacao: liga e desliga a medição de alocação por requisição sem reiniciar a aplicação.
+// POST /actuator/alocacao {"habilitada": false}. Não é exposto por padrão: habilite só na porta de gerenciamento
+@Slf4j
+@Component
+@Endpoint(id = "alocacao")
+@RequiredArgsConstructor
+public class AlocacaoEndpoint {
+
+    private final AlocacaoProperties properties;
+    private final com.sun.management.ThreadMXBean threadMXBean;
+
+    public record EstadoAlocacao(boolean habilitada, boolean suportada) {
+    }
+
+    @ReadOperation
+    public EstadoAlocacao estado() {
+        return new EstadoAlocacao(properties.isHabilitada(), threadMXBean.isThreadAllocatedMemoryEnabled());
+    }
+
+    @WriteOperation
+    public EstadoAlocacao alterar(boolean habilitada) {
+        properties.setHabilitada(habilitada);
+        log.info("[Config] - Medição de alocação por requisição {}", habilitada ? "ligada" : "desligada");
+        return estado();
+    }
+}
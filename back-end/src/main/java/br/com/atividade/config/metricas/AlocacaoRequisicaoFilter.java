@@ -0,0 +1,74 @@
+package br.com.atividade.config.metricas;
+
+import br.com.atividade.config.AlocacaoProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+// Bytes alocados no heap pela thread da requisição, do primeiro filtro à escrita do corpo, por rota; nas
+// listagens, também por linha devolvida. É a diferença entre duas leituras do contador de alocação da thread
+// (TLAB), sem amostragem nem instrumentação das alocações
+public class AlocacaoRequisicaoFilter extends OncePerRequestFilter {
+
+    public static final String METRICA = "atividade.requisicao.alocacao";
+    public static final String METRICA_POR_LINHA = "atividade.requisicao.alocacao.por.linha";
+    static final String ATRIBUTO_LINHAS = AlocacaoRequisicaoFilter.class.getName() + ".linhas";
+
+    private final AlocacaoProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final com.sun.management.ThreadMXBean threadMXBean;
+
+    public AlocacaoRequisicaoFilter(AlocacaoProperties properties, MeterRegistry meterRegistry,
+                                    com.sun.management.ThreadMXBean threadMXBean) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.threadMXBean = threadMXBean;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        // -1 quando a medição está desligada na JVM ou a requisição roda em thread virtual (JDK 21)
+        long antes = properties.isHabilitada() ? threadMXBean.getCurrentThreadAllocatedBytes() : -1;
+        if (antes < 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            registrar(request, threadMXBean.getCurrentThreadAllocatedBytes() - antes);
+        }
+    }
+
+    private void registrar(HttpServletRequest request, long bytes) {
+        Object rota = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = rota != null ? rota.toString() : "UNKNOWN";
+        DistributionSummary.builder(METRICA)
+                .baseUnit("bytes")
+                .tag("uri", uri)
+                .tag("method", request.getMethod())
+                .register(meterRegistry)
+                .record(bytes);
+        if (request.getAttribute(ATRIBUTO_LINHAS) instanceof Integer linhas && linhas > 0) {
+            DistributionSummary.builder(METRICA_POR_LINHA)
+                    .baseUnit("bytes")
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record((double) bytes / linhas);
+        }
+    }
+
+    // Chamado pelo LinhasConsultaAspect a cada listagem do AtividadeRepository feita na requisição atual
+    static void somarLinhas(HttpServletRequest request, int linhas) {
+        Object atual = request.getAttribute(ATRIBUTO_LINHAS);
+        request.setAttribute(ATRIBUTO_LINHAS, (atual instanceof Integer total ? total : 0) + linhas);
+    }
+}
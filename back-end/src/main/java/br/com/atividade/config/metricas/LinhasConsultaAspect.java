@@ -0,0 +1,40 @@
+package br.com.atividade.config.metricas;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Collection;
+
+// Quantidade de linhas devolvida por cada listagem do AtividadeRepository. Ao lado do timer
+// spring.data.repository.invocations, mostra se uma consulta lenta é lenta ou só devolve muito
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class LinhasConsultaAspect {
+
+    public static final String METRICA = "atividade.repositorio.linhas";
+
+    private final MeterRegistry meterRegistry;
+
+    @AfterReturning(pointcut = "execution(java.util.Collection+ br.com.atividade.repository.AtividadeRepository+.find*(..))"
+            + " || execution(java.util.Collection+ br.com.atividade.repository.AtividadeRepository+.listar*(..))",
+            returning = "linhas")
+    public void registrar(JoinPoint joinPoint, Collection<?> linhas) {
+        DistributionSummary.builder(METRICA)
+                .baseUnit("linhas")
+                .tag("metodo", joinPoint.getSignature().getName())
+                .register(meterRegistry)
+                .record(linhas.size());
+        // Dentro de uma requisição HTTP, soma as linhas para a alocação por linha do AlocacaoRequisicaoFilter
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes requisicao) {
+            AlocacaoRequisicaoFilter.somarLinhas(requisicao.getRequest(), linhas.size());
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package br.com.atividade.config.rastreamento;
+
+import br.com.atividade.config.RastreamentoProperties;
+import io.opentelemetry.exporter.logging.otlp.OtlpJsonLoggingSpanExporter;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.logging.FileHandler;
+import java.util.logging.Formatter;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+// O OtlpJsonLoggingSpanExporter escreve cada lote de spans em OTLP JSON no java.util.logging. Aqui o logger dele
+// ganha um FileHandler com rotação por tamanho e deixa de repassar ao Logback, então os spans vão só para o arquivo
+public class ArquivoSpanExporter implements SpanExporter {
+
+    private final SpanExporter exportador = OtlpJsonLoggingSpanExporter.create();
+
+    // O java.util.logging guarda os loggers por referência fraca: sem este campo o handler poderia se perder
+    private final Logger logger = Logger.getLogger(OtlpJsonLoggingSpanExporter.class.getName());
+
+    private final FileHandler arquivo;
+
+    public ArquivoSpanExporter(RastreamentoProperties.Arquivo properties) throws IOException {
+        Path caminho = properties.getCaminho().toAbsolutePath();
+        Files.createDirectories(caminho.getParent());
+        this.arquivo = new FileHandler(caminho.toString(), properties.getTamanhoMaximo().toBytes(), properties.getQuantidade(), true);
+        arquivo.setEncoding(StandardCharsets.UTF_8.name());
+        arquivo.setFormatter(new Formatter() {
+            @Override
+            public String format(LogRecord registro) {
+                return registro.getMessage() + System.lineSeparator();
+            }
+        });
+        logger.setUseParentHandlers(false);
+        logger.setLevel(Level.INFO);
+        logger.addHandler(arquivo);
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans) {
+        return exportador.export(spans);
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        arquivo.flush();
+        return exportador.flush();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        CompletableResultCode resultado = exportador.shutdown();
+        logger.removeHandler(arquivo);
+        arquivo.close();
+        return resultado;
+    }
+}
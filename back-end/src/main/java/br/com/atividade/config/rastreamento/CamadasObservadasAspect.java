@@ -0,0 +1,76 @@
+package br.com.atividade.config.rastreamento;
+
+import br.com.atividade.config.ParametrosInformados;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.CodeSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+// Um span por chamada ao AtividadeController (com os filtros informados), aos repositórios (com a quantidade de
+// linhas das listagens) e ao AtividadeMapper. Os comandos JDBC de cada chamada aparecem como spans filhos do span
+// do repositório. Só existe com o rastreamento ligado: desligado, nenhuma dessas classes ganha proxy
+@Aspect
+@Component
+@ConditionalOnProperty(prefix = "management.tracing", name = "enabled", matchIfMissing = true)
+@RequiredArgsConstructor
+public class CamadasObservadasAspect {
+
+    public static final String ATRIBUTO_LINHAS = "atividade.linhas";
+
+    private final ObservationRegistry observationRegistry;
+
+    @Around("execution(public * br.com.atividade.controller.AtividadeController.*(..))")
+    public Object observarController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return observar("atividade.controller", "AtividadeController", joinPoint, true);
+    }
+
+    @Around("execution(* br.com.atividade.repository.AtividadeRepository+.*(..))")
+    public Object observarAtividadeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return observar("atividade.repositorio", "AtividadeRepository", joinPoint, false);
+    }
+
+    @Around("execution(* br.com.atividade.repository.AtividadeResumoDiarioRepository+.*(..))")
+    public Object observarResumoDiarioRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return observar("atividade.repositorio", "AtividadeResumoDiarioRepository", joinPoint, false);
+    }
+
+    @Around("execution(* br.com.atividade.mapper.AtividadeMapper+.*(..))")
+    public Object observarMapper(ProceedingJoinPoint joinPoint) throws Throwable {
+        return observar("atividade.mapper", "AtividadeMapper", joinPoint, false);
+    }
+
+    // Nome do span como o do @Observed (Tipo#metodo), com a interface no lugar da implementação ou do fragmento
+    // que declara o método (CrudRepository, AtividadeRepositoryCustom, AtividadeMapperImpl)
+    private Object observar(String nome, String tipo, ProceedingJoinPoint joinPoint, boolean comFiltros) throws Throwable {
+        String metodo = joinPoint.getSignature().getName();
+        Observation observacao = Observation.createNotStarted(nome, observationRegistry)
+                .contextualName(tipo + "#" + metodo)
+                .lowCardinalityKeyValue("metodo", metodo);
+        if (comFiltros && joinPoint.getSignature() instanceof CodeSignature assinatura) {
+            String filtros = ParametrosInformados.nomes(assinatura.getParameterNames(), joinPoint.getArgs());
+            if (!filtros.isEmpty()) {
+                observacao.highCardinalityKeyValue(RastreamentoConfig.ATRIBUTO_FILTROS, filtros);
+            }
+        }
+        observacao.start();
+        try (Observation.Scope ignored = observacao.openScope()) {
+            Object resultado = joinPoint.proceed();
+            if (resultado instanceof Collection<?> linhas) {
+                observacao.highCardinalityKeyValue(ATRIBUTO_LINHAS, String.valueOf(linhas.size()));
+            }
+            return resultado;
+        } catch (Throwable erro) {
+            observacao.error(erro);
+            throw erro;
+        } finally {
+            observacao.stop();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package br.com.atividade.config.rastreamento;
+
+import br.com.atividade.config.ParametrosInformados;
+import br.com.atividade.config.RastreamentoProperties;
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.ObservationFilter;
+import io.micrometer.observation.aop.ObservedAspect;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.reflect.CodeSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+
+// Spans por rota (http.server.requests), por método do serviço (atividade.service), do controller, do repositório
+// e do mapper (CamadasObservadasAspect), da montagem da consulta, de cada comando JDBC (datasource-micrometer) e da
+// escrita do JSON. A exportação vai para OTLP (management.otlp.tracing.endpoint) e/ou para arquivo local.
+// Com management.tracing.enabled=false (padrão) nada disso é criado: sobram só as observações que já alimentavam
+// as métricas (http.server.requests e atividade.service)
+@Slf4j
+@Configuration
+public class RastreamentoConfig {
+
+    public static final String ATRIBUTO_FILTROS = "atividade.filtros";
+
+    // No span do serviço, quais parâmetros vieram preenchidos (ex.: funcional,dataInicio,limite); o do controller
+    // recebe o mesmo atributo no CamadasObservadasAspect. É high cardinality: vai para o span e não vira tag das métricas
+    @Bean
+    @ConditionalOnProperty(prefix = "management.tracing", name = "enabled", matchIfMissing = true)
+    public ObservationFilter filtrosInformadosObservationFilter() {
+        return contexto -> {
+            if (contexto instanceof ObservedAspect.ObservedAspectContext observado
+                    && observado.getProceedingJoinPoint().getSignature() instanceof CodeSignature assinatura) {
+                String filtros = ParametrosInformados.nomes(assinatura.getParameterNames(), observado.getProceedingJoinPoint().getArgs());
+                if (!filtros.isEmpty()) {
+                    contexto.addHighCardinalityKeyValue(KeyValue.of(ATRIBUTO_FILTROS, filtros));
+                }
+            }
+            return contexto;
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "atividade.rastreamento.arquivo", name = "habilitado", havingValue = "true")
+    public SpanExporter arquivoSpanExporter(RastreamentoProperties properties) throws IOException {
+        log.info("[Config] - Exportando spans para {}", properties.getArquivo().getCaminho().toAbsolutePath());
+        return new ArquivoSpanExporter(properties.getArquivo());
+    }
+}
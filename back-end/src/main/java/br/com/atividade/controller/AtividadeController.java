@@ -2,38 +2,75 @@ package br.com.atividade.controller;
 
 import br.com.atividade.sevice.dto.input.AtividadeInput;
 import br.com.atividade.sevice.dto.output.AtividadeOutput;
+import br.com.atividade.sevice.dto.output.PaginaAtividadeOutput;
+import br.com.atividade.sevice.dto.output.ResultadoLoteOutput;
 import br.com.atividade.sevice.AtividadeService;
+import br.com.atividade.sevice.ingestao.IngestaoAssincronaAtividades;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import jakarta.validation.Valid;
 import org.springframework.format.annotation.DateTimeFormat;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
+// No profile reativo as mesmas rotas são atendidas por AtividadeReativaController
 @Slf4j
 @RestController
 @RequestMapping("/atividades")
 @Validated
+@Profile("!reativo")
 public class AtividadeController {
 
+    public static final String HEADER_PROXIMO_CURSOR = "X-Proximo-Cursor";
+
     @Autowired
     private AtividadeService atividadeService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private IngestaoAssincronaAtividades ingestaoAssincrona;
+
     @PostMapping
     public ResponseEntity<AtividadeOutput> criarAtividade(@Valid @RequestBody AtividadeInput atividadeInput) {
-        log.info("[Controller] - Recebida requisição para criar atividade: {}", atividadeInput);
+        log.info("[Controller] - Recebida requisição para criar atividade - Funcional: {}, Código: {}", atividadeInput.getFuncional(), atividadeInput.getCodigoAtividade());
+        if (ingestaoAssincrona.isHabilitada()) {
+            // A gravação acontece em lote depois; não há ID nem versão para devolver ainda
+            if (!ingestaoAssincrona.aceitar(atividadeInput)) {
+                log.warn("[Controller] - Fila de ingestão cheia, recusando atividade");
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1").build();
+            }
+            return ResponseEntity.accepted().build();
+        }
         try {
             AtividadeOutput atividade = atividadeService.criarAtividade(atividadeInput);
-            log.info("[Controller] - Atividade criada com sucesso: {}", atividade);
-            return new ResponseEntity<>(atividade, HttpStatus.CREATED);
+            log.info("[Controller] - Atividade criada com sucesso - ID: {}", atividade.getIdAtividade());
+            return respostaComVersao(ResponseEntity.status(HttpStatus.CREATED), atividade);
         } catch (IllegalArgumentException e) {
             log.error("[Controller] - Dados inválidos: {}", e.getMessage());
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
@@ -43,21 +80,72 @@ public class AtividadeController {
         }
     }
 
+    @PostMapping("/lote")
+    public ResponseEntity<List<ResultadoLoteOutput>> criarAtividadesEmLote(@RequestBody List<AtividadeInput> atividadesInput) {
+        log.info("[Controller] - Recebida requisição para criar lote com {} atividades", atividadesInput == null ? 0 : atividadesInput.size());
+        try {
+            List<ResultadoLoteOutput> resultados = atividadeService.criarAtividadesEmLote(atividadesInput);
+            long rejeitadas = resultados.stream()
+                    .filter(resultado -> resultado.getStatus() == ResultadoLoteOutput.Status.REJEITADA)
+                    .count();
+            log.info("[Controller] - Lote processado: {} criadas, {} rejeitadas", resultados.size() - rejeitadas, rejeitadas);
+            return ResponseEntity.status(rejeitadas == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS).body(resultados);
+        } catch (IllegalArgumentException e) {
+            log.error("[Controller] - Lote inválido: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (Exception erro) {
+            log.error("[Controller] - Erro interno ao criar lote de atividades", erro);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Erro interno do servidor");
+        }
+    }
+
     @GetMapping
     public ResponseEntity<List<AtividadeOutput>> listarAtividades(
             @RequestParam(required = false) String funcional,
             @RequestParam(required = false) String codigoAtividade,
             @RequestParam(required = false) String descricaoAtividade,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim) {
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) List<String> ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         
-        log.info("[Controller] - Listando atividades. Filtros - Funcional: {}, CodigoAtividade: {}, DescricaoAtividade: {}, DataInicio: {}, DataFim: {}", 
-                funcional, codigoAtividade, descricaoAtividade, dataInicio, dataFim);
+        log.info("[Controller] - Listando atividades. Filtros - Funcional: {}, CodigoAtividade: {}, DescricaoAtividade: {}, DataInicio: {}, DataFim: {}, Limite: {}", 
+                funcional, codigoAtividade, descricaoAtividade, dataInicio, dataFim, limite);
         
         try {
-            List<AtividadeOutput> atividades = atividadeService.listarAtividadesComFiltros(funcional, codigoAtividade, descricaoAtividade, dataInicio, dataFim);
-            log.info("[Controller] - Total de atividades encontradas: {}", atividades.size());
-            return ResponseEntity.ok(atividades);
+            // Com funcional, o ETag é a marca de alteração do funcional, lida antes da página: uma escrita entre
+            // as duas leituras só faz o próximo GET baixar de novo, nunca rotula a página antiga com a marca nova.
+            // Sem funcional não há marca (um contador global seria uma linha disputada por todas as escritas)
+            Optional<Long> marca = funcional == null || funcional.isEmpty()
+                    ? Optional.empty() : atividadeService.buscarMarcaDeAlteracao(funcional);
+            Optional<String> etagValidado = marca.flatMap(versao -> etagDaMarcaValidado(versao, ifNoneMatch, accept));
+            if (etagValidado.isPresent()) {
+                log.info("[Controller] - Listagem do funcional {} não mudou desde a marca {}, respondendo 304", funcional, marca.get());
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etagValidado.get()).cacheControl(CacheControl.noCache())
+                        .varyBy(HttpHeaders.ACCEPT).build();
+            }
+
+            PaginaAtividadeOutput pagina = atividadeService.listarAtividadesPaginadas(funcional, codigoAtividade, descricaoAtividade, dataInicio, dataFim, cursor, limite);
+            log.info("[Controller] - Total de atividades na página: {}, possui próxima página: {}", pagina.getAtividades().size(), pagina.getProximoCursor() != null);
+
+            // Sem marca, o ETag vem da página consultada e o 304 economiza só a serialização e o tráfego.
+            // O corpo muda com o Accept (JSON, CBOR, Smile, Protobuf ou colunar), então o tipo negociado entra
+            // no ETag e o If-None-Match é avaliado depois da negociação (EtagPorRepresentacaoResponseBodyAdvice)
+            ResponseEntity.BodyBuilder resposta = ResponseEntity.ok()
+                    .eTag(marca.map(AtividadeController::etagDaMarca).orElseGet(() -> etagDaPagina(pagina)))
+                    .cacheControl(CacheControl.noCache())
+                    .varyBy(HttpHeaders.ACCEPT);
+            if (pagina.getProximoCursor() != null) {
+                String proximaPagina = ServletUriComponentsBuilder.fromCurrentRequest()
+                        .replaceQueryParam("cursor", pagina.getProximoCursor())
+                        .build()
+                        .toUriString();
+                resposta.header(HttpHeaders.LINK, "<" + proximaPagina + ">; rel=\"next\"")
+                        .header(HEADER_PROXIMO_CURSOR, pagina.getProximoCursor());
+            }
+            return resposta.body(pagina.getAtividades());
         } catch (IllegalArgumentException e) {
             log.error("[Controller] - Dados inválidos para filtro: {}", e.getMessage());
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
@@ -67,14 +155,55 @@ public class AtividadeController {
         }
     }
 
+    @GetMapping(value = "/exportacao", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> exportarAtividades(
+            @RequestParam(required = false) String funcional,
+            @RequestParam(required = false) String codigoAtividade,
+            @RequestParam(required = false) String descricaoAtividade,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+
+        boolean ndjson = aceitaNdjson(accept);
+        log.info("[Controller] - Exportando atividades em {}. Filtros - Funcional: {}, CodigoAtividade: {}, DescricaoAtividade: {}, DataInicio: {}, DataFim: {}",
+                ndjson ? "NDJSON" : "JSON", funcional, codigoAtividade, descricaoAtividade, dataInicio, dataFim);
+
+        // Cada linha é serializada e escrita direto na resposta (chunked), sem montar a lista em memória
+        StreamingResponseBody corpo = saida -> {
+            ObjectWriter writer = objectMapper.writer()
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            long total;
+            try (SequenceWriter sequencia = ndjson
+                    ? writer.withRootValueSeparator("\n").writeValues(saida)
+                    : writer.writeValuesAsArray(saida)) {
+                total = atividadeService.exportarAtividadesComFiltros(funcional, codigoAtividade, descricaoAtividade, dataInicio, dataFim,
+                        atividade -> escreverLinha(sequencia, atividade));
+            } catch (RuntimeException erro) {
+                log.error("[Controller] - Exportação interrompida", erro);
+                throw erro;
+            }
+            if (ndjson && total > 0) {
+                saida.write('\n');
+            }
+            saida.flush();
+            log.info("[Controller] - Exportação finalizada com {} atividades", total);
+        };
+
+        return ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .body(corpo);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<AtividadeOutput> buscarAtividadePorId(@PathVariable Long id) {
         log.info("[Controller] - Buscando atividade com ID: {}", id);
         try {
             Optional<AtividadeOutput> atividade = atividadeService.buscarAtividadePorId(id);
             if (atividade.isPresent()) {
-                log.info("[Controller] - Atividade encontrada: {}", atividade.get());
-                return ResponseEntity.ok(atividade.get());
+                log.info("[Controller] - Atividade encontrada - ID: {}", id);
+                // Com If-None-Match igual ao ETag, o Spring responde 304 sem serializar o corpo
+                return respostaComVersao(ResponseEntity.ok(), atividade.get());
             } else {
                 log.warn("[Controller] - Atividade com ID {} não encontrada", id);
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Atividade não encontrada");
@@ -89,15 +218,19 @@ public class AtividadeController {
 
     @PutMapping("/{id}")
     public ResponseEntity<AtividadeOutput> atualizarAtividade(@PathVariable Long id,
-            @Valid @RequestBody AtividadeInput atividadeInput) {
-        log.info("[Controller] - Atualizando atividade com ID: {}", id);
+            @Valid @RequestBody AtividadeInput atividadeInput,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("[Controller] - Atualizando atividade com ID: {}, If-Match: {}", id, ifMatch);
         try {
-            AtividadeOutput atividadeAtualizada = atividadeService.atualizarAtividade(id, atividadeInput);
-            log.info("[Controller] - Atividade atualizada com sucesso: {}", atividadeAtualizada);
-            return ResponseEntity.ok(atividadeAtualizada);
+            AtividadeOutput atividadeAtualizada = atividadeService.atualizarAtividade(id, atividadeInput, versaoDoIfMatch(ifMatch));
+            log.info("[Controller] - Atividade atualizada com sucesso - ID: {}, Versão: {}", id, atividadeAtualizada.getVersao());
+            return respostaComVersao(ResponseEntity.ok(), atividadeAtualizada);
         } catch (IllegalArgumentException e) {
             log.error("[Controller] - Dados inválidos: {}", e.getMessage());
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("[Controller] - Atividade com ID {} alterada por outra requisição, If-Match: {}", id, ifMatch);
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Atividade foi alterada por outra requisição");
         } catch (RuntimeException e) {
             if (e.getMessage().contains("não encontrada")) {
                 log.warn("[Controller] - Atividade com ID {} não encontrada", id);
@@ -128,4 +261,96 @@ public class AtividadeController {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Erro interno do servidor");
         }
     }
+
+    static String etag(long versao) {
+        return "\"" + versao + "\"";
+    }
+
+    static String etagDaMarca(long versao) {
+        return "\"m" + versao + "\"";
+    }
+
+    // Procura no If-None-Match o ETag que o advice teria devolvido para a marca atual ("m<versao>-tipo/subtipo")
+    // em um tipo que o Accept ainda aceita; com ele a resposta é 304 sem consultar a tabela atividade
+    static Optional<String> etagDaMarcaValidado(long versao, List<String> ifNoneMatch, String accept) {
+        if (ifNoneMatch == null || ifNoneMatch.isEmpty()) {
+            return Optional.empty();
+        }
+        String prefixo = "\"m" + versao + "-";
+        HttpHeaders cabecalhos = new HttpHeaders();
+        cabecalhos.put(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        // Accept ou ETag malformado segue para a consulta, onde a negociação responde como sempre
+        try {
+            List<MediaType> aceitos = accept == null || accept.isBlank() ? List.of(MediaType.ALL) : MediaType.parseMediaTypes(accept);
+            for (String candidato : cabecalhos.getIfNoneMatch()) {
+                String etag = candidato.startsWith("W/") ? candidato.substring(2) : candidato;
+                if (!etag.startsWith(prefixo) || !etag.endsWith("\"") || etag.length() <= prefixo.length() + 1) {
+                    continue;
+                }
+                MediaType tipo = MediaType.parseMediaType(etag.substring(prefixo.length(), etag.length() - 1));
+                if (aceitos.stream().anyMatch(aceito -> aceito.includes(tipo))) {
+                    return Optional.of(etag);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            log.debug("[Controller] - If-None-Match ou Accept inválido para a marca de alteração: {}", e.getMessage());
+        }
+        return Optional.empty();
+    }
+
+    // MD5 de cada atividade da página (versão inclusa) e do próximo cursor. Só depende do que o banco
+    // devolveu, então todas as instâncias calculam o mesmo ETag e qualquer escrita o muda, venha ela de
+    // outro nó, do SQL direto ou do descarte de partições
+    static String etagDaPagina(PaginaAtividadeOutput pagina) {
+        StringBuilder conteudo = new StringBuilder(pagina.getAtividades().size() * 96);
+        for (AtividadeOutput atividade : pagina.getAtividades()) {
+            conteudo.append(atividade.getIdAtividade()).append('\u001f')
+                    .append(atividade.getVersao()).append('\u001f')
+                    .append(atividade.getFuncional()).append('\u001f')
+                    .append(atividade.getDataHora()).append('\u001f')
+                    .append(atividade.getCodigoAtividade()).append('\u001f')
+                    .append(atividade.getDescricaoAtividade()).append('\u001e');
+        }
+        conteudo.append(pagina.getProximoCursor());
+        return "\"" + DigestUtils.md5DigestAsHex(conteudo.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    static ResponseEntity<AtividadeOutput> respostaComVersao(ResponseEntity.BodyBuilder resposta, AtividadeOutput atividade) {
+        if (atividade.getVersao() != null) {
+            resposta.eTag(etag(atividade.getVersao())).cacheControl(CacheControl.noCache());
+        }
+        return resposta.body(atividade);
+    }
+
+    // If-Match usa comparação forte: ETag fraco (W/"...") nunca casa. "*" só exige que a atividade exista
+    static Long versaoDoIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String valor = ifMatch.trim();
+        if (valor.length() < 2 || !valor.startsWith("\"") || !valor.endsWith("\"")) {
+            throw new OptimisticLockingFailureException("If-Match inválido: " + ifMatch);
+        }
+        try {
+            return Long.parseLong(valor.substring(1, valor.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new OptimisticLockingFailureException("If-Match inválido: " + ifMatch);
+        }
+    }
+
+    private static boolean aceitaNdjson(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return false;
+        }
+        return MediaType.parseMediaTypes(accept).stream()
+                .anyMatch(tipo -> tipo.equalsTypeAndSubtype(MediaType.APPLICATION_NDJSON));
+    }
+
+    private static void escreverLinha(SequenceWriter sequencia, AtividadeOutput atividade) {
+        try {
+            sequencia.write(atividade);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
\ No newline at end of file
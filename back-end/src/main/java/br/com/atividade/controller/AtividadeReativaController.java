@@ -0,0 +1,182 @@
+package br.com.atividade.controller;
+
+import br.com.atividade.sevice.AtividadeService;
+import br.com.atividade.sevice.AtividadeServiceReativo;
+import br.com.atividade.sevice.dto.input.AtividadeInput;
+import br.com.atividade.sevice.dto.output.AtividadeOutput;
+import br.com.atividade.sevice.dto.output.ResultadoLoteOutput;
+import br.com.atividade.sevice.ingestao.IngestaoAssincronaAtividades;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import jakarta.validation.Valid;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Mesmas rotas de AtividadeController em WebFlux (profile reativo). Listagem e exportação são transmitidas
+// com backpressure direto do cursor R2DBC; não há paginação por cursor nesta variante
+@Slf4j
+@RestController
+@RequestMapping("/atividades")
+@Validated
+@Profile("reativo")
+public class AtividadeReativaController {
+
+    @Autowired
+    private AtividadeServiceReativo atividadeService;
+
+    // Lote e ingestão assíncrona continuam no caminho JPA, fora do event loop
+    @Autowired
+    private AtividadeService atividadeServiceJpa;
+
+    @Autowired
+    private IngestaoAssincronaAtividades ingestaoAssincrona;
+
+    @PostMapping
+    public Mono<ResponseEntity<AtividadeOutput>> criarAtividade(@Valid @RequestBody AtividadeInput atividadeInput) {
+        log.info("[Controller] - Recebida requisição para criar atividade - Funcional: {}, Código: {}", atividadeInput.getFuncional(), atividadeInput.getCodigoAtividade());
+        if (ingestaoAssincrona.isHabilitada()) {
+            // Com o WAL em modo ESCRITA ou LOTE o aceite espera o fsync
+            return Mono.fromCallable(() -> ingestaoAssincrona.aceitar(atividadeInput))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .map(aceita -> {
+                        if (!aceita) {
+                            log.warn("[Controller] - Fila de ingestão cheia, recusando atividade");
+                            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1").<AtividadeOutput>build();
+                        }
+                        return ResponseEntity.accepted().<AtividadeOutput>build();
+                    });
+        }
+        return atividadeService.criarAtividade(atividadeInput)
+                .map(atividade -> {
+                    log.info("[Controller] - Atividade criada com sucesso - ID: {}", atividade.getIdAtividade());
+                    return AtividadeController.respostaComVersao(ResponseEntity.status(HttpStatus.CREATED), atividade);
+                })
+                .onErrorMap(erro -> paraRespostaDeErro(erro, "criar atividade"));
+    }
+
+    @PostMapping("/lote")
+    public Mono<ResponseEntity<List<ResultadoLoteOutput>>> criarAtividadesEmLote(@RequestBody List<AtividadeInput> atividadesInput) {
+        log.info("[Controller] - Recebida requisição para criar lote com {} atividades", atividadesInput == null ? 0 : atividadesInput.size());
+        return Mono.fromCallable(() -> atividadeServiceJpa.criarAtividadesEmLote(atividadesInput))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(resultados -> {
+                    long rejeitadas = resultados.stream()
+                            .filter(resultado -> resultado.getStatus() == ResultadoLoteOutput.Status.REJEITADA)
+                            .count();
+                    log.info("[Controller] - Lote processado: {} criadas, {} rejeitadas", resultados.size() - rejeitadas, rejeitadas);
+                    return ResponseEntity.status(rejeitadas == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS).body(resultados);
+                })
+                .onErrorMap(erro -> paraRespostaDeErro(erro, "criar lote de atividades"));
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<Flux<AtividadeOutput>> listarAtividades(
+            @RequestParam(required = false) String funcional,
+            @RequestParam(required = false) String codigoAtividade,
+            @RequestParam(required = false) String descricaoAtividade,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim) {
+
+        log.info("[Controller] - Listando atividades. Filtros - Funcional: {}, CodigoAtividade: {}, DescricaoAtividade: {}, DataInicio: {}, DataFim: {}",
+                funcional, codigoAtividade, descricaoAtividade, dataInicio, dataFim);
+
+        // Sem ETag: a listagem reativa não é paginada e é transmitida enquanto lê, e um validador confiável
+        // exigiria juntar o resultado inteiro em memória antes de responder
+        return ResponseEntity.ok().body(transmitir(funcional, codigoAtividade, descricaoAtividade, dataInicio, dataFim));
+    }
+
+    @GetMapping(value = "/exportacao", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<AtividadeOutput> exportarAtividades(
+            @RequestParam(required = false) String funcional,
+            @RequestParam(required = false) String codigoAtividade,
+            @RequestParam(required = false) String descricaoAtividade,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim) {
+
+        log.info("[Controller] - Exportando atividades. Filtros - Funcional: {}, CodigoAtividade: {}, DescricaoAtividade: {}, DataInicio: {}, DataFim: {}",
+                funcional, codigoAtividade, descricaoAtividade, dataInicio, dataFim);
+        return transmitir(funcional, codigoAtividade, descricaoAtividade, dataInicio, dataFim);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<AtividadeOutput>> buscarAtividadePorId(@PathVariable Long id) {
+        log.info("[Controller] - Buscando atividade com ID: {}", id);
+        return atividadeService.buscarAtividadePorId(id)
+                .map(atividade -> {
+                    log.info("[Controller] - Atividade encontrada - ID: {}", id);
+                    return AtividadeController.respostaComVersao(ResponseEntity.ok(), atividade);
+                })
+                .switchIfEmpty(Mono.error(() -> {
+                    log.warn("[Controller] - Atividade com ID {} não encontrada", id);
+                    return new ResponseStatusException(HttpStatus.NOT_FOUND, "Atividade não encontrada");
+                }))
+                .onErrorMap(erro -> paraRespostaDeErro(erro, "buscar atividade por ID"));
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<AtividadeOutput>> atualizarAtividade(@PathVariable Long id,
+            @Valid @RequestBody AtividadeInput atividadeInput,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("[Controller] - Atualizando atividade com ID: {}, If-Match: {}", id, ifMatch);
+        return Mono.defer(() -> atividadeService.atualizarAtividade(id, atividadeInput, AtividadeController.versaoDoIfMatch(ifMatch)))
+                .map(atividade -> {
+                    log.info("[Controller] - Atividade atualizada com sucesso - ID: {}, Versão: {}", id, atividade.getVersao());
+                    return AtividadeController.respostaComVersao(ResponseEntity.ok(), atividade);
+                })
+                .onErrorMap(erro -> paraRespostaDeErro(erro, "atualizar atividade"));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deletarAtividade(@PathVariable Long id) {
+        log.info("[Controller] - Deletando atividade com ID: {}", id);
+        return atividadeService.deletarAtividade(id)
+                .then(Mono.fromSupplier(() -> {
+                    log.info("[Controller] - Atividade com ID {} deletada com sucesso", id);
+                    return ResponseEntity.noContent().<Void>build();
+                }))
+                .onErrorMap(erro -> paraRespostaDeErro(erro, "deletar atividade"));
+    }
+
+    private Flux<AtividadeOutput> transmitir(String funcional, String codigoAtividade, String descricaoAtividade,
+                                             LocalDate dataInicio, LocalDate dataFim) {
+        return atividadeService.listarAtividadesComFiltros(funcional, codigoAtividade, descricaoAtividade, dataInicio, dataFim)
+                .doOnCancel(() -> log.info("[Controller] - Cliente encerrou a transmissão de atividades"))
+                .onErrorMap(erro -> paraRespostaDeErro(erro, "listar atividades"));
+    }
+
+    // Mesmos status de AtividadeController: 400, 404, 412 e 500
+    private static Throwable paraRespostaDeErro(Throwable erro, String operacao) {
+        if (erro instanceof ResponseStatusException) {
+            return erro;
+        }
+        if (erro instanceof IllegalArgumentException) {
+            if (erro.getMessage() != null && erro.getMessage().contains("não encontrada")) {
+                log.warn("[Controller] - {}", erro.getMessage());
+                return new ResponseStatusException(HttpStatus.NOT_FOUND, "Atividade não encontrada");
+            }
+            log.error("[Controller] - Dados inválidos: {}", erro.getMessage());
+            return new ResponseStatusException(HttpStatus.BAD_REQUEST, erro.getMessage());
+        }
+        if (erro instanceof OptimisticLockingFailureException) {
+            log.warn("[Controller] - {}", erro.getMessage());
+            return new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Atividade foi alterada por outra requisição");
+        }
+        log.error("[Controller] - Erro interno ao {}", operacao, erro);
+        return new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Erro interno do servidor");
+    }
+}
@@ -0,0 +1,64 @@
+package br.com.atividade.controller;
+
+import br.com.atividade.sevice.EstatisticaAtividadeService;
+import br.com.atividade.sevice.dto.input.AgrupamentoEstatistica;
+import br.com.atividade.sevice.dto.output.EstatisticaCodigoOutput;
+import br.com.atividade.sevice.dto.output.EstatisticaPeriodoOutput;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Estatísticas servidas só a partir de atividade_resumo_diario, nunca com GROUP BY sobre a tabela atividade.
+// A reconstrução do resumo fica fora da API pública, no ReconstrucaoResumoEndpoint (/actuator/resumo)
+@Slf4j
+@RestController
+@RequestMapping("/atividades/estatisticas")
+public class EstatisticaAtividadeController {
+
+    @Autowired
+    private EstatisticaAtividadeService estatisticaAtividadeService;
+
+    @GetMapping("/por-periodo")
+    public ResponseEntity<List<EstatisticaPeriodoOutput>> listarPorPeriodo(
+            @RequestParam(required = false) String funcional,
+            @RequestParam(required = false) String codigoAtividade,
+            @RequestParam(required = false, defaultValue = "DIA") AgrupamentoEstatistica agrupamento,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim) {
+        log.info("[Controller] - Estatística por período. Funcional: {}, CodigoAtividade: {}, Agrupamento: {}, DataInicio: {}, DataFim: {}",
+                funcional, codigoAtividade, agrupamento, dataInicio, dataFim);
+        try {
+            return ResponseEntity.ok(estatisticaAtividadeService.listarPorPeriodo(funcional, codigoAtividade, agrupamento, dataInicio, dataFim));
+        } catch (IllegalArgumentException e) {
+            log.error("[Controller] - Dados inválidos para estatística: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (Exception erro) {
+            log.error("[Controller] - Erro ao calcular estatística por período", erro);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Erro interno do servidor");
+        }
+    }
+
+    @GetMapping("/por-codigo")
+    public ResponseEntity<List<EstatisticaCodigoOutput>> listarPorCodigo(
+            @RequestParam(required = false) String funcional,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim) {
+        log.info("[Controller] - Estatística por código. Funcional: {}, DataInicio: {}, DataFim: {}", funcional, dataInicio, dataFim);
+        try {
+            return ResponseEntity.ok(estatisticaAtividadeService.listarPorCodigo(funcional, dataInicio, dataFim));
+        } catch (IllegalArgumentException e) {
+            log.error("[Controller] - Dados inválidos para estatística: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (Exception erro) {
+            log.error("[Controller] - Erro ao calcular estatística por código", erro);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Erro interno do servidor");
+        }
+    }
+}
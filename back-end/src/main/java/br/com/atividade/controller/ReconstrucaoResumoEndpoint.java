@@ -0,0 +1,48 @@
+package br.com.atividade.controller;
+
+import br.com.atividade.sevice.EstatisticaAtividadeService;
+import br.com.atividade.sevice.dto.output.ReconstrucaoResumoOutput;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+// /actuator/resumo: recalcula atividade_resumo_diario a partir de atividade, em paralelo e com uma transação por bloco.
+// POST /actuator/resumo {"dataInicio": "2025-01-01", "dataFim": "2025-03-31"} (datas opcionais, corpo JSON mesmo vazio).
+// Varre a tabela inteira e não tem autenticação: não é exposto por padrão, habilite só na porta de gerenciamento
+@Slf4j
+@Component
+@Endpoint(id = "resumo")
+@RequiredArgsConstructor
+public class ReconstrucaoResumoEndpoint {
+
+    private final EstatisticaAtividadeService estatisticaAtividadeService;
+
+    @WriteOperation
+    public ReconstrucaoResumoOutput reconstruir(@Nullable String dataInicio, @Nullable String dataFim) {
+        log.info("[Controller] - Reconstrução do resumo diário. DataInicio: {}, DataFim: {}", dataInicio, dataFim);
+        try {
+            return estatisticaAtividadeService.reconstruirResumo(data(dataInicio), data(dataFim));
+        } catch (IllegalArgumentException e) {
+            log.error("[Controller] - Período inválido para reconstrução: {}", e.getMessage());
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+    }
+
+    private static LocalDate data(String valor) {
+        if (valor == null || valor.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(valor);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Data inválida: " + valor + "; use o formato AAAA-MM-DD");
+        }
+    }
+}
@@ -13,6 +13,9 @@ import java.util.List;
 public interface AtividadeMapper {
     
     @Mapping(target = "idAtividade", ignore = true)
+    @Mapping(target = "versao", ignore = true)
+    @Mapping(target = "chaveIngestao", ignore = true)
+    @Mapping(target = "descricaoCarregada", ignore = true)
     Atividade toEntity(AtividadeInput input);
     
     @Mapping(target = "idAtividade", source = "idAtividade")
@@ -21,5 +24,8 @@ public interface AtividadeMapper {
     List<AtividadeOutput> toOutputList(List<Atividade> entities);
     
     @Mapping(target = "idAtividade", ignore = true)
+    @Mapping(target = "versao", ignore = true)
+    @Mapping(target = "chaveIngestao", ignore = true)
+    @Mapping(target = "descricaoCarregada", ignore = true)
     void updateEntityFromInput(AtividadeInput input, @MappingTarget Atividade entity);
 }
\ No newline at end of file
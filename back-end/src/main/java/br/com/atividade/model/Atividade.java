@@ -1,16 +1,26 @@
 package br.com.atividade.model;
 
+import br.com.atividade.config.CacheConfig;
+import br.com.atividade.model.evento.AtividadeEntityListener;
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
 @Data
 @Entity
 @Table(name = "atividade")
+@EntityListeners(AtividadeEntityListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.REGIAO_ATIVIDADE)
 public class Atividade {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "atividade_seq")
+    @SequenceGenerator(name = "atividade_seq", sequenceName = "atividade_seq", allocationSize = 50)
     @Column(name = "id_atividade")
     private Long idAtividade;
 
@@ -25,4 +35,18 @@ public class Atividade {
 
     @Column(name = "funcional")
     private String funcional;
+
+    // Chave da atividade no log de ingestão (única com data_hora); nula fora da ingestão assíncrona
+    @Column(name = "chave_ingestao", length = 36, updatable = false)
+    private String chaveIngestao;
+
+    @Version
+    @Column(name = "versao")
+    private Long versao;
+
+    // Descrição como está no banco, mantida pelo AtividadeEntityListener para o evento de alteração
+    @Transient
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private String descricaoCarregada;
 }
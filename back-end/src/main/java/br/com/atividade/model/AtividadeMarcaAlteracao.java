@@ -0,0 +1,16 @@
+package br.com.atividade.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+@Data
+@Entity
+@Table(name = "atividade_marca_alteracao")
+public class AtividadeMarcaAlteracao {
+    @Id
+    @Column(name = "funcional")
+    private String funcional;
+
+    @Column(name = "versao")
+    private Long versao;
+}
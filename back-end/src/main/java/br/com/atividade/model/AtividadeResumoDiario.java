@@ -0,0 +1,43 @@
+package br.com.atividade.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Data
+@Entity
+@Table(name = "atividade_resumo_diario")
+@IdClass(AtividadeResumoDiario.Chave.class)
+public class AtividadeResumoDiario {
+    @Id
+    @Column(name = "funcional")
+    private String funcional;
+
+    @Id
+    @Column(name = "dia")
+    private LocalDate dia;
+
+    @Id
+    @Column(name = "codigo_atividade")
+    private String codigoAtividade;
+
+    @Column(name = "quantidade")
+    private Long quantidade;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Chave implements Serializable {
+        private String funcional;
+        private LocalDate dia;
+        private String codigoAtividade;
+
+        public static Chave de(Atividade atividade) {
+            return new Chave(atividade.getFuncional(), atividade.getDataHora().toLocalDate(), atividade.getCodigoAtividade());
+        }
+    }
+}
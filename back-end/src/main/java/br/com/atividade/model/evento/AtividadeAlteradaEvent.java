@@ -0,0 +1,11 @@
+package br.com.atividade.model.evento;
+
+// descricaoAnterior é a descrição antes da escrita (nula em CRIADA ou quando não foi lida do banco)
+public record AtividadeAlteradaEvent(Tipo tipo, Long idAtividade, String descricaoAtividade, String descricaoAnterior) {
+
+    public enum Tipo {
+        CRIADA,
+        ATUALIZADA,
+        REMOVIDA
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.atividade.model.evento;
+
+import br.com.atividade.model.Atividade;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+// Publica toda escrita JPA em Atividade, seja qual for o caminho (unitário, lote, etc.).
+// Os consumidores usam @TransactionalEventListener e só enxergam o evento depois do commit.
+@Component
+@RequiredArgsConstructor
+public class AtividadeEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostLoad
+    public void aposCarregar(Atividade atividade) {
+        atividade.setDescricaoCarregada(atividade.getDescricaoAtividade());
+    }
+
+    @PostPersist
+    public void aposInserir(Atividade atividade) {
+        publicar(AtividadeAlteradaEvent.Tipo.CRIADA, atividade);
+    }
+
+    @PostUpdate
+    public void aposAtualizar(Atividade atividade) {
+        publicar(AtividadeAlteradaEvent.Tipo.ATUALIZADA, atividade);
+    }
+
+    @PostRemove
+    public void aposRemover(Atividade atividade) {
+        publicar(AtividadeAlteradaEvent.Tipo.REMOVIDA, atividade);
+    }
+
+    // Leva a descrição lida do banco para o índice remover só os trigramas dela; depois da escrita ela passa a ser a atual
+    private void publicar(AtividadeAlteradaEvent.Tipo tipo, Atividade atividade) {
+        String anterior = tipo == AtividadeAlteradaEvent.Tipo.CRIADA ? null : atividade.getDescricaoCarregada();
+        eventPublisher.publishEvent(new AtividadeAlteradaEvent(tipo, atividade.getIdAtividade(), atividade.getDescricaoAtividade(), anterior));
+        atividade.setDescricaoCarregada(atividade.getDescricaoAtividade());
+    }
+}
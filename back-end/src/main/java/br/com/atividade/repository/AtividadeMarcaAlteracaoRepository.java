@@ -0,0 +1,33 @@
+package br.com.atividade.repository;
+
+import br.com.atividade.model.AtividadeMarcaAlteracao;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface AtividadeMarcaAlteracaoRepository extends JpaRepository<AtividadeMarcaAlteracao, String> {
+
+    // Mesmo upsert do resumo diário: a primeira escrita do funcional cria a linha com versão 1
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "atividade_marca_alteracao"))
+    @Query(value = "INSERT INTO atividade_marca_alteracao (funcional, versao) VALUES (:funcional, 1) " +
+            "ON DUPLICATE KEY UPDATE versao = versao + 1", nativeQuery = true)
+    void incrementar(@Param("funcional") String funcional);
+
+    // O descarte de partições muda atividades de vários funcionais de uma vez, fora de qualquer serviço transacional
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "atividade_marca_alteracao"))
+    @Query(value = "UPDATE atividade_marca_alteracao SET versao = versao + 1", nativeQuery = true)
+    int incrementarTodas();
+
+    @Query(value = "SELECT versao FROM atividade_marca_alteracao WHERE funcional = :funcional", nativeQuery = true)
+    Long buscarVersao(@Param("funcional") String funcional);
+}
@@ -1,27 +1,59 @@
 package br.com.atividade.repository;
 
+import br.com.atividade.config.CacheConfig;
 import br.com.atividade.model.Atividade;
+import br.com.atividade.repository.projection.DescricaoAtividade;
+import br.com.atividade.sevice.dto.output.AtividadeOutput;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
-public interface AtividadeRepository extends JpaRepository<Atividade, Long>, JpaSpecificationExecutor<Atividade> {
+public interface AtividadeRepository extends JpaRepository<Atividade, Long>, JpaSpecificationExecutor<Atividade>, AtividadeRepositoryCustom {
     
-    @Query("SELECT a FROM Atividade a WHERE a.funcional = :funcional")
-    List<Atividade> findByFuncional(@Param("funcional") String funcional);
-    
-    @Query("SELECT a FROM Atividade a WHERE " +
-           "(:funcional IS NULL OR a.funcional = :funcional) AND " +
-           "(:codigoAtividade IS NULL OR a.codigoAtividade = :codigoAtividade) AND " +
-           "(:descricaoAtividade IS NULL OR LOWER(a.descricaoAtividade) LIKE LOWER(CONCAT('%', :descricaoAtividade, '%')))")
-    List<Atividade> findWithFilters(@Param("funcional") String funcional,
-                                   @Param("codigoAtividade") String codigoAtividade,
-                                   @Param("descricaoAtividade") String descricaoAtividade);
+    // Leituras projetadas direto no DTO: sem entidade gerenciada, snapshot de dirty-checking nem MapStruct
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT new br.com.atividade.sevice.dto.output.AtividadeOutput(a.idAtividade, a.funcional, a.dataHora, a.codigoAtividade, a.descricaoAtividade, a.versao) FROM Atividade a")
+    List<AtividadeOutput> findAllOutputs();
+
+    // Query cache: invalidado pelo Hibernate a cada escrita na tabela atividade
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheConfig.REGIAO_ATIVIDADES_POR_FUNCIONAL)
+    })
+    @Query("SELECT new br.com.atividade.sevice.dto.output.AtividadeOutput(a.idAtividade, a.funcional, a.dataHora, a.codigoAtividade, a.descricaoAtividade, a.versao) FROM Atividade a WHERE a.funcional = :funcional")
+    List<AtividadeOutput> findOutputsByFuncional(@Param("funcional") String funcional);
     
+    // Leitura das escritas (atualização e exclusão): ignora o cache de segundo nível, que é local a cada
+    // instância e pode ter uma versão antiga (escrita de outro nó ou lida de réplica), o que faria o If-Match
+    // falhar com 412 sem motivo. A linha lida do banco também substitui a entrada antiga no cache
+    @QueryHints({
+            @QueryHint(name = SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, value = "BYPASS"),
+            @QueryHint(name = SpecHints.HINT_SPEC_CACHE_STORE_MODE, value = "REFRESH")
+    })
+    @Query("SELECT a FROM Atividade a WHERE a.idAtividade = :id")
+    Optional<Atividade> buscarParaEscrita(@Param("id") Long id);
+
+    // Chaves de ingestão de um lote reentregue que já foram gravadas (índice uk_atividade_chave_ingestao)
+    @Query("SELECT a.chaveIngestao FROM Atividade a WHERE a.chaveIngestao IN :chaves")
+    Set<String> findChavesIngestaoGravadas(@Param("chaves") Collection<String> chaves);
+
     boolean existsByCodigoAtividadeAndFuncional(String codigoAtividade, String funcional);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new br.com.atividade.repository.projection.DescricaoAtividade(a.idAtividade, a.descricaoAtividade) FROM Atividade a")
+    Stream<DescricaoAtividade> streamDescricoes();
 }
\ No newline at end of file
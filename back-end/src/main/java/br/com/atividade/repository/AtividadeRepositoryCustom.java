@@ -0,0 +1,19 @@
+package br.com.atividade.repository;
+
+import br.com.atividade.model.Atividade;
+import br.com.atividade.sevice.dto.output.AtividadeOutput;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface AtividadeRepositoryCustom {
+
+    List<AtividadeOutput> listarOutputsComFiltros(Specification<Atividade> especificacao);
+
+    List<AtividadeOutput> listarOutputsPaginados(Specification<Atividade> especificacao, int limite);
+
+    Stream<AtividadeOutput> streamOutputsComFiltros(Specification<Atividade> especificacao);
+
+    List<Atividade> salvarEmLote(List<Atividade> atividades);
+}
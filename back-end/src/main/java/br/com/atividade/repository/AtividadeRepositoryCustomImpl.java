@@ -0,0 +1,108 @@
+package br.com.atividade.repository;
+
+import br.com.atividade.config.LoteProperties;
+import br.com.atividade.model.Atividade;
+import br.com.atividade.sevice.dto.output.AtividadeOutput;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public class AtividadeRepositoryCustomImpl implements AtividadeRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private LoteProperties loteProperties;
+
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
+    @Value("${management.tracing.enabled:true}")
+    private boolean rastreamentoHabilitado;
+
+    @Value("${atividade.exportacao.fetch-size:1000}")
+    private int fetchSize;
+
+    @Override
+    public List<AtividadeOutput> listarOutputsComFiltros(Specification<Atividade> especificacao) {
+        return criarConsultaOutput(especificacao, false).getResultList();
+    }
+
+    @Override
+    public List<AtividadeOutput> listarOutputsPaginados(Specification<Atividade> especificacao, int limite) {
+        return criarConsultaOutput(especificacao, true)
+                .setMaxResults(limite)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<AtividadeOutput> streamOutputsComFiltros(Specification<Atividade> especificacao) {
+        // Cursor forward-only: o driver entrega as linhas em blocos de fetchSize (no MySQL exige useCursorFetch=true)
+        // e, como o resultado é DTO, nada fica preso no persistence context durante a exportação
+        return criarConsultaOutput(especificacao, true)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    @Override
+    public List<Atividade> salvarEmLote(List<Atividade> atividades) {
+        int tamanhoBatch = loteProperties.getTamanhoBatch();
+        for (int i = 0; i < atividades.size(); i++) {
+            entityManager.persist(atividades.get(i));
+            // Descarrega a cada batch completo: o Hibernate agrupa os INSERTs em um único executeBatch
+            // (hibernate.jdbc.batch_size) e o clear evita que o persistence context cresça com o lote
+            if ((i + 1) % tamanhoBatch == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return atividades;
+    }
+
+    // Span próprio para separar a montagem da Criteria (e a cópia para a árvore SQM do Hibernate) do comando JDBC
+    private TypedQuery<AtividadeOutput> criarConsultaOutput(Specification<Atividade> especificacao, boolean ordenarPorCursor) {
+        if (!rastreamentoHabilitado) {
+            return montarConsultaOutput(especificacao, ordenarPorCursor);
+        }
+        return Observation.createNotStarted("atividade.consulta.montagem", observationRegistry)
+                .contextualName("AtividadeRepository#montarConsulta")
+                .observe(() -> montarConsultaOutput(especificacao, ordenarPorCursor));
+    }
+
+    // SELECT new AtividadeOutput(...) a partir da Specification, sem hidratar entidades
+    private TypedQuery<AtividadeOutput> montarConsultaOutput(Specification<Atividade> especificacao, boolean ordenarPorCursor) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AtividadeOutput> query = criteriaBuilder.createQuery(AtividadeOutput.class);
+        Root<Atividade> root = query.from(Atividade.class);
+        query.select(criteriaBuilder.construct(AtividadeOutput.class,
+                root.get("idAtividade"), root.get("funcional"), root.get("dataHora"),
+                root.get("codigoAtividade"), root.get("descricaoAtividade"), root.get("versao")));
+
+        Predicate predicate = especificacao.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (ordenarPorCursor) {
+            query.orderBy(criteriaBuilder.asc(root.get("dataHora")), criteriaBuilder.asc(root.get("idAtividade")));
+        }
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,242 @@
+package br.com.atividade.repository;
+
+import br.com.atividade.config.ReativoProperties;
+import br.com.atividade.model.Atividade;
+import br.com.atividade.model.AtividadeResumoDiario;
+import br.com.atividade.sevice.dto.output.AtividadeOutput;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Readable;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Acesso R2DBC às tabelas atividade e atividade_resumo_diario para a API reativa. O pool é interno e não
+// vira bean de ConnectionFactory: com um, o Spring Boot deixaria de criar o DataSource JDBC
+@Slf4j
+@Repository
+@Profile("reativo")
+public class AtividadeRepositoryReativo {
+
+    private static final String COLUNAS = "id_atividade, funcional, data_hora, codigo_atividade, descricao_atividade, versao";
+
+    // Mesmo allocationSize de Atividade: cada valor lido da atividade_seq reserva os IDs (valor - 49 .. valor]
+    private static final int TAMANHO_BLOCO_IDS = 50;
+
+    private final ConnectionPool pool;
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transacao;
+    private final TransactionalOperator transacaoSequencia;
+    private final boolean mysql;
+
+    private long proximoId;
+    private long ultimoIdBloco = -1;
+
+    public AtividadeRepositoryReativo(ReativoProperties properties) {
+        ConnectionFactoryOptions opcoes = ConnectionFactoryOptions.parse(properties.getUrl()).mutate()
+                .option(ConnectionFactoryOptions.USER, properties.getUsername())
+                .option(ConnectionFactoryOptions.PASSWORD, properties.getPassword())
+                .build();
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(opcoes))
+                .name("reativo")
+                .maxSize(properties.getTamanhoPool())
+                .maxAcquireTime(properties.getEsperaConexao())
+                .build());
+        this.databaseClient = DatabaseClient.create(pool);
+
+        R2dbcTransactionManager transactionManager = new R2dbcTransactionManager(pool);
+        this.transacao = TransactionalOperator.create(transactionManager);
+        this.transacaoSequencia = TransactionalOperator.create(transactionManager,
+                new DefaultTransactionDefinition(TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        this.mysql = "MySQL".equalsIgnoreCase(pool.getMetadata().getName());
+        log.info("[DB] - Pool R2DBC criado para {} - máximo de {} conexões", pool.getMetadata().getName(), properties.getTamanhoPool());
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        pool.dispose();
+    }
+
+    public <T> Mono<T> emTransacao(Mono<T> operacao) {
+        return transacao.transactional(operacao);
+    }
+
+    // Linhas emitidas conforme a demanda do assinante, na ordem de (data_hora, id_atividade)
+    public Flux<AtividadeOutput> listarComFiltros(String funcional, String codigoAtividade, String descricaoAtividade,
+                                                  LocalDate dataInicio, LocalDate dataFim, Collection<Long> ids) {
+        if (ids != null && ids.isEmpty()) {
+            return Flux.empty();
+        }
+        List<String> condicoes = new ArrayList<>();
+        Map<String, Object> parametros = new LinkedHashMap<>();
+        if (funcional != null && !funcional.isEmpty()) {
+            condicoes.add("funcional = :funcional");
+            parametros.put("funcional", funcional);
+        }
+        if (codigoAtividade != null && !codigoAtividade.isEmpty()) {
+            condicoes.add("codigo_atividade = :codigoAtividade");
+            parametros.put("codigoAtividade", codigoAtividade);
+        }
+        if (descricaoAtividade != null && !descricaoAtividade.isEmpty()) {
+            condicoes.add("descricao_atividade LIKE :descricaoAtividade");
+            parametros.put("descricaoAtividade", "%" + descricaoAtividade + "%");
+        }
+        if (dataInicio != null) {
+            condicoes.add("data_hora >= :dataInicio");
+            parametros.put("dataInicio", dataInicio.atStartOfDay());
+        }
+        if (dataFim != null) {
+            condicoes.add("data_hora <= :dataFim");
+            parametros.put("dataFim", dataFim.atTime(23, 59, 59));
+        }
+        if (ids != null) {
+            condicoes.add("id_atividade IN (:ids)");
+            parametros.put("ids", ids);
+        }
+
+        String sql = "SELECT " + COLUNAS + " FROM atividade"
+                + (condicoes.isEmpty() ? "" : " WHERE " + String.join(" AND ", condicoes))
+                + " ORDER BY data_hora, id_atividade";
+        log.debug("[DB] - Executando via R2DBC: {}", sql);
+        DatabaseClient.GenericExecuteSpec consulta = databaseClient.sql(sql);
+        for (Map.Entry<String, Object> parametro : parametros.entrySet()) {
+            consulta = consulta.bind(parametro.getKey(), parametro.getValue());
+        }
+        return consulta.map(AtividadeRepositoryReativo::paraOutput).all();
+    }
+
+    public Mono<Atividade> buscarPorId(Long id) {
+        return databaseClient.sql("SELECT " + COLUNAS + " FROM atividade WHERE id_atividade = :id")
+                .bind("id", id)
+                .map(AtividadeRepositoryReativo::paraEntidade)
+                .one();
+    }
+
+    public Mono<Void> inserir(Atividade atividade) {
+        return databaseClient.sql("""
+                        INSERT INTO atividade (id_atividade, funcional, data_hora, codigo_atividade, descricao_atividade, versao)
+                        VALUES (:id, :funcional, :dataHora, :codigoAtividade, :descricaoAtividade, :versao)""")
+                .bind("id", atividade.getIdAtividade())
+                .bind("funcional", atividade.getFuncional())
+                .bind("dataHora", atividade.getDataHora())
+                .bind("codigoAtividade", atividade.getCodigoAtividade())
+                .bind("descricaoAtividade", atividade.getDescricaoAtividade())
+                .bind("versao", atividade.getVersao())
+                .then();
+    }
+
+    // Como o @Version do Hibernate: 0 linhas significa que outra escrita mudou a versão antes
+    public Mono<Long> atualizar(Atividade atividade, long versaoAtual) {
+        return databaseClient.sql("""
+                        UPDATE atividade SET funcional = :funcional, data_hora = :dataHora, codigo_atividade = :codigoAtividade,
+                        descricao_atividade = :descricaoAtividade, versao = versao + 1
+                        WHERE id_atividade = :id AND versao = :versao""")
+                .bind("funcional", atividade.getFuncional())
+                .bind("dataHora", atividade.getDataHora())
+                .bind("codigoAtividade", atividade.getCodigoAtividade())
+                .bind("descricaoAtividade", atividade.getDescricaoAtividade())
+                .bind("id", atividade.getIdAtividade())
+                .bind("versao", versaoAtual)
+                .fetch().rowsUpdated();
+    }
+
+    public Mono<Long> remover(Long id, long versaoAtual) {
+        return databaseClient.sql("DELETE FROM atividade WHERE id_atividade = :id AND versao = :versao")
+                .bind("id", id)
+                .bind("versao", versaoAtual)
+                .fetch().rowsUpdated();
+    }
+
+    public Mono<Void> somarNoResumo(AtividadeResumoDiario.Chave chave, long delta) {
+        return databaseClient.sql("""
+                        INSERT INTO atividade_resumo_diario (funcional, dia, codigo_atividade, quantidade)
+                        VALUES (:funcional, :dia, :codigoAtividade, :delta)
+                        ON DUPLICATE KEY UPDATE quantidade = quantidade + :delta""")
+                .bind("funcional", chave.getFuncional())
+                .bind("dia", chave.getDia())
+                .bind("codigoAtividade", chave.getCodigoAtividade())
+                .bind("delta", delta)
+                .then();
+    }
+
+    public Mono<Void> marcarAlteracao(String funcional) {
+        return databaseClient.sql("""
+                        INSERT INTO atividade_marca_alteracao (funcional, versao) VALUES (:funcional, 1)
+                        ON DUPLICATE KEY UPDATE versao = versao + 1""")
+                .bind("funcional", funcional)
+                .then();
+    }
+
+    // Usa a mesma atividade_seq do Hibernate (pooled), reservando blocos de 50 IDs
+    public Mono<Long> proximoId() {
+        return Mono.defer(() -> {
+            Long id = retirarDoBloco();
+            return id != null ? Mono.just(id) : reservarBloco().map(this::iniciarBloco);
+        });
+    }
+
+    private synchronized Long retirarDoBloco() {
+        return proximoId <= ultimoIdBloco ? proximoId++ : null;
+    }
+
+    // Requisições concorrentes podem reservar blocos ao mesmo tempo; cada uma usa o primeiro ID do seu
+    // e o restante do último bloco reservado fica para as próximas
+    private synchronized long iniciarBloco(long valor) {
+        long primeiro = Math.max(valor - TAMANHO_BLOCO_IDS + 1, 1);
+        proximoId = primeiro + 1;
+        ultimoIdBloco = valor;
+        return primeiro;
+    }
+
+    // Em transação própria, para que o lock da linha da sequência não dure até o commit do INSERT
+    private Mono<Long> reservarBloco() {
+        if (!mysql) {
+            return databaseClient.sql("SELECT NEXT VALUE FOR atividade_seq")
+                    .map(linha -> linha.get(0, Long.class))
+                    .one();
+        }
+        // Como o Hibernate faz no MySQL, onde a sequência é uma tabela: lê com lock e avança um bloco
+        return transacaoSequencia.transactional(databaseClient.sql("SELECT next_val FROM atividade_seq FOR UPDATE")
+                .map(linha -> linha.get(0, Long.class))
+                .one()
+                .flatMap(valor -> databaseClient.sql("UPDATE atividade_seq SET next_val = :proximo")
+                        .bind("proximo", valor + TAMANHO_BLOCO_IDS)
+                        .then()
+                        .thenReturn(valor)));
+    }
+
+    private static AtividadeOutput paraOutput(Readable linha) {
+        return new AtividadeOutput(linha.get("id_atividade", Long.class), linha.get("funcional", String.class),
+                linha.get("data_hora", LocalDateTime.class), linha.get("codigo_atividade", String.class),
+                linha.get("descricao_atividade", String.class), linha.get("versao", Long.class));
+    }
+
+    private static Atividade paraEntidade(Readable linha) {
+        Atividade atividade = new Atividade();
+        atividade.setIdAtividade(linha.get("id_atividade", Long.class));
+        atividade.setFuncional(linha.get("funcional", String.class));
+        atividade.setDataHora(linha.get("data_hora", LocalDateTime.class));
+        atividade.setCodigoAtividade(linha.get("codigo_atividade", String.class));
+        atividade.setDescricaoAtividade(linha.get("descricao_atividade", String.class));
+        atividade.setVersao(linha.get("versao", Long.class));
+        return atividade;
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.atividade.repository;
+
+import br.com.atividade.model.AtividadeResumoDiario;
+import br.com.atividade.sevice.dto.output.EstatisticaCodigoOutput;
+import br.com.atividade.sevice.dto.output.EstatisticaPeriodoOutput;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface AtividadeResumoDiarioRepository extends JpaRepository<AtividadeResumoDiario, AtividadeResumoDiario.Chave> {
+
+    // Upsert atômico: evita corrida entre SELECT e INSERT quando duas transações criam a mesma chave.
+    // O hint de query space restringe a invalidação do cache do Hibernate a esta tabela; sem ele,
+    // todo DML nativo limpa o cache de segundo nível inteiro
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "atividade_resumo_diario"))
+    @Query(value = "INSERT INTO atividade_resumo_diario (funcional, dia, codigo_atividade, quantidade) " +
+            "VALUES (:funcional, :dia, :codigoAtividade, :delta) " +
+            "ON DUPLICATE KEY UPDATE quantidade = quantidade + :delta", nativeQuery = true)
+    void somar(@Param("funcional") String funcional, @Param("dia") LocalDate dia,
+               @Param("codigoAtividade") String codigoAtividade, @Param("delta") long delta);
+
+    @Query("SELECT new br.com.atividade.sevice.dto.output.EstatisticaPeriodoOutput(r.dia, SUM(r.quantidade)) " +
+            "FROM AtividadeResumoDiario r " +
+            "WHERE (:funcional IS NULL OR r.funcional = :funcional) " +
+            "AND (:codigoAtividade IS NULL OR r.codigoAtividade = :codigoAtividade) " +
+            "AND r.dia BETWEEN :dataInicio AND :dataFim " +
+            "GROUP BY r.dia ORDER BY r.dia")
+    List<EstatisticaPeriodoOutput> somarPorDia(@Param("funcional") String funcional,
+                                               @Param("codigoAtividade") String codigoAtividade,
+                                               @Param("dataInicio") LocalDate dataInicio,
+                                               @Param("dataFim") LocalDate dataFim);
+
+    @Query("SELECT new br.com.atividade.sevice.dto.output.EstatisticaCodigoOutput(r.codigoAtividade, SUM(r.quantidade)) " +
+            "FROM AtividadeResumoDiario r " +
+            "WHERE (:funcional IS NULL OR r.funcional = :funcional) " +
+            "AND r.dia BETWEEN :dataInicio AND :dataFim " +
+            "GROUP BY r.codigoAtividade ORDER BY SUM(r.quantidade) DESC")
+    List<EstatisticaCodigoOutput> somarPorCodigo(@Param("funcional") String funcional,
+                                                 @Param("dataInicio") LocalDate dataInicio,
+                                                 @Param("dataFim") LocalDate dataFim);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "atividade_resumo_diario"))
+    @Query(value = "DELETE FROM atividade_resumo_diario WHERE dia BETWEEN :dataInicio AND :dataFim", nativeQuery = true)
+    int removerPeriodo(@Param("dataInicio") LocalDate dataInicio, @Param("dataFim") LocalDate dataFim);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "atividade_resumo_diario"))
+    @Query(value = "INSERT INTO atividade_resumo_diario (funcional, dia, codigo_atividade, quantidade) " +
+            "SELECT funcional, CAST(data_hora AS DATE), codigo_atividade, COUNT(*) FROM atividade " +
+            "WHERE data_hora >= :inicio AND data_hora < :fim " +
+            "GROUP BY funcional, CAST(data_hora AS DATE), codigo_atividade", nativeQuery = true)
+    int recalcularPeriodo(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+
+    @Query("SELECT MIN(a.dataHora) FROM Atividade a")
+    LocalDateTime primeiraDataHora();
+
+    @Query("SELECT MAX(a.dataHora) FROM Atividade a")
+    LocalDateTime ultimaDataHora();
+}
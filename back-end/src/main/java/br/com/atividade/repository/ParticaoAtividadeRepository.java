@@ -0,0 +1,122 @@
+package br.com.atividade.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+// DDL de partições da tabela atividade (MySQL). Partições mensais se chamam pAAAAMM e a última, p_max,
+// recebe tudo que ainda não tem mês criado
+@Repository
+@RequiredArgsConstructor
+public class ParticaoAtividadeRepository {
+
+    public static final String PARTICAO_FINAL = "p_max";
+
+    public static final String LOCK_MANUTENCAO = "atividade_manutencao_particoes";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public boolean isParticionamentoSuportado() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) conexao ->
+                "MySQL".equalsIgnoreCase(conexao.getMetaData().getDatabaseProductName())));
+    }
+
+    // Executa a operação segurando o lock nomeado do MySQL, compartilhado por todas as instâncias; vazio se
+    // outra não o soltar dentro da espera. O GET_LOCK pertence à sessão: a conexão que o obteve fica presa
+    // até o fim e o DDL roda em outras do pool. Se a instância cair, o MySQL solta o lock com a conexão
+    public <T> Optional<T> comLockDeManutencao(Duration espera, Supplier<T> operacao) {
+        return jdbcTemplate.execute((ConnectionCallback<Optional<T>>) conexao -> {
+            try (PreparedStatement lock = conexao.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+                lock.setString(1, LOCK_MANUTENCAO);
+                lock.setLong(2, espera.toSeconds());
+                try (ResultSet resultado = lock.executeQuery()) {
+                    if (!resultado.next() || resultado.getInt(1) != 1) {
+                        return Optional.empty();
+                    }
+                }
+            }
+            try {
+                return Optional.of(operacao.get());
+            } finally {
+                try (PreparedStatement liberar = conexao.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+                    liberar.setString(1, LOCK_MANUTENCAO);
+                    liberar.execute();
+                }
+            }
+        });
+    }
+
+    // Na ordem dos limites; vazio quando a tabela não é particionada
+    public List<String> listarParticoes() {
+        return jdbcTemplate.queryForList("""
+                SELECT partition_name FROM information_schema.partitions
+                WHERE table_schema = DATABASE() AND table_name = 'atividade' AND partition_name IS NOT NULL
+                ORDER BY partition_ordinal_position""", String.class);
+    }
+
+    // Mês da partição mensal mais antiga: antes dele a retenção já descartou as atividades. Vazio quando a
+    // tabela não é particionada ou ainda só tem p_max
+    public Optional<YearMonth> primeiroMesRetido() {
+        if (!isParticionamentoSuportado()) {
+            return Optional.empty();
+        }
+        return listarParticoes().stream()
+                .map(ParticaoAtividadeRepository::mesDaParticao)
+                .flatMap(Optional::stream)
+                .min(Comparator.naturalOrder());
+    }
+
+    public Optional<LocalDateTime> primeiraDataHora() {
+        return Optional.ofNullable(jdbcTemplate.queryForObject("SELECT MIN(data_hora) FROM atividade", LocalDateTime.class));
+    }
+
+    // Divide p_max nos meses informados (em ordem crescente), mantendo p_max no final. Só move linhas
+    // se p_max já tiver atividades desses meses, o que acontece na primeira execução após a V5
+    public void criarParticoes(List<YearMonth> meses) {
+        String particoes = meses.stream()
+                .map(mes -> "PARTITION " + nomeParticao(mes) + " VALUES LESS THAN ('" + mes.plusMonths(1).atDay(1) + "')")
+                .collect(Collectors.joining(", "));
+        jdbcTemplate.execute("ALTER TABLE atividade REORGANIZE PARTITION " + PARTICAO_FINAL + " INTO ("
+                + particoes + ", PARTITION " + PARTICAO_FINAL + " VALUES LESS THAN (MAXVALUE))");
+    }
+
+    public void removerParticao(YearMonth mes) {
+        jdbcTemplate.execute("ALTER TABLE atividade DROP PARTITION " + nomeParticao(mes));
+    }
+
+    // Troca a partição por uma tabela vazia de mesma estrutura (só metadados, sem copiar linhas) e
+    // remove a partição resultante. Sem IF NOT EXISTS: uma tabela de arquivo já existente teria as
+    // linhas trocadas de volta para atividade
+    public String arquivarParticao(YearMonth mes) {
+        String tabelaArquivo = "atividade_arquivo_" + nomeParticao(mes);
+        jdbcTemplate.execute("CREATE TABLE " + tabelaArquivo + " LIKE atividade");
+        jdbcTemplate.execute("ALTER TABLE " + tabelaArquivo + " REMOVE PARTITIONING");
+        jdbcTemplate.execute("ALTER TABLE atividade EXCHANGE PARTITION " + nomeParticao(mes) + " WITH TABLE " + tabelaArquivo);
+        removerParticao(mes);
+        return tabelaArquivo;
+    }
+
+    public static String nomeParticao(YearMonth mes) {
+        return String.format("p%04d%02d", mes.getYear(), mes.getMonthValue());
+    }
+
+    // Mês de uma partição pAAAAMM; vazio para p_max ou nomes fora do padrão
+    public static Optional<YearMonth> mesDaParticao(String nome) {
+        if (nome == null || !nome.matches("p\\d{6}")) {
+            return Optional.empty();
+        }
+        return Optional.of(YearMonth.of(Integer.parseInt(nome.substring(1, 5)), Integer.parseInt(nome.substring(5))));
+    }
+}
@@ -0,0 +1,4 @@
+package br.com.atividade.repository.projection;
+
+public record DescricaoAtividade(Long idAtividade, String descricaoAtividade) {
+}
@@ -0,0 +1,68 @@
+package br.com.atividade.repository.specification;
+
+import br.com.atividade.model.Atividade;
+import br.com.atividade.sevice.paginacao.CursorAtividade;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public final class AtividadeSpecification {
+
+    private AtividadeSpecification() {
+    }
+
+    public static Specification<Atividade> comFiltros(String funcional, String codigoAtividade, String descricaoAtividade,
+                                                      LocalDate dataInicio, LocalDate dataFim) {
+        return (root, query, criteriaBuilder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (funcional != null && !funcional.isEmpty()) {
+                predicates.add(criteriaBuilder.equal(root.get("funcional"), funcional));
+            }
+
+            if (codigoAtividade != null && !codigoAtividade.isEmpty()) {
+                predicates.add(criteriaBuilder.equal(root.get("codigoAtividade"), codigoAtividade));
+            }
+
+            if (descricaoAtividade != null && !descricaoAtividade.isEmpty()) {
+                predicates.add(criteriaBuilder.like(root.get("descricaoAtividade"), "%" + descricaoAtividade + "%"));
+            }
+
+            if (dataInicio != null) {
+                predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("dataHora"), dataInicio.atStartOfDay()));
+            }
+
+            if (dataFim != null) {
+                predicates.add(criteriaBuilder.lessThanOrEqualTo(root.get("dataHora"), dataFim.atTime(23, 59, 59)));
+            }
+
+            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    public static Specification<Atividade> comIds(Collection<Long> ids) {
+        return (root, query, criteriaBuilder) -> ids.isEmpty()
+                ? criteriaBuilder.disjunction()
+                : root.get("idAtividade").in(ids);
+    }
+
+    // (data_hora, id_atividade) > (cursor.dataHora, cursor.idAtividade), escrito como
+    // data_hora >= x AND (data_hora > x OR id_atividade > y) para que o termo líder seja um range
+    // simples sobre o índice de data_hora, sem depender do otimizador desmontar o OR
+    public static Specification<Atividade> aposCursor(CursorAtividade cursor) {
+        return (root, query, criteriaBuilder) -> {
+            if (cursor == null) {
+                return criteriaBuilder.conjunction();
+            }
+            return criteriaBuilder.and(
+                    criteriaBuilder.greaterThanOrEqualTo(root.get("dataHora"), cursor.getDataHora()),
+                    criteriaBuilder.or(
+                            criteriaBuilder.greaterThan(root.get("dataHora"), cursor.getDataHora()),
+                            criteriaBuilder.greaterThan(root.get("idAtividade"), cursor.getIdAtividade())));
+        };
+    }
+}
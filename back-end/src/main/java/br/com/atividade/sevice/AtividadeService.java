@@ -2,14 +2,23 @@ package br.com.atividade.sevice;
 
 import br.com.atividade.sevice.dto.input.AtividadeInput;
 import br.com.atividade.sevice.dto.output.AtividadeOutput;
+import br.com.atividade.sevice.dto.output.PaginaAtividadeOutput;
+import br.com.atividade.sevice.dto.output.ResultadoLoteOutput;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface AtividadeService {
     
     AtividadeOutput criarAtividade(AtividadeInput atividadeInput);
+
+    List<ResultadoLoteOutput> criarAtividadesEmLote(List<AtividadeInput> atividadesInput);
+
+    // Lote da ingestão assíncrona: chavesIngestao acompanha atividadesInput (nula sem o log local). Com reentrega,
+    // as chaves já gravadas saem como REPETIDA em vez de serem inseridas de novo
+    List<ResultadoLoteOutput> criarAtividadesIngeridas(List<AtividadeInput> atividadesInput, List<String> chavesIngestao, boolean reentrega);
     
     List<AtividadeOutput> listarTodasAtividades();
     
@@ -17,9 +26,17 @@ public interface AtividadeService {
     
     List<AtividadeOutput> listarAtividadesComFiltros(String funcional, String codigoAtividade, String descricaoAtividade, LocalDate dataInicio, LocalDate dataFim);
 
+    PaginaAtividadeOutput listarAtividadesPaginadas(String funcional, String codigoAtividade, String descricaoAtividade, LocalDate dataInicio, LocalDate dataFim, String cursor, Integer limite);
+
+    // Contador de escritas nas atividades do funcional; vazio enquanto nenhuma escrita o criou
+    Optional<Long> buscarMarcaDeAlteracao(String funcional);
+
+    long exportarAtividadesComFiltros(String funcional, String codigoAtividade, String descricaoAtividade, LocalDate dataInicio, LocalDate dataFim, Consumer<AtividadeOutput> consumidor);
+
     Optional<AtividadeOutput> buscarAtividadePorId(Long id);
 
-    AtividadeOutput atualizarAtividade(Long id, AtividadeInput atividadeInput);
+    // versaoEsperada (If-Match) nula atualiza sem condição
+    AtividadeOutput atualizarAtividade(Long id, AtividadeInput atividadeInput, Long versaoEsperada);
 
     void deletarAtividade(Long id);
 }
@@ -0,0 +1,25 @@
+package br.com.atividade.sevice;
+
+import br.com.atividade.sevice.dto.input.AtividadeInput;
+import br.com.atividade.sevice.dto.output.AtividadeOutput;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+// Variante não bloqueante de AtividadeService (profile reativo), sobre R2DBC
+public interface AtividadeServiceReativo {
+
+    Mono<AtividadeOutput> criarAtividade(AtividadeInput atividadeInput);
+
+    // Emite conforme a demanda do assinante, sem montar a lista em memória
+    Flux<AtividadeOutput> listarAtividadesComFiltros(String funcional, String codigoAtividade, String descricaoAtividade, LocalDate dataInicio, LocalDate dataFim);
+
+    // Vazio quando a atividade não existe
+    Mono<AtividadeOutput> buscarAtividadePorId(Long id);
+
+    // versaoEsperada (If-Match) nula atualiza sem condição
+    Mono<AtividadeOutput> atualizarAtividade(Long id, AtividadeInput atividadeInput, Long versaoEsperada);
+
+    Mono<Void> deletarAtividade(Long id);
+}
@@ -0,0 +1,19 @@
+package br.com.atividade.sevice;
+
+import br.com.atividade.sevice.dto.input.AgrupamentoEstatistica;
+import br.com.atividade.sevice.dto.output.EstatisticaCodigoOutput;
+import br.com.atividade.sevice.dto.output.EstatisticaPeriodoOutput;
+import br.com.atividade.sevice.dto.output.ReconstrucaoResumoOutput;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface EstatisticaAtividadeService {
+
+    List<EstatisticaPeriodoOutput> listarPorPeriodo(String funcional, String codigoAtividade, AgrupamentoEstatistica agrupamento,
+                                                    LocalDate dataInicio, LocalDate dataFim);
+
+    List<EstatisticaCodigoOutput> listarPorCodigo(String funcional, LocalDate dataInicio, LocalDate dataFim);
+
+    ReconstrucaoResumoOutput reconstruirResumo(LocalDate dataInicio, LocalDate dataFim);
+}
@@ -0,0 +1,7 @@
+package br.com.atividade.sevice.dto.input;
+
+public enum AgrupamentoEstatistica {
+    DIA,
+    SEMANA,
+    MES
+}
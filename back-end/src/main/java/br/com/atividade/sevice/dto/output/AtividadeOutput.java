@@ -1,14 +1,19 @@
 package br.com.atividade.sevice.dto.output;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class AtividadeOutput {
     private Long idAtividade;
     private String funcional;
     private LocalDateTime dataHora;
     private String codigoAtividade;
     private String descricaoAtividade;
+    private Long versao;
 }
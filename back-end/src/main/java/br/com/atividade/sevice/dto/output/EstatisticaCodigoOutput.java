@@ -0,0 +1,13 @@
+package br.com.atividade.sevice.dto.output;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstatisticaCodigoOutput {
+    private String codigoAtividade;
+    private Long quantidade;
+}
@@ -0,0 +1,15 @@
+package br.com.atividade.sevice.dto.output;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstatisticaPeriodoOutput {
+    private LocalDate inicio;
+    private Long quantidade;
+}
@@ -0,0 +1,15 @@
+package br.com.atividade.sevice.dto.output;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaAtividadeOutput {
+    private List<AtividadeOutput> atividades;
+    private String proximoCursor;
+}
@@ -0,0 +1,18 @@
+package br.com.atividade.sevice.dto.output;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReconstrucaoResumoOutput {
+    private LocalDate dataInicio;
+    private LocalDate dataFim;
+    private int tarefas;
+    private long linhasGeradas;
+    private long duracaoMs;
+}
@@ -0,0 +1,25 @@
+package br.com.atividade.sevice.dto.output;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoLoteOutput {
+
+    public enum Status {
+        CRIADA,
+        REJEITADA,
+        // Reentrega da ingestão assíncrona já gravada por uma tentativa anterior
+        REPETIDA
+    }
+
+    private int indice;
+    private Status status;
+    private Long idAtividade;
+    private List<String> erros;
+}
@@ -1,59 +1,174 @@
 package br.com.atividade.sevice.impl;
 
+import br.com.atividade.config.LoteProperties;
 import br.com.atividade.mapper.AtividadeMapper;
 import br.com.atividade.model.Atividade;
+import br.com.atividade.model.AtividadeResumoDiario;
 import br.com.atividade.sevice.dto.input.AtividadeInput;
 import br.com.atividade.sevice.dto.output.AtividadeOutput;
+import br.com.atividade.repository.AtividadeMarcaAlteracaoRepository;
 import br.com.atividade.repository.AtividadeRepository;
+import br.com.atividade.repository.AtividadeResumoDiarioRepository;
+import br.com.atividade.repository.specification.AtividadeSpecification;
+import br.com.atividade.sevice.dto.output.PaginaAtividadeOutput;
+import br.com.atividade.sevice.dto.output.ResultadoLoteOutput;
+import br.com.atividade.sevice.indice.IndiceTrigramaDescricao;
+import br.com.atividade.sevice.paginacao.CursorAtividade;
 import br.com.atividade.sevice.AtividadeService;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
-import jakarta.persistence.criteria.Predicate;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional
+@Observed(name = "atividade.service")
 public class AtividadeServiceImpl implements AtividadeService {
 
+    private static final int LIMITE_PADRAO = 100;
+    private static final int LIMITE_MAXIMO = 1000;
+
     private final AtividadeRepository atividadeRepository;
+    private final AtividadeResumoDiarioRepository resumoDiarioRepository;
+    private final AtividadeMarcaAlteracaoRepository marcaAlteracaoRepository;
     private final AtividadeMapper atividadeMapper;
+    private final Validator validator;
+    private final LoteProperties loteProperties;
+    private final IndiceTrigramaDescricao indiceDescricao;
 
     @Override
     public AtividadeOutput criarAtividade(AtividadeInput atividadeInput) {
         log.info("[ServiceImpl] - Iniciando criação de atividade para funcional: {}", atividadeInput.getFuncional());
         
-        validarAtividadeInput(atividadeInput);
+        ValidadorAtividade.validar(atividadeInput);
         
         Atividade atividade = atividadeMapper.toEntity(atividadeInput);
         
         log.debug("[DB] - Iniciando persistência da atividade no banco");
         Atividade atividadeSalva = atividadeRepository.save(atividade);
         log.info("[DB] - Atividade persistida com sucesso - ID: {}, Tabela: atividade", atividadeSalva.getIdAtividade());
+        somarNoResumo(AtividadeResumoDiario.Chave.de(atividadeSalva), 1);
+        marcarAlteracao(atividadeSalva.getFuncional());
         log.info("[ServiceImpl] - Atividade criada com sucesso - ID: {}, Código: {}",
                 atividadeSalva.getIdAtividade(), atividadeSalva.getCodigoAtividade());
         
         return atividadeMapper.toOutput(atividadeSalva);
     }
 
+    @Override
+    public List<ResultadoLoteOutput> criarAtividadesEmLote(List<AtividadeInput> atividadesInput) {
+        return criarEmLote(atividadesInput, null, false);
+    }
+
+    @Override
+    public List<ResultadoLoteOutput> criarAtividadesIngeridas(List<AtividadeInput> atividadesInput, List<String> chavesIngestao, boolean reentrega) {
+        return criarEmLote(atividadesInput, chavesIngestao, reentrega);
+    }
+
+    private List<ResultadoLoteOutput> criarEmLote(List<AtividadeInput> atividadesInput, List<String> chavesIngestao, boolean reentrega) {
+        log.info("[ServiceImpl] - Iniciando criação em lote de {} atividades", atividadesInput == null ? 0 : atividadesInput.size());
+
+        if (atividadesInput == null || atividadesInput.isEmpty()) {
+            log.warn("[ServiceImpl] - Lote vazio recebido");
+            throw new IllegalArgumentException("Lote deve conter ao menos uma atividade");
+        }
+
+        if (atividadesInput.size() > loteProperties.getTamanhoMaximo()) {
+            log.warn("[ServiceImpl] - Lote com {} atividades excede o máximo de {}", atividadesInput.size(), loteProperties.getTamanhoMaximo());
+            throw new IllegalArgumentException("Lote não pode ter mais de " + loteProperties.getTamanhoMaximo() + " atividades");
+        }
+
+        Set<String> gravadas = reentrega ? chavesJaGravadas(chavesIngestao) : Set.of();
+        List<ResultadoLoteOutput> resultados = new ArrayList<>(atividadesInput.size());
+        List<ResultadoLoteOutput> resultadosValidos = new ArrayList<>();
+        List<Atividade> atividadesValidas = new ArrayList<>();
+
+        for (int indice = 0; indice < atividadesInput.size(); indice++) {
+            AtividadeInput atividadeInput = atividadesInput.get(indice);
+            String chaveIngestao = chavesIngestao == null ? null : chavesIngestao.get(indice);
+            if (chaveIngestao != null && gravadas.contains(chaveIngestao)) {
+                resultados.add(new ResultadoLoteOutput(indice, ResultadoLoteOutput.Status.REPETIDA, null, List.of()));
+                continue;
+            }
+            List<String> erros = validarItemLote(atividadeInput);
+            ResultadoLoteOutput resultado = new ResultadoLoteOutput(indice,
+                    erros.isEmpty() ? ResultadoLoteOutput.Status.CRIADA : ResultadoLoteOutput.Status.REJEITADA, null, erros);
+            resultados.add(resultado);
+
+            if (erros.isEmpty()) {
+                Atividade atividade = atividadeMapper.toEntity(atividadeInput);
+                atividade.setChaveIngestao(chaveIngestao);
+                atividadesValidas.add(atividade);
+                resultadosValidos.add(resultado);
+            }
+        }
+
+        log.debug("[DB] - Iniciando INSERT em lote de {} atividades na tabela atividade", atividadesValidas.size());
+        List<Atividade> atividadesSalvas = atividadeRepository.salvarEmLote(atividadesValidas);
+        for (int i = 0; i < atividadesSalvas.size(); i++) {
+            resultadosValidos.get(i).setIdAtividade(atividadesSalvas.get(i).getIdAtividade());
+        }
+        log.info("[DB] - Lote persistido com sucesso - {} registros inseridos, Tabela: atividade", atividadesSalvas.size());
+
+        // Um upsert por (funcional, dia, código), em ordem fixa para que lotes concorrentes travem as linhas do resumo na mesma sequência
+        atividadesSalvas.stream()
+                .collect(Collectors.groupingBy(AtividadeResumoDiario.Chave::de, Collectors.counting()))
+                .entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(Comparator.comparing(AtividadeResumoDiario.Chave::getFuncional)
+                        .thenComparing(AtividadeResumoDiario.Chave::getDia)
+                        .thenComparing(AtividadeResumoDiario.Chave::getCodigoAtividade)))
+                .forEach(resumo -> somarNoResumo(resumo.getKey(), resumo.getValue()));
+        atividadesSalvas.stream().map(Atividade::getFuncional).distinct().sorted().forEach(this::marcarAlteracao);
+        log.info("[ServiceImpl] - Criação em lote concluída - {} criadas, {} rejeitadas, {} repetidas",
+                atividadesSalvas.size(), atividadesInput.size() - atividadesSalvas.size() - gravadas.size(), gravadas.size());
+
+        return resultados;
+    }
+
+    // Um lote reentregue pelo log de ingestão pode já ter sido gravado antes da queda
+    private Set<String> chavesJaGravadas(List<String> chavesIngestao) {
+        List<String> chaves = chavesIngestao == null ? List.of() : chavesIngestao.stream().filter(Objects::nonNull).toList();
+        if (chaves.isEmpty()) {
+            return Set.of();
+        }
+        log.debug("[DB] - Verificando {} chaves de ingestão reentregues na tabela atividade", chaves.size());
+        Set<String> gravadas = atividadeRepository.findChavesIngestaoGravadas(chaves);
+        if (!gravadas.isEmpty()) {
+            log.warn("[ServiceImpl] - {} atividades reentregues pelo log de ingestão já estavam gravadas", gravadas.size());
+        }
+        return gravadas;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<AtividadeOutput> listarTodasAtividades() {
         log.info("[ServiceImpl] - Listando todas as atividades");
         
         log.debug("[DB] - Executando SELECT * FROM atividade");
-        List<Atividade> atividades = atividadeRepository.findAll();
+        List<AtividadeOutput> atividades = atividadeRepository.findAllOutputs();
         log.info("[DB] - Consulta executada - {} registros retornados", atividades.size());
         
-        return atividadeMapper.toOutputList(atividades);
+        return atividades;
     }
 
     @Override
@@ -69,15 +184,11 @@ public class AtividadeServiceImpl implements AtividadeService {
         String funcionalTrimmed = funcional.trim();
         
         log.debug("[DB] - Executando SELECT * FROM atividade WHERE funcional = '{}'", funcionalTrimmed);
-        List<Atividade> atividades = atividadeRepository.findByFuncional(funcionalTrimmed);
+        List<AtividadeOutput> atividades = atividadeRepository.findOutputsByFuncional(funcionalTrimmed);
         log.info("[DB] - Consulta por funcional executada - {} registros encontrados", atividades.size());
         log.info("[ServiceImpl] - Encontradas {} atividades para funcional: '{}'", atividades.size(), funcionalTrimmed);
         
-        atividades.forEach(atividade ->
-            log.debug("[ServiceImpl] - Atividade encontrada: ID={}, Funcional='{}', Codigo='{}'", 
-                atividade.getIdAtividade(), atividade.getFuncional(), atividade.getCodigoAtividade()));
-        
-        return atividadeMapper.toOutputList(atividades);
+        return atividades;
     }
 
     @Override
@@ -86,31 +197,68 @@ public class AtividadeServiceImpl implements AtividadeService {
         log.info("[ServiceImpl] - Listando atividades com filtros - Funcional: {}, CodigoAtividade: {}, DescricaoAtividade: {}, DataInicio: {}, DataFim: {}",
                 funcional, codigoAtividade, descricaoAtividade, dataInicio, dataFim);
 
-        return atividadeRepository.findAll((root, query, criteriaBuilder) -> {
-            List<Predicate> predicates = new ArrayList<>();
+        return atividadeRepository.listarOutputsComFiltros(especificacaoComFiltros(funcional, codigoAtividade, descricaoAtividade, dataInicio, dataFim));
+    }
 
-            if (funcional != null && !funcional.isEmpty()) {
-                predicates.add(criteriaBuilder.equal(root.get("funcional"), funcional));
-            }
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaAtividadeOutput listarAtividadesPaginadas(String funcional, String codigoAtividade, String descricaoAtividade,
+                                                           LocalDate dataInicio, LocalDate dataFim, String cursor, Integer limite) {
+        log.info("[ServiceImpl] - Listando página de atividades - Funcional: {}, CodigoAtividade: {}, DescricaoAtividade: {}, DataInicio: {}, DataFim: {}, Limite: {}",
+                funcional, codigoAtividade, descricaoAtividade, dataInicio, dataFim, limite);
 
-            if (codigoAtividade != null && !codigoAtividade.isEmpty()) {
-                predicates.add(criteriaBuilder.equal(root.get("codigoAtividade"), codigoAtividade));
-            }
+        int tamanhoPagina = limite == null ? LIMITE_PADRAO : limite;
+        if (tamanhoPagina < 1 || tamanhoPagina > LIMITE_MAXIMO) {
+            log.warn("[ServiceImpl] - Limite de paginação inválido: {}", limite);
+            throw new IllegalArgumentException("Limite deve estar entre 1 e " + LIMITE_MAXIMO);
+        }
 
-            if (descricaoAtividade != null && !descricaoAtividade.isEmpty()) {
-                predicates.add(criteriaBuilder.like(root.get("descricaoAtividade"), "%" + descricaoAtividade + "%"));
-            }
+        CursorAtividade posicao = CursorAtividade.decodificar(cursor);
+        Specification<Atividade> especificacao = especificacaoComFiltros(funcional, codigoAtividade, descricaoAtividade, dataInicio, dataFim)
+                .and(AtividadeSpecification.aposCursor(posicao));
 
-            if (dataInicio != null) {
-                predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("dataHora"), dataInicio.atStartOfDay()));
-            }
+        // Busca um registro a mais apenas para saber se existe próxima página, sem COUNT
+        log.debug("[DB] - Executando SELECT paginado por (data_hora, id_atividade) com LIMIT {}", tamanhoPagina + 1);
+        List<AtividadeOutput> atividades = atividadeRepository.listarOutputsPaginados(especificacao, tamanhoPagina + 1);
+        log.info("[DB] - Consulta paginada executada - {} registros retornados", atividades.size());
 
-            if (dataFim != null) {
-                predicates.add(criteriaBuilder.lessThanOrEqualTo(root.get("dataHora"), dataFim.atTime(23, 59, 59)));
+        String proximoCursor = null;
+        if (atividades.size() > tamanhoPagina) {
+            atividades = atividades.subList(0, tamanhoPagina);
+            AtividadeOutput ultima = atividades.get(tamanhoPagina - 1);
+            proximoCursor = new CursorAtividade(ultima.getDataHora(), ultima.getIdAtividade()).codificar();
+        }
+
+        return new PaginaAtividadeOutput(atividades, proximoCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> buscarMarcaDeAlteracao(String funcional) {
+        log.debug("[DB] - Executando SELECT versao FROM atividade_marca_alteracao WHERE funcional = '{}'", funcional);
+        return Optional.ofNullable(marcaAlteracaoRepository.buscarVersao(funcional));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportarAtividadesComFiltros(String funcional, String codigoAtividade, String descricaoAtividade,
+                                             LocalDate dataInicio, LocalDate dataFim, Consumer<AtividadeOutput> consumidor) {
+        log.info("[ServiceImpl] - Exportando atividades com filtros - Funcional: {}, CodigoAtividade: {}, DescricaoAtividade: {}, DataInicio: {}, DataFim: {}",
+                funcional, codigoAtividade, descricaoAtividade, dataInicio, dataFim);
+
+        long total = 0;
+        log.debug("[DB] - Abrindo cursor forward-only sobre a tabela atividade");
+        try (Stream<AtividadeOutput> atividades = atividadeRepository.streamOutputsComFiltros(
+                especificacaoComFiltros(funcional, codigoAtividade, descricaoAtividade, dataInicio, dataFim))) {
+            Iterator<AtividadeOutput> iterator = atividades.iterator();
+            while (iterator.hasNext()) {
+                consumidor.accept(iterator.next());
+                total++;
             }
+        }
+        log.info("[DB] - Exportação concluída - {} registros enviados", total);
 
-            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
-        }).stream().map(atividadeMapper::toOutput).collect(Collectors.toList());
+        return total;
     }
 
     @Override
@@ -118,11 +266,10 @@ public class AtividadeServiceImpl implements AtividadeService {
     public Optional<AtividadeOutput> buscarAtividadePorId(Long id) {
         log.info("[ServiceImpl] - Buscando atividade com ID: {}", id);
 
-        if (id == null || id <= 0) {
-            log.warn("[ServiceImpl] - ID inválido: {}", id);
-            throw new IllegalArgumentException("ID deve ser um número positivo");
-        }
+        ValidadorAtividade.validarId(id);
 
+        // findById passa pelo cache de segundo nível; só vai ao banco em caso de miss. O cache é desta instância:
+        // uma escrita feita em outra só aparece aqui depois do TTL da entidade (atividade.cache.entidade.ttl)
         log.debug("[DB] - Executando SELECT * FROM atividade WHERE id_atividade = {}", id);
         Optional<Atividade> atividade = atividadeRepository.findById(id);
 
@@ -138,31 +285,42 @@ public class AtividadeServiceImpl implements AtividadeService {
     }
 
     @Override
-    public AtividadeOutput atualizarAtividade(Long id, AtividadeInput atividadeInput) {
+    public AtividadeOutput atualizarAtividade(Long id, AtividadeInput atividadeInput, Long versaoEsperada) {
         log.info("[ServiceImpl] - Atualizando atividade com ID: {}", id);
 
-        if (id == null || id <= 0) {
-            log.warn("[ServiceImpl] - ID inválido: {}", id);
-            throw new IllegalArgumentException("ID deve ser um número positivo");
-        }
+        ValidadorAtividade.validarId(id);
 
-        validarAtividadeInput(atividadeInput);
+        ValidadorAtividade.validar(atividadeInput);
 
         log.debug("[DB] - Verificando existência do registro com ID: {}", id);
-        Optional<Atividade> atividadeExistente = atividadeRepository.findById(id);
+        Optional<Atividade> atividadeExistente = atividadeRepository.buscarParaEscrita(id);
 
-        if (!atividadeRepository.existsById(id)) {
+        if (atividadeExistente.isEmpty()) {
             log.warn("[DB] - Registro com ID {} não existe na tabela atividade", id);
             log.warn("[ServiceImpl] - Atividade com ID {} não encontrada para atualização", id);
             throw new IllegalArgumentException("Atividade com ID " + id + " não encontrada");
         }
 
         Atividade atividade = atividadeExistente.get();
+        if (versaoEsperada != null && !versaoEsperada.equals(atividade.getVersao())) {
+            log.warn("[ServiceImpl] - Atividade com ID {} está na versão {}, cliente esperava {}", id, atividade.getVersao(), versaoEsperada);
+            throw new OptimisticLockingFailureException("Atividade com ID " + id + " foi alterada por outra requisição");
+        }
+        AtividadeResumoDiario.Chave resumoAnterior = AtividadeResumoDiario.Chave.de(atividade);
         atividadeMapper.updateEntityFromInput(atividadeInput, atividade);
 
+        // O flush executa o UPDATE ... WHERE versao = ? agora: uma edição concorrente falha aqui e a
+        // versão devolvida (ETag) já é a nova
         log.debug("[DB] - Executando UPDATE na tabela atividade para ID: {}", id);
-        Atividade atividadeAtualizada = atividadeRepository.save(atividade);
+        Atividade atividadeAtualizada = atividadeRepository.saveAndFlush(atividade);
         log.info("[DB] - Registro atualizado com sucesso - ID: {}", id);
+
+        AtividadeResumoDiario.Chave resumoAtual = AtividadeResumoDiario.Chave.de(atividadeAtualizada);
+        if (!resumoAtual.equals(resumoAnterior)) {
+            somarNoResumo(resumoAnterior, -1);
+            somarNoResumo(resumoAtual, 1);
+        }
+        Stream.of(resumoAnterior.getFuncional(), resumoAtual.getFuncional()).distinct().sorted().forEach(this::marcarAlteracao);
         log.info("[ServiceImpl] - Atividade com ID {} atualizada com sucesso", id);
 
         return atividadeMapper.toOutput(atividadeAtualizada);
@@ -172,47 +330,75 @@ public class AtividadeServiceImpl implements AtividadeService {
     public void deletarAtividade(Long id) {
         log.info("[ServiceImpl] - Deletando atividade com ID: {}", id);
 
-        if (id == null || id <= 0) {
-            log.warn("[ServiceImpl] - ID inválido: {}", id);
-            throw new IllegalArgumentException("ID deve ser um número positivo");
-        }
+        ValidadorAtividade.validarId(id);
 
         log.debug("[DB] - Verificando existência do registro para exclusão - ID: {}", id);
-        if (!atividadeRepository.existsById(id)) {
+        Optional<Atividade> atividadeExistente = atividadeRepository.buscarParaEscrita(id);
+
+        if (atividadeExistente.isEmpty()) {
             log.warn("[DB] - Registro com ID {} não existe para exclusão", id);
             log.warn("[ServiceImpl] - Atividade com ID {} não encontrada para exclusão", id);
             throw new IllegalArgumentException("Atividade com ID " + id + " não encontrada");
         }
 
         log.debug("[DB] - Executando DELETE FROM atividade WHERE id_atividade = {}", id);
-        atividadeRepository.deleteById(id);
+        atividadeRepository.delete(atividadeExistente.get());
+        somarNoResumo(AtividadeResumoDiario.Chave.de(atividadeExistente.get()), -1);
+        marcarAlteracao(atividadeExistente.get().getFuncional());
         log.info("[DB] - Registro excluído com sucesso - ID: {}", id);
         log.info("[ServiceImpl] - Atividade com ID {} deletada com sucesso", id);
     }
     
-    private void validarAtividadeInput(AtividadeInput atividadeInput) {
-        if (atividadeInput == null) {
-            throw new IllegalArgumentException("Dados da atividade devem ser informados");
+    private void somarNoResumo(AtividadeResumoDiario.Chave chave, long delta) {
+        if (log.isDebugEnabled()) {
+            log.debug("[DB] - Atualizando atividade_resumo_diario - Funcional: {}, Dia: {}, Código: {}, Delta: {}",
+                    chave.getFuncional(), chave.getDia(), chave.getCodigoAtividade(), delta);
         }
-        
-        if (atividadeInput.getDataHora() == null) {
-            log.warn("[ServiceImpl] - Data/hora não informada para a atividade");
-            throw new IllegalArgumentException("Data/hora da atividade deve ser informada");
+        resumoDiarioRepository.somar(chave.getFuncional(), chave.getDia(), chave.getCodigoAtividade(), delta);
+    }
+
+    // Muda o ETag das listagens do funcional. Vai junto da escrita na transação: um commit que não
+    // incrementa deixaria o cliente com a página antiga validada por 304
+    private void marcarAlteracao(String funcional) {
+        log.debug("[DB] - Incrementando atividade_marca_alteracao - Funcional: {}", funcional);
+        marcaAlteracaoRepository.incrementar(funcional);
+    }
+
+    // Reduz o filtro de descrição pelo índice de trigramas a um IN por chave primária, mantendo o LIKE
+    // para confirmar os candidatos; quando o índice não consegue responder, fica só o LIKE no banco
+    private Specification<Atividade> especificacaoComFiltros(String funcional, String codigoAtividade, String descricaoAtividade,
+                                                             LocalDate dataInicio, LocalDate dataFim) {
+        if (descricaoAtividade == null || descricaoAtividade.isEmpty()) {
+            return AtividadeSpecification.comFiltros(funcional, codigoAtividade, null, dataInicio, dataFim);
         }
-        
-        if (atividadeInput.getFuncional() == null || atividadeInput.getFuncional().trim().isEmpty()) {
-            log.warn("[ServiceImpl] - Funcional não informado para a atividade");
-            throw new IllegalArgumentException("Funcional deve ser informado");
+
+        Optional<Set<Long>> ids = indiceDescricao.buscar(descricaoAtividade);
+        if (ids.isEmpty()) {
+            log.debug("[ServiceImpl] - Filtro de descrição '{}' resolvido via LIKE no banco", descricaoAtividade);
+            return AtividadeSpecification.comFiltros(funcional, codigoAtividade, descricaoAtividade, dataInicio, dataFim);
         }
-        
-        if (atividadeInput.getCodigoAtividade() == null || atividadeInput.getCodigoAtividade().trim().isEmpty()) {
-            log.warn("[ServiceImpl] - Código da atividade não informado");
-            throw new IllegalArgumentException("Código da atividade deve ser informado");
+
+        log.debug("[ServiceImpl] - Filtro de descrição '{}' resolvido pelo índice - {} IDs candidatos", descricaoAtividade, ids.get().size());
+        return AtividadeSpecification.comFiltros(funcional, codigoAtividade, descricaoAtividade, dataInicio, dataFim)
+                .and(AtividadeSpecification.comIds(ids.get()));
+    }
+
+    private List<String> validarItemLote(AtividadeInput atividadeInput) {
+        if (atividadeInput == null) {
+            return List.of("Dados da atividade devem ser informados");
         }
-        
-        if (atividadeInput.getDescricaoAtividade() == null || atividadeInput.getDescricaoAtividade().trim().isEmpty()) {
-            log.warn("[ServiceImpl] - Descrição da atividade não informada");
-            throw new IllegalArgumentException("Descrição da atividade deve ser informada");
+
+        List<String> erros = validator.validate(atividadeInput).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.toList());
+        if (erros.isEmpty()) {
+            try {
+                ValidadorAtividade.validar(atividadeInput);
+            } catch (IllegalArgumentException e) {
+                erros.add(e.getMessage());
+            }
         }
+        return erros;
     }
 }
\ No newline at end of file
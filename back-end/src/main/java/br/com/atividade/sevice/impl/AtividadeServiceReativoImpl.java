@@ -0,0 +1,188 @@
+package br.com.atividade.sevice.impl;
+
+import br.com.atividade.mapper.AtividadeMapper;
+import br.com.atividade.model.Atividade;
+import br.com.atividade.model.AtividadeResumoDiario;
+import br.com.atividade.model.evento.AtividadeAlteradaEvent;
+import br.com.atividade.repository.AtividadeRepositoryReativo;
+import br.com.atividade.sevice.AtividadeServiceReativo;
+import br.com.atividade.sevice.dto.input.AtividadeInput;
+import br.com.atividade.sevice.dto.output.AtividadeOutput;
+import br.com.atividade.sevice.indice.IndiceTrigramaDescricao;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+// Escritas não passam pelo Hibernate: o evento de alteração (índice de descrição e marca do ETag) é publicado
+// aqui depois do commit, e o cache de segundo nível da API JPA não é usado
+@Slf4j
+@Service
+@Profile("reativo")
+@RequiredArgsConstructor
+public class AtividadeServiceReativoImpl implements AtividadeServiceReativo {
+
+    private final AtividadeRepositoryReativo atividadeRepository;
+    private final AtividadeMapper atividadeMapper;
+    private final IndiceTrigramaDescricao indiceDescricao;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public Mono<AtividadeOutput> criarAtividade(AtividadeInput atividadeInput) {
+        return Mono.defer(() -> {
+            ValidadorAtividade.validar(atividadeInput);
+            log.info("[ServiceImpl] - Iniciando criação de atividade para funcional: {}", atividadeInput.getFuncional());
+
+            Atividade atividade = atividadeMapper.toEntity(atividadeInput);
+            atividade.setVersao(0L);
+            return atividadeRepository.proximoId()
+                    .flatMap(id -> {
+                        atividade.setIdAtividade(id);
+                        log.debug("[DB] - Inserindo atividade via R2DBC - ID: {}", id);
+                        return atividadeRepository.emTransacao(atividadeRepository.inserir(atividade)
+                                .then(atividadeRepository.somarNoResumo(AtividadeResumoDiario.Chave.de(atividade), 1))
+                                .then(atividadeRepository.marcarAlteracao(atividade.getFuncional())));
+                    })
+                    .then(Mono.fromSupplier(() -> {
+                        log.info("[ServiceImpl] - Atividade criada com sucesso - ID: {}, Código: {}",
+                                atividade.getIdAtividade(), atividade.getCodigoAtividade());
+                        publicar(AtividadeAlteradaEvent.Tipo.CRIADA, atividade, null);
+                        return atividadeMapper.toOutput(atividade);
+                    }));
+        });
+    }
+
+    @Override
+    public Flux<AtividadeOutput> listarAtividadesComFiltros(String funcional, String codigoAtividade, String descricaoAtividade,
+                                                            LocalDate dataInicio, LocalDate dataFim) {
+        return Flux.defer(() -> {
+            log.info("[ServiceImpl] - Listando atividades com filtros - Funcional: {}, CodigoAtividade: {}, DescricaoAtividade: {}, DataInicio: {}, DataFim: {}",
+                    funcional, codigoAtividade, descricaoAtividade, dataInicio, dataFim);
+            if (descricaoAtividade == null || descricaoAtividade.isEmpty()) {
+                return atividadeRepository.listarComFiltros(funcional, codigoAtividade, null, dataInicio, dataFim, null);
+            }
+
+            // O índice é em memória e não bloqueia; quando não responde, o filtro vira LIKE no banco
+            Optional<Set<Long>> ids = indiceDescricao.buscar(descricaoAtividade);
+            if (ids.isEmpty()) {
+                log.debug("[ServiceImpl] - Filtro de descrição '{}' resolvido via LIKE no banco", descricaoAtividade);
+                return atividadeRepository.listarComFiltros(funcional, codigoAtividade, descricaoAtividade, dataInicio, dataFim, null);
+            }
+            log.debug("[ServiceImpl] - Filtro de descrição '{}' resolvido pelo índice - {} IDs candidatos", descricaoAtividade, ids.get().size());
+            // O LIKE continua na consulta e confirma os candidatos do índice
+            return atividadeRepository.listarComFiltros(funcional, codigoAtividade, descricaoAtividade, dataInicio, dataFim, ids.get());
+        });
+    }
+
+    @Override
+    public Mono<AtividadeOutput> buscarAtividadePorId(Long id) {
+        return Mono.defer(() -> {
+            log.info("[ServiceImpl] - Buscando atividade com ID: {}", id);
+            ValidadorAtividade.validarId(id);
+
+            return atividadeRepository.buscarPorId(id)
+                    .map(atividadeMapper::toOutput)
+                    .switchIfEmpty(Mono.fromRunnable(() -> log.warn("[ServiceImpl] - Atividade com ID {} não encontrada", id)));
+        });
+    }
+
+    @Override
+    public Mono<AtividadeOutput> atualizarAtividade(Long id, AtividadeInput atividadeInput, Long versaoEsperada) {
+        return Mono.defer(() -> {
+            log.info("[ServiceImpl] - Atualizando atividade com ID: {}", id);
+            ValidadorAtividade.validarId(id);
+            ValidadorAtividade.validar(atividadeInput);
+
+            return atividadeRepository.emTransacao(buscarExistente(id)
+                    .flatMap(atividade -> {
+                        long versaoAtual = verificarVersao(atividade, versaoEsperada);
+                        AtividadeResumoDiario.Chave resumoAnterior = AtividadeResumoDiario.Chave.de(atividade);
+                        atividade.setDescricaoCarregada(atividade.getDescricaoAtividade());
+                        atividadeMapper.updateEntityFromInput(atividadeInput, atividade);
+                        AtividadeResumoDiario.Chave resumoAtual = AtividadeResumoDiario.Chave.de(atividade);
+
+                        log.debug("[DB] - Executando UPDATE via R2DBC para ID: {}", id);
+                        return atividadeRepository.atualizar(atividade, versaoAtual)
+                                .flatMap(linhas -> linhas == 0 ? Mono.error(alteradaPorOutra(id)) : Mono.just(linhas))
+                                .then(resumoAtual.equals(resumoAnterior) ? Mono.empty()
+                                        : atividadeRepository.somarNoResumo(resumoAnterior, -1)
+                                                .then(atividadeRepository.somarNoResumo(resumoAtual, 1)))
+                                .then(marcarAlteracoes(resumoAnterior.getFuncional(), resumoAtual.getFuncional()))
+                                .then(Mono.fromSupplier(() -> {
+                                    atividade.setVersao(versaoAtual + 1);
+                                    return atividade;
+                                }));
+                    }))
+                    .map(atividade -> {
+                        log.info("[ServiceImpl] - Atividade com ID {} atualizada com sucesso", id);
+                        publicar(AtividadeAlteradaEvent.Tipo.ATUALIZADA, atividade, atividade.getDescricaoCarregada());
+                        return atividadeMapper.toOutput(atividade);
+                    });
+        });
+    }
+
+    @Override
+    public Mono<Void> deletarAtividade(Long id) {
+        return Mono.defer(() -> {
+            log.info("[ServiceImpl] - Deletando atividade com ID: {}", id);
+            ValidadorAtividade.validarId(id);
+
+            return atividadeRepository.emTransacao(buscarExistente(id)
+                    .flatMap(atividade -> {
+                        log.debug("[DB] - Executando DELETE via R2DBC - ID: {}", id);
+                        return atividadeRepository.remover(id, verificarVersao(atividade, null))
+                                .flatMap(linhas -> linhas == 0 ? Mono.error(alteradaPorOutra(id)) : Mono.just(linhas))
+                                .then(atividadeRepository.somarNoResumo(AtividadeResumoDiario.Chave.de(atividade), -1))
+                                .then(atividadeRepository.marcarAlteracao(atividade.getFuncional()))
+                                .thenReturn(atividade);
+                    }))
+                    .doOnNext(atividade -> {
+                        log.info("[ServiceImpl] - Atividade com ID {} deletada com sucesso", id);
+                        publicar(AtividadeAlteradaEvent.Tipo.REMOVIDA, atividade, atividade.getDescricaoAtividade());
+                    })
+                    .then();
+        });
+    }
+
+    // Em ordem fixa, como no serviço JPA, quando a atualização troca o funcional
+    private Mono<Void> marcarAlteracoes(String... funcionais) {
+        return Flux.fromStream(Stream.of(funcionais).distinct().sorted())
+                .concatMap(atividadeRepository::marcarAlteracao)
+                .then();
+    }
+
+    private Mono<Atividade> buscarExistente(Long id) {
+        return atividadeRepository.buscarPorId(id)
+                .switchIfEmpty(Mono.error(() -> {
+                    log.warn("[ServiceImpl] - Atividade com ID {} não encontrada", id);
+                    return new IllegalArgumentException("Atividade com ID " + id + " não encontrada");
+                }));
+    }
+
+    private static long verificarVersao(Atividade atividade, Long versaoEsperada) {
+        long versaoAtual = atividade.getVersao() == null ? 0 : atividade.getVersao();
+        if (versaoEsperada != null && versaoEsperada != versaoAtual) {
+            log.warn("[ServiceImpl] - Atividade com ID {} está na versão {}, cliente esperava {}", atividade.getIdAtividade(), versaoAtual, versaoEsperada);
+            throw alteradaPorOutra(atividade.getIdAtividade());
+        }
+        return versaoAtual;
+    }
+
+    private static OptimisticLockingFailureException alteradaPorOutra(Long id) {
+        return new OptimisticLockingFailureException("Atividade com ID " + id + " foi alterada por outra requisição");
+    }
+
+    // Chamado só depois do commit; os listeners usam @TransactionalEventListener(fallbackExecution = true)
+    private void publicar(AtividadeAlteradaEvent.Tipo tipo, Atividade atividade, String descricaoAnterior) {
+        eventPublisher.publishEvent(new AtividadeAlteradaEvent(tipo, atividade.getIdAtividade(), atividade.getDescricaoAtividade(), descricaoAnterior));
+    }
+}
@@ -0,0 +1,190 @@
+package br.com.atividade.sevice.impl;
+
+import br.com.atividade.config.ResumoProperties;
+import br.com.atividade.repository.AtividadeResumoDiarioRepository;
+import br.com.atividade.repository.ParticaoAtividadeRepository;
+import br.com.atividade.sevice.EstatisticaAtividadeService;
+import br.com.atividade.sevice.dto.input.AgrupamentoEstatistica;
+import br.com.atividade.sevice.dto.output.EstatisticaCodigoOutput;
+import br.com.atividade.sevice.dto.output.EstatisticaPeriodoOutput;
+import br.com.atividade.sevice.dto.output.ReconstrucaoResumoOutput;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Service
+public class EstatisticaAtividadeServiceImpl implements EstatisticaAtividadeService {
+
+    private final AtividadeResumoDiarioRepository resumoDiarioRepository;
+    private final ParticaoAtividadeRepository particaoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ResumoProperties resumoProperties;
+
+    public EstatisticaAtividadeServiceImpl(AtividadeResumoDiarioRepository resumoDiarioRepository,
+                                           ParticaoAtividadeRepository particaoRepository,
+                                           PlatformTransactionManager transactionManager,
+                                           ResumoProperties resumoProperties) {
+        this.resumoDiarioRepository = resumoDiarioRepository;
+        this.particaoRepository = particaoRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.resumoProperties = resumoProperties;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EstatisticaPeriodoOutput> listarPorPeriodo(String funcional, String codigoAtividade, AgrupamentoEstatistica agrupamento,
+                                                           LocalDate dataInicio, LocalDate dataFim) {
+        log.info("[ServiceImpl] - Estatística por período - Funcional: {}, CodigoAtividade: {}, Agrupamento: {}, DataInicio: {}, DataFim: {}",
+                funcional, codigoAtividade, agrupamento, dataInicio, dataFim);
+        validarPeriodo(dataInicio, dataFim);
+
+        log.debug("[DB] - Executando SELECT dia, SUM(quantidade) FROM atividade_resumo_diario GROUP BY dia");
+        List<EstatisticaPeriodoOutput> porDia = resumoDiarioRepository.somarPorDia(
+                vazioComoNulo(funcional), vazioComoNulo(codigoAtividade), dataInicio, dataFim);
+        log.info("[DB] - Consulta ao resumo diário executada - {} dias com atividades", porDia.size());
+
+        AgrupamentoEstatistica agrupamentoEfetivo = agrupamento == null ? AgrupamentoEstatistica.DIA : agrupamento;
+        if (agrupamentoEfetivo == AgrupamentoEstatistica.DIA) {
+            return porDia;
+        }
+
+        // Semana e mês são dobrados a partir das linhas diárias, que já vêm ordenadas por dia
+        Map<LocalDate, Long> agrupado = new LinkedHashMap<>();
+        for (EstatisticaPeriodoOutput dia : porDia) {
+            agrupado.merge(inicioDoPeriodo(dia.getInicio(), agrupamentoEfetivo), dia.getQuantidade(), Long::sum);
+        }
+        List<EstatisticaPeriodoOutput> resultado = new ArrayList<>(agrupado.size());
+        agrupado.forEach((inicio, quantidade) -> resultado.add(new EstatisticaPeriodoOutput(inicio, quantidade)));
+        return resultado;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EstatisticaCodigoOutput> listarPorCodigo(String funcional, LocalDate dataInicio, LocalDate dataFim) {
+        log.info("[ServiceImpl] - Estatística por código - Funcional: {}, DataInicio: {}, DataFim: {}", funcional, dataInicio, dataFim);
+        validarPeriodo(dataInicio, dataFim);
+
+        log.debug("[DB] - Executando SELECT codigo_atividade, SUM(quantidade) FROM atividade_resumo_diario GROUP BY codigo_atividade");
+        List<EstatisticaCodigoOutput> porCodigo = resumoDiarioRepository.somarPorCodigo(vazioComoNulo(funcional), dataInicio, dataFim);
+        log.info("[DB] - Consulta ao resumo diário executada - {} códigos de atividade", porCodigo.size());
+        return porCodigo;
+    }
+
+    @Override
+    public ReconstrucaoResumoOutput reconstruirResumo(LocalDate dataInicio, LocalDate dataFim) {
+        log.info("[ServiceImpl] - Reconstrução do resumo diário solicitada - DataInicio: {}, DataFim: {}", dataInicio, dataFim);
+
+        if (dataInicio == null || dataFim == null) {
+            LocalDateTime primeira = resumoDiarioRepository.primeiraDataHora();
+            LocalDateTime ultima = resumoDiarioRepository.ultimaDataHora();
+            if (primeira == null) {
+                log.info("[ServiceImpl] - Tabela atividade vazia, nada a reconstruir");
+                return new ReconstrucaoResumoOutput(dataInicio, dataFim, 0, 0, 0);
+            }
+            dataInicio = dataInicio == null ? primeira.toLocalDate() : dataInicio;
+            dataFim = dataFim == null ? ultima.toLocalDate() : dataFim;
+        }
+        validarPeriodo(dataInicio, dataFim);
+
+        // Meses descartados pela retenção de partições não estão mais em atividade, mas o resumo deles é
+        // mantido de propósito: recalcular esses dias apagaria as contagens sem ter de onde refazê-las
+        Optional<LocalDate> primeiroDiaRetido = particaoRepository.primeiroMesRetido().map(mes -> mes.atDay(1));
+        if (primeiroDiaRetido.isPresent() && dataInicio.isBefore(primeiroDiaRetido.get())) {
+            log.info("[ServiceImpl] - Dias anteriores a {} já saíram de atividade pela retenção, resumo desses dias mantido",
+                    primeiroDiaRetido.get());
+            if (dataFim.isBefore(primeiroDiaRetido.get())) {
+                return new ReconstrucaoResumoOutput(dataInicio, dataFim, 0, 0, 0);
+            }
+            dataInicio = primeiroDiaRetido.get();
+        }
+
+        long inicio = System.nanoTime();
+        AtomicInteger tarefas = new AtomicInteger();
+        ForkJoinPool pool = new ForkJoinPool(resumoProperties.getParalelismo());
+        long linhas;
+        try {
+            linhas = pool.invoke(new ReconstrucaoPeriodo(dataInicio, dataFim, tarefas));
+        } finally {
+            pool.shutdown();
+        }
+        long duracaoMs = (System.nanoTime() - inicio) / 1_000_000;
+
+        log.info("[ServiceImpl] - Resumo diário reconstruído - {} a {}, {} tarefas, {} linhas, {} ms",
+                dataInicio, dataFim, tarefas.get(), linhas, duracaoMs);
+        return new ReconstrucaoResumoOutput(dataInicio, dataFim, tarefas.get(), linhas, duracaoMs);
+    }
+
+    // Divide o período ao meio até caber em dias-por-tarefa; cada folha apaga e recalcula seus dias
+    // em uma transação própria, então períodos diferentes rodam em paralelo sem disputar as mesmas linhas
+    private class ReconstrucaoPeriodo extends RecursiveTask<Long> {
+
+        private final LocalDate dataInicio;
+        private final LocalDate dataFim;
+        private final AtomicInteger tarefas;
+
+        ReconstrucaoPeriodo(LocalDate dataInicio, LocalDate dataFim, AtomicInteger tarefas) {
+            this.dataInicio = dataInicio;
+            this.dataFim = dataFim;
+            this.tarefas = tarefas;
+        }
+
+        @Override
+        protected Long compute() {
+            long dias = ChronoUnit.DAYS.between(dataInicio, dataFim) + 1;
+            if (dias <= resumoProperties.getDiasPorTarefa()) {
+                tarefas.incrementAndGet();
+                return transactionTemplate.execute(status -> {
+                    log.debug("[DB] - Recalculando atividade_resumo_diario de {} a {}", dataInicio, dataFim);
+                    resumoDiarioRepository.removerPeriodo(dataInicio, dataFim);
+                    return (long) resumoDiarioRepository.recalcularPeriodo(dataInicio.atStartOfDay(), dataFim.plusDays(1).atStartOfDay());
+                });
+            }
+
+            LocalDate meio = dataInicio.plusDays(dias / 2 - 1);
+            ReconstrucaoPeriodo primeiraMetade = new ReconstrucaoPeriodo(dataInicio, meio, tarefas);
+            ReconstrucaoPeriodo segundaMetade = new ReconstrucaoPeriodo(meio.plusDays(1), dataFim, tarefas);
+            primeiraMetade.fork();
+            return segundaMetade.compute() + primeiraMetade.join();
+        }
+    }
+
+    private static LocalDate inicioDoPeriodo(LocalDate dia, AgrupamentoEstatistica agrupamento) {
+        return switch (agrupamento) {
+            case SEMANA -> dia.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MES -> dia.withDayOfMonth(1);
+            default -> dia;
+        };
+    }
+
+    private static void validarPeriodo(LocalDate dataInicio, LocalDate dataFim) {
+        if (dataInicio == null || dataFim == null) {
+            log.warn("[ServiceImpl] - Período não informado para estatística");
+            throw new IllegalArgumentException("Data inicial e data final devem ser informadas");
+        }
+        if (dataInicio.isAfter(dataFim)) {
+            log.warn("[ServiceImpl] - Período inválido: {} a {}", dataInicio, dataFim);
+            throw new IllegalArgumentException("Data inicial não pode ser posterior à data final");
+        }
+    }
+
+    private static String vazioComoNulo(String valor) {
+        return valor == null || valor.trim().isEmpty() ? null : valor.trim();
+    }
+}
@@ -0,0 +1,45 @@
+package br.com.atividade.sevice.impl;
+
+import br.com.atividade.sevice.dto.input.AtividadeInput;
+import lombok.extern.slf4j.Slf4j;
+
+// Regras comuns às implementações JPA e reativa do serviço de atividades
+@Slf4j
+final class ValidadorAtividade {
+
+    private ValidadorAtividade() {
+    }
+
+    static void validarId(Long id) {
+        if (id == null || id <= 0) {
+            log.warn("[ServiceImpl] - ID inválido: {}", id);
+            throw new IllegalArgumentException("ID deve ser um número positivo");
+        }
+    }
+
+    static void validar(AtividadeInput atividadeInput) {
+        if (atividadeInput == null) {
+            throw new IllegalArgumentException("Dados da atividade devem ser informados");
+        }
+        
+        if (atividadeInput.getDataHora() == null) {
+            log.warn("[ServiceImpl] - Data/hora não informada para a atividade");
+            throw new IllegalArgumentException("Data/hora da atividade deve ser informada");
+        }
+        
+        if (atividadeInput.getFuncional() == null || atividadeInput.getFuncional().trim().isEmpty()) {
+            log.warn("[ServiceImpl] - Funcional não informado para a atividade");
+            throw new IllegalArgumentException("Funcional deve ser informado");
+        }
+        
+        if (atividadeInput.getCodigoAtividade() == null || atividadeInput.getCodigoAtividade().trim().isEmpty()) {
+            log.warn("[ServiceImpl] - Código da atividade não informado");
+            throw new IllegalArgumentException("Código da atividade deve ser informado");
+        }
+        
+        if (atividadeInput.getDescricaoAtividade() == null || atividadeInput.getDescricaoAtividade().trim().isEmpty()) {
+            log.warn("[ServiceImpl] - Descrição da atividade não informada");
+            throw new IllegalArgumentException("Descrição da atividade deve ser informada");
+        }
+    }
+}
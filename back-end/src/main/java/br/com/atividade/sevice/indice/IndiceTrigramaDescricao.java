@@ -0,0 +1,314 @@
+package br.com.atividade.sevice.indice;
+
+import br.com.atividade.config.IndiceDescricaoProperties;
+import br.com.atividade.model.evento.AtividadeAlteradaEvent;
+import br.com.atividade.repository.AtividadeRepository;
+import br.com.atividade.repository.projection.DescricaoAtividade;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// Índice invertido de trigramas sobre descricao_atividade, mantido em memória, que reduz o
+// filtro de descrição (LIKE '%x%') a um conjunto de IDs candidatos sem varrer a tabela. Só os
+// trigramas ficam em memória: a descrição não é copiada, e o LIKE confirma os candidatos no banco
+@Slf4j
+@Component
+public class IndiceTrigramaDescricao {
+
+    private static final int TAMANHO_TRIGRAMA = 3;
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+
+    private final AtividadeRepository atividadeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final IndiceDescricaoProperties properties;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, ListaPostagem> postagens = new HashMap<>();
+
+    // IDs alterados por eventos durante a construção; a carga inicial não deve sobrescrevê-los
+    private final Set<Long> alteradosDuranteConstrucao = new HashSet<>();
+    private boolean construindo;
+    private volatile boolean pronto;
+
+    public IndiceTrigramaDescricao(AtividadeRepository atividadeRepository, PlatformTransactionManager transactionManager,
+                                   IndiceDescricaoProperties properties) {
+        this.atividadeRepository = atividadeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void construirAoIniciar() {
+        if (!properties.isHabilitado()) {
+            log.info("[Indice] - Índice de descrição desabilitado, filtro de descrição usará LIKE no banco");
+            return;
+        }
+        Thread construcao = new Thread(this::reconstruir, "indice-descricao");
+        construcao.setDaemon(true);
+        construcao.start();
+    }
+
+    public void reconstruir() {
+        if (!properties.isHabilitado()) {
+            return;
+        }
+        long inicio = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            pronto = false;
+            construindo = true;
+            postagens.clear();
+            alteradosDuranteConstrucao.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            log.info("[Indice] - Construindo índice de trigramas de descrição");
+            Integer total = transactionTemplate.execute(status -> {
+                int carregados = 0;
+                List<DescricaoAtividade> bloco = new ArrayList<>(properties.getTamanhoBlocoConstrucao());
+                try (Stream<DescricaoAtividade> stream = atividadeRepository.streamDescricoes()) {
+                    Iterator<DescricaoAtividade> iterator = stream.iterator();
+                    while (iterator.hasNext()) {
+                        bloco.add(iterator.next());
+                        if (bloco.size() == properties.getTamanhoBlocoConstrucao()) {
+                            carregados += carregarBloco(bloco);
+                            bloco.clear();
+                        }
+                    }
+                }
+                return carregados + carregarBloco(bloco);
+            });
+
+            lock.writeLock().lock();
+            try {
+                construindo = false;
+                alteradosDuranteConstrucao.clear();
+                pronto = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("[Indice] - Índice de descrição pronto - {} atividades, {} trigramas, {} ms",
+                    total, postagens.size(), (System.nanoTime() - inicio) / 1_000_000);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                construindo = false;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.error("[Indice] - Falha ao construir índice de descrição, filtro seguirá usando LIKE no banco", e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarAtividade(AtividadeAlteradaEvent evento) {
+        if (!properties.isHabilitado() || evento.idAtividade() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (construindo) {
+                alteradosDuranteConstrucao.add(evento.idAtividade());
+            }
+            if (evento.tipo() != AtividadeAlteradaEvent.Tipo.CRIADA) {
+                remover(evento.idAtividade(), evento.descricaoAnterior());
+            }
+            if (evento.tipo() != AtividadeAlteradaEvent.Tipo.REMOVIDA) {
+                indexar(evento.idAtividade(), evento.descricaoAtividade());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // IDs cuja descrição tem todos os trigramas do termo (sem diferenciar maiúsculas e acentos, como a
+    // collation do MySQL). Trigramas em comum não garantem a substring: o chamador mantém o LIKE na mesma
+    // consulta que filtra por esses IDs. Vazio quando o índice não pode responder e o chamador deve usar só
+    // o LIKE: índice ainda em construção, termo menor que um trigrama ou candidatos acima de limite-candidatos
+    public Optional<Set<Long>> buscar(String termo) {
+        if (!pronto || termo == null) {
+            return Optional.empty();
+        }
+        String termoNormalizado = normalizar(termo);
+        if (termoNormalizado.length() < TAMANHO_TRIGRAMA) {
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (!pronto) {
+                return Optional.empty();
+            }
+
+            List<ListaPostagem> listas = new ArrayList<>();
+            for (long trigrama : trigramas(termoNormalizado)) {
+                ListaPostagem lista = postagens.get(trigrama);
+                if (lista == null) {
+                    return Optional.of(Set.of());
+                }
+                listas.add(lista);
+            }
+            listas.sort(Comparator.comparingInt(ListaPostagem::tamanho));
+
+            long[] candidatos = Arrays.copyOf(listas.get(0).ids, listas.get(0).tamanho);
+            int quantidade = candidatos.length;
+            for (int i = 1; i < listas.size() && quantidade > 0; i++) {
+                quantidade = listas.get(i).intersectar(candidatos, quantidade);
+            }
+            if (quantidade > properties.getLimiteCandidatos()) {
+                return Optional.empty();
+            }
+
+            Set<Long> ids = HashSet.newHashSet(quantidade);
+            for (int i = 0; i < quantidade; i++) {
+                ids.add(candidatos[i]);
+            }
+            return Optional.of(ids);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isPronto() {
+        return pronto;
+    }
+
+    private int carregarBloco(List<DescricaoAtividade> bloco) {
+        lock.writeLock().lock();
+        try {
+            int carregados = 0;
+            for (DescricaoAtividade descricao : bloco) {
+                if (!alteradosDuranteConstrucao.contains(descricao.idAtividade())) {
+                    indexar(descricao.idAtividade(), descricao.descricaoAtividade());
+                    carregados++;
+                }
+            }
+            return carregados;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void indexar(Long id, String descricao) {
+        if (descricao == null) {
+            return;
+        }
+        for (long trigrama : trigramas(normalizar(descricao))) {
+            postagens.computeIfAbsent(trigrama, t -> new ListaPostagem()).adicionar(id);
+        }
+    }
+
+    // Tira o ID só das listas dos trigramas da descrição anterior. Se outra instância mudou a descrição antes,
+    // sobram listas com o ID, o que só gera candidatos a mais que o LIKE descarta. Sem a descrição anterior,
+    // o ID é procurado em todas as listas
+    private void remover(Long id, String descricaoAnterior) {
+        if (descricaoAnterior == null) {
+            postagens.values().removeIf(lista -> lista.remover(id) == 0);
+            return;
+        }
+        for (long trigrama : trigramas(normalizar(descricaoAnterior))) {
+            ListaPostagem lista = postagens.get(trigrama);
+            if (lista != null && lista.remover(id) == 0) {
+                postagens.remove(trigrama);
+            }
+        }
+    }
+
+    static String normalizar(String texto) {
+        String semAcentos = MARCAS_DIACRITICAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return semAcentos.toLowerCase(Locale.ROOT);
+    }
+
+    // Cada trigrama é empacotado em um long (3 chars de 16 bits) para evitar alocar Strings como chave
+    static Set<Long> trigramas(String normalizado) {
+        Set<Long> trigramas = new HashSet<>();
+        for (int i = 0; i + TAMANHO_TRIGRAMA <= normalizado.length(); i++) {
+            trigramas.add(((long) normalizado.charAt(i) << 32)
+                    | ((long) normalizado.charAt(i + 1) << 16)
+                    | normalizado.charAt(i + 2));
+        }
+        return trigramas;
+    }
+
+    // Lista de IDs ordenada; inserções de IDs crescentes (sequence) viram append
+    static final class ListaPostagem {
+
+        private long[] ids = new long[4];
+        private int tamanho;
+
+        int tamanho() {
+            return tamanho;
+        }
+
+        void adicionar(long id) {
+            int posicao;
+            if (tamanho == 0 || ids[tamanho - 1] < id) {
+                posicao = tamanho;
+            } else {
+                int busca = Arrays.binarySearch(ids, 0, tamanho, id);
+                if (busca >= 0) {
+                    return;
+                }
+                posicao = -busca - 1;
+            }
+            if (tamanho == ids.length) {
+                ids = Arrays.copyOf(ids, tamanho * 2);
+            }
+            System.arraycopy(ids, posicao, ids, posicao + 1, tamanho - posicao);
+            ids[posicao] = id;
+            tamanho++;
+        }
+
+        int remover(long id) {
+            int posicao = Arrays.binarySearch(ids, 0, tamanho, id);
+            if (posicao >= 0) {
+                System.arraycopy(ids, posicao + 1, ids, posicao, tamanho - posicao - 1);
+                tamanho--;
+            }
+            return tamanho;
+        }
+
+        // Mantém em candidatos[0..n) apenas os IDs presentes nesta lista; devolve o novo n
+        int intersectar(long[] candidatos, int quantidade) {
+            int i = 0;
+            int j = 0;
+            int resultado = 0;
+            while (i < quantidade && j < tamanho) {
+                if (candidatos[i] < ids[j]) {
+                    i++;
+                } else if (candidatos[i] > ids[j]) {
+                    j++;
+                } else {
+                    candidatos[resultado++] = candidatos[i];
+                    i++;
+                    j++;
+                }
+            }
+            return resultado;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package br.com.atividade.sevice.ingestao;
+
+import br.com.atividade.sevice.dto.input.AtividadeInput;
+
+// Atividade aceita com 202 e ainda não gravada no banco; recebidaEm em epoch millis.
+// chave identifica a atividade no log local (nula na fila em memória) e reentrega indica que ela
+// já foi retirada antes (recuperada após uma queda ou devolvida) e pode já estar no banco
+public record AtividadePendente(AtividadeInput atividade, long recebidaEm, String chave, boolean reentrega) {
+
+    public AtividadePendente(AtividadeInput atividade, long recebidaEm) {
+        this(atividade, recebidaEm, null, false);
+    }
+}
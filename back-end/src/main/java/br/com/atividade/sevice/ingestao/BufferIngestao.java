@@ -0,0 +1,26 @@
+package br.com.atividade.sevice.ingestao;
+
+import br.com.atividade.sevice.dto.input.AtividadeInput;
+
+import java.io.Closeable;
+import java.util.List;
+
+// Onde as atividades aceitas esperam pela gravação. oferecer é chamado pelas requisições;
+// retirar, confirmar e devolver apenas pela thread escritora
+public interface BufferIngestao extends Closeable {
+
+    // false quando não há espaço e a requisição deve receber 429
+    boolean oferecer(AtividadeInput atividade);
+
+    List<AtividadePendente> retirar(int maximo);
+
+    // O último lote retirado foi gravado no banco
+    void confirmar();
+
+    // O último lote retirado não foi gravado e volta a ser o primeiro a sair no próximo retirar
+    void devolver();
+
+    int tamanho();
+
+    int capacidade();
+}
@@ -0,0 +1,71 @@
+package br.com.atividade.sevice.ingestao;
+
+import br.com.atividade.sevice.dto.input.AtividadeInput;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Buffer apenas em memória: rápido, mas perde o que estiver na fila se a instância cair.
+// Um lote devolvido fica à frente da fila e, enquanto não for gravado, novas atividades recebem 429:
+// a fila não cresce com o banco fora e a ordem de chegada se mantém
+public final class BufferMemoria implements BufferIngestao {
+
+    private final FilaMpsc<AtividadePendente> fila;
+    private List<AtividadePendente> ultimoLote = List.of();
+    private List<AtividadePendente> devolvidas = List.of();
+    // Lido pelas requisições em oferecer e tamanho; escrito só pela thread escritora
+    private volatile int quantidadeDevolvidas;
+
+    public BufferMemoria(int capacidade) {
+        this.fila = new FilaMpsc<>(capacidade);
+    }
+
+    @Override
+    public boolean oferecer(AtividadeInput atividade) {
+        if (quantidadeDevolvidas > 0) {
+            return false;
+        }
+        return fila.oferecer(new AtividadePendente(atividade, System.currentTimeMillis()));
+    }
+
+    @Override
+    public List<AtividadePendente> retirar(int maximo) {
+        List<AtividadePendente> lote = new ArrayList<>(Math.min(maximo, fila.capacidade()));
+        int daFrente = Math.min(maximo, devolvidas.size());
+        lote.addAll(devolvidas.subList(0, daFrente));
+        devolvidas = devolvidas.subList(daFrente, devolvidas.size());
+        fila.drenar(lote::add, maximo - daFrente);
+        ultimoLote = lote;
+        return lote;
+    }
+
+    @Override
+    public void confirmar() {
+        ultimoLote = List.of();
+        quantidadeDevolvidas = devolvidas.size();
+    }
+
+    @Override
+    public void devolver() {
+        List<AtividadePendente> frente = new ArrayList<>(ultimoLote.size() + devolvidas.size());
+        frente.addAll(ultimoLote);
+        frente.addAll(devolvidas);
+        devolvidas = frente;
+        ultimoLote = List.of();
+        quantidadeDevolvidas = devolvidas.size();
+    }
+
+    @Override
+    public int tamanho() {
+        return fila.tamanho() + quantidadeDevolvidas;
+    }
+
+    @Override
+    public int capacidade() {
+        return fila.capacidade();
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,73 @@
+package br.com.atividade.sevice.ingestao;
+
+import br.com.atividade.sevice.dto.input.AtividadeInput;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+// Codificação binária de uma atividade pendente no log de ingestão:
+// recebidaEm (long), chave (dois long), dataHora (segundos long + nanos int)
+// e os três textos em UTF-8 com tamanho de 2 bytes
+public final class CodificacaoAtividade {
+
+    public static final int VERSAO_ATUAL = 1;
+
+    private CodificacaoAtividade() {
+    }
+
+    public static byte[] codificar(AtividadeInput atividade, long recebidaEm, UUID chave) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream saida = new DataOutputStream(bytes)) {
+            saida.writeLong(recebidaEm);
+            saida.writeLong(chave.getMostSignificantBits());
+            saida.writeLong(chave.getLeastSignificantBits());
+            LocalDateTime dataHora = atividade.getDataHora();
+            saida.writeBoolean(dataHora != null);
+            if (dataHora != null) {
+                saida.writeLong(dataHora.toEpochSecond(ZoneOffset.UTC));
+                saida.writeInt(dataHora.getNano());
+            }
+            escreverTexto(saida, atividade.getFuncional());
+            escreverTexto(saida, atividade.getCodigoAtividade());
+            escreverTexto(saida, atividade.getDescricaoAtividade());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static AtividadePendente decodificar(byte[] registro, boolean reentrega) {
+        try (DataInputStream entrada = new DataInputStream(new ByteArrayInputStream(registro))) {
+            long recebidaEm = entrada.readLong();
+            String chave = new UUID(entrada.readLong(), entrada.readLong()).toString();
+            AtividadeInput atividade = new AtividadeInput();
+            if (entrada.readBoolean()) {
+                atividade.setDataHora(LocalDateTime.ofEpochSecond(entrada.readLong(), entrada.readInt(), ZoneOffset.UTC));
+            }
+            atividade.setFuncional(lerTexto(entrada));
+            atividade.setCodigoAtividade(lerTexto(entrada));
+            atividade.setDescricaoAtividade(lerTexto(entrada));
+            return new AtividadePendente(atividade, recebidaEm, chave, reentrega);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void escreverTexto(DataOutputStream saida, String texto) throws IOException {
+        saida.writeBoolean(texto != null);
+        if (texto != null) {
+            saida.writeUTF(texto);
+        }
+    }
+
+    private static String lerTexto(DataInputStream entrada) throws IOException {
+        return entrada.readBoolean() ? entrada.readUTF() : null;
+    }
+}
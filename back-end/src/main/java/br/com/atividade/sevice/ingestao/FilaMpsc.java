@@ -0,0 +1,84 @@
+package br.com.atividade.sevice.ingestao;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+// Fila circular limitada sem locks para vários produtores e um único consumidor. Cada posição guarda
+// uma sequência que diz se ela está livre para a volta atual do produtor ou publicada para o consumidor
+public final class FilaMpsc<T> {
+
+    private final AtomicReferenceArray<T> elementos;
+    private final AtomicLongArray sequencias;
+    private final int mascara;
+
+    private final AtomicLong cauda = new AtomicLong();
+    // Escrita apenas pela thread consumidora
+    private volatile long cabeca;
+
+    public FilaMpsc(int capacidadeMinima) {
+        if (capacidadeMinima < 1) {
+            throw new IllegalArgumentException("Capacidade da fila deve ser positiva");
+        }
+        int capacidade = Integer.highestOneBit(capacidadeMinima - 1) << 1;
+        if (capacidadeMinima == 1) {
+            capacidade = 1;
+        }
+        this.elementos = new AtomicReferenceArray<>(capacidade);
+        this.sequencias = new AtomicLongArray(capacidade);
+        this.mascara = capacidade - 1;
+        for (int i = 0; i < capacidade; i++) {
+            sequencias.set(i, i);
+        }
+    }
+
+    // Devolve false quando a fila está cheia, sem bloquear
+    public boolean oferecer(T elemento) {
+        long posicao = cauda.get();
+        while (true) {
+            int indice = (int) (posicao & mascara);
+            long diferenca = sequencias.get(indice) - posicao;
+            if (diferenca == 0) {
+                if (cauda.compareAndSet(posicao, posicao + 1)) {
+                    elementos.set(indice, elemento);
+                    sequencias.set(indice, posicao + 1);
+                    return true;
+                }
+                posicao = cauda.get();
+            } else if (diferenca < 0) {
+                return false;
+            } else {
+                posicao = cauda.get();
+            }
+        }
+    }
+
+    // Entrega até maximo elementos ao consumidor, na ordem de chegada. Só pode ser chamado por uma thread por vez
+    public int drenar(Consumer<T> consumidor, int maximo) {
+        long posicao = cabeca;
+        int drenados = 0;
+        while (drenados < maximo) {
+            int indice = (int) (posicao & mascara);
+            if (sequencias.get(indice) != posicao + 1) {
+                break;
+            }
+            T elemento = elementos.get(indice);
+            elementos.set(indice, null);
+            sequencias.set(indice, posicao + mascara + 1);
+            posicao++;
+            cabeca = posicao;
+            drenados++;
+            consumidor.accept(elemento);
+        }
+        return drenados;
+    }
+
+    public int tamanho() {
+        return (int) Math.max(0, cauda.get() - cabeca);
+    }
+
+    public int capacidade() {
+        return mascara + 1;
+    }
+}
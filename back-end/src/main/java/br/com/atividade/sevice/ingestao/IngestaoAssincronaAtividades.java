@@ -0,0 +1,355 @@
+package br.com.atividade.sevice.ingestao;
+
+import br.com.atividade.config.IngestaoProperties;
+import br.com.atividade.sevice.AtividadeService;
+import br.com.atividade.sevice.dto.input.AtividadeInput;
+import br.com.atividade.sevice.dto.output.ResultadoLoteOutput;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLDataException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Ingestão write-behind do POST /atividades: a requisição só entra no buffer (202) e uma thread escritora
+// grava em lotes pelo caminho de criação em lote, com um commit por lote em vez de um por atividade.
+// O buffer é a fila em memória ou, com atividade.ingestao.wal.habilitado, o log local em disco
+@Slf4j
+@Component
+public class IngestaoAssincronaAtividades {
+
+    private final AtividadeService atividadeService;
+    private final IngestaoProperties properties;
+    private final BufferIngestao buffer;
+
+    private final Counter aceitas;
+    private final Counter recusadas;
+    private final Counter rejeitadas;
+    private final Counter descartadas;
+    private final Counter repetidas;
+    private final Counter quarentena;
+    private final DistributionSummary tamanhoLote;
+    private final Timer atraso;
+    private final Timer gravacao;
+
+    private volatile Thread escritor;
+    private volatile boolean executando;
+    // Estado da thread escritora: falhas seguidas do lote atual e, durante a bissecção de um lote recusado por
+    // erro de dado, quantas atividades do início do buffer ainda incluem a culpada e o tamanho dos lotes
+    private int falhasConsecutivas;
+    private int suspeitas;
+    private int limiteBisseccao;
+    private final ReentrantLock reprocessamento = new ReentrantLock();
+
+    public IngestaoAssincronaAtividades(AtividadeService atividadeService, IngestaoProperties properties, MeterRegistry meterRegistry) {
+        this.atividadeService = atividadeService;
+        this.properties = properties;
+        this.buffer = criarBuffer(properties);
+
+        Gauge.builder("atividade.ingestao.fila", buffer, BufferIngestao::tamanho)
+                .description("Atividades aceitas aguardando gravação")
+                .register(meterRegistry);
+        Gauge.builder("atividade.ingestao.fila.capacidade", buffer, BufferIngestao::capacidade)
+                .register(meterRegistry);
+        this.aceitas = Counter.builder("atividade.ingestao.aceitas").register(meterRegistry);
+        this.recusadas = Counter.builder("atividade.ingestao.recusadas")
+                .description("Atividades recusadas com 429 por fila cheia")
+                .register(meterRegistry);
+        this.rejeitadas = Counter.builder("atividade.ingestao.rejeitadas")
+                .description("Atividades rejeitadas pela validação na gravação")
+                .register(meterRegistry);
+        this.descartadas = Counter.builder("atividade.ingestao.descartadas")
+                .description("Atividades recusadas pelo banco por erro de dado e descartadas (apenas sem o log local)")
+                .register(meterRegistry);
+        this.repetidas = Counter.builder("atividade.ingestao.repetidas")
+                .description("Atividades reentregues pelo log local que já estavam gravadas")
+                .register(meterRegistry);
+        this.quarentena = Counter.builder("atividade.ingestao.quarentena")
+                .description("Atividades recusadas pelo banco por erro de dado e movidas para a quarentena do log local")
+                .register(meterRegistry);
+        this.tamanhoLote = DistributionSummary.builder("atividade.ingestao.lote.tamanho").register(meterRegistry);
+        this.atraso = Timer.builder("atividade.ingestao.atraso")
+                .description("Tempo entre o 202 e o commit da atividade mais antiga de cada lote")
+                .register(meterRegistry);
+        this.gravacao = Timer.builder("atividade.ingestao.lote.gravacao").register(meterRegistry);
+    }
+
+    public boolean isHabilitada() {
+        return properties.isAssincrona();
+    }
+
+    // false quando a fila está cheia e a requisição deve receber 429
+    public boolean aceitar(AtividadeInput atividadeInput) {
+        if (!buffer.oferecer(atividadeInput)) {
+            recusadas.increment();
+            return false;
+        }
+        aceitas.increment();
+        if (buffer.tamanho() >= properties.getTamanhoLote()) {
+            Thread thread = escritor;
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            }
+        }
+        return true;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void iniciar() {
+        if (!isHabilitada() || escritor != null) {
+            return;
+        }
+        log.info("[Ingestao] - Ingestão assíncrona habilitada - {} de {} atividades, lotes de até {} a cada {} ms",
+                buffer instanceof LogEscritaAntecipada ? "log local" : "fila em memória",
+                buffer.capacidade(), properties.getTamanhoLote(), properties.getIntervaloGravacao().toMillis());
+        executando = true;
+        escritor = new Thread(this::executar, "ingestao-atividades");
+        escritor.start();
+    }
+
+    @PreDestroy
+    public synchronized void encerrar() throws InterruptedException, IOException {
+        Thread thread = escritor;
+        if (thread != null) {
+            executando = false;
+            LockSupport.unpark(thread);
+            thread.join(Duration.ofSeconds(30).toMillis());
+            if (thread.isAlive()) {
+                log.error("[Ingestao] - Escritor não terminou a tempo, {} atividades ficaram na fila", buffer.tamanho());
+                return;
+            }
+            escritor = null;
+            log.info("[Ingestao] - Ingestão assíncrona encerrada");
+        }
+        buffer.close();
+    }
+
+    private void executar() {
+        long intervalo = properties.getIntervaloGravacao().toNanos();
+        while (executando) {
+            int retiradas = gravarLote();
+            if (falhasConsecutivas > 0) {
+                esperarNovaTentativa(intervalo);
+            } else if (suspeitas == 0 && retiradas < properties.getTamanhoLote()) {
+                LockSupport.parkNanos(this, intervalo);
+            }
+        }
+        // Esvazia o que foi aceito antes do encerramento, inclusive uma bissecção em andamento
+        while (gravarLote() > 0 || (suspeitas > 0 && falhasConsecutivas == 0)) {
+            log.debug("[Ingestao] - Gravando atividades restantes antes do encerramento");
+        }
+    }
+
+    // Grava um lote com o que houver na fila; devolve quantas atividades foram retiradas dela
+    int gravarLote() {
+        int maximo = suspeitas > 0 ? Math.min(limiteBisseccao, suspeitas) : properties.getTamanhoLote();
+        List<AtividadePendente> pendentes = buffer.retirar(maximo);
+        if (pendentes.isEmpty()) {
+            return 0;
+        }
+
+        List<AtividadeInput> atividades = new ArrayList<>(pendentes.size());
+        List<String> chaves = new ArrayList<>(pendentes.size());
+        boolean reentrega = false;
+        for (AtividadePendente pendente : pendentes) {
+            atividades.add(pendente.atividade());
+            chaves.add(pendente.chave());
+            reentrega |= pendente.reentrega();
+        }
+        long inicio = System.nanoTime();
+        try {
+            List<ResultadoLoteOutput> resultados = atividadeService.criarAtividadesIngeridas(atividades, chaves, reentrega);
+            buffer.confirmar();
+            falhasConsecutivas = 0;
+            suspeitas = Math.max(0, suspeitas - pendentes.size());
+            long fim = System.nanoTime();
+            gravacao.record(fim - inicio, TimeUnit.NANOSECONDS);
+            atraso.record(System.currentTimeMillis() - pendentes.get(0).recebidaEm(), TimeUnit.MILLISECONDS);
+            tamanhoLote.record(pendentes.size());
+
+            resultados.stream()
+                    .filter(resultado -> resultado.getStatus() == ResultadoLoteOutput.Status.REJEITADA)
+                    .forEach(resultado -> {
+                        rejeitadas.increment();
+                        log.warn("[Ingestao] - Atividade rejeitada na gravação: {} - {}", atividades.get(resultado.getIndice()), resultado.getErros());
+                    });
+            repetidas.increment(resultados.stream().filter(resultado -> resultado.getStatus() == ResultadoLoteOutput.Status.REPETIDA).count());
+            log.debug("[Ingestao] - Lote de {} atividades gravado em {} ms", pendentes.size(), (fim - inicio) / 1_000_000);
+        } catch (RuntimeException e) {
+            return erroDeDados(e) ? separarRecusada(pendentes, e) : aguardarBanco(pendentes, e);
+        }
+        return pendentes.size();
+    }
+
+    // Banco fora ou instável: o lote volta à frente do buffer e é tentado de novo depois da espera, sem limite de tentativas.
+    // No log local volta como reentrega; na fila em memória as novas atividades recebem 429 até ele ser gravado
+    private int aguardarBanco(List<AtividadePendente> pendentes, RuntimeException e) {
+        buffer.devolver();
+        falhasConsecutivas++;
+        log.error("[Ingestao] - Falha ao gravar lote de {} atividades ({} seguidas), nova tentativa em {} ms",
+                pendentes.size(), falhasConsecutivas, esperaAposFalhas(properties.getIntervaloGravacao().toNanos()) / 1_000_000, e);
+        return 0;
+    }
+
+    // O banco recusou um dado do lote, e repetir o lote inteiro falharia sempre: divide ao meio até isolar
+    // a atividade culpada, que vai sozinha para a quarentena (ou é descartada, sem o log local) enquanto as demais são gravadas
+    private int separarRecusada(List<AtividadePendente> pendentes, RuntimeException e) {
+        if (pendentes.size() > 1) {
+            buffer.devolver();
+            suspeitas = Math.max(suspeitas, pendentes.size());
+            limiteBisseccao = (pendentes.size() + 1) / 2;
+            log.warn("[Ingestao] - Lote de {} atividades recusado por erro de dado, tentando em lotes de {}: {}",
+                    pendentes.size(), limiteBisseccao, e.getMessage());
+            return 0;
+        }
+        if (!(buffer instanceof LogEscritaAntecipada wal)) {
+            buffer.confirmar();
+            suspeitas = Math.max(0, suspeitas - 1);
+            descartadas.increment();
+            log.error("[Ingestao] - Atividade {} recusada pelo banco e descartada", pendentes.get(0).atividade(), e);
+            return 1;
+        }
+        Path arquivo;
+        try {
+            arquivo = wal.quarentenar(pendentes);
+        } catch (UncheckedIOException erroQuarentena) {
+            buffer.devolver();
+            falhasConsecutivas++;
+            log.error("[Ingestao] - Falha ao mover atividade para a quarentena, nova tentativa depois da espera", erroQuarentena);
+            return 0;
+        }
+        falhasConsecutivas = 0;
+        suspeitas = Math.max(0, suspeitas - 1);
+        quarentena.increment();
+        log.error("[Ingestao] - Atividade {} recusada pelo banco e movida para a quarentena {}", pendentes.get(0).atividade(), arquivo, e);
+        return 1;
+    }
+
+    // Violação de restrição ou valor que a coluna não aceita: o mesmo dado falha em qualquer tentativa
+    public static boolean erroDeDados(Throwable erro) {
+        for (Throwable causa = erro; causa != null; causa = causa.getCause()) {
+            if (causa instanceof DataIntegrityViolationException || causa instanceof ConstraintViolationException
+                    || causa instanceof SQLDataException || causa instanceof SQLIntegrityConstraintViolationException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public record ReprocessamentoQuarentena(int arquivos, int gravadas, int repetidas, int rejeitadas, List<String> falhas) {
+    }
+
+    public List<String> arquivosQuarentena() {
+        if (!(buffer instanceof LogEscritaAntecipada wal)) {
+            return List.of();
+        }
+        try {
+            return wal.arquivosQuarentena().stream().map(arquivo -> arquivo.getFileName().toString()).toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Regrava os arquivos de quarentena depois de corrigida a causa da recusa (coluna, dado de referência).
+    // Cada arquivo vai em um lote como reentrega e só é apagado depois do commit; o que falhar de novo fica
+    public ReprocessamentoQuarentena reprocessarQuarentena() {
+        if (!(buffer instanceof LogEscritaAntecipada wal)) {
+            return new ReprocessamentoQuarentena(0, 0, 0, 0, List.of());
+        }
+        reprocessamento.lock();
+        try {
+            int arquivos = 0;
+            int gravadas = 0;
+            int repetidasArquivos = 0;
+            int rejeitadasArquivos = 0;
+            List<String> falhas = new ArrayList<>();
+            for (Path arquivo : wal.arquivosQuarentena()) {
+                try {
+                    List<AtividadePendente> pendentes = LogEscritaAntecipada.lerQuarentena(arquivo);
+                    if (!pendentes.isEmpty()) {
+                        List<AtividadeInput> atividades = pendentes.stream().map(AtividadePendente::atividade).toList();
+                        List<ResultadoLoteOutput> resultados = atividadeService.criarAtividadesIngeridas(atividades,
+                                pendentes.stream().map(AtividadePendente::chave).toList(), true);
+                        for (ResultadoLoteOutput resultado : resultados) {
+                            switch (resultado.getStatus()) {
+                                case CRIADA -> gravadas++;
+                                case REPETIDA -> repetidasArquivos++;
+                                case REJEITADA -> {
+                                    rejeitadasArquivos++;
+                                    log.warn("[Ingestao] - Atividade da quarentena rejeitada na gravação: {} - {}",
+                                            atividades.get(resultado.getIndice()), resultado.getErros());
+                                }
+                            }
+                        }
+                    }
+                    Files.delete(arquivo);
+                    arquivos++;
+                } catch (IOException | RuntimeException e) {
+                    falhas.add(arquivo.getFileName() + ": " + e.getMessage());
+                    log.error("[Ingestao] - Falha ao reprocessar a quarentena {}, o arquivo foi mantido", arquivo, e);
+                }
+            }
+            rejeitadas.increment(rejeitadasArquivos);
+            repetidas.increment(repetidasArquivos);
+            log.info("[Ingestao] - Quarentena reprocessada - {} arquivos, {} gravadas, {} repetidas, {} rejeitadas, {} falhas",
+                    arquivos, gravadas, repetidasArquivos, rejeitadasArquivos, falhas.size());
+            return new ReprocessamentoQuarentena(arquivos, gravadas, repetidasArquivos, rejeitadasArquivos, falhas);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            reprocessamento.unlock();
+        }
+    }
+
+    // Backoff exponencial a partir do intervalo de gravação; aceitar() pode acordar o escritor, então dorme até o prazo
+    private void esperarNovaTentativa(long intervalo) {
+        long prazo = System.nanoTime() + esperaAposFalhas(intervalo);
+        long restante;
+        while (executando && (restante = prazo - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(this, restante);
+        }
+    }
+
+    private long esperaAposFalhas(long intervalo) {
+        long maxima = properties.getEsperaMaxima().toNanos();
+        long espera = intervalo;
+        for (int i = 1; i < falhasConsecutivas && espera < maxima; i++) {
+            espera *= 2;
+        }
+        return Math.min(espera, maxima);
+    }
+
+    public int tamanhoFila() {
+        return buffer.tamanho();
+    }
+
+    private static BufferIngestao criarBuffer(IngestaoProperties properties) {
+        if (!properties.isAssincrona() || !properties.getWal().isHabilitado()) {
+            return new BufferMemoria(properties.getCapacidadeFila());
+        }
+        try {
+            return LogEscritaAntecipada.abrir(properties.getWal(), properties.getCapacidadeFila());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível abrir o log de ingestão em " + properties.getWal().getDiretorio(), e);
+        }
+    }
+}
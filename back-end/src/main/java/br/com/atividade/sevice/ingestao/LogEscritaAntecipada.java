@@ -0,0 +1,561 @@
+package br.com.atividade.sevice.ingestao;
+
+import br.com.atividade.config.IngestaoProperties;
+import br.com.atividade.sevice.dto.input.AtividadeInput;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.SecureRandom;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+// Log de escrita antecipada (WAL) da ingestão assíncrona: cada atividade é anexada a um segmento
+// mapeado em memória antes do 202 e só sai do log depois que o lote dela foi gravado no banco.
+// Segmento: [int mágico][int versão da codificação][long posição confirmada] seguido de registros
+// [int tamanho][int crc32][atividade codificada]; tamanho 0 marca o fim do que foi escrito.
+// A entrega ao banco é pelo menos uma vez: um lote gravado cujo confirmar não chegou ao disco volta
+// marcado como reentrega, e a chave de cada registro evita que ele seja inserido duas vezes
+@Slf4j
+public final class LogEscritaAntecipada implements BufferIngestao {
+
+    static final int CABECALHO_SEGMENTO = 16;
+    private static final int MAGICO = 0x41545631;
+    private static final int POSICAO_VERSAO = 4;
+    private static final int POSICAO_CONFIRMADA = 8;
+    private static final int CABECALHO_REGISTRO = 8;
+    private static final int TAMANHO_MINIMO_SEGMENTO = 4096;
+    private static final String PREFIXO = "segmento-";
+    private static final String SUFIXO = ".log";
+    private static final String PREFIXO_QUARENTENA = "quarentena-";
+
+    private final Path diretorio;
+    private final int tamanhoSegmento;
+    private final int capacidade;
+    private final IngestaoProperties.Sincronizacao sincronizacao;
+    private final ScheduledExecutorService sincronizacaoPeriodica;
+
+    // Chave de cada atividade: identificador aleatório desta abertura do log + sequência, sem disputar o SecureRandom a cada requisição
+    private final long instancia = new SecureRandom().nextLong();
+    private final AtomicLong sequenciaChave = new AtomicLong();
+
+    private final ReentrantLock escrita = new ReentrantLock();
+    // ReentrantLock e não synchronized: uma thread virtual esperando o fsync não pode prender a carrier
+    private final ReentrantLock sincronizacaoLock = new ReentrantLock();
+
+    // Segmentos ainda com atividades não confirmadas, do mais antigo ao ativo; apenas o escritor do banco remove
+    private final Deque<Segmento> segmentos = new ArrayDeque<>();
+    private Segmento ativo;
+    private boolean fechado;
+
+    // Contadores de registros: anexados só muda sob o lock de escrita, confirmados só pela thread escritora
+    private volatile long anexados;
+    private volatile long sincronizados;
+    private volatile long confirmados;
+
+    // Cursor de leitura da thread escritora e onde começou o último lote retirado
+    private Segmento segmentoLeitura;
+    private int posicaoLeitura;
+    private long lidos;
+    private Segmento segmentoInicioLote;
+    private int posicaoInicioLote;
+    private long lidosInicioLote;
+    // Registros lidos abaixo deste número já saíram do log antes e podem já estar no banco
+    private long reentregarAte;
+
+    private LogEscritaAntecipada(Path diretorio, int tamanhoSegmento, int capacidade, IngestaoProperties.Sincronizacao sincronizacao) {
+        this.diretorio = diretorio;
+        this.tamanhoSegmento = tamanhoSegmento;
+        this.capacidade = capacidade;
+        this.sincronizacao = sincronizacao;
+        this.sincronizacaoPeriodica = sincronizacao == IngestaoProperties.Sincronizacao.INTERVALO
+                ? Executors.newSingleThreadScheduledExecutor(tarefa -> {
+                    Thread thread = new Thread(tarefa, "ingestao-wal-sincronizacao");
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : null;
+    }
+
+    // Abre o log no diretório, recuperando as atividades não confirmadas de uma execução anterior
+    public static LogEscritaAntecipada abrir(IngestaoProperties.Wal configuracao, int capacidade) throws IOException {
+        long tamanhoSegmento = configuracao.getTamanhoSegmento().toBytes();
+        if (tamanhoSegmento < TAMANHO_MINIMO_SEGMENTO || tamanhoSegmento > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Tamanho do segmento do log deve estar entre 4KB e 2GB");
+        }
+        LogEscritaAntecipada wal = new LogEscritaAntecipada(configuracao.getDiretorio(), (int) tamanhoSegmento,
+                capacidade, configuracao.getSincronizacao());
+        wal.recuperar();
+        if (wal.sincronizacaoPeriodica != null) {
+            long intervalo = configuracao.getIntervaloSincronizacao().toNanos();
+            wal.sincronizacaoPeriodica.scheduleWithFixedDelay(wal::sincronizacaoAgendada, intervalo, intervalo, TimeUnit.NANOSECONDS);
+        }
+        return wal;
+    }
+
+    @Override
+    public boolean oferecer(AtividadeInput atividade) {
+        byte[] registro = CodificacaoAtividade.codificar(atividade, System.currentTimeMillis(),
+                new UUID(instancia, sequenciaChave.incrementAndGet()));
+        if (CABECALHO_SEGMENTO + CABECALHO_REGISTRO + registro.length > tamanhoSegmento) {
+            throw new IllegalArgumentException("Atividade não cabe em um segmento do log de ingestão");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(registro);
+
+        long sequencia;
+        escrita.lock();
+        try {
+            if (fechado) {
+                throw new IllegalStateException("Log de ingestão fechado");
+            }
+            if (anexados - confirmados >= capacidade) {
+                return false;
+            }
+            if (ativo.posicaoEscrita + CABECALHO_REGISTRO + registro.length > ativo.tamanho) {
+                rolar();
+            }
+            int posicao = ativo.posicaoEscrita;
+            ativo.buffer.putInt(posicao + 4, (int) crc.getValue());
+            ativo.buffer.put(posicao + CABECALHO_REGISTRO, registro);
+            // O tamanho por último: um registro com tamanho diferente de zero está inteiro no segmento
+            ativo.buffer.putInt(posicao, registro.length);
+            ativo.posicaoEscrita = posicao + CABECALHO_REGISTRO + registro.length;
+            sequencia = anexados + 1;
+            anexados = sequencia;
+
+            if (sincronizacao == IngestaoProperties.Sincronizacao.ESCRITA) {
+                ativo.buffer.force(posicao, CABECALHO_REGISTRO + registro.length);
+                sincronizados = sequencia;
+            }
+        } finally {
+            escrita.unlock();
+        }
+
+        if (sincronizacao == IngestaoProperties.Sincronizacao.LOTE) {
+            sincronizarAte(sequencia);
+        }
+        return true;
+    }
+
+    @Override
+    public List<AtividadePendente> retirar(int maximo) {
+        segmentoInicioLote = segmentoLeitura;
+        posicaoInicioLote = posicaoLeitura;
+        lidosInicioLote = lidos;
+
+        List<AtividadePendente> lote = new ArrayList<>();
+        long disponiveis = anexados;
+        while (lote.size() < maximo && lidos < disponiveis) {
+            MappedByteBuffer buffer = segmentoLeitura.buffer;
+            int tamanho = posicaoLeitura + CABECALHO_REGISTRO <= segmentoLeitura.tamanho ? buffer.getInt(posicaoLeitura) : 0;
+            if (tamanho == 0) {
+                // Há registros anexados depois deste ponto, então o escritor já passou para o próximo segmento
+                segmentoLeitura = segmentoLeitura.proximo;
+                posicaoLeitura = segmentoLeitura.inicioLeitura;
+                continue;
+            }
+            byte[] registro = new byte[tamanho];
+            buffer.get(posicaoLeitura + CABECALHO_REGISTRO, registro);
+            lote.add(CodificacaoAtividade.decodificar(registro, lidos < reentregarAte));
+            posicaoLeitura += CABECALHO_REGISTRO + tamanho;
+            lidos++;
+        }
+        return lote;
+    }
+
+    @Override
+    public void confirmar() {
+        segmentoLeitura.buffer.putLong(POSICAO_CONFIRMADA, posicaoLeitura);
+        segmentoLeitura.buffer.force(0, CABECALHO_SEGMENTO);
+        confirmados = lidos;
+
+        // Segmentos que o leitor já deixou para trás estão inteiros no banco
+        List<Segmento> gravados = new ArrayList<>();
+        escrita.lock();
+        try {
+            while (segmentos.peekFirst() != segmentoLeitura) {
+                gravados.add(segmentos.pollFirst());
+            }
+        } finally {
+            escrita.unlock();
+        }
+        gravados.forEach(this::apagar);
+    }
+
+    @Override
+    public void devolver() {
+        // Nada se perde: o mesmo lote será retirado de novo na próxima tentativa, como reentrega
+        reentregarAte = Math.max(reentregarAte, lidos);
+        segmentoLeitura = segmentoInicioLote;
+        posicaoLeitura = posicaoInicioLote;
+        lidos = lidosInicioLote;
+    }
+
+    // Tira do log o último lote retirado sem gravá-lo no banco: as atividades vão para um arquivo de
+    // quarentena no formato de segmento, lido de volta por lerQuarentena quando for reprocessado
+    public Path quarentenar(List<AtividadePendente> lote) {
+        Path arquivo = gravarQuarentena(lote);
+        confirmar();
+        return arquivo;
+    }
+
+    // Arquivos de quarentena ainda não reprocessados, do mais antigo ao mais novo
+    public List<Path> arquivosQuarentena() throws IOException {
+        try (Stream<Path> listagem = Files.list(diretorio)) {
+            return listagem
+                    .filter(arquivo -> arquivo.getFileName().toString().startsWith(PREFIXO_QUARENTENA) && arquivo.getFileName().toString().endsWith(SUFIXO))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    // As atividades voltam com a chave original e como reentrega, porque podem ter chegado ao banco antes
+    public static List<AtividadePendente> lerQuarentena(Path arquivo) throws IOException {
+        ByteBuffer conteudo = ByteBuffer.wrap(Files.readAllBytes(arquivo));
+        if (conteudo.limit() < CABECALHO_SEGMENTO || conteudo.getInt(0) != MAGICO
+                || conteudo.getInt(POSICAO_VERSAO) != CodificacaoAtividade.VERSAO_ATUAL) {
+            throw new IOException("Arquivo " + arquivo + " não é uma quarentena do log de ingestão nesta versão");
+        }
+        List<AtividadePendente> lote = new ArrayList<>();
+        CRC32 crc = new CRC32();
+        int posicao = CABECALHO_SEGMENTO;
+        while (posicao + CABECALHO_REGISTRO <= conteudo.limit()) {
+            int tamanho = conteudo.getInt(posicao);
+            if (tamanho == 0) {
+                break;
+            }
+            if (tamanho < 0 || posicao + CABECALHO_REGISTRO + tamanho > conteudo.limit()) {
+                throw new IOException("Registro inválido em " + arquivo + " na posição " + posicao);
+            }
+            byte[] registro = new byte[tamanho];
+            conteudo.get(posicao + CABECALHO_REGISTRO, registro);
+            crc.reset();
+            crc.update(registro);
+            if ((int) crc.getValue() != conteudo.getInt(posicao + 4)) {
+                throw new IOException("Registro corrompido em " + arquivo + " na posição " + posicao);
+            }
+            lote.add(CodificacaoAtividade.decodificar(registro, true));
+            posicao += CABECALHO_REGISTRO + tamanho;
+        }
+        return lote;
+    }
+
+    @Override
+    public int tamanho() {
+        return (int) (anexados - confirmados);
+    }
+
+    @Override
+    public int capacidade() {
+        return capacidade;
+    }
+
+    public int quantidadeSegmentos() {
+        escrita.lock();
+        try {
+            return segmentos.size();
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (sincronizacaoPeriodica != null) {
+            sincronizacaoPeriodica.shutdownNow();
+        }
+        escrita.lock();
+        try {
+            if (fechado) {
+                return;
+            }
+            fechado = true;
+        } finally {
+            escrita.unlock();
+        }
+        sincronizarAte(anexados);
+    }
+
+    // Group commit do log: quem chega primeiro faz um único fsync cobrindo tudo que já foi anexado,
+    // e quem estava esperando no lock normalmente já encontra a sua atividade sincronizada
+    private void sincronizarAte(long sequencia) {
+        if (sincronizados >= sequencia) {
+            return;
+        }
+        sincronizacaoLock.lock();
+        try {
+            if (sincronizados >= sequencia) {
+                return;
+            }
+            long alvo;
+            Segmento segmento;
+            int fim;
+            escrita.lock();
+            try {
+                alvo = anexados;
+                segmento = ativo;
+                fim = segmento.posicaoEscrita;
+            } finally {
+                escrita.unlock();
+            }
+            // Segmentos anteriores ao ativo já foram sincronizados ao rolar
+            int inicio = Math.min(segmento.posicaoSincronizada, fim);
+            if (fim > inicio) {
+                segmento.buffer.force(inicio, fim - inicio);
+            }
+            segmento.posicaoSincronizada = fim;
+            sincronizados = alvo;
+        } finally {
+            sincronizacaoLock.unlock();
+        }
+    }
+
+    private void sincronizacaoAgendada() {
+        try {
+            sincronizarAte(anexados);
+        } catch (RuntimeException e) {
+            log.error("[Ingestao] - Falha na sincronização periódica do log de ingestão", e);
+        }
+    }
+
+    // Chamado com o lock de escrita
+    private void rolar() {
+        Segmento anterior = ativo;
+        anterior.buffer.force();
+        anterior.posicaoSincronizada = anterior.posicaoEscrita;
+        try {
+            Segmento novo = criarSegmento(anterior.numero + 1);
+            anterior.proximo = novo;
+            segmentos.addLast(novo);
+            ativo = novo;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível criar segmento do log de ingestão", e);
+        }
+        log.debug("[Ingestao] - Segmento {} do log de ingestão completo, seguindo no {}", anterior.numero, ativo.numero);
+    }
+
+    private void recuperar() throws IOException {
+        Files.createDirectories(diretorio);
+        List<Path> arquivos;
+        try (Stream<Path> listagem = Files.list(diretorio)) {
+            arquivos = listagem
+                    .filter(arquivo -> arquivo.getFileName().toString().startsWith(PREFIXO) && arquivo.getFileName().toString().endsWith(SUFIXO))
+                    .sorted()
+                    .toList();
+        }
+
+        long pendentes = 0;
+        Segmento anterior = null;
+        for (Path arquivo : arquivos) {
+            Segmento segmento = mapear(arquivo, numeroDoSegmento(arquivo));
+            long registros = varrer(segmento);
+            boolean ultimo = arquivo.equals(arquivos.get(arquivos.size() - 1));
+            if (registros == 0 && !ultimo) {
+                apagar(segmento);
+                continue;
+            }
+            pendentes += registros;
+            if (anterior != null) {
+                anterior.proximo = segmento;
+            }
+            segmentos.addLast(segmento);
+            anterior = segmento;
+        }
+        if (segmentos.isEmpty()) {
+            segmentos.addLast(criarSegmento(1));
+        }
+
+        ativo = segmentos.peekLast();
+        anexados = pendentes;
+        sincronizados = pendentes;
+        reentregarAte = pendentes;
+        segmentoLeitura = segmentos.peekFirst();
+        posicaoLeitura = segmentoLeitura.inicioLeitura;
+        if (pendentes > 0) {
+            log.warn("[Ingestao] - {} atividades não gravadas recuperadas do log de ingestão em {}", pendentes, diretorio);
+        }
+    }
+
+    // Conta os registros válidos após a posição confirmada e posiciona a escrita no fim deles.
+    // Um registro incompleto (queda no meio da escrita) e o que vier depois dele são zerados
+    private long varrer(Segmento segmento) {
+        MappedByteBuffer buffer = segmento.buffer;
+        int posicao = segmento.inicioLeitura;
+        long registros = 0;
+        while (posicao + CABECALHO_REGISTRO <= segmento.tamanho) {
+            int tamanho = buffer.getInt(posicao);
+            if (tamanho == 0) {
+                break;
+            }
+            if (tamanho < 0 || posicao + CABECALHO_REGISTRO + tamanho > segmento.tamanho || !crcValido(buffer, posicao, tamanho)) {
+                log.warn("[Ingestao] - Registro incompleto no segmento {} na posição {}, descartando o restante do segmento", segmento.numero, posicao);
+                zerar(buffer, posicao, segmento.tamanho);
+                break;
+            }
+            posicao += CABECALHO_REGISTRO + tamanho;
+            registros++;
+        }
+        segmento.posicaoEscrita = posicao;
+        segmento.posicaoSincronizada = posicao;
+        return registros;
+    }
+
+    private Segmento criarSegmento(long numero) throws IOException {
+        Path arquivo = diretorio.resolve(String.format("%s%020d%s", PREFIXO, numero, SUFIXO));
+        Segmento segmento;
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            segmento = new Segmento(numero, arquivo, canal.map(FileChannel.MapMode.READ_WRITE, 0, tamanhoSegmento), tamanhoSegmento);
+        }
+        segmento.buffer.putInt(0, MAGICO);
+        segmento.buffer.putInt(POSICAO_VERSAO, CodificacaoAtividade.VERSAO_ATUAL);
+        segmento.buffer.putLong(POSICAO_CONFIRMADA, CABECALHO_SEGMENTO);
+        segmento.buffer.force(0, CABECALHO_SEGMENTO);
+        sincronizarDiretorio();
+        segmento.inicioLeitura = CABECALHO_SEGMENTO;
+        segmento.posicaoEscrita = CABECALHO_SEGMENTO;
+        segmento.posicaoSincronizada = CABECALHO_SEGMENTO;
+        return segmento;
+    }
+
+    private Segmento mapear(Path arquivo, long numero) throws IOException {
+        Segmento segmento;
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            int tamanho = (int) Math.min(canal.size(), Integer.MAX_VALUE);
+            segmento = new Segmento(numero, arquivo, canal.map(FileChannel.MapMode.READ_WRITE, 0, tamanho), tamanho);
+        }
+        if (segmento.tamanho < CABECALHO_SEGMENTO || segmento.buffer.getInt(0) != MAGICO) {
+            throw new IllegalStateException("Arquivo " + arquivo + " não é um segmento do log de ingestão");
+        }
+        int versao = segmento.buffer.getInt(POSICAO_VERSAO);
+        if (versao != CodificacaoAtividade.VERSAO_ATUAL) {
+            throw new IllegalStateException("Segmento " + arquivo + " usa a versão " + versao + " da codificação, esta aplicação lê apenas a "
+                    + CodificacaoAtividade.VERSAO_ATUAL);
+        }
+        long confirmada = segmento.buffer.getLong(POSICAO_CONFIRMADA);
+        segmento.inicioLeitura = (int) Math.max(CABECALHO_SEGMENTO, Math.min(confirmada, segmento.tamanho));
+        return segmento;
+    }
+
+    private Path gravarQuarentena(List<AtividadePendente> lote) {
+        List<byte[]> registros = new ArrayList<>(lote.size());
+        int tamanho = CABECALHO_SEGMENTO;
+        for (AtividadePendente pendente : lote) {
+            UUID chave = pendente.chave() != null ? UUID.fromString(pendente.chave()) : new UUID(instancia, sequenciaChave.incrementAndGet());
+            byte[] registro = CodificacaoAtividade.codificar(pendente.atividade(), pendente.recebidaEm(), chave);
+            registros.add(registro);
+            tamanho += CABECALHO_REGISTRO + registro.length;
+        }
+
+        ByteBuffer conteudo = ByteBuffer.allocate(tamanho + Integer.BYTES);
+        conteudo.putInt(MAGICO).putInt(CodificacaoAtividade.VERSAO_ATUAL).putLong(CABECALHO_SEGMENTO);
+        CRC32 crc = new CRC32();
+        for (byte[] registro : registros) {
+            crc.reset();
+            crc.update(registro);
+            conteudo.putInt(registro.length).putInt((int) crc.getValue()).put(registro);
+        }
+        // Tamanho 0 no fim, como em um segmento
+        conteudo.putInt(0).flip();
+
+        try {
+            Path arquivo = diretorio.resolve(String.format("%s%020d%s", PREFIXO_QUARENTENA, System.currentTimeMillis(), SUFIXO));
+            while (Files.exists(arquivo)) {
+                arquivo = diretorio.resolve(String.format("%s%020d%s", PREFIXO_QUARENTENA, numeroDoArquivo(arquivo, PREFIXO_QUARENTENA) + 1, SUFIXO));
+            }
+            // Escrito ao lado e renomeado: arquivosQuarentena nunca lista um arquivo pela metade
+            Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+            try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                while (conteudo.hasRemaining()) {
+                    canal.write(conteudo);
+                }
+                canal.force(true);
+            }
+            Files.move(temporario, arquivo, StandardCopyOption.ATOMIC_MOVE);
+            sincronizarDiretorio();
+            return arquivo;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível gravar a quarentena do log de ingestão", e);
+        }
+    }
+
+    private void apagar(Segmento segmento) {
+        try {
+            Files.deleteIfExists(segmento.arquivo);
+            log.debug("[Ingestao] - Segmento {} do log de ingestão gravado no banco e removido", segmento.numero);
+        } catch (IOException e) {
+            log.warn("[Ingestao] - Não foi possível remover o segmento {} do log de ingestão", segmento.arquivo, e);
+        }
+    }
+
+    // Garante que a criação do arquivo do segmento também sobreviva a uma queda
+    private void sincronizarDiretorio() {
+        try (FileChannel canal = FileChannel.open(diretorio, StandardOpenOption.READ)) {
+            canal.force(true);
+        } catch (IOException e) {
+            log.debug("[Ingestao] - Sistema de arquivos não permite sincronizar o diretório {}", diretorio);
+        }
+    }
+
+    private static boolean crcValido(MappedByteBuffer buffer, int posicao, int tamanho) {
+        byte[] registro = new byte[tamanho];
+        buffer.get(posicao + CABECALHO_REGISTRO, registro);
+        CRC32 crc = new CRC32();
+        crc.update(registro);
+        return (int) crc.getValue() == buffer.getInt(posicao + 4);
+    }
+
+    private static void zerar(MappedByteBuffer buffer, int inicio, int fim) {
+        byte[] zeros = new byte[Math.min(fim - inicio, 64 * 1024)];
+        for (int posicao = inicio; posicao < fim; posicao += zeros.length) {
+            buffer.put(posicao, zeros, 0, Math.min(zeros.length, fim - posicao));
+        }
+        buffer.force(inicio, fim - inicio);
+    }
+
+    private static long numeroDoSegmento(Path arquivo) {
+        return numeroDoArquivo(arquivo, PREFIXO);
+    }
+
+    private static long numeroDoArquivo(Path arquivo, String prefixo) {
+        String nome = arquivo.getFileName().toString();
+        return Long.parseLong(nome.substring(prefixo.length(), nome.length() - SUFIXO.length()));
+    }
+
+    private static final class Segmento {
+
+        private final long numero;
+        private final Path arquivo;
+        private final MappedByteBuffer buffer;
+        private final int tamanho;
+
+        private int inicioLeitura;
+        private int posicaoEscrita;
+        private int posicaoSincronizada;
+        private volatile Segmento proximo;
+
+        private Segmento(long numero, Path arquivo, MappedByteBuffer buffer, int tamanho) {
+            this.numero = numero;
+            this.arquivo = arquivo;
+            this.buffer = buffer;
+            this.tamanho = tamanho;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package br.com.atividade.sevice.ingestao;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// /actuator/quarentena: lista e regrava as atividades que o banco recusou por erro de dado, depois de corrigida a causa.
+// POST /actuator/quarentena (corpo JSON, mesmo vazio). Não é exposto por padrão: habilite só na porta de gerenciamento
+@Component
+@Endpoint(id = "quarentena")
+@RequiredArgsConstructor
+public class QuarentenaIngestaoEndpoint {
+
+    private final IngestaoAssincronaAtividades ingestao;
+
+    @ReadOperation
+    public List<String> arquivos() {
+        return ingestao.arquivosQuarentena();
+    }
+
+    @WriteOperation
+    public IngestaoAssincronaAtividades.ReprocessamentoQuarentena reprocessar() {
+        return ingestao.reprocessarQuarentena();
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.atividade.sevice.paginacao;
+
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+@Value
+public class CursorAtividade {
+
+    private static final String SEPARADOR = "|";
+
+    LocalDateTime dataHora;
+    Long idAtividade;
+
+    public String codificar() {
+        String conteudo = dataHora + SEPARADOR + idAtividade;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CursorAtividade decodificar(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String conteudo = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = conteudo.lastIndexOf(SEPARADOR);
+            if (separador < 0) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            return new CursorAtividade(LocalDateTime.parse(conteudo.substring(0, separador)),
+                    Long.valueOf(conteudo.substring(separador + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+}
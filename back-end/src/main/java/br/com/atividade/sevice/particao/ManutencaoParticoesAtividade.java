@@ -0,0 +1,166 @@
+package br.com.atividade.sevice.particao;
+
+import br.com.atividade.config.ParticionamentoProperties;
+import br.com.atividade.model.Atividade;
+import br.com.atividade.repository.AtividadeMarcaAlteracaoRepository;
+import br.com.atividade.repository.ParticaoAtividadeRepository;
+import br.com.atividade.sevice.indice.IndiceTrigramaDescricao;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+// Mantém as partições mensais de atividade: cria os meses à frente antes que as atividades cheguem
+// (senão caem em p_max e o filtro por período deixa de podar) e descarta os meses fora da retenção.
+// Roda em todas as instâncias, mas o lock nomeado do banco deixa só uma executar o DDL por vez
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ManutencaoParticoesAtividade {
+
+    private final ParticaoAtividadeRepository particaoRepository;
+    private final AtividadeMarcaAlteracaoRepository marcaAlteracaoRepository;
+    private final ParticionamentoProperties properties;
+    private final EntityManagerFactory entityManagerFactory;
+    private final IndiceTrigramaDescricao indiceDescricao;
+
+    // Lock em vez de synchronized: com threads virtuais o @Scheduled roda em uma e o DDL não deve prender a carrier
+    private final ReentrantLock execucao = new ReentrantLock();
+
+    // Partição mensal mais antiga ao fim da última execução desta instância; guardada sob o lock
+    private YearMonth primeiroMesObservado;
+
+    public record ResultadoManutencao(List<YearMonth> criadas, List<YearMonth> removidas) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void executarAoIniciar() {
+        executarAgendado();
+    }
+
+    @Scheduled(cron = "${atividade.particionamento.cron:0 0 3 * * *}")
+    public void executarAgendado() {
+        if (!properties.isHabilitado()) {
+            return;
+        }
+        try {
+            executar(YearMonth.now());
+        } catch (RuntimeException e) {
+            log.error("[Particao] - Falha na manutenção de partições de atividade", e);
+        }
+    }
+
+    public ResultadoManutencao executar(YearMonth mesAtual) {
+        execucao.lock();
+        try {
+            if (!particaoRepository.isParticionamentoSuportado()) {
+                log.debug("[Particao] - Banco sem particionamento, manutenção ignorada");
+                return new ResultadoManutencao(List.of(), List.of());
+            }
+            Optional<ResultadoManutencao> resultado = particaoRepository.comLockDeManutencao(properties.getEsperaLock(),
+                    () -> executarComLock(mesAtual));
+            if (resultado.isEmpty()) {
+                log.warn("[Particao] - Outra instância segura o lock {} há mais de {}, manutenção adiada para a próxima execução",
+                        ParticaoAtividadeRepository.LOCK_MANUTENCAO, properties.getEsperaLock());
+            }
+            return resultado.orElseGet(() -> new ResultadoManutencao(List.of(), List.of()));
+        } finally {
+            execucao.unlock();
+        }
+    }
+
+    private ResultadoManutencao executarComLock(YearMonth mesAtual) {
+        List<String> particoes = particaoRepository.listarParticoes();
+        if (!particoes.contains(ParticaoAtividadeRepository.PARTICAO_FINAL)) {
+            log.warn("[Particao] - Tabela atividade não está particionada (partições: {}), manutenção ignorada", particoes);
+            return new ResultadoManutencao(List.of(), List.of());
+        }
+        List<YearMonth> existentes = particoes.stream()
+                .map(ParticaoAtividadeRepository::mesDaParticao)
+                .flatMap(Optional::stream)
+                .toList();
+        // A instância que descartou limpou só as próprias cópias; as demais percebem aqui, na execução seguinte
+        // (logo depois, quando esperaram o lock dela), que a partição mais antiga que tinham visto sumiu
+        if (primeiroMesObservado != null && !existentes.isEmpty() && existentes.get(0).isAfter(primeiroMesObservado)) {
+            log.info("[Particao] - Partições anteriores a {} descartadas por outra instância, limpando cópias locais", existentes.get(0));
+            invalidarCopiasLocais();
+        }
+
+        YearMonth primeiroMesComDados = existentes.isEmpty()
+                ? particaoRepository.primeiraDataHora().map(YearMonth::from).filter(mes -> mes.isBefore(mesAtual)).orElse(mesAtual)
+                : null;
+        List<YearMonth> criar = mesesACriar(existentes, primeiroMesComDados, mesAtual.plusMonths(properties.getMesesAntecipados()));
+        if (!criar.isEmpty()) {
+            long inicio = System.nanoTime();
+            particaoRepository.criarParticoes(criar);
+            log.info("[Particao] - {} partições criadas ({} a {}) em {} ms", criar.size(), criar.get(0),
+                    criar.get(criar.size() - 1), (System.nanoTime() - inicio) / 1_000_000);
+        }
+
+        List<YearMonth> remover = properties.getRetencaoMeses() > 0
+                ? mesesARemover(Stream.concat(existentes.stream(), criar.stream()).toList(), mesAtual.minusMonths(properties.getRetencaoMeses()))
+                : List.of();
+        for (YearMonth mes : remover) {
+            if (properties.getAcaoRetencao() == ParticionamentoProperties.AcaoRetencao.ARQUIVAR) {
+                String tabelaArquivo = particaoRepository.arquivarParticao(mes);
+                log.info("[Particao] - Partição {} arquivada em {}", ParticaoAtividadeRepository.nomeParticao(mes), tabelaArquivo);
+            } else {
+                particaoRepository.removerParticao(mes);
+                log.info("[Particao] - Partição {} removida pela retenção de {} meses",
+                        ParticaoAtividadeRepository.nomeParticao(mes), properties.getRetencaoMeses());
+            }
+        }
+        if (!remover.isEmpty()) {
+            descartarDerivados();
+        }
+        primeiroMesObservado = Stream.concat(existentes.stream(), criar.stream())
+                .filter(mes -> !remover.contains(mes))
+                .min(Comparator.naturalOrder())
+                .orElse(null);
+        return new ResultadoManutencao(criar, remover);
+    }
+
+    // O DROP PARTITION não passa pelo Hibernate: o cache de segundo nível e o índice de descrição não
+    // saberiam das atividades descartadas, e o ETag das listagens por funcional (marca de alteração) validaria
+    // páginas que ainda as mostram. A marca fica no banco e vale para todas as instâncias. O resumo diário é mantido,
+    // as contagens continuam valendo, e a reconstrução do resumo começa na partição mais antiga
+    private void descartarDerivados() {
+        marcaAlteracaoRepository.incrementarTodas();
+        invalidarCopiasLocais();
+    }
+
+    private void invalidarCopiasLocais() {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(Atividade.class);
+        cache.evictQueryRegions();
+        indiceDescricao.reconstruir();
+    }
+
+    // Meses seguintes à última partição mensal até o limite; na primeira execução, a partir do mês
+    // da atividade mais antiga
+    static List<YearMonth> mesesACriar(List<YearMonth> existentes, YearMonth primeiroMesComDados, YearMonth ate) {
+        YearMonth mes = existentes.isEmpty() ? primeiroMesComDados : existentes.get(existentes.size() - 1).plusMonths(1);
+        List<YearMonth> meses = new ArrayList<>();
+        for (; !mes.isAfter(ate); mes = mes.plusMonths(1)) {
+            meses.add(mes);
+        }
+        return meses;
+    }
+
+    static List<YearMonth> mesesARemover(List<YearMonth> existentes, YearMonth primeiroMesRetido) {
+        return existentes.stream().filter(mes -> mes.isBefore(primeiroMesRetido)).toList();
+    }
+}
@@ -0,0 +1,7 @@
+CREATE TABLE IF NOT EXISTS atividade (
+    id_atividade BIGINT AUTO_INCREMENT PRIMARY KEY,
+    funcional VARCHAR(50) NOT NULL,
+    data_hora TIMESTAMP NOT NULL,
+    codigo_atividade VARCHAR(20) NOT NULL,
+    descricao_atividade VARCHAR(255) NOT NULL
+);
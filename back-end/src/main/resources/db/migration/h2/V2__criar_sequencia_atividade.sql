@@ -0,0 +1 @@
+CREATE SEQUENCE IF NOT EXISTS atividade_seq START WITH 1 INCREMENT BY 50;
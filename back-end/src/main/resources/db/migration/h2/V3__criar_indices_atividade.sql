@@ -0,0 +1,7 @@
+CREATE INDEX idx_atividade_funcional_data ON atividade (funcional, data_hora, id_atividade);
+
+CREATE INDEX idx_atividade_codigo_data ON atividade (codigo_atividade, data_hora, id_atividade);
+
+CREATE INDEX idx_atividade_funcional_codigo_data ON atividade (funcional, codigo_atividade, data_hora, id_atividade);
+
+CREATE INDEX idx_atividade_data ON atividade (data_hora, id_atividade);
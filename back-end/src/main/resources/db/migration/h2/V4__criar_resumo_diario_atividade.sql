@@ -0,0 +1,11 @@
+CREATE TABLE IF NOT EXISTS atividade_resumo_diario (
+    funcional VARCHAR(50) NOT NULL,
+    dia DATE NOT NULL,
+    codigo_atividade VARCHAR(20) NOT NULL,
+    quantidade BIGINT NOT NULL,
+    PRIMARY KEY (funcional, dia, codigo_atividade)
+);
+
+CREATE INDEX idx_resumo_codigo_dia ON atividade_resumo_diario (codigo_atividade, dia);
+
+CREATE INDEX idx_resumo_dia ON atividade_resumo_diario (dia);
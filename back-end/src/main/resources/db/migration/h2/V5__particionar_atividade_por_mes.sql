@@ -0,0 +1,4 @@
+-- H2 não tem particionamento; só acompanha a PK (id_atividade, data_hora) do MySQL
+ALTER TABLE atividade DROP PRIMARY KEY;
+
+ALTER TABLE atividade ADD PRIMARY KEY (id_atividade, data_hora);
@@ -0,0 +1 @@
+ALTER TABLE atividade ADD COLUMN versao BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,3 @@
+ALTER TABLE atividade ADD COLUMN chave_ingestao VARCHAR(36);
+
+CREATE UNIQUE INDEX uk_atividade_chave_ingestao ON atividade (chave_ingestao, data_hora);
@@ -0,0 +1,5 @@
+CREATE TABLE IF NOT EXISTS atividade_marca_alteracao (
+    funcional VARCHAR(50) NOT NULL,
+    versao BIGINT NOT NULL,
+    PRIMARY KEY (funcional)
+);
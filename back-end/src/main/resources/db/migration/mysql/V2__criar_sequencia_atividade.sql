@@ -0,0 +1,9 @@
+-- Sequência emulada em tabela (MySQL não tem SEQUENCE): o Hibernate reserva blocos de 50 IDs (pooled),
+-- o que permite o batching de INSERTs. O valor inicial fica um bloco acima do maior ID existente.
+CREATE TABLE IF NOT EXISTS atividade_seq (
+    next_val BIGINT NOT NULL COMMENT 'Limite superior do próximo bloco de IDs'
+);
+
+INSERT INTO atividade_seq (next_val)
+SELECT proximo FROM (SELECT COALESCE(MAX(id_atividade), 0) + 51 AS proximo FROM atividade) AS base
+WHERE NOT EXISTS (SELECT 1 FROM atividade_seq);
@@ -0,0 +1,14 @@
+-- Índices secundários do InnoDB já carregam a PK (id_atividade) no final,
+-- então (x, data_hora) também atende ORDER BY data_hora, id_atividade da paginação por cursor.
+
+-- findByFuncional, filtro por funcional (+ período)
+CREATE INDEX idx_atividade_funcional_data ON atividade (funcional, data_hora);
+
+-- filtro por codigoAtividade (+ período)
+CREATE INDEX idx_atividade_codigo_data ON atividade (codigo_atividade, data_hora);
+
+-- existsByCodigoAtividadeAndFuncional, filtro por funcional + codigoAtividade (+ período)
+CREATE INDEX idx_atividade_funcional_codigo_data ON atividade (funcional, codigo_atividade, data_hora);
+
+-- filtro só por período, paginação sem filtros e exportação ordenada
+CREATE INDEX idx_atividade_data ON atividade (data_hora);
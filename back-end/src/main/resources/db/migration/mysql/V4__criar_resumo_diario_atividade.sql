@@ -0,0 +1,14 @@
+-- Rollup diário mantido pela aplicação na mesma transação das escritas em atividade.
+-- Após aplicar esta migração em uma base com dados, rodar a reconstrução:
+-- POST /actuator/resumo (porta de gerenciamento)
+CREATE TABLE IF NOT EXISTS atividade_resumo_diario (
+    funcional VARCHAR(50) NOT NULL COMMENT 'Código funcional do funcionário',
+    dia DATE NOT NULL COMMENT 'Dia (data_hora truncada)',
+    codigo_atividade VARCHAR(20) NOT NULL COMMENT 'Tipo da atividade física',
+    quantidade BIGINT NOT NULL COMMENT 'Atividades do funcional, no dia, com o código',
+    PRIMARY KEY (funcional, dia, codigo_atividade)
+);
+
+CREATE INDEX idx_resumo_codigo_dia ON atividade_resumo_diario (codigo_atividade, dia);
+
+CREATE INDEX idx_resumo_dia ON atividade_resumo_diario (dia);
@@ -0,0 +1,12 @@
+-- Particionamento mensal de atividade por data_hora (RANGE COLUMNS), para que filtros por período leiam
+-- só as partições do intervalo e a retenção descarte meses inteiros com DROP PARTITION.
+
+-- Toda chave única de uma tabela particionada precisa conter a coluna de partição. id_atividade continua
+-- único porque vem da atividade_seq; a PK só ganha data_hora no final.
+ALTER TABLE atividade DROP PRIMARY KEY, ADD PRIMARY KEY (id_atividade, data_hora);
+
+-- Começa com uma única partição aberta. ManutencaoParticoesAtividade a divide em partições mensais (pAAAAMM)
+-- a partir do mês da atividade mais antiga e cria os meses seguintes com antecedência.
+ALTER TABLE atividade PARTITION BY RANGE COLUMNS (data_hora) (
+    PARTITION p_max VALUES LESS THAN (MAXVALUE)
+);
@@ -0,0 +1,2 @@
+-- Versão para lock otimista (@Version): incrementada a cada UPDATE e exposta como ETag de GET /atividades/{id}
+ALTER TABLE atividade ADD COLUMN versao BIGINT NOT NULL DEFAULT 0 COMMENT 'Versão da linha (lock otimista / ETag)';
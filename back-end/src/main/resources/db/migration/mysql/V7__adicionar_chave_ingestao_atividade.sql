@@ -0,0 +1,7 @@
+-- Chave de cada atividade no log local da ingestão assíncrona (nula nas demais escritas). Uma queda entre o
+-- commit do lote e a confirmação no log faz o lote ser gravado de novo; a chave permite descartar as repetidas.
+ALTER TABLE atividade ADD COLUMN chave_ingestao VARCHAR(36) NULL COMMENT 'Chave da atividade no log de ingestão';
+
+-- Toda chave única de uma tabela particionada precisa conter a coluna de partição; a repetição de uma
+-- atividade tem a mesma data_hora, então a unicidade por (chave_ingestao, data_hora) basta
+CREATE UNIQUE INDEX uk_atividade_chave_ingestao ON atividade (chave_ingestao, data_hora);
@@ -0,0 +1,8 @@
+-- Contador por funcional incrementado pela aplicação na mesma transação de cada escrita em atividade.
+-- A listagem por funcional usa o contador como ETag e responde 304 sem consultar a tabela atividade.
+-- Funcionais sem linha aqui (dados anteriores a esta migração) seguem com o ETag calculado da página
+CREATE TABLE IF NOT EXISTS atividade_marca_alteracao (
+    funcional VARCHAR(50) NOT NULL COMMENT 'Código funcional do funcionário',
+    versao BIGINT NOT NULL COMMENT 'Incrementada a cada escrita nas atividades do funcional',
+    PRIMARY KEY (funcional)
+);
@@ -0,0 +1,91 @@
+package br.com.atividade.benchmark;
+
+import br.com.atividade.config.AlocacaoProperties;
+import br.com.atividade.config.metricas.AlocacaoRequisicaoFilter;
+import br.com.atividade.support.CargaFechada;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Custo da medição de alocação por requisição (criar, buscar por ID e listar até 50 atividades por funcional) e os
+ * bytes medidos por rota. Uma única aplicação atende todas as rodadas; a medição é ligada e desligada entre elas,
+ * em ordem alternada, como faria o /actuator/alocacao. A saída do console vai para target/alocacao-benchmark.log.
+ * Roda apenas com {@code mvn test -Pbenchmark}; ajuste com -Dbenchmark.clientes, -Dbenchmark.duracao-s e
+ * -Dbenchmark.rodadas.
+ */
+@Tag("benchmark")
+@DisplayName("Benchmark de vazão com a medição de alocação ligada e desligada")
+class AlocacaoRequisicaoBenchmarkTest {
+
+    private static final int CLIENTES = Integer.getInteger("benchmark.clientes", 16);
+    private static final int DURACAO_S = Integer.getInteger("benchmark.duracao-s", 10);
+    private static final int RODADAS = Integer.getInteger("benchmark.rodadas", 4);
+    private static final int AQUECIMENTO_S = 30;
+
+    @Test
+    @DisplayName("Deve medir requisições por segundo com e sem a medição e os bytes alocados por rota")
+    void deveMedirCustoDaMedicao() throws Exception {
+        long ligada = 0;
+        long desligada = 0;
+        List<String> linhasPorRota = new ArrayList<>();
+
+        try (CargaFechada.SaidaDesviada saida = CargaFechada.desviarSaida(Path.of("target", "alocacao-benchmark.log"))) {
+            try (ConfigurableApplicationContext contexto = CargaFechada.iniciar("alocacao-benchmark",
+                    "--logging.level.br.com.atividade=WARN")) {
+                String base = CargaFechada.urlAtividades(contexto);
+                AlocacaoProperties properties = contexto.getBean(AlocacaoProperties.class);
+                MeterRegistry meterRegistry = contexto.getBean(MeterRegistry.class);
+
+                executarCarga(base, AQUECIMENTO_S);
+                for (int rodada = 0; rodada < RODADAS; rodada++) {
+                    for (boolean habilitada : rodada % 2 == 0 ? List.of(true, false) : List.of(false, true)) {
+                        properties.setHabilitada(habilitada);
+                        long requisicoes = executarCarga(base, DURACAO_S);
+                        if (habilitada) {
+                            ligada += requisicoes;
+                        } else {
+                            desligada += requisicoes;
+                        }
+                    }
+                }
+
+                meterRegistry.find(AlocacaoRequisicaoFilter.METRICA).summaries().stream()
+                        .sorted(Comparator.comparing(resumo -> resumo.getId().getTag("uri") + resumo.getId().getTag("method")))
+                        .forEach(resumo -> linhasPorRota.add(linha(resumo.getId().getTag("method") + " " + resumo.getId().getTag("uri"), resumo)));
+                meterRegistry.find(AlocacaoRequisicaoFilter.METRICA_POR_LINHA).summaries()
+                        .forEach(resumo -> linhasPorRota.add(linha("por linha, " + resumo.getId().getTag("uri"), resumo)));
+            }
+        }
+
+        double segundos = (double) RODADAS * DURACAO_S;
+        System.out.printf("%n=== %d clientes, %d rodadas de %d s por configuração (POST + GET /{id} + GET ?funcional&limite=50) ===%n",
+                CLIENTES, RODADAS, DURACAO_S);
+        System.out.printf("%-26s %10s%n", "Configuração", "req/s");
+        System.out.printf("%-26s %10.0f%n", "Medição desligada", desligada / segundos);
+        System.out.printf("%-26s %10.0f%n", "Medição ligada", ligada / segundos);
+        System.out.printf("%n%-32s %12s %14s %14s%n", "Rota", "requisições", "média (KB)", "máximo (KB)");
+        linhasPorRota.forEach(System.out::println);
+        System.out.println();
+
+        assertThat(ligada).isGreaterThan((long) (desligada * 0.95));
+    }
+
+    private static String linha(String rota, DistributionSummary resumo) {
+        return String.format("%-32s %12d %14.1f %14.1f", rota, resumo.count(), resumo.mean() / 1024, resumo.max() / 1024);
+    }
+
+    private static long executarCarga(String base, int segundos) throws Exception {
+        return CargaFechada.executar(base, "ALOC", "&limite=50", CLIENTES, segundos);
+    }
+}
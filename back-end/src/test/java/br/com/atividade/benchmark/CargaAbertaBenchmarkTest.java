@@ -0,0 +1,312 @@
+package br.com.atividade.benchmark;
+
+import br.com.atividade.AtividadeApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Gerador de carga em modelo aberto (taxa de chegada constante) sobre as rotas de {@code /atividades}, com
+ * latências em HdrHistogram corrigidas para coordinated omission: cada requisição é medida a partir do instante
+ * em que deveria ter saído, não de quando o cliente conseguiu enviá-la. Roda apenas com {@code mvn test -Pbenchmark}.
+ * <p>
+ * Sem {@code -Dbenchmark.url} sobe a aplicação com H2 em memória; com ela, dispara contra uma instância já no ar
+ * (ex.: {@code docker compose up}). Ajuste com -Dbenchmark.registros, -Dbenchmark.taxa, -Dbenchmark.duracao-s e
+ * -Dbenchmark.mix=criar:10,listar:50,buscar:25,atualizar:10,excluir:5.
+ */
+@Tag("benchmark")
+@DisplayName("Benchmark de carga em modelo aberto com latência corrigida")
+class CargaAbertaBenchmarkTest {
+
+    private static final String URL = System.getProperty("benchmark.url");
+    private static final int REGISTROS = Integer.getInteger("benchmark.registros", 20000);
+    private static final int TAXA = Integer.getInteger("benchmark.taxa", 50);
+    private static final int DURACAO_S = Integer.getInteger("benchmark.duracao-s", 30);
+    private static final int AQUECIMENTO_S = Integer.getInteger("benchmark.aquecimento-s", 10);
+    private static final String MIX = System.getProperty("benchmark.mix", "criar:10,listar:50,buscar:25,atualizar:10,excluir:5");
+    private static final Path SAIDA = Path.of(System.getProperty("benchmark.saida", "target/carga"));
+    private static final int TAMANHO_LOTE = 1000;
+    private static final int FUNCIONAIS = 500;
+    private static final String[] CODIGOS = {"RUN", "GYM", "BIKE", "SWIM", "WALK", "YOGA"};
+
+    private final ObjectMapper json = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final IdsConhecidos ids = new IdsConhecidos();
+    private HttpClient http;
+    private String base;
+
+    enum Operacao {
+        CRIAR, LISTAR, BUSCAR, ATUALIZAR, EXCLUIR
+    }
+
+    @Test
+    @DisplayName("Deve medir p50, p99 e p99.9 por rota sob taxa de chegada constante")
+    void deveMedirLatenciaPorRota() throws Exception {
+        if (URL != null) {
+            executar(URL);
+            return;
+        }
+        try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(AtividadeApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:carga-aberta;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=INFO",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO",
+                        "--logging.level.br.com.atividade=WARN")) {
+            executar("http://localhost:" + contexto.getEnvironment().getRequiredProperty("local.server.port"));
+        }
+    }
+
+    private void executar(String url) throws Exception {
+        base = url + "/atividades";
+        Map<Operacao, Integer> mix = lerMix();
+
+        try (ExecutorService clientes = Executors.newVirtualThreadPerTaskExecutor()) {
+            http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(clientes)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+
+            long inicioCarga = System.nanoTime();
+            popular();
+            System.out.printf("%n=== %d atividades carregadas em %.1f s ===%n", REGISTROS, (System.nanoTime() - inicioCarga) / 1e9);
+
+            disparar(mix, AQUECIMENTO_S, new Random(7));
+            Map<Operacao, Medicao> medicoes = disparar(mix, DURACAO_S, new Random(42));
+            imprimir(mix, medicoes);
+
+            for (Medicao medicao : medicoes.values()) {
+                assertThat(medicao.erros.get()).isZero();
+            }
+        }
+    }
+
+    // Modelo aberto: a requisição i sai em inicio + i * intervalo, esteja o servidor respondendo ou não. Cada uma roda
+    // na sua thread virtual, então uma resposta lenta não atrasa o envio das seguintes
+    private Map<Operacao, Medicao> disparar(Map<Operacao, Integer> mix, int segundos, Random sorteio) {
+        Map<Operacao, Medicao> medicoes = new EnumMap<>(Operacao.class);
+        for (Operacao operacao : mix.keySet()) {
+            medicoes.put(operacao, new Medicao());
+        }
+        int pesoTotal = mix.values().stream().mapToInt(Integer::intValue).sum();
+        long intervalo = 1_000_000_000L / TAXA;
+        long total = (long) TAXA * segundos;
+
+        try (ExecutorService requisicoes = Executors.newVirtualThreadPerTaskExecutor()) {
+            long inicio = System.nanoTime();
+            for (long i = 0; i < total; i++) {
+                long previsto = inicio + i * intervalo;
+                long espera;
+                while ((espera = previsto - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(espera);
+                }
+                Operacao operacao = sortear(mix, pesoTotal, sorteio);
+                long semente = sorteio.nextLong();
+                Medicao medicao = medicoes.get(operacao);
+                requisicoes.execute(() -> medicao.registrar(previsto, () -> enviar(operacao, new Random(semente))));
+            }
+        }
+        return medicoes;
+    }
+
+    private int enviar(Operacao operacao, Random sorteio) throws IOException, InterruptedException {
+        return switch (operacao) {
+            case CRIAR -> {
+                HttpResponse<String> resposta = http.send(json(HttpRequest.newBuilder(URI.create(base)), "POST",
+                        atividade(sorteio.nextInt(REGISTROS))), HttpResponse.BodyHandlers.ofString());
+                if (resposta.statusCode() == 201) {
+                    ids.adicionar(json.readTree(resposta.body()).get("idAtividade").asLong());
+                }
+                yield resposta.statusCode();
+            }
+            case LISTAR -> {
+                LocalDate inicio = LocalDate.of(2025, 1, 1).plusDays(sorteio.nextInt(300));
+                String filtro = sorteio.nextBoolean()
+                        ? "funcional=EMP" + sorteio.nextInt(FUNCIONAIS)
+                        : "codigoAtividade=" + CODIGOS[sorteio.nextInt(CODIGOS.length)] + "&dataInicio=" + inicio + "&dataFim=" + inicio.plusDays(7);
+                yield http.send(HttpRequest.newBuilder(URI.create(base + "?" + filtro + "&limite=50")).GET().build(),
+                        HttpResponse.BodyHandlers.discarding()).statusCode();
+            }
+            case BUSCAR -> http.send(HttpRequest.newBuilder(URI.create(base + "/" + ids.sortear(sorteio))).GET().build(),
+                    HttpResponse.BodyHandlers.discarding()).statusCode();
+            case ATUALIZAR -> http.send(json(HttpRequest.newBuilder(URI.create(base + "/" + ids.sortear(sorteio))), "PUT",
+                    atividade(sorteio.nextInt(REGISTROS))), HttpResponse.BodyHandlers.discarding()).statusCode();
+            case EXCLUIR -> {
+                Long id = ids.retirar(sorteio);
+                yield id == null ? 404 : http.send(HttpRequest.newBuilder(URI.create(base + "/" + id)).DELETE().build(),
+                        HttpResponse.BodyHandlers.discarding()).statusCode();
+            }
+        };
+    }
+
+    private void popular() throws IOException, InterruptedException {
+        for (int inicio = 0; inicio < REGISTROS; inicio += TAMANHO_LOTE) {
+            List<Map<String, Object>> lote = new ArrayList<>();
+            for (int i = inicio; i < Math.min(inicio + TAMANHO_LOTE, REGISTROS); i++) {
+                lote.add(atividade(i));
+            }
+            HttpResponse<String> resposta = http.send(json(HttpRequest.newBuilder(URI.create(base + "/lote")), "POST", lote),
+                    HttpResponse.BodyHandlers.ofString());
+            assertThat(resposta.statusCode()).isEqualTo(201);
+            for (JsonNode resultado : json.readTree(resposta.body())) {
+                ids.adicionar(resultado.get("idAtividade").asLong());
+            }
+        }
+    }
+
+    private HttpRequest json(HttpRequest.Builder requisicao, String metodo, Object corpo) throws IOException {
+        return requisicao.header("Content-Type", "application/json")
+                .method(metodo, HttpRequest.BodyPublishers.ofByteArray(json.writeValueAsBytes(corpo)))
+                .build();
+    }
+
+    private static Map<String, Object> atividade(int i) {
+        Map<String, Object> atividade = new LinkedHashMap<>();
+        atividade.put("funcional", "EMP" + (i % FUNCIONAIS));
+        atividade.put("dataHora", LocalDateTime.of(2025, 1, 1, 6, 0).plusMinutes(37L * i).toString());
+        atividade.put("codigoAtividade", CODIGOS[i % CODIGOS.length]);
+        atividade.put("descricaoAtividade", "Atividade de carga " + i + " no parque");
+        return atividade;
+    }
+
+    private static Operacao sortear(Map<Operacao, Integer> mix, int pesoTotal, Random sorteio) {
+        int valor = sorteio.nextInt(pesoTotal);
+        for (Map.Entry<Operacao, Integer> peso : mix.entrySet()) {
+            valor -= peso.getValue();
+            if (valor < 0) {
+                return peso.getKey();
+            }
+        }
+        throw new IllegalStateException("Mix vazio");
+    }
+
+    private static Map<Operacao, Integer> lerMix() {
+        Map<Operacao, Integer> mix = new EnumMap<>(Operacao.class);
+        for (String item : MIX.split(",")) {
+            String[] partes = item.trim().split(":");
+            int peso = Integer.parseInt(partes[1].trim());
+            if (peso > 0) {
+                mix.put(Operacao.valueOf(partes[0].trim().toUpperCase()), peso);
+            }
+        }
+        return mix;
+    }
+
+    private static void imprimir(Map<Operacao, Integer> mix, Map<Operacao, Medicao> medicoes) throws IOException {
+        Files.createDirectories(SAIDA);
+        System.out.printf("=== %d req/s por %d s (aquecimento de %d s), mix %s ===%n", TAXA, DURACAO_S, AQUECIMENTO_S, mix);
+        System.out.printf("%-10s %8s %8s %6s %10s %10s %10s %10s %16s%n",
+                "Rota", "total", "404/412", "erros", "p50 ms", "p99 ms", "p99.9 ms", "máx ms", "p99 sem corr.");
+        for (Map.Entry<Operacao, Medicao> entrada : medicoes.entrySet()) {
+            Medicao medicao = entrada.getValue();
+            Histogram corrigida = medicao.corrigida;
+            System.out.printf("%-10s %8d %8d %6d %10.1f %10.1f %10.1f %10.1f %16.1f%n", entrada.getKey().name().toLowerCase(),
+                    corrigida.getTotalCount(), medicao.conflitos.get(), medicao.erros.get(),
+                    corrigida.getValueAtPercentile(50) / 1000.0, corrigida.getValueAtPercentile(99) / 1000.0,
+                    corrigida.getValueAtPercentile(99.9) / 1000.0, corrigida.getMaxValue() / 1000.0,
+                    medicao.servico.getValueAtPercentile(99) / 1000.0);
+
+            // Distribuição completa no formato .hgrm, para comparar execuções no HdrHistogram plotter
+            try (PrintStream arquivo = new PrintStream(SAIDA.resolve(entrada.getKey().name().toLowerCase() + ".hgrm").toFile())) {
+                corrigida.outputPercentileDistribution(arquivo, 1000.0);
+            }
+        }
+        System.out.printf("Distribuições em %s%n%n", SAIDA.toAbsolutePath());
+    }
+
+    @FunctionalInterface
+    private interface Requisicao {
+        int enviar() throws Exception;
+    }
+
+    // Latências em microssegundos; os histogramas crescem sozinhos, então uma resposta de minutos não se perde
+    private static final class Medicao {
+
+        private final Histogram corrigida = new ConcurrentHistogram(3);
+        private final Histogram servico = new ConcurrentHistogram(3);
+        private final AtomicLong conflitos = new AtomicLong();
+        private final AtomicLong erros = new AtomicLong();
+
+        void registrar(long previsto, Requisicao requisicao) {
+            long enviada = System.nanoTime();
+            int status;
+            try {
+                status = requisicao.enviar();
+            } catch (Exception e) {
+                status = -1;
+            }
+            long fim = System.nanoTime();
+            corrigida.recordValue((fim - previsto) / 1000);
+            servico.recordValue((fim - enviada) / 1000);
+
+            // 404 e 412 são esperados: a exclusão e a atualização concorrem pelos mesmos IDs
+            if (status == 404 || status == 412) {
+                conflitos.incrementAndGet();
+            } else if (status < 200 || status >= 300) {
+                erros.incrementAndGet();
+            }
+        }
+    }
+
+    private static final class IdsConhecidos {
+
+        private final List<Long> ids = new ArrayList<>();
+
+        synchronized void adicionar(long id) {
+            ids.add(id);
+        }
+
+        synchronized long sortear(Random sorteio) {
+            return ids.isEmpty() ? 0 : ids.get(sorteio.nextInt(ids.size()));
+        }
+
+        // Troca com o último para remover em O(1)
+        synchronized Long retirar(Random sorteio) {
+            if (ids.isEmpty()) {
+                return null;
+            }
+            int indice = sorteio.nextInt(ids.size());
+            Long id = ids.get(indice);
+            ids.set(indice, ids.get(ids.size() - 1));
+            ids.remove(ids.size() - 1);
+            return id;
+        }
+    }
+}
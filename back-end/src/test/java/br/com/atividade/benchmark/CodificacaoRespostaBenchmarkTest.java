@@ -0,0 +1,123 @@
+package br.com.atividade.benchmark;
+
+import br.com.atividade.config.codificacao.ListaAtividadesColunarConverter;
+import br.com.atividade.config.codificacao.ListaAtividadesProtobufConverter;
+import br.com.atividade.sevice.dto.output.AtividadeOutput;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara tamanho (bruto e com gzip) e tempo de serialização de uma página de {@code GET /atividades} em cada
+ * formato negociável pelo Accept. Roda apenas com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("Benchmark dos formatos de resposta da listagem")
+class CodificacaoRespostaBenchmarkTest {
+
+    private static final int ATIVIDADES = Integer.getInteger("benchmark.registros", 1000);
+    private static final int ITERACOES = Integer.getInteger("benchmark.iteracoes", 2000);
+    private static final int AQUECIMENTO = 500;
+    private static final Type TIPO_LISTA = new TypeReference<List<AtividadeOutput>>() { }.getType();
+
+    @Test
+    @DisplayName("Deve medir bytes e tempo de serialização de JSON, CBOR, Smile, Protobuf e JSON colunar")
+    void deveCompararFormatos() throws IOException {
+        List<AtividadeOutput> atividades = pagina();
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        ObjectMapper json = builder.build();
+
+        Map<String, GenericHttpMessageConverter<Object>> formatos = new LinkedHashMap<>();
+        formatos.put("JSON (atual)", comoGenerico(new MappingJackson2HttpMessageConverter(json)));
+        formatos.put("CBOR", comoGenerico(new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build())));
+        formatos.put("Smile", comoGenerico(new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build())));
+        formatos.put("Protobuf", comoGenerico(new ListaAtividadesProtobufConverter()));
+        formatos.put("JSON colunar", comoGenerico(new ListaAtividadesColunarConverter(json.getFactory())));
+        Map<String, MediaType> tipos = Map.of(
+                "JSON (atual)", MediaType.APPLICATION_JSON,
+                "CBOR", MediaType.APPLICATION_CBOR,
+                "Smile", MediaType.parseMediaType("application/x-jackson-smile"),
+                "Protobuf", ListaAtividadesProtobufConverter.PROTOBUF,
+                "JSON colunar", ListaAtividadesColunarConverter.COLUNAR);
+
+        System.out.printf("%n=== Página de %d atividades, %d iterações ===%n", ATIVIDADES, ITERACOES);
+        System.out.printf("%-14s %10s %10s %12s %14s%n", "Formato", "bytes", "gzip", "µs/página", "vs JSON bytes");
+        long bytesJson = 0;
+        for (Map.Entry<String, GenericHttpMessageConverter<Object>> formato : formatos.entrySet()) {
+            MediaType tipo = tipos.get(formato.getKey());
+            byte[] corpo = serializar(formato.getValue(), atividades, tipo);
+            if (bytesJson == 0) {
+                bytesJson = corpo.length;
+            }
+
+            for (int i = 0; i < AQUECIMENTO; i++) {
+                serializar(formato.getValue(), atividades, tipo);
+            }
+            long inicio = System.nanoTime();
+            for (int i = 0; i < ITERACOES; i++) {
+                serializar(formato.getValue(), atividades, tipo);
+            }
+            double micros = (System.nanoTime() - inicio) / 1_000.0 / ITERACOES;
+
+            System.out.printf("%-14s %10d %10d %12.1f %13.0f%%%n", formato.getKey(), corpo.length, gzip(corpo), micros,
+                    100.0 * corpo.length / bytesJson);
+            assertThat(corpo).isNotEmpty();
+        }
+        System.out.println();
+    }
+
+    private static byte[] serializar(GenericHttpMessageConverter<Object> converter, List<AtividadeOutput> atividades, MediaType tipo) throws IOException {
+        MockHttpOutputMessage saida = new MockHttpOutputMessage();
+        converter.write(atividades, TIPO_LISTA, tipo, saida);
+        return saida.getBodyAsBytes();
+    }
+
+    private static int gzip(byte[] corpo) throws IOException {
+        ByteArrayOutputStream comprimido = new ByteArrayOutputStream();
+        try (GZIPOutputStream saida = new GZIPOutputStream(comprimido)) {
+            saida.write(corpo);
+        }
+        return comprimido.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static GenericHttpMessageConverter<Object> comoGenerico(GenericHttpMessageConverter<?> converter) {
+        return (GenericHttpMessageConverter<Object>) converter;
+    }
+
+    // Distribuição parecida com produção: poucos códigos, algumas centenas de funcionais, descrições livres
+    private static List<AtividadeOutput> pagina() {
+        String[] codigos = {"RUN", "GYM", "BIKE", "SWIM", "WALK", "YOGA"};
+        List<AtividadeOutput> atividades = new ArrayList<>(ATIVIDADES);
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 6, 0);
+        for (int i = 0; i < ATIVIDADES; i++) {
+            atividades.add(new AtividadeOutput((long) 100_000 + i, "EMP" + (i % 200), base.plusMinutes(17L * i),
+                    codigos[i % codigos.length], "Atividade sincronizada do wearable " + i, (long) (i % 3)));
+        }
+        return atividades;
+    }
+}
@@ -0,0 +1,101 @@
+package br.com.atividade.benchmark;
+
+import br.com.atividade.repository.AtividadeRepository;
+import br.com.atividade.sevice.AtividadeService;
+import br.com.atividade.sevice.dto.input.AtividadeInput;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara a vazão (linhas/s) de POST /atividades repetido contra POST /atividades/lote.
+ * Roda apenas com {@code mvn test -Pbenchmark}; para medir contra o MySQL basta sobrescrever
+ * {@code spring.datasource.*} e {@code spring.jpa.properties.hibernate.dialect} via -D.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO",
+        "logging.level.br.com.atividade=WARN"
+})
+@ActiveProfiles("test")
+@DisplayName("Benchmark da criação em lote")
+class CriacaoEmLoteBenchmarkTest {
+
+    private static final int TOTAL_REGISTROS = Integer.getInteger("benchmark.registros", 20000);
+    private static final int TAMANHO_REQUISICAO_LOTE = Integer.getInteger("benchmark.tamanho-requisicao", 1000);
+    private static final int AQUECIMENTO = 2000;
+
+    @Autowired
+    private AtividadeService atividadeService;
+
+    @Autowired
+    private AtividadeRepository atividadeRepository;
+
+    @BeforeEach
+    void setUp() {
+        atividadeRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Deve medir linhas/s do caminho unitário e do caminho em lote")
+    void deveCompararVazaoUnitariaComLote() {
+        List<AtividadeInput> aquecimento = gerarAtividades(AQUECIMENTO);
+        inserirUmPorUm(aquecimento);
+        inserirEmLote(aquecimento);
+        atividadeRepository.deleteAllInBatch();
+
+        List<AtividadeInput> atividades = gerarAtividades(TOTAL_REGISTROS);
+
+        long inicioUnitario = System.nanoTime();
+        inserirUmPorUm(atividades);
+        double segundosUnitario = (System.nanoTime() - inicioUnitario) / 1_000_000_000.0;
+
+        long inicioLote = System.nanoTime();
+        inserirEmLote(atividades);
+        double segundosLote = (System.nanoTime() - inicioLote) / 1_000_000_000.0;
+
+        System.out.printf("%n=== Criação de atividades (%d registros) ===%n", TOTAL_REGISTROS);
+        System.out.printf("POST /atividades (1 por transação)   : %10.0f linhas/s (%.2f s)%n", TOTAL_REGISTROS / segundosUnitario, segundosUnitario);
+        System.out.printf("POST /atividades/lote (%5d por req.): %10.0f linhas/s (%.2f s)%n", TAMANHO_REQUISICAO_LOTE, TOTAL_REGISTROS / segundosLote, segundosLote);
+        System.out.printf("Ganho: %.1fx%n%n", segundosUnitario / segundosLote);
+
+        assertThat(atividadeRepository.count()).isEqualTo(2L * TOTAL_REGISTROS);
+    }
+
+    private void inserirUmPorUm(List<AtividadeInput> atividades) {
+        atividades.forEach(atividadeService::criarAtividade);
+    }
+
+    private void inserirEmLote(List<AtividadeInput> atividades) {
+        for (int inicio = 0; inicio < atividades.size(); inicio += TAMANHO_REQUISICAO_LOTE) {
+            int fim = Math.min(inicio + TAMANHO_REQUISICAO_LOTE, atividades.size());
+            atividadeService.criarAtividadesEmLote(atividades.subList(inicio, fim));
+        }
+    }
+
+    private static List<AtividadeInput> gerarAtividades(int quantidade) {
+        List<AtividadeInput> atividades = new ArrayList<>(quantidade);
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 6, 0);
+        for (int i = 0; i < quantidade; i++) {
+            AtividadeInput input = new AtividadeInput();
+            input.setFuncional("EMP" + (i % 500));
+            input.setDataHora(base.plusMinutes(i));
+            input.setCodigoAtividade(i % 2 == 0 ? "RUN" : "GYM");
+            input.setDescricaoAtividade("Atividade sincronizada do wearable " + i);
+            atividades.add(input);
+        }
+        return atividades;
+    }
+}
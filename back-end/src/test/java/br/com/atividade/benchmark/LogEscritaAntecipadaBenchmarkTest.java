@@ -0,0 +1,122 @@
+package br.com.atividade.benchmark;
+
+import br.com.atividade.config.IngestaoProperties;
+import br.com.atividade.sevice.dto.input.AtividadeInput;
+import br.com.atividade.sevice.ingestao.BufferIngestao;
+import br.com.atividade.sevice.ingestao.BufferMemoria;
+import br.com.atividade.sevice.ingestao.LogEscritaAntecipada;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Mede a vazão e a latência de aceite (o que a requisição espera antes do 202) da fila em memória
+ * e do log local em cada modo de sincronização. Roda apenas com {@code mvn test -Pbenchmark};
+ * o diretório pode apontar para o disco real com {@code -Dbenchmark.diretorio=...}.
+ */
+@Tag("benchmark")
+@DisplayName("Benchmark do log de escrita antecipada da ingestão")
+class LogEscritaAntecipadaBenchmarkTest {
+
+    private static final int TOTAL_REGISTROS = Integer.getInteger("benchmark.registros", 100000);
+    private static final int PRODUTORES = Integer.getInteger("benchmark.produtores", 8);
+
+    @TempDir
+    Path temporario;
+
+    @Test
+    @DisplayName("Deve medir aceites/s e latência por modo de sincronização")
+    void deveCompararModosDeSincronizacao() throws Exception {
+        AtividadeInput atividade = new AtividadeInput();
+        atividade.setFuncional("EMP001");
+        atividade.setDataHora(LocalDateTime.of(2025, 6, 1, 7, 0));
+        atividade.setCodigoAtividade("RUN");
+        atividade.setDescricaoAtividade("Atividade sincronizada do wearable durante o pico");
+
+        BufferMemoria aquecimento = new BufferMemoria(TOTAL_REGISTROS);
+        for (int i = 0; i < TOTAL_REGISTROS; i++) {
+            aquecimento.oferecer(atividade);
+        }
+
+        System.out.printf("%n=== Aceite de %d atividades com %d produtores ===%n", TOTAL_REGISTROS, PRODUTORES);
+        medir("Memória", new BufferMemoria(TOTAL_REGISTROS), atividade);
+        for (IngestaoProperties.Sincronizacao sincronizacao : IngestaoProperties.Sincronizacao.values()) {
+            // fsync por escrita é ordens de grandeza mais lento; mede com menos registros para não levar minutos
+            int registros = sincronizacao == IngestaoProperties.Sincronizacao.ESCRITA ? Math.min(TOTAL_REGISTROS, 5000) : TOTAL_REGISTROS;
+            try (LogEscritaAntecipada wal = LogEscritaAntecipada.abrir(configuracao(sincronizacao), registros)) {
+                medir("WAL " + sincronizacao, wal, atividade, registros);
+            }
+        }
+        System.out.println();
+    }
+
+    private void medir(String nome, BufferIngestao buffer, AtividadeInput atividade) throws Exception {
+        medir(nome, buffer, atividade, TOTAL_REGISTROS);
+    }
+
+    private void medir(String nome, BufferIngestao buffer, AtividadeInput atividade, int registros) throws Exception {
+        int porProdutor = registros / PRODUTORES;
+        ExecutorService executor = Executors.newFixedThreadPool(PRODUTORES);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<long[]>> latencias = new ArrayList<>();
+        for (int p = 0; p < PRODUTORES; p++) {
+            latencias.add(executor.submit(() -> {
+                long[] nanos = new long[porProdutor];
+                largada.await();
+                for (int i = 0; i < porProdutor; i++) {
+                    long inicio = System.nanoTime();
+                    assertThat(buffer.oferecer(atividade)).isTrue();
+                    nanos[i] = System.nanoTime() - inicio;
+                }
+                return nanos;
+            }));
+        }
+
+        long inicio = System.nanoTime();
+        largada.countDown();
+        long[] todas = new long[0];
+        for (Future<long[]> latencia : latencias) {
+            long[] produtor = latencia.get();
+            long[] juntas = Arrays.copyOf(todas, todas.length + produtor.length);
+            System.arraycopy(produtor, 0, juntas, todas.length, produtor.length);
+            todas = juntas;
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        executor.shutdown();
+        buffer.close();
+
+        Arrays.sort(todas);
+        System.out.printf("%-15s: %12.0f aceites/s   p50 %8.1f µs   p99 %8.1f µs%n", nome, todas.length / segundos,
+                todas[todas.length / 2] / 1000.0, todas[(int) (todas.length * 0.99)] / 1000.0);
+        assertThat(buffer.tamanho()).isEqualTo(todas.length);
+    }
+
+    private IngestaoProperties.Wal configuracao(IngestaoProperties.Sincronizacao sincronizacao) throws IOException {
+        String diretorio = System.getProperty("benchmark.diretorio");
+        Path base = diretorio == null ? temporario : Files.createDirectories(Path.of(diretorio));
+        IngestaoProperties.Wal configuracao = new IngestaoProperties.Wal();
+        configuracao.setHabilitado(true);
+        configuracao.setDiretorio(Files.createTempDirectory(base, "wal-" + sincronizacao.name().toLowerCase() + "-"));
+        configuracao.setTamanhoSegmento(DataSize.ofMegabytes(64));
+        configuracao.setSincronizacao(sincronizacao);
+        configuracao.setIntervaloSincronizacao(Duration.ofMillis(100));
+        return configuracao;
+    }
+}
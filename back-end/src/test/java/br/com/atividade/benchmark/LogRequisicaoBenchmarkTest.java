@@ -0,0 +1,163 @@
+package br.com.atividade.benchmark;
+
+import br.com.atividade.config.LogProperties;
+import br.com.atividade.support.CargaFechada;
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.ConsoleAppender;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vazão de requisições (criar, buscar por ID e listar por funcional) com os logs desligados, no console síncrono
+ * como antes e no appender assíncrono em JSON, com e sem amostragem. Uma única aplicação atende todas as rodadas e
+ * a configuração de log é trocada entre elas, em ordem alternada, para que o aquecimento da JVM não favoreça
+ * nenhuma. A saída do console vai para target/log-benchmark.log. Roda apenas com {@code mvn test -Pbenchmark};
+ * ajuste com -Dbenchmark.clientes, -Dbenchmark.duracao-s e -Dbenchmark.rodadas.
+ */
+@Tag("benchmark")
+@DisplayName("Benchmark de vazão com logs desligados, síncronos e assíncronos")
+class LogRequisicaoBenchmarkTest {
+
+    private static final int CLIENTES = Integer.getInteger("benchmark.clientes", 16);
+    private static final int DURACAO_S = Integer.getInteger("benchmark.duracao-s", 10);
+    private static final int RODADAS = Integer.getInteger("benchmark.rodadas", 4);
+    private static final int AQUECIMENTO_S = 30;
+
+    @Test
+    @DisplayName("Deve comparar requisições por segundo em cada configuração de log")
+    void deveCompararVazao() throws Exception {
+        List<Configuracao> configuracoes = List.of(
+                new Configuracao("Logs desligados", Level.WARN, false, 1.0),
+                new Configuracao("Síncrono, texto, 100%", Level.INFO, true, 1.0),
+                new Configuracao("Assíncrono, JSON, 100%", Level.INFO, false, 1.0),
+                new Configuracao("Assíncrono, JSON, 10%", Level.INFO, false, 0.1));
+        Map<Configuracao, Medicao> medicoes = new LinkedHashMap<>();
+        configuracoes.forEach(configuracao -> medicoes.put(configuracao, new Medicao()));
+
+        try (ContadorBytes saidaLog = new ContadorBytes(new BufferedOutputStream(new FileOutputStream("target/log-benchmark.log")));
+             CargaFechada.SaidaDesviada saida = CargaFechada.desviarSaida(saidaLog)) {
+            try (ConfigurableApplicationContext contexto = CargaFechada.iniciar("log-benchmark", "--atividade.log.formato=json")) {
+                String base = CargaFechada.urlAtividades(contexto);
+                Logs logs = new Logs(contexto.getBean(LogProperties.class));
+
+                logs.aplicar(configuracoes.get(0));
+                executarCarga(base, AQUECIMENTO_S);
+                for (int rodada = 0; rodada < RODADAS; rodada++) {
+                    for (Configuracao configuracao : rodada % 2 == 0 ? configuracoes : configuracoes.reversed()) {
+                        logs.aplicar(configuracao);
+                        long bytesAntes = saidaLog.total();
+                        medicoes.get(configuracao).requisicoes += executarCarga(base, DURACAO_S);
+                        medicoes.get(configuracao).bytesDeLog += saidaLog.total() - bytesAntes;
+                    }
+                }
+                logs.aplicar(configuracoes.get(2));
+            }
+        }
+
+        double segundos = (double) RODADAS * DURACAO_S;
+        System.out.printf("%n=== %d clientes, %d rodadas de %d s por configuração (POST + GET /{id} + GET ?funcional) ===%n",
+                CLIENTES, RODADAS, DURACAO_S);
+        System.out.printf("%-26s %10s %12s %14s%n", "Configuração", "req/s", "KB de log/s", "bytes/req");
+        medicoes.forEach((configuracao, medicao) -> System.out.printf("%-26s %10.0f %12.1f %14.0f%n", configuracao.nome(),
+                medicao.requisicoes / segundos, medicao.bytesDeLog / segundos / 1024,
+                medicao.bytesDeLog / (double) Math.max(medicao.requisicoes, 1)));
+        System.out.println();
+
+        assertThat(medicoes.get(configuracoes.get(3)).requisicoes).isGreaterThan(medicoes.get(configuracoes.get(1)).requisicoes);
+    }
+
+    private record Configuracao(String nome, Level nivel, boolean sincrono, double amostragem) {
+    }
+
+    private static final class Medicao {
+        private long requisicoes;
+        private long bytesDeLog;
+    }
+
+    // Troca nível, amostragem e appender do root sem reiniciar a aplicação
+    private static final class Logs {
+
+        private final LogProperties properties;
+        private final Logger root;
+        private final Logger aplicacao;
+        private final AsyncAppender assincrono;
+        private final ConsoleAppender<ILoggingEvent> sincrono;
+
+        Logs(LogProperties properties) {
+            LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+            this.properties = properties;
+            this.root = loggerContext.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+            this.aplicacao = loggerContext.getLogger("br.com.atividade");
+            this.assincrono = (AsyncAppender) root.getAppender("ASSINCRONO");
+
+            // Como era antes do AsyncAppender: a thread da requisição formata e escreve o texto no console
+            PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+            encoder.setContext(loggerContext);
+            encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%15.15t] [%X{requestId:-}] %-40.40logger{39} : %m%n");
+            encoder.start();
+            this.sincrono = new ConsoleAppender<>();
+            sincrono.setContext(loggerContext);
+            sincrono.setName("texto-sincrono");
+            sincrono.setEncoder(encoder);
+            sincrono.start();
+        }
+
+        void aplicar(Configuracao configuracao) {
+            aplicacao.setLevel(configuracao.nivel());
+            properties.setAmostragem(configuracao.amostragem());
+            root.detachAppender(assincrono);
+            root.detachAppender(sincrono);
+            root.addAppender(configuracao.sincrono() ? sincrono : assincrono);
+        }
+    }
+
+    private static long executarCarga(String base, int segundos) throws Exception {
+        return CargaFechada.executar(base, "LOG", "&limite=20", CLIENTES, segundos);
+    }
+
+    // Conta o que chega ao console, como um coletor de logs leria
+    private static final class ContadorBytes extends FilterOutputStream {
+
+        private final AtomicLong total = new AtomicLong();
+
+        ContadorBytes(OutputStream destino) {
+            super(destino);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            total.incrementAndGet();
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            total.addAndGet(len);
+        }
+
+        long total() {
+            return total.get();
+        }
+    }
+}
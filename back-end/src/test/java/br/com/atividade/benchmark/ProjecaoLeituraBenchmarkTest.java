@@ -0,0 +1,115 @@
+package br.com.atividade.benchmark;
+
+import br.com.atividade.mapper.AtividadeMapper;
+import br.com.atividade.model.Atividade;
+import br.com.atividade.repository.AtividadeRepository;
+import br.com.atividade.repository.specification.AtividadeSpecification;
+import br.com.atividade.sevice.dto.output.AtividadeOutput;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara latência e bytes alocados por consulta entre o caminho antigo (entidade gerenciada + MapStruct)
+ * e a projeção direta em {@link AtividadeOutput}. Roda apenas com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO",
+        "logging.level.br.com.atividade=WARN"
+})
+@ActiveProfiles("test")
+@DisplayName("Benchmark da leitura projetada em DTO")
+class ProjecaoLeituraBenchmarkTest {
+
+    private static final int TOTAL_REGISTROS = Integer.getInteger("benchmark.registros", 20000);
+    private static final int ITERACOES = Integer.getInteger("benchmark.iteracoes", 30);
+    private static final int AQUECIMENTO = 10;
+
+    @Autowired
+    private AtividadeRepository atividadeRepository;
+
+    @Autowired
+    private AtividadeMapper atividadeMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate somenteLeitura;
+
+    @BeforeEach
+    void setUp() {
+        somenteLeitura = new TransactionTemplate(transactionManager);
+        somenteLeitura.setReadOnly(true);
+
+        atividadeRepository.deleteAllInBatch();
+        List<Atividade> atividades = new ArrayList<>(TOTAL_REGISTROS);
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 6, 0);
+        for (int i = 0; i < TOTAL_REGISTROS; i++) {
+            Atividade atividade = new Atividade();
+            atividade.setFuncional("EMP" + (i % 500));
+            atividade.setDataHora(base.plusMinutes(i));
+            atividade.setCodigoAtividade(i % 2 == 0 ? "RUN" : "GYM");
+            atividade.setDescricaoAtividade("Atividade sincronizada do wearable " + i);
+            atividades.add(atividade);
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> atividadeRepository.salvarEmLote(atividades));
+    }
+
+    @Test
+    @DisplayName("Deve medir latência e alocação por consulta com entidade e com projeção")
+    void deveCompararEntidadeComProjecao() {
+        Supplier<List<AtividadeOutput>> entidade = () -> somenteLeitura.execute(status ->
+                atividadeMapper.toOutputList(atividadeRepository.findAll(AtividadeSpecification.comFiltros(null, "RUN", null, null, null))));
+        Supplier<List<AtividadeOutput>> projecao = () -> somenteLeitura.execute(status ->
+                atividadeRepository.listarOutputsComFiltros(AtividadeSpecification.comFiltros(null, "RUN", null, null, null)));
+
+        Medicao medicaoEntidade = medir(entidade);
+        Medicao medicaoProjecao = medir(projecao);
+
+        System.out.printf("%n=== Leitura de %d atividades por consulta (%d iterações) ===%n", TOTAL_REGISTROS / 2, ITERACOES);
+        System.out.printf("Entidade + MapStruct : %8.2f ms/op %10.1f MB alocados/op%n", medicaoEntidade.milissegundos(), medicaoEntidade.megabytes());
+        System.out.printf("Projeção em DTO      : %8.2f ms/op %10.1f MB alocados/op%n", medicaoProjecao.milissegundos(), medicaoProjecao.megabytes());
+        System.out.printf("Ganho: %.1fx em latência, %.1fx em alocação%n%n",
+                medicaoEntidade.milissegundos() / medicaoProjecao.milissegundos(), medicaoEntidade.megabytes() / medicaoProjecao.megabytes());
+
+        assertThat(projecao.get()).containsExactlyInAnyOrderElementsOf(entidade.get());
+    }
+
+    private Medicao medir(Supplier<List<AtividadeOutput>> consulta) {
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            consulta.get();
+        }
+
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long bytesInicio = threadMXBean.getThreadAllocatedBytes(threadId);
+        long inicio = System.nanoTime();
+        for (int i = 0; i < ITERACOES; i++) {
+            assertThat(consulta.get()).hasSize(TOTAL_REGISTROS / 2);
+        }
+        long nanos = System.nanoTime() - inicio;
+        long bytes = threadMXBean.getThreadAllocatedBytes(threadId) - bytesInicio;
+
+        return new Medicao(nanos / 1_000_000.0 / ITERACOES, bytes / 1024.0 / 1024.0 / ITERACOES);
+    }
+
+    private record Medicao(double milissegundos, double megabytes) {
+    }
+}
@@ -0,0 +1,139 @@
+package br.com.atividade.benchmark;
+
+import br.com.atividade.support.CargaFechada;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Custo do rastreamento na vazão de requisições (criar, buscar por ID e listar com filtros). Três aplicações sobem
+ * na mesma JVM: uma sem a instrumentação nova (sem proxy JDBC e sem os spans de controller, repositório, mapper,
+ * montagem da consulta e JSON, como antes), uma com o rastreamento desligado e uma com o rastreamento ligado, cuja
+ * amostragem é trocada entre as rodadas (0%, 10% e 100%, exportando para arquivo). As rodadas alternam a ordem
+ * para que o aquecimento da JVM, compartilhado, não favoreça nenhuma. Roda apenas com
+ * {@code mvn test -Pbenchmark}; ajuste com -Dbenchmark.clientes, -Dbenchmark.duracao-s e -Dbenchmark.rodadas.
+ */
+@Tag("benchmark")
+@DisplayName("Benchmark de vazão com rastreamento desligado e ligado")
+class RastreamentoBenchmarkTest {
+
+    private static final int CLIENTES = Integer.getInteger("benchmark.clientes", 16);
+    private static final int DURACAO_S = Integer.getInteger("benchmark.duracao-s", 10);
+    private static final int RODADAS = Integer.getInteger("benchmark.rodadas", 4);
+    private static final int AQUECIMENTO_S = 15;
+
+    private record Configuracao(String nome, int aplicacao, double amostragem) {
+    }
+
+    @Test
+    @DisplayName("Deve medir requisições por segundo sem instrumentação, com rastreamento desligado e com amostragem")
+    void deveMedirCustoDoRastreamento() throws Exception {
+        List<Configuracao> configuracoes = List.of(
+                new Configuracao("Sem instrumentação", 0, 0),
+                new Configuracao("Rastreamento desligado", 1, 0),
+                new Configuracao("Ligado, amostragem 0%", 2, 0.0),
+                new Configuracao("Ligado, amostragem 10%", 2, 0.1),
+                new Configuracao("Ligado, amostragem 100%", 2, 1.0));
+        Map<Configuracao, Long> requisicoes = new LinkedHashMap<>();
+        configuracoes.forEach(configuracao -> requisicoes.put(configuracao, 0L));
+
+        Path diretorio = Path.of("target", "rastreamento-benchmark");
+        List<ConfigurableApplicationContext> aplicacoes = new ArrayList<>();
+        try (CargaFechada.SaidaDesviada saida = CargaFechada.desviarSaida(diretorio.resolve("console.log"))) {
+            try {
+                aplicacoes.add(iniciar("sem-instrumentacao",
+                        "--management.tracing.enabled=false",
+                        "--jdbc.datasource-proxy.enabled=false",
+                        "--management.observations.enable.atividade.controller=false",
+                        "--management.observations.enable.atividade.repositorio=false",
+                        "--management.observations.enable.atividade.mapper=false",
+                        "--management.observations.enable.atividade.consulta=false",
+                        "--management.observations.enable.atividade.resposta=false"));
+                aplicacoes.add(iniciar("desligado", "--management.tracing.enabled=false"));
+                aplicacoes.add(iniciar("ligado",
+                        "--management.tracing.enabled=true",
+                        "--atividade.rastreamento.arquivo.habilitado=true",
+                        "--atividade.rastreamento.arquivo.caminho=" + diretorio.resolve("spans.jsonl")));
+                List<String> bases = aplicacoes.stream().map(CargaFechada::urlAtividades).toList();
+
+                AmostragemVariavel.definir(0.1);
+                for (String base : bases) {
+                    executarCarga(base, AQUECIMENTO_S);
+                }
+                for (int rodada = 0; rodada < RODADAS; rodada++) {
+                    for (Configuracao configuracao : rodada % 2 == 0 ? configuracoes : configuracoes.reversed()) {
+                        AmostragemVariavel.definir(configuracao.amostragem());
+                        requisicoes.merge(configuracao, executarCarga(bases.get(configuracao.aplicacao()), DURACAO_S), Long::sum);
+                    }
+                }
+            } finally {
+                aplicacoes.forEach(ConfigurableApplicationContext::close);
+            }
+        }
+
+        double segundos = (double) RODADAS * DURACAO_S;
+        double base = requisicoes.get(configuracoes.get(0)) / segundos;
+        System.out.printf("%n=== %d clientes, %d rodadas de %d s por configuração (POST + GET /{id} + GET com filtros) ===%n",
+                CLIENTES, RODADAS, DURACAO_S);
+        System.out.printf("%-26s %10s %14s%n", "Configuração", "req/s", "vs. sem instr.");
+        requisicoes.forEach((configuracao, total) -> System.out.printf("%-26s %10.0f %13.1f%%%n",
+                configuracao.nome(), total / segundos, (total / segundos / base - 1) * 100));
+        System.out.println();
+
+        // Desligado, não há proxy JDBC, aspecto nem observações de rastreamento; sobra só o que já existia
+        assertThat(requisicoes.get(configuracoes.get(1)) / segundos).isGreaterThan(base * 0.9);
+    }
+
+    private static ConfigurableApplicationContext iniciar(String nome, String... argumentos) {
+        List<String> todos = new ArrayList<>(List.of(argumentos));
+        todos.add("--logging.level.br.com.atividade=WARN");
+        return CargaFechada.iniciar(List.of(AmostragemVariavel.class), "rastreamento-" + nome, todos.toArray(String[]::new));
+    }
+
+    private static long executarCarga(String base, int segundos) throws Exception {
+        return CargaFechada.executar(base, "TRACE", "&codigoAtividade=RUN&dataInicio=2025-01-01&limite=20", CLIENTES, segundos);
+    }
+
+    // Substitui o Sampler do Spring Boot (management.tracing.sampling.probability) para trocar a amostragem sem
+    // reiniciar a aplicação
+    static class AmostragemVariavel {
+
+        private static volatile Sampler atual = Sampler.alwaysOff();
+
+        static void definir(double probabilidade) {
+            atual = Sampler.parentBased(Sampler.traceIdRatioBased(probabilidade));
+        }
+
+        @Bean
+        Sampler amostragemVariavelSampler() {
+            return new Sampler() {
+                @Override
+                public SamplingResult shouldSample(Context parentContext, String traceId, String name, SpanKind spanKind,
+                                                   Attributes attributes, List<LinkData> parentLinks) {
+                    return atual.shouldSample(parentContext, traceId, name, spanKind, attributes, parentLinks);
+                }
+
+                @Override
+                public String getDescription() {
+                    return "AmostragemVariavel";
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package br.com.atividade.benchmark;
+
+import br.com.atividade.AtividadeApplication;
+import br.com.atividade.sevice.AtividadeService;
+import br.com.atividade.sevice.dto.input.AtividadeInput;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara p99 e requisições simultâneas no servidor entre threads de plataforma (Tomcat com 200 threads)
+ * e threads virtuais, com cada consulta ao banco atrasada artificialmente. Roda apenas com
+ * {@code mvn test -Pbenchmark}; ajuste com -Dbenchmark.clientes, -Dbenchmark.latencia-banco-ms e -Dbenchmark.pool.
+ */
+@Tag("benchmark")
+@DisplayName("Benchmark de threads de plataforma x threads virtuais com banco lento")
+class ThreadsVirtuaisBenchmarkTest {
+
+    private static final int CLIENTES = Integer.getInteger("benchmark.clientes", 800);
+    private static final int REQUISICOES_POR_CLIENTE = Integer.getInteger("benchmark.requisicoes-por-cliente", 5);
+    private static final int LATENCIA_BANCO_MS = Integer.getInteger("benchmark.latencia-banco-ms", 50);
+    private static final int POOL = Integer.getInteger("benchmark.pool", 400);
+
+    @Test
+    @DisplayName("Deve medir p99 e máximo de requisições simultâneas nos dois modos")
+    void deveCompararPlataformaComVirtuais() throws Exception {
+        Resultado plataforma = medir(false);
+        Resultado virtuais = medir(true);
+
+        System.out.printf("%n=== %d clientes x %d requisições, banco com +%d ms por consulta, pool de %d conexões ===%n",
+                CLIENTES, REQUISICOES_POR_CLIENTE, LATENCIA_BANCO_MS, POOL);
+        System.out.printf("%-22s %10s %10s %10s %14s%n", "Modo", "req/s", "p50 ms", "p99 ms", "simultâneas");
+        System.out.println(plataforma.formatar("Threads de plataforma"));
+        System.out.println(virtuais.formatar("Threads virtuais"));
+        System.out.println();
+
+        assertThat(virtuais.simultaneas()).isGreaterThan(plataforma.simultaneas());
+    }
+
+    private Resultado medir(boolean threadsVirtuais) throws Exception {
+        try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(AtividadeApplication.class, BancoLento.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + threadsVirtuais,
+                        "--spring.datasource.url=jdbc:h2:mem:carga-" + threadsVirtuais + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.hikari.maximum-pool-size=" + POOL,
+                        "--spring.datasource.hikari.minimum-idle=" + POOL,
+                        "--atividade.indice-descricao.habilitado=false",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=INFO",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO",
+                        "--logging.level.br.com.atividade=WARN")) {
+            int porta = contexto.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            popular(contexto.getBean(AtividadeService.class));
+            ContadorSimultaneas contador = contexto.getBean(ContadorSimultaneas.class);
+            URI uri = URI.create("http://localhost:" + porta + "/atividades?codigoAtividade=RUN&limite=10");
+
+            try (ExecutorService clientes = Executors.newVirtualThreadPerTaskExecutor()) {
+                HttpClient http = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .executor(clientes)
+                        .connectTimeout(Duration.ofSeconds(30))
+                        .build();
+                executarCarga(clientes, http, uri, Math.min(CLIENTES, 50), 2);
+                contador.zerar();
+
+                long inicio = System.nanoTime();
+                long[] latencias = executarCarga(clientes, http, uri, CLIENTES, REQUISICOES_POR_CLIENTE);
+                double segundos = (System.nanoTime() - inicio) / 1e9;
+
+                Arrays.sort(latencias);
+                return new Resultado(latencias.length / segundos,
+                        latencias[latencias.length / 2] / 1e6,
+                        latencias[(int) (latencias.length * 0.99)] / 1e6,
+                        contador.maximo());
+            }
+        }
+    }
+
+    private static long[] executarCarga(ExecutorService clientes, HttpClient http, URI uri, int quantidadeClientes, int requisicoes) throws Exception {
+        HttpRequest requisicao = HttpRequest.newBuilder(uri).timeout(Duration.ofMinutes(2)).GET().build();
+        List<Future<long[]>> resultados = new ArrayList<>();
+        for (int c = 0; c < quantidadeClientes; c++) {
+            resultados.add(clientes.submit(() -> {
+                long[] latencias = new long[requisicoes];
+                for (int i = 0; i < requisicoes; i++) {
+                    long inicio = System.nanoTime();
+                    HttpResponse<Void> resposta = http.send(requisicao, HttpResponse.BodyHandlers.discarding());
+                    latencias[i] = System.nanoTime() - inicio;
+                    assertThat(resposta.statusCode()).isEqualTo(200);
+                }
+                return latencias;
+            }));
+        }
+        long[] todas = new long[0];
+        for (Future<long[]> resultado : resultados) {
+            long[] cliente = resultado.get();
+            long[] juntas = Arrays.copyOf(todas, todas.length + cliente.length);
+            System.arraycopy(cliente, 0, juntas, todas.length, cliente.length);
+            todas = juntas;
+        }
+        return todas;
+    }
+
+    private static void popular(AtividadeService atividadeService) {
+        List<AtividadeInput> atividades = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            AtividadeInput atividade = new AtividadeInput();
+            atividade.setFuncional("EMP" + (i % 50));
+            atividade.setDataHora(LocalDateTime.of(2025, 1, 1, 6, 0).plusHours(i));
+            atividade.setCodigoAtividade(i % 2 == 0 ? "RUN" : "GYM");
+            atividade.setDescricaoAtividade("Atividade de carga " + i);
+            atividades.add(atividade);
+        }
+        atividadeService.criarAtividadesEmLote(atividades);
+    }
+
+    private record Resultado(double requisicoesPorSegundo, double p50, double p99, int simultaneas) {
+
+        String formatar(String modo) {
+            return String.format("%-22s %10.0f %10.1f %10.1f %14d", modo, requisicoesPorSegundo, p50, p99, simultaneas);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class BancoLento {
+
+        // Atrasa cada consulta como um MySQL sobrecarregado; o sleep libera a carrier em uma thread virtual,
+        // como a espera pelo socket do Connector/J
+        @Bean
+        static BeanPostProcessor atrasarConsultas() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource dataSource)) {
+                        return bean;
+                    }
+                    return Proxy.newProxyInstance(DataSource.class.getClassLoader(), new Class<?>[]{DataSource.class},
+                            (proxy, metodo, argumentos) -> {
+                                Object resultado = invocar(dataSource, metodo, argumentos);
+                                return resultado instanceof Connection conexao ? lenta(conexao) : resultado;
+                            });
+                }
+            };
+        }
+
+        @Bean
+        ContadorSimultaneas contadorSimultaneas() {
+            return new ContadorSimultaneas();
+        }
+
+        private static Connection lenta(Connection conexao) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, metodo, argumentos) -> {
+                        Object resultado = invocar(conexao, metodo, argumentos);
+                        if (resultado instanceof PreparedStatement comando) {
+                            return comandoLento(comando, PreparedStatement.class);
+                        }
+                        return resultado instanceof Statement comando ? comandoLento(comando, Statement.class) : resultado;
+                    });
+        }
+
+        private static <T extends Statement> Object comandoLento(T comando, Class<T> tipo) {
+            return Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[]{tipo}, (proxy, metodo, argumentos) -> {
+                if (metodo.getName().startsWith("execute")) {
+                    Thread.sleep(LATENCIA_BANCO_MS);
+                }
+                return invocar(comando, metodo, argumentos);
+            });
+        }
+
+        private static Object invocar(Object alvo, Method metodo, Object[] argumentos) throws Throwable {
+            try {
+                return metodo.invoke(alvo, argumentos);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    static class ContadorSimultaneas extends OncePerRequestFilter {
+
+        private final AtomicInteger atuais = new AtomicInteger();
+        private final AtomicInteger maximo = new AtomicInteger();
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+                throws ServletException, IOException {
+            maximo.accumulateAndGet(atuais.incrementAndGet(), Math::max);
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                atuais.decrementAndGet();
+            }
+        }
+
+        void zerar() {
+            maximo.set(atuais.get());
+        }
+
+        int maximo() {
+            return maximo.get();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package br.com.atividade.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Testes do LoteProperties")
+class LotePropertiesTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(ValidationAutoConfiguration.class))
+            .withUserConfiguration(Configuracao.class);
+
+    @Test
+    @DisplayName("Deve aceitar os valores padrão")
+    void deveAceitarValoresPadrao() {
+        contextRunner.run(context -> assertThat(context.getBean(LoteProperties.class).getTamanhoBatch()).isEqualTo(500));
+    }
+
+    @Test
+    @DisplayName("Deve recusar tamanho-batch menor que 1 na inicialização")
+    void deveRecusarTamanhoBatchInvalido() {
+        contextRunner.withPropertyValues("atividade.lote.tamanho-batch=0")
+                .run(context -> assertThat(context).hasFailed()
+                        .getFailure().rootCause().hasMessageContaining("tamanhoBatch"));
+    }
+
+    @Test
+    @DisplayName("Deve recusar tamanho-maximo menor que 1 na inicialização")
+    void deveRecusarTamanhoMaximoInvalido() {
+        contextRunner.withPropertyValues("atividade.lote.tamanho-maximo=0")
+                .run(context -> assertThat(context).hasFailed());
+    }
+
+    @EnableConfigurationProperties(LoteProperties.class)
+    static class Configuracao {
+    }
+}
@@ -0,0 +1,101 @@
+package br.com.atividade.config;
+
+import br.com.atividade.config.metricas.AlocacaoRequisicaoFilter;
+import br.com.atividade.sevice.AtividadeService;
+import br.com.atividade.sevice.dto.input.AtividadeInput;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "management.endpoints.web.exposure.include=health,metrics,prometheus,alocacao")
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@DisplayName("Testes das métricas expostas em /actuator/prometheus")
+class MetricasTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AtividadeService atividadeService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Deve publicar histogramas por rota, método do serviço e do repositório, linhas, comandos SQL, alocação, pool e Hibernate")
+    void devePublicarMetricasDaApi() throws Exception {
+        AtividadeInput input = new AtividadeInput();
+        input.setFuncional("METRICA" + UUID.randomUUID().toString().substring(0, 8));
+        input.setDataHora(LocalDateTime.of(2025, 7, 1, 7, 0));
+        input.setCodigoAtividade("RUN");
+        input.setDescricaoAtividade("Corrida monitorada");
+        atividadeService.criarAtividade(input);
+
+        mockMvc.perform(get("/atividades").param("funcional", input.getFuncional())).andExpect(status().isOk());
+        mockMvc.perform(get("/atividades/{id}", 999_999_999L)).andExpect(status().isNotFound());
+        atividadeService.listarAtividadesPorFuncional(input.getFuncional());
+
+        String metricas = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(metricas)
+                .containsPattern("http_server_requests_seconds_bucket\\{.*uri=\"/atividades\".*le=")
+                .containsPattern("http_server_requests_seconds_count\\{.*status=\"404\".*uri=\"/atividades/\\{id}\"")
+                .containsPattern("atividade_service_seconds_bucket\\{.*method=\"criarAtividade\".*le=")
+                .containsPattern("atividade_service_seconds_count\\{.*method=\"listarAtividadesPaginadas\"")
+                .containsPattern("spring_data_repository_invocations_seconds_bucket\\{.*method=\"findOutputsByFuncional\".*le=")
+                .containsPattern("atividade_repositorio_linhas_count\\{.*metodo=\"listarOutputsPaginados\"")
+                .contains("hikaricp_connections_active", "hikaricp_connections_pending", "hikaricp_connections_acquire_seconds_bucket")
+                .containsPattern("atividade_requisicao_comandos_count\\{.*method=\"GET\".*uri=\"/atividades\"")
+                .containsPattern("atividade_requisicao_alocacao_bytes_bucket\\{.*method=\"GET\".*uri=\"/atividades\".*le=")
+                .containsPattern("atividade_requisicao_alocacao_por_linha_bytes_count\\{.*uri=\"/atividades\"")
+                .containsPattern("atividade_requisicao_tempo_banco_seconds_bucket\\{.*uri=\"/atividades/\\{id}\".*le=")
+                .contains("hibernate_sessions_open_total", "hibernate_query_executions_total");
+    }
+
+    @Test
+    @DisplayName("Deve parar e voltar a medir a alocação por requisição pelo /actuator/alocacao")
+    void deveAlternarMedicaoDeAlocacao() throws Exception {
+        mockMvc.perform(get("/atividades").param("funcional", "ALOCACAO")).andExpect(status().isOk());
+        long medidas = medicoesDeAlocacao();
+        assertThat(medidas).isPositive();
+        assertThat(meterRegistry.get(AlocacaoRequisicaoFilter.METRICA).tag("uri", "/atividades").summary().totalAmount())
+                .isGreaterThan(1024);
+
+        mockMvc.perform(post("/actuator/alocacao").contentType(MediaType.APPLICATION_JSON).content("{\"habilitada\": false}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.habilitada").value(false));
+        try {
+            mockMvc.perform(get("/atividades").param("funcional", "ALOCACAO")).andExpect(status().isOk());
+            assertThat(medicoesDeAlocacao()).isEqualTo(medidas);
+        } finally {
+            mockMvc.perform(post("/actuator/alocacao").contentType(MediaType.APPLICATION_JSON).content("{\"habilitada\": true}"))
+                    .andExpect(jsonPath("$.habilitada").value(true));
+        }
+        mockMvc.perform(get("/atividades").param("funcional", "ALOCACAO")).andExpect(status().isOk());
+        assertThat(medicoesDeAlocacao()).isEqualTo(medidas + 1);
+    }
+
+    private long medicoesDeAlocacao() {
+        return meterRegistry.get(AlocacaoRequisicaoFilter.METRICA).tag("uri", "/atividades").tag("method", "GET").summary().count();
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.atividade.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Testes do ParametrosInformados")
+class ParametrosInformadosTest {
+
+    private static final String[] NOMES = {"funcional", "codigoAtividade", "descricaoAtividade", "dataInicio", "limite", "webRequest"};
+    private static final Object[] VALORES = {"EMP001", null, " ", LocalDate.of(2025, 1, 1), 50, new Object()};
+
+    @Test
+    @DisplayName("Deve listar os nomes dos parâmetros informados, ignorando nulos, vazios e objetos")
+    void deveListarNomesInformados() {
+        assertThat(ParametrosInformados.nomes(NOMES, VALORES)).isEqualTo("funcional,dataInicio,limite");
+    }
+
+    @Test
+    @DisplayName("Deve listar os mesmos parâmetros com os valores")
+    void deveListarParametrosComValores() {
+        assertThat(ParametrosInformados.comValores(NOMES, VALORES)).isEqualTo("funcional=EMP001,dataInicio=2025-01-01,limite=50");
+    }
+}
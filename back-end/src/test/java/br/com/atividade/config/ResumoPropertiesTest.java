@@ -0,0 +1,43 @@
+package br.com.atividade.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Testes do ResumoProperties")
+class ResumoPropertiesTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(ValidationAutoConfiguration.class))
+            .withUserConfiguration(Configuracao.class);
+
+    @Test
+    @DisplayName("Deve aceitar os valores padrão")
+    void deveAceitarValoresPadrao() {
+        contextRunner.run(context -> assertThat(context.getBean(ResumoProperties.class).getDiasPorTarefa()).isEqualTo(31));
+    }
+
+    @Test
+    @DisplayName("Deve recusar dias-por-tarefa menor que 1 na inicialização")
+    void deveRecusarDiasPorTarefaInvalido() {
+        contextRunner.withPropertyValues("atividade.resumo.dias-por-tarefa=0")
+                .run(context -> assertThat(context).hasFailed()
+                        .getFailure().rootCause().hasMessageContaining("diasPorTarefa"));
+    }
+
+    @Test
+    @DisplayName("Deve recusar paralelismo menor que 1 na inicialização")
+    void deveRecusarParalelismoInvalido() {
+        contextRunner.withPropertyValues("atividade.resumo.paralelismo=-1")
+                .run(context -> assertThat(context).hasFailed());
+    }
+
+    @EnableConfigurationProperties(ResumoProperties.class)
+    static class Configuracao {
+    }
+}
@@ -0,0 +1,127 @@
+package br.com.atividade.config;
+
+import br.com.atividade.sevice.AtividadeService;
+import br.com.atividade.sevice.dto.input.AtividadeInput;
+import br.com.atividade.sevice.ingestao.LogEscritaAntecipada;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.threads.virtual.enabled=true",
+        "spring.datasource.hikari.maximum-pool-size=4",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO",
+        "logging.level.br.com.atividade=INFO"
+})
+@ActiveProfiles("test")
+@DisplayName("Testes do modo com threads virtuais")
+class ThreadsVirtuaisTest {
+
+    private static final int CONCORRENCIA = 32;
+
+    @Autowired
+    private AtividadeService atividadeService;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor applicationTaskExecutor;
+
+    @TempDir
+    Path diretorioWal;
+
+    @Test
+    @DisplayName("Deve executar as tarefas assíncronas em threads virtuais")
+    void deveExecutarTarefasAssincronasEmThreadsVirtuais() throws Exception {
+        assertThat(applicationTaskExecutor.submit(() -> Thread.currentThread().isVirtual()).get()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Não deve prender a carrier ao disputar o pool do Hikari nem ao esperar o fsync do log de ingestão")
+    void naoDevePrenderCarrier() throws Exception {
+        List<String> fixacoes = new CopyOnWriteArrayList<>();
+        IngestaoProperties.Wal configuracao = new IngestaoProperties.Wal();
+        configuracao.setDiretorio(diretorioWal);
+        configuracao.setSincronizacao(IngestaoProperties.Sincronizacao.LOTE);
+
+        try (RecordingStream gravacao = new RecordingStream();
+             LogEscritaAntecipada wal = LogEscritaAntecipada.abrir(configuracao, CONCORRENCIA * 10)) {
+            gravacao.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            gravacao.onEvent("jdk.VirtualThreadPinned", evento -> {
+                if (!noDriverDeTeste(evento)) {
+                    fixacoes.add(pilha(evento));
+                }
+            });
+            gravacao.startAsync();
+
+            String funcional = "VT" + UUID.randomUUID().toString().substring(0, 8);
+            try (ExecutorService virtuais = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> tarefas = new CopyOnWriteArrayList<>();
+                for (int i = 0; i < CONCORRENCIA; i++) {
+                    int indice = i;
+                    tarefas.add(virtuais.submit(() -> {
+                        // Um funcional por tarefa: linhas de resumo distintas, sem espera por lock de linha dentro do H2
+                        AtividadeInput atividade = atividade(funcional + "-" + indice, indice);
+                        atividadeService.criarAtividade(atividade);
+                        atividadeService.listarAtividadesPaginadas(atividade.getFuncional(), null, null, null, null, null, 10);
+                        assertThat(wal.oferecer(atividade)).isTrue();
+                    }));
+                }
+                for (Future<?> tarefa : tarefas) {
+                    tarefa.get();
+                }
+            }
+            gravacao.stop();
+        }
+
+        assertThat(fixacoes).as("Threads virtuais presas à carrier:%n%s", String.join("\n\n", fixacoes)).isEmpty();
+    }
+
+    // O H2 dos testes sincroniza a sessão com synchronized; em produção o driver é o Connector/J 9, que não usa
+    private static boolean noDriverDeTeste(RecordedEvent evento) {
+        return evento.getStackTrace() != null && evento.getStackTrace().getFrames().stream()
+                .anyMatch(frame -> frame.getMethod().getType().getName().startsWith("org.h2."));
+    }
+
+    private static String pilha(RecordedEvent evento) {
+        if (evento.getStackTrace() == null) {
+            return "(sem pilha)";
+        }
+        return evento.getStackTrace().getFrames().stream()
+                .limit(20)
+                .map(RecordedFrame::getMethod)
+                .map(metodo -> metodo.getType().getName() + "." + metodo.getName())
+                .collect(Collectors.joining("\n  "));
+    }
+
+    private static AtividadeInput atividade(String funcional, int indice) {
+        AtividadeInput input = new AtividadeInput();
+        input.setFuncional(funcional);
+        input.setDataHora(LocalDateTime.of(2025, 6, 1, 7, 0).plusMinutes(indice));
+        input.setCodigoAtividade("RUN");
+        input.setDescricaoAtividade("Atividade em thread virtual " + indice);
+        return input;
+    }
+}
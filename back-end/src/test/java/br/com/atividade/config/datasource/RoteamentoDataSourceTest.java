@@ -0,0 +1,143 @@
+package br.com.atividade.config.datasource;
+
+import br.com.atividade.sevice.AtividadeService;
+import br.com.atividade.sevice.dto.input.AtividadeInput;
+import jakarta.servlet.http.Cookie;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Dois bancos H2 em memória fazem o papel de primário e réplica; a "replicação" é feita à mão
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + RoteamentoDataSourceTest.URL_PRIMARIO,
+        "atividade.datasource.replicas[0].jdbc-url=" + RoteamentoDataSourceTest.URL_REPLICA,
+        "atividade.datasource.replicas[0].username=sa",
+        "atividade.datasource.replicas[0].password=password",
+        "atividade.datasource.replicas[0].maximum-pool-size=2",
+        "atividade.datasource.leitura-no-primario-apos-escrita=5s",
+        "atividade.particionamento.habilitado=false"
+})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@DisplayName("Testes do roteamento de DataSource primário/réplica")
+class RoteamentoDataSourceTest {
+
+    static final String URL_PRIMARIO = "jdbc:h2:mem:primario;MODE=MySQL;DB_CLOSE_DELAY=-1";
+    static final String URL_REPLICA = "jdbc:h2:mem:replica;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    private static final JdbcTemplate PRIMARIO = new JdbcTemplate(new DriverManagerDataSource(URL_PRIMARIO, "sa", "password"));
+    private static final JdbcTemplate REPLICA = new JdbcTemplate(new DriverManagerDataSource(URL_REPLICA, "sa", "password"));
+
+    @Autowired
+    private AtividadeService atividadeService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeAll
+    static void migrarReplica() {
+        Flyway.configure().dataSource(URL_REPLICA, "sa", "password").locations("classpath:db/migration/h2").load().migrate();
+    }
+
+    @Test
+    @DisplayName("Deve escrever no primário e ler da réplica em transações readOnly")
+    void deveEscreverNoPrimarioELerDaReplica() {
+        String funcional = novoFuncional();
+        atividadeService.criarAtividade(novaAtividade(funcional));
+
+        assertThat(PRIMARIO.queryForObject("SELECT COUNT(*) FROM atividade WHERE funcional = ?", Long.class, funcional)).isEqualTo(1);
+        assertThat(atividadeService.listarAtividadesPaginadas(funcional, null, null, null, null, null, null).getAtividades()).isEmpty();
+
+        replicar(funcional);
+        assertThat(atividadeService.listarAtividadesPaginadas(funcional, null, null, null, null, null, null).getAtividades())
+                .singleElement()
+                .extracting("descricaoAtividade").isEqualTo("Replicada");
+    }
+
+    @Test
+    @DisplayName("Deve ler do primário logo após a escrita do mesmo cliente")
+    void deveLerDoPrimarioAposEscritaDoCliente() throws Exception {
+        String funcional = novoFuncional();
+        Cookie escrita = mockMvc.perform(post("/atividades")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"funcional": "%s", "dataHora": "2025-06-01T07:00:00", "codigoAtividade": "RUN", "descricaoAtividade": "Corrida"}
+                                """.formatted(funcional)))
+                .andExpect(status().isCreated())
+                .andExpect(cookie().exists(LeituraAposEscritaFilter.COOKIE_ESCRITA))
+                .andReturn().getResponse().getCookie(LeituraAposEscritaFilter.COOKIE_ESCRITA);
+
+        mockMvc.perform(get("/atividades?funcional=" + funcional).cookie(escrita))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].descricaoAtividade").value("Corrida"));
+
+        mockMvc.perform(get("/atividades?funcional=" + funcional))
+                .andExpect(status().isOk())
+                .andExpect(cookie().doesNotExist(LeituraAposEscritaFilter.COOKIE_ESCRITA))
+                .andExpect(jsonPath("$.length()").value(0));
+
+        Cookie expirado = new Cookie(LeituraAposEscritaFilter.COOKIE_ESCRITA, String.valueOf(System.currentTimeMillis() - 60_000));
+        mockMvc.perform(get("/atividades?funcional=" + funcional).cookie(expirado))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    @DisplayName("Deve ler do primário logo após a escrita quando o cliente reenvia X-Ultima-Escrita em vez do cookie")
+    void deveLerDoPrimarioAposEscritaPeloHeader() throws Exception {
+        String funcional = novoFuncional();
+        String ultimaEscrita = mockMvc.perform(post("/atividades")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"funcional": "%s", "dataHora": "2025-06-01T07:00:00", "codigoAtividade": "RUN", "descricaoAtividade": "Corrida"}
+                                """.formatted(funcional)))
+                .andExpect(status().isCreated())
+                .andExpect(header().exists(LeituraAposEscritaFilter.HEADER_ESCRITA))
+                .andReturn().getResponse().getHeader(LeituraAposEscritaFilter.HEADER_ESCRITA);
+
+        mockMvc.perform(get("/atividades?funcional=" + funcional).header(LeituraAposEscritaFilter.HEADER_ESCRITA, ultimaEscrita))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+
+        mockMvc.perform(get("/atividades?funcional=" + funcional)
+                        .header(LeituraAposEscritaFilter.HEADER_ESCRITA, String.valueOf(System.currentTimeMillis() - 60_000)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    private static void replicar(String funcional) {
+        REPLICA.update("INSERT INTO atividade (id_atividade, funcional, data_hora, codigo_atividade, descricao_atividade) VALUES (?, ?, ?, ?, ?)",
+                1_000_000L, funcional, LocalDateTime.of(2025, 6, 1, 7, 0), "RUN", "Replicada");
+    }
+
+    private static String novoFuncional() {
+        return "ROT" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    private static AtividadeInput novaAtividade(String funcional) {
+        AtividadeInput input = new AtividadeInput();
+        input.setFuncional(funcional);
+        input.setDataHora(LocalDateTime.of(2025, 6, 1, 7, 0));
+        input.setCodigoAtividade("RUN");
+        input.setDescricaoAtividade("Corrida");
+        return input;
+    }
+}
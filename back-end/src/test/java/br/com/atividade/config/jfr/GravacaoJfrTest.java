@@ -0,0 +1,164 @@
+package br.com.atividade.config.jfr;
+
+import br.com.atividade.sevice.AtividadeService;
+import br.com.atividade.sevice.dto.input.AtividadeInput;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "atividade.jfr.diretorio=target/jfr-teste",
+        "atividade.jfr.maximo-arquivos=2",
+        "management.endpoints.web.exposure.include=jfr"
+})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@DisplayName("Testes dos eventos JFR do AtividadeService e do endpoint /actuator/jfr")
+class GravacaoJfrTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AtividadeService atividadeService;
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    @DisplayName("Deve gravar operação, parâmetros informados, linhas e acerto no cache")
+    void deveGravarEventosDasOperacoes() throws Exception {
+        String funcional = "JFR" + UUID.randomUUID().toString().substring(0, 8);
+        Path arquivo = diretorio.resolve("operacoes.jfr");
+        Long id;
+        try (Recording gravacao = new Recording()) {
+            gravacao.enable(AtividadeOperacaoEvent.NOME).withThreshold(Duration.ZERO);
+            gravacao.start();
+            id = atividadeService.criarAtividade(novaAtividade(funcional, 7)).getIdAtividade();
+            atividadeService.criarAtividade(novaAtividade(funcional, 8));
+            atividadeService.listarAtividadesComFiltros(funcional, null, " ", LocalDate.of(2025, 1, 1), null);
+            atividadeService.buscarAtividadePorId(id);
+            gravacao.stop();
+            gravacao.dump(arquivo);
+        }
+
+        List<RecordedEvent> eventos = RecordingFile.readAllEvents(arquivo).stream()
+                .filter(evento -> evento.getEventType().getName().equals(AtividadeOperacaoEvent.NOME))
+                .toList();
+        assertThat(eventos).extracting(evento -> evento.getString("operacao"))
+                .containsExactly("criarAtividade", "criarAtividade", "listarAtividadesComFiltros", "buscarAtividadePorId");
+
+        RecordedEvent listagem = eventos.get(2);
+        assertThat(listagem.getString("parametros")).isEqualTo("funcional=" + funcional + ",dataInicio=2025-01-01");
+        assertThat(listagem.getInt("linhas")).isEqualTo(2);
+        assertThat(listagem.getDuration()).isPositive();
+
+        RecordedEvent busca = eventos.get(3);
+        assertThat(busca.getString("parametros")).isEqualTo("id=" + id);
+        assertThat(busca.getInt("linhas")).isEqualTo(1);
+        assertThat(busca.getBoolean("doCache")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve iniciar, despejar e parar uma gravação pelo /actuator/jfr")
+    void deveControlarGravacaoPeloEndpoint() throws Exception {
+        mockMvc.perform(acao("iniciar", "{\"perfil\": \"default\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ativa").value(true))
+                .andExpect(jsonPath("$.perfil").value("default"));
+        mockMvc.perform(acao("iniciar", "{}")).andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/atividades").param("funcional", "JFR-ENDPOINT")).andExpect(status().isOk());
+
+        String despejo = mockMvc.perform(acao("despejar", "{}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ativa").value(true))
+                .andReturn().getResponse().getContentAsString();
+        String parada = mockMvc.perform(acao("parar", "{}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ativa").value(false))
+                .andReturn().getResponse().getContentAsString();
+        mockMvc.perform(get("/actuator/jfr")).andExpect(jsonPath("$.ativa").value(false));
+        mockMvc.perform(acao("parar", "{}")).andExpect(status().isBadRequest());
+        mockMvc.perform(acao("reiniciar", "{}")).andExpect(status().isBadRequest());
+
+        for (String resposta : List.of(despejo, parada)) {
+            Path arquivo = arquivoDaResposta(resposta);
+            assertThat(arquivo).exists();
+            assertThat(RecordingFile.readAllEvents(arquivo))
+                    .anySatisfy(evento -> assertThat(evento.getEventType().getName()).isEqualTo(AtividadeOperacaoEvent.NOME))
+                    .anySatisfy(evento -> assertThat(evento.getEventType().getName()).startsWith("jdk."));
+            Files.delete(arquivo);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve manter só os arquivos mais recentes ao despejar várias vezes")
+    void deveRemoverDespejosAntigos() throws Exception {
+        mockMvc.perform(acao("iniciar", "{\"perfil\": \"default\"}")).andExpect(status().isOk());
+        List<Path> despejos = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            String resposta = mockMvc.perform(acao("despejar", "{}"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            despejos.add(arquivoDaResposta(resposta));
+            Thread.sleep(20);
+        }
+        Path parada = arquivoDaResposta(mockMvc.perform(acao("parar", "{}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+
+        try (Stream<Path> arquivos = Files.list(parada.getParent())) {
+            assertThat(arquivos.filter(arquivo -> arquivo.toString().endsWith(".jfr")))
+                    .containsExactlyInAnyOrder(despejos.get(2), parada);
+        } finally {
+            Files.deleteIfExists(despejos.get(2));
+            Files.deleteIfExists(parada);
+        }
+        assertThat(despejos.get(0)).doesNotExist();
+        assertThat(despejos.get(1)).doesNotExist();
+    }
+
+    private static Path arquivoDaResposta(String resposta) {
+        return Path.of(resposta.replaceAll(".*\"arquivo\":\"([^\"]+)\".*", "$1"));
+    }
+
+    private static MockHttpServletRequestBuilder acao(String acao, String corpo) {
+        return post("/actuator/jfr/" + acao).contentType(MediaType.APPLICATION_JSON).content(corpo);
+    }
+
+    private static AtividadeInput novaAtividade(String funcional, int hora) {
+        AtividadeInput input = new AtividadeInput();
+        input.setFuncional(funcional);
+        input.setDataHora(LocalDateTime.of(2025, 9, 1, hora, 0));
+        input.setCodigoAtividade("RUN");
+        input.setDescricaoAtividade("Corrida gravada");
+        return input;
+    }
+}
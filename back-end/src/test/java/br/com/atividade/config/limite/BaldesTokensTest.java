@@ -0,0 +1,141 @@
+package br.com.atividade.config.limite;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Testes do BaldesTokens")
+class BaldesTokensTest {
+
+    private static final long SEGUNDO = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("Deve aceitar a rajada, recusar a seguinte e informar a espera até o próximo token")
+    void deveAceitarRajadaERecusarExcesso() {
+        BaldesTokens baldes = new BaldesTokens(3, 2, 100);
+        long agora = 1_000 * SEGUNDO;
+
+        assertThat(baldes.consumir("EMP001", 1, agora)).isZero();
+        assertThat(baldes.consumir("EMP001", 1, agora)).isZero();
+        assertThat(baldes.consumir("EMP001", 1, agora)).isZero();
+        assertThat(baldes.consumir("EMP001", 1, agora)).isEqualTo(SEGUNDO / 2);
+        assertThat(baldes.consumir("EMP002", 1, agora)).isZero();
+
+        assertThat(baldes.consumir("EMP001", 1, agora + SEGUNDO / 2)).isZero();
+        assertThat(baldes.consumir("EMP001", 1, agora + SEGUNDO / 2)).isPositive();
+    }
+
+    @Test
+    @DisplayName("Deve repor os tokens com o tempo sem passar da capacidade")
+    void deveReporAteCapacidade() {
+        BaldesTokens baldes = new BaldesTokens(2, 10, 100);
+        long agora = 0;
+        baldes.consumir("EMP001", 2, agora);
+
+        long depois = agora + 60 * SEGUNDO;
+        assertThat(baldes.consumir("EMP001", 1, depois)).isZero();
+        assertThat(baldes.consumir("EMP001", 1, depois)).isZero();
+        assertThat(baldes.consumir("EMP001", 1, depois)).isPositive();
+    }
+
+    @Test
+    @DisplayName("Deve cobrar vários tokens de uma vez, limitado à capacidade")
+    void deveCobrarVariosTokens() {
+        BaldesTokens baldes = new BaldesTokens(5, 1, 100);
+        assertThat(baldes.consumir("EMP001", 4, 0)).isZero();
+        assertThat(baldes.consumir("EMP001", 2, 0)).isEqualTo(SEGUNDO);
+        assertThat(baldes.consumir("EMP002", 50, 0)).isZero();
+        assertThat(baldes.consumir("EMP002", 1, 0)).isEqualTo(SEGUNDO);
+    }
+
+    @Test
+    @DisplayName("Deve recusar chaves novas acima do máximo sem afetar as que já têm balde")
+    void deveRecusarChavesNovasAcimaDoMaximo() {
+        BaldesTokens baldes = new BaldesTokens(1, 1, 2);
+        assertThat(baldes.consumir("cliente-1", 1, 0)).isZero();
+        assertThat(baldes.consumir("cliente-2", 1, 0)).isZero();
+        assertThat(baldes.consumir("cliente-3", 1, 0)).isEqualTo(SEGUNDO);
+        assertThat(baldes.consumir("cliente-4", 1, SEGUNDO / 2)).isEqualTo(SEGUNDO);
+        assertThat(baldes.quantidadeChaves()).isEqualTo(2);
+
+        // Quando um balde volta a ficar cheio, ele sai do mapa e abre lugar para a chave nova
+        assertThat(baldes.consumir("cliente-2", 1, SEGUNDO + SEGUNDO / 2)).isZero();
+        assertThat(baldes.consumir("cliente-3", 1, 2 * SEGUNDO)).isZero();
+        assertThat(baldes.consumir("cliente-2", 1, 2 * SEGUNDO)).isPositive();
+        assertThat(baldes.quantidadeChaves()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve devolver tokens consumidos sem passar da capacidade")
+    void deveDevolverTokens() {
+        BaldesTokens baldes = new BaldesTokens(3, 1, 100);
+        assertThat(baldes.consumir("EMP001", 3, 0)).isZero();
+        baldes.devolver("EMP001", 2);
+        assertThat(baldes.consumir("EMP001", 2, 0)).isZero();
+        assertThat(baldes.consumir("EMP001", 1, 0)).isPositive();
+
+        baldes.devolver("EMP002", 5);
+        baldes.devolver("EMP001", 10);
+        assertThat(baldes.consumir("EMP001", 3, 0)).isZero();
+        assertThat(baldes.consumir("EMP001", 1, 0)).isPositive();
+    }
+
+    @Test
+    @DisplayName("Deve remover do mapa apenas os baldes que já voltaram a ficar cheios")
+    void deveRemoverBaldesCheios() {
+        BaldesTokens baldes = new BaldesTokens(10, 1, 100);
+        baldes.consumir("ocioso", 1, 0);
+        baldes.consumir("ativo", 5, 4 * SEGUNDO);
+
+        baldes.removerCheios(2 * SEGUNDO);
+
+        assertThat(baldes.quantidadeChaves()).isEqualTo(1);
+        assertThat(baldes.consumir("ativo", 6, 4 * SEGUNDO)).isPositive();
+    }
+
+    @Test
+    @DisplayName("Deve aceitar exatamente a capacidade com várias threads disputando a mesma chave")
+    void deveManterCapacidadeSobConcorrencia() throws Exception {
+        BaldesTokens baldes = new BaldesTokens(1_000, 0.001, 100);
+        long agora = System.nanoTime();
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Integer>> threads = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                threads.add(executor.submit(() -> {
+                    largada.await();
+                    int aceitas = 0;
+                    for (int i = 0; i < 500; i++) {
+                        if (baldes.consumir("cliente", 1, agora) == 0) {
+                            aceitas++;
+                        }
+                    }
+                    return aceitas;
+                }));
+            }
+            largada.countDown();
+            int total = 0;
+            for (Future<Integer> thread : threads) {
+                total += thread.get();
+            }
+            assertThat(total).isEqualTo(1_000);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar balde sem capacidade ou sem reposição")
+    void deveRejeitarConfiguracaoInvalida() {
+        assertThatThrownBy(() -> new BaldesTokens(0, 1, 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BaldesTokens(1, 0, 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
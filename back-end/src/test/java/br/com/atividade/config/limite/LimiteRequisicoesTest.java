@@ -0,0 +1,138 @@
+package br.com.atividade.config.limite;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "atividade.limite-requisicoes.habilitado=true",
+        "atividade.limite-requisicoes.rotas[0].metodo=POST",
+        "atividade.limite-requisicoes.rotas[0].rota=/atividades",
+        "atividade.limite-requisicoes.rotas[0].por-funcional.capacidade=2",
+        "atividade.limite-requisicoes.rotas[0].por-funcional.por-segundo=0.01",
+        "atividade.limite-requisicoes.rotas[1].metodo=GET",
+        "atividade.limite-requisicoes.rotas[1].rota=/atividades",
+        "atividade.limite-requisicoes.rotas[1].por-cliente.capacidade=3",
+        "atividade.limite-requisicoes.rotas[1].por-cliente.por-segundo=0.01",
+        "atividade.limite-requisicoes.rotas[2].metodo=POST",
+        "atividade.limite-requisicoes.rotas[2].rota=/atividades/lote",
+        "atividade.limite-requisicoes.rotas[2].por-funcional.capacidade=3",
+        "atividade.limite-requisicoes.rotas[2].por-funcional.por-segundo=0.01",
+        "atividade.limite-requisicoes.proxies-confiaveis=10.0.0.1,10.0.0.2"
+})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@DisplayName("Testes do limite de requisições por cliente e por funcional")
+class LimiteRequisicoesTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Deve responder 429 com Retry-After quando o funcional esgota o balde, sem afetar outro funcional")
+    void deveLimitarPorFuncional() throws Exception {
+        String funcional = "LIM" + UUID.randomUUID().toString().substring(0, 8);
+        String outro = "LIM" + UUID.randomUUID().toString().substring(0, 8);
+
+        criar(funcional).andExpect(status().isCreated());
+        criar(funcional).andExpect(status().isCreated());
+        criar(funcional)
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "100"));
+        criar(outro).andExpect(status().isCreated());
+
+        assertThat(meterRegistry.get(LimitadorRequisicoes.METRICA)
+                .tags("uri", "/atividades", "method", "POST", "chave", "funcional", "resultado", "recusada")
+                .counter().count()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve recusar o lote inteiro sem cobrar os funcionais que estavam dentro do limite")
+    void deveDevolverTokensDoLoteRecusado() throws Exception {
+        String dentro = "LIM" + UUID.randomUUID().toString().substring(0, 8);
+        String acima = "LIM" + UUID.randomUUID().toString().substring(0, 8);
+
+        criarLote(acima, acima).andExpect(status().isCreated());
+        criarLote(dentro, dentro, acima, acima).andExpect(status().isTooManyRequests());
+        criarLote(dentro, dentro, dentro).andExpect(status().isCreated());
+        criarLote(dentro).andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    @DisplayName("Deve limitar cada cliente pelo IP, sem afetar outro IP nem aceitar identificação enviada pelo cliente")
+    void deveLimitarPorCliente() throws Exception {
+        String ip = "192.0.2.10";
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/atividades").with(origem(ip)).header("X-Cliente-Id", "integracao-" + i))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/atividades").with(origem(ip)).header("X-Forwarded-For", "198.51.100.7"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+        mockMvc.perform(get("/atividades").with(origem("2001:db8::10")))
+                .andExpect(status().isOk());
+
+        // Rotas sem regra não são limitadas
+        mockMvc.perform(get("/atividades/estatisticas/por-codigo").with(origem(ip))
+                        .param("dataInicio", "2025-01-01").param("dataFim", "2025-12-31"))
+                .andExpect(status().isOk());
+        assertThat(meterRegistry.get(LimitadorRequisicoes.METRICA_CHAVES)
+                .tags("uri", "/atividades", "method", "GET", "chave", "cliente")
+                .gauge().value()).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve usar o último endereço do X-Forwarded-For que não é um proxy confiável")
+    void deveIdentificarClienteAtrasDeProxyConfiavel() throws Exception {
+        String cliente = "203.0.113.10";
+        for (int i = 0; i < 3; i++) {
+            // O primeiro endereço foi escrito pelo cliente e muda a cada requisição; não deve virar outra chave
+            mockMvc.perform(get("/atividades").with(origem("10.0.0.1"))
+                            .header("X-Forwarded-For", "198.51.100." + i + ", " + cliente + ", 10.0.0.2"))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/atividades").with(origem("10.0.0.2")).header("X-Forwarded-For", cliente))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    private static RequestPostProcessor origem(String ip) {
+        return request -> {
+            request.setRemoteAddr(ip);
+            return request;
+        };
+    }
+
+    private org.springframework.test.web.servlet.ResultActions criarLote(String... funcionais) throws Exception {
+        String itens = Arrays.stream(funcionais).map("""
+                {"funcional": "%s", "dataHora": "2025-06-01T07:00:00", "codigoAtividade": "RUN", "descricaoAtividade": "Corrida"}"""::formatted)
+                .collect(Collectors.joining(",", "[", "]"));
+        return mockMvc.perform(post("/atividades/lote").contentType(MediaType.APPLICATION_JSON).content(itens));
+    }
+
+    private org.springframework.test.web.servlet.ResultActions criar(String funcional) throws Exception {
+        return mockMvc.perform(post("/atividades").contentType(MediaType.APPLICATION_JSON).content("""
+                {"funcional": "%s", "dataHora": "2025-06-01T07:00:00", "codigoAtividade": "RUN", "descricaoAtividade": "Corrida"}
+                """.formatted(funcional)));
+    }
+}
@@ -0,0 +1,104 @@
+package br.com.atividade.config.log;
+
+import br.com.atividade.config.LogProperties;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import jakarta.servlet.http.HttpServlet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Testes do CorrelacaoRequisicaoFilter e da amostragem de logs")
+class CorrelacaoRequisicaoFilterTest {
+
+    private final LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+    private final AmostragemLogTurboFilter turboFilter = new AmostragemLogTurboFilter();
+    private final Logger logger = loggerContext.getLogger("br.com.atividade.teste.amostragem");
+    private final LogProperties properties = new LogProperties();
+
+    @BeforeEach
+    void setUp() {
+        turboFilter.start();
+        loggerContext.addTurboFilter(turboFilter);
+        logger.setLevel(Level.DEBUG);
+    }
+
+    @AfterEach
+    void tearDown() {
+        loggerContext.getTurboFilterList().remove(turboFilter);
+        logger.setLevel(null);
+    }
+
+    @Test
+    @DisplayName("Deve reaproveitar o X-Request-Id recebido no MDC e na resposta, limpando o MDC ao final")
+    void deveReaproveitarRequestIdRecebido() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/atividades");
+        request.addHeader("X-Request-Id", "proxy-123");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        List<String> noMdc = new ArrayList<>();
+
+        new CorrelacaoRequisicaoFilter(properties).doFilter(request, response,
+                new MockFilterChain(new HttpServlet() { }, (req, res, chain) -> noMdc.add(MDC.get("requestId"))));
+
+        assertThat(noMdc).containsExactly("proxy-123");
+        assertThat(response.getHeader("X-Request-Id")).isEqualTo("proxy-123");
+        assertThat(MDC.get("requestId")).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve gerar um requestId quando o cabeçalho falta ou tem formato inválido")
+    void deveGerarRequestIdQuandoInvalido() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/atividades");
+        request.addHeader("X-Request-Id", "abc\ninjetado");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new CorrelacaoRequisicaoFilter(properties).doFilter(request, response, new MockFilterChain());
+
+        assertThat(response.getHeader("X-Request-Id")).isNotBlank().doesNotContain("\n").hasSize(36);
+    }
+
+    @Test
+    @DisplayName("Deve suprimir DEBUG/INFO fora da amostra e manter WARN/ERROR")
+    void deveSuprimirLogsForaDaAmostra() throws Exception {
+        properties.setAmostragem(0.0);
+        List<Boolean> niveis = new ArrayList<>();
+
+        new CorrelacaoRequisicaoFilter(properties).doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(),
+                new MockFilterChain(new HttpServlet() { }, (req, res, chain) -> {
+                    niveis.add(logger.isDebugEnabled());
+                    niveis.add(logger.isInfoEnabled());
+                    niveis.add(logger.isWarnEnabled());
+                    niveis.add(logger.isErrorEnabled());
+                }));
+
+        assertThat(niveis).containsExactly(false, false, true, true);
+        assertThat(logger.isInfoEnabled()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve registrar todos os níveis quando a requisição está na amostra")
+    void deveRegistrarTudoNaAmostra() throws Exception {
+        properties.setAmostragem(1.0);
+        List<Boolean> niveis = new ArrayList<>();
+
+        new CorrelacaoRequisicaoFilter(properties).doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(),
+                new MockFilterChain(new HttpServlet() { }, (req, res, chain) -> {
+                    niveis.add(logger.isDebugEnabled());
+                    niveis.add(logger.isInfoEnabled());
+                }));
+
+        assertThat(niveis).containsExactly(true, true);
+    }
+}
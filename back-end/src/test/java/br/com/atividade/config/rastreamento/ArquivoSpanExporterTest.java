@@ -0,0 +1,45 @@
+package br.com.atividade.config.rastreamento;
+
+import br.com.atividade.config.RastreamentoProperties;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Testes do ArquivoSpanExporter")
+class ArquivoSpanExporterTest {
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    @DisplayName("Deve gravar cada lote de spans como uma linha OTLP JSON no arquivo configurado")
+    void deveGravarSpansEmArquivo() throws Exception {
+        RastreamentoProperties.Arquivo properties = new RastreamentoProperties.Arquivo();
+        properties.setCaminho(diretorio.resolve("rastreamento").resolve("spans.jsonl"));
+        properties.setQuantidade(1);
+
+        SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(new ArquivoSpanExporter(properties)))
+                .build();
+        Span span = tracerProvider.get("teste").spanBuilder("atividade-controller#listar-atividades")
+                .setAttribute(RastreamentoConfig.ATRIBUTO_FILTROS, "funcional,limite")
+                .startSpan();
+        span.end();
+        tracerProvider.shutdown().join(10, TimeUnit.SECONDS);
+
+        List<String> linhas = Files.readAllLines(properties.getCaminho());
+        assertThat(linhas).singleElement().satisfies(linha -> assertThat(linha)
+                .startsWith("{\"resource\":")
+                .contains(span.getSpanContext().getTraceId(), "atividade-controller#listar-atividades", "funcional,limite"));
+    }
+}
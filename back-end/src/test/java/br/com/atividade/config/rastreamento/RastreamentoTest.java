@@ -0,0 +1,158 @@
+package br.com.atividade.config.rastreamento;
+
+import br.com.atividade.sevice.AtividadeService;
+import br.com.atividade.sevice.dto.input.AtividadeInput;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"management.tracing.enabled=true", "management.tracing.sampling.probability=1.0"})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(metrics = false)
+@Import(RastreamentoTest.SpansEmMemoria.class)
+@DisplayName("Testes dos spans da listagem, do controller ao JDBC e à escrita do JSON")
+class RastreamentoTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AtividadeService atividadeService;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Autowired
+    private SpansEmMemoria spans;
+
+    @Test
+    @DisplayName("Deve registrar spans de cada camada com filtros informados e quantidade de linhas")
+    void deveRegistrarSpansDeCadaCamada() throws Exception {
+        String funcional = "TRACE" + UUID.randomUUID().toString().substring(0, 8);
+        atividadeService.criarAtividade(novaAtividade(funcional, 7));
+        atividadeService.criarAtividade(novaAtividade(funcional, 8));
+        tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+        spans.exportados.clear();
+
+        mockMvc.perform(get("/atividades").param("funcional", funcional).param("limite", "10"))
+                .andExpect(status().isOk());
+        tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+
+        SpanData rota = span("http get /atividades");
+        List<SpanData> requisicao = spans.exportados.stream()
+                .filter(span -> span.getTraceId().equals(rota.getTraceId()))
+                .toList();
+
+        assertThat(atributo(requisicao, "atividade-controller#listar-atividades", RastreamentoConfig.ATRIBUTO_FILTROS))
+                .isEqualTo("funcional,limite");
+        assertThat(atributo(requisicao, "atividade-service-impl#listar-atividades-paginadas", RastreamentoConfig.ATRIBUTO_FILTROS))
+                .isEqualTo("funcional,limite");
+        assertThat(atributo(requisicao, "atividade-repository#listar-outputs-paginados", CamadasObservadasAspect.ATRIBUTO_LINHAS))
+                .isEqualTo("2");
+        assertThat(atributo(requisicao, "atividade-resposta#escrever-json", "atividade.itens")).isEqualTo("2");
+        assertThat(requisicao).extracting(SpanData::getName)
+                .contains("atividade-repository#montar-consulta", "query", "result-set");
+        assertThat(requisicao).filteredOn(span -> span.getName().equals("query"))
+                .anySatisfy(span -> assertThat(span.getAttributes().get(AttributeKey.stringKey("jdbc.query[0]")))
+                        .containsIgnoringCase("from atividade"));
+    }
+
+    @Test
+    @DisplayName("Deve registrar o span do mapper e não montar Criteria na busca por ID")
+    void deveRegistrarSpanDoMapperNaBuscaPorId() throws Exception {
+        Long id = atividadeService.criarAtividade(novaAtividade("TRACE" + UUID.randomUUID().toString().substring(0, 8), 9)).getIdAtividade();
+        tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+        spans.exportados.clear();
+
+        mockMvc.perform(get("/atividades/{id}", id)).andExpect(status().isOk());
+        tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+
+        SpanData rota = span("http get /atividades/{id}");
+        List<SpanData> requisicao = spans.exportados.stream()
+                .filter(span -> span.getTraceId().equals(rota.getTraceId()))
+                .toList();
+        assertThat(atributo(requisicao, "atividade-service-impl#buscar-atividade-por-id", RastreamentoConfig.ATRIBUTO_FILTROS))
+                .isEqualTo("id");
+        assertThat(requisicao).extracting(SpanData::getName)
+                .contains("atividade-mapper#to-output")
+                .doesNotContain("atividade-repository#montar-consulta");
+    }
+
+    private SpanData span(String nome) {
+        return spans.exportados.stream()
+                .filter(span -> span.getName().equals(nome))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("Span " + nome + " não encontrado em "
+                        + spans.exportados.stream().map(SpanData::getName).toList()));
+    }
+
+    private static String atributo(List<SpanData> spans, String nome, String chave) {
+        return spans.stream()
+                .filter(span -> span.getName().equals(nome))
+                .map(span -> span.getAttributes().get(AttributeKey.stringKey(chave)))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("Span " + nome + " não encontrado em "
+                        + spans.stream().map(SpanData::getName).toList()));
+    }
+
+    private static AtividadeInput novaAtividade(String funcional, int hora) {
+        AtividadeInput input = new AtividadeInput();
+        input.setFuncional(funcional);
+        input.setDataHora(LocalDateTime.of(2025, 8, 1, hora, 0));
+        input.setCodigoAtividade("RUN");
+        input.setDescricaoAtividade("Corrida rastreada");
+        return input;
+    }
+
+    @TestConfiguration
+    static class SpansEmMemoria {
+
+        private final List<SpanData> exportados = new CopyOnWriteArrayList<>();
+
+        @Bean
+        SpanExporter spansEmMemoriaExporter() {
+            return new SpanExporter() {
+                @Override
+                public CompletableResultCode export(Collection<SpanData> lote) {
+                    exportados.addAll(lote);
+                    return CompletableResultCode.ofSuccess();
+                }
+
+                @Override
+                public CompletableResultCode flush() {
+                    return CompletableResultCode.ofSuccess();
+                }
+
+                @Override
+                public CompletableResultCode shutdown() {
+                    return CompletableResultCode.ofSuccess();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package br.com.atividade.controller;
+
+import br.com.atividade.config.codificacao.ListaAtividadesColunarConverter;
+import br.com.atividade.config.codificacao.ListaAtividadesProtobufConverter;
+import br.com.atividade.sevice.AtividadeService;
+import br.com.atividade.sevice.dto.input.AtividadeInput;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnknownFieldSet;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@DisplayName("Testes de negociação de formato da listagem do AtividadeController")
+class AtividadeControllerCodificacaoTest {
+
+    private static final LocalDateTime DATA_HORA = LocalDateTime.of(2025, 8, 1, 6, 30);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AtividadeService atividadeService;
+
+    private String funcional;
+
+    @BeforeEach
+    void setUp() {
+        funcional = "COD" + UUID.randomUUID().toString().substring(0, 8);
+        for (String codigo : List.of("RUN", "GYM", "RUN")) {
+            AtividadeInput input = new AtividadeInput();
+            input.setFuncional(funcional);
+            input.setDataHora(DATA_HORA);
+            input.setCodigoAtividade(codigo);
+            input.setDescricaoAtividade("Treino " + codigo);
+            atividadeService.criarAtividade(input);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve manter JSON quando o Accept é */*")
+    void deveManterJsonPorPadrao() throws Exception {
+        mockMvc.perform(get("/atividades").param("funcional", funcional).accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().stringValues(HttpHeaders.VARY, Matchers.hasItem(HttpHeaders.ACCEPT)))
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].dataHora").value("2025-08-01T06:30:00"));
+    }
+
+    @Test
+    @DisplayName("Deve responder em CBOR e Smile com o mesmo conteúdo do JSON")
+    void deveResponderEmCborESmile() throws Exception {
+        byte[] cbor = mockMvc.perform(get("/atividades").param("funcional", funcional).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        JsonNode atividadesCbor = new CBORMapper().readTree(cbor);
+        assertThat(atividadesCbor).hasSize(3);
+        assertThat(atividadesCbor.get(0).get("dataHora").asText()).isEqualTo("2025-08-01T06:30:00");
+
+        MediaType smile = MediaType.parseMediaType("application/x-jackson-smile");
+        byte[] corpoSmile = mockMvc.perform(get("/atividades").param("funcional", funcional).accept(smile))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(smile))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertThat(new SmileMapper().readTree(corpoSmile).findValuesAsText("funcional")).containsOnly(funcional);
+    }
+
+    @Test
+    @DisplayName("Deve responder em Protobuf conforme proto/atividade.proto")
+    void deveResponderEmProtobuf() throws Exception {
+        byte[] corpo = mockMvc.perform(get("/atividades").param("funcional", funcional).accept(ListaAtividadesProtobufConverter.PROTOBUF))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(ListaAtividadesProtobufConverter.PROTOBUF))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<ByteString> atividades = UnknownFieldSet.parseFrom(corpo).getField(1).getLengthDelimitedList();
+        assertThat(atividades).hasSize(3);
+        UnknownFieldSet primeira = UnknownFieldSet.parseFrom(atividades.get(0));
+        assertThat(primeira.getField(1).getVarintList().get(0)).isPositive();
+        assertThat(primeira.getField(2).getLengthDelimitedList().get(0).toStringUtf8()).isEqualTo(funcional);
+        assertThat(primeira.getField(3).getVarintList().get(0)).isEqualTo(DATA_HORA.toInstant(ZoneOffset.UTC).toEpochMilli());
+        assertThat(primeira.getField(4).getLengthDelimitedList().get(0).toStringUtf8()).isEqualTo("RUN");
+        assertThat(primeira.hasField(6)).as("versao 0 é omitida, como no proto3").isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve responder em JSON colunar com dicionário para funcional e código")
+    void deveResponderEmJsonColunar() throws Exception {
+        byte[] corpo = mockMvc.perform(get("/atividades").param("funcional", funcional).accept(ListaAtividadesColunarConverter.COLUNAR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(ListaAtividadesColunarConverter.COLUNAR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode colunas = new ObjectMapper().readTree(corpo);
+        assertThat(colunas.get("quantidade").asInt()).isEqualTo(3);
+        assertThat(colunas.get("idAtividade")).hasSize(3);
+        assertThat(colunas.at("/funcional/dicionario")).hasSize(1);
+        assertThat(colunas.at("/funcional/indices").toString()).isEqualTo("[0,0,0]");
+        assertThat(colunas.at("/codigoAtividade/dicionario").toString()).isEqualTo("[\"RUN\",\"GYM\"]");
+        assertThat(colunas.at("/codigoAtividade/indices").toString()).isEqualTo("[0,1,0]");
+        assertThat(colunas.at("/dataHora/0").asLong()).isEqualTo(DATA_HORA.toInstant(ZoneOffset.UTC).toEpochMilli());
+    }
+}
@@ -0,0 +1,146 @@
+package br.com.atividade.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@DisplayName("Testes de GET condicional e If-Match do AtividadeController")
+class AtividadeControllerCondicionalTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Deve rejeitar com 412 a segunda edição feita sobre a mesma versão")
+    void deveRejeitarEdicaoConcorrente() throws Exception {
+        String funcional = "ETAG" + UUID.randomUUID().toString().substring(0, 8);
+        MvcResult criacao = mockMvc.perform(post("/atividades")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(atividade(funcional, "Corrida")))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andReturn();
+        String id = criacao.getResponse().getContentAsString().replaceAll(".*\"idAtividade\":(\\d+).*", "$1");
+
+        mockMvc.perform(get("/atividades/" + id).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(put("/atividades/" + id)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(atividade(funcional, "Corrida longa")))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.versao").value(1));
+
+        mockMvc.perform(put("/atividades/" + id)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(atividade(funcional, "Caminhada")))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(get("/atividades/" + id).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.descricaoAtividade").value("Corrida longa"));
+    }
+
+    @Test
+    @DisplayName("Deve responder 304 na listagem por funcional pela marca de alteração até uma escrita mudá-la")
+    void deveResponder304NaListagemAteMarcaMudar() throws Exception {
+        String funcional = "ETAG" + UUID.randomUUID().toString().substring(0, 8);
+        mockMvc.perform(post("/atividades").contentType(MediaType.APPLICATION_JSON).content(atividade(funcional, "Corrida")))
+                .andExpect(status().isCreated());
+
+        String etag = mockMvc.perform(get("/atividades?funcional=" + funcional))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"m1-application/json\""))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/atividades?funcional=" + funcional).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(header().stringValues(HttpHeaders.VARY, org.hamcrest.Matchers.hasItem(HttpHeaders.ACCEPT)))
+                .andExpect(content().string(""));
+        // O ETag de outro formato não valida a representação pedida
+        mockMvc.perform(get("/atividades?funcional=" + funcional).accept(MediaType.APPLICATION_CBOR).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"m1-application/cbor\""));
+
+        mockMvc.perform(post("/atividades").contentType(MediaType.APPLICATION_JSON).content(atividade(funcional, "Caminhada")))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/atividades?funcional=" + funcional).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"m2-application/json\""))
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    @DisplayName("Deve exigir que escritas fora da aplicação incrementem a marca de alteração")
+    void deveValidarListagemPelaMarcaMesmoComSqlDireto() throws Exception {
+        String funcional = "ETAG" + UUID.randomUUID().toString().substring(0, 8);
+        mockMvc.perform(post("/atividades").contentType(MediaType.APPLICATION_JSON).content(atividade(funcional, "Corrida")))
+                .andExpect(status().isCreated());
+        String etag = mockMvc.perform(get("/atividades?funcional=" + funcional))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Como outro sistema faria, direto no banco: sem a marca o 304 continua valendo a página antiga
+        jdbcTemplate.update("UPDATE atividade SET descricao_atividade = 'Corrida longa' WHERE funcional = ?", funcional);
+        mockMvc.perform(get("/atividades?funcional=" + funcional).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        jdbcTemplate.update("UPDATE atividade_marca_alteracao SET versao = versao + 1 WHERE funcional = ?", funcional);
+        mockMvc.perform(get("/atividades?funcional=" + funcional).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].descricaoAtividade").value("Corrida longa"));
+    }
+
+    @Test
+    @DisplayName("Deve usar o ETag da página na listagem sem funcional ou sem marca de alteração")
+    void deveUsarEtagDaPaginaSemMarca() throws Exception {
+        String funcional = "ETAG" + UUID.randomUUID().toString().substring(0, 8);
+        // Atividade gravada antes da marca existir, como os dados anteriores à V8; ID longe da sequência
+        jdbcTemplate.update("INSERT INTO atividade (id_atividade, funcional, data_hora, codigo_atividade, descricao_atividade, versao) "
+                + "VALUES (?, ?, '2025-06-01 07:00:00', 'RUN', 'Corrida', 0)", 1_000_000_000L + Math.abs(funcional.hashCode()), funcional);
+
+        String etag = mockMvc.perform(get("/atividades?funcional=" + funcional))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, org.hamcrest.Matchers.not(org.hamcrest.Matchers.startsWith("\"m"))))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/atividades?funcional=" + funcional).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        jdbcTemplate.update("UPDATE atividade SET descricao_atividade = 'Corrida longa' WHERE funcional = ?", funcional);
+        mockMvc.perform(get("/atividades?funcional=" + funcional).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].descricaoAtividade").value("Corrida longa"));
+    }
+
+    private static String atividade(String funcional, String descricao) {
+        return """
+                {"funcional": "%s", "dataHora": "2025-06-01T07:00:00", "codigoAtividade": "RUN", "descricaoAtividade": "%s"}
+                """.formatted(funcional, descricao);
+    }
+}
@@ -0,0 +1,98 @@
+package br.com.atividade.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static br.com.atividade.support.OrcamentoConsultas.noMaximo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@DisplayName("Testes do orçamento de comandos SQL por rota do AtividadeController")
+class AtividadeControllerConsultasTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Deve criar, buscar, atualizar e excluir dentro do orçamento de comandos")
+    void deveManterCrudDentroDoOrcamento() throws Exception {
+        String funcional = "ORC" + UUID.randomUUID().toString().substring(0, 8);
+        String corpo = mockMvc.perform(post("/atividades").contentType(MediaType.APPLICATION_JSON).content(atividade(funcional, "Corrida")))
+                .andExpect(status().isCreated())
+                .andExpect(noMaximo(3))
+                .andExpect(header().exists("Server-Timing"))
+                .andReturn().getResponse().getContentAsString();
+        String id = corpo.replaceAll(".*\"idAtividade\":(\\d+).*", "$1");
+
+        mockMvc.perform(get("/atividades/" + id)).andExpect(status().isOk()).andExpect(noMaximo(1));
+        // A escrita lê a entidade do banco, não do cache de segundo nível, para conferir a versão atual: SELECT,
+        // UPDATE e a marca de alteração, já que o dia e o código não mudam
+        mockMvc.perform(put("/atividades/" + id).contentType(MediaType.APPLICATION_JSON).content(atividade(funcional, "Corrida longa")))
+                .andExpect(status().isOk())
+                .andExpect(noMaximo(3));
+        mockMvc.perform(delete("/atividades/" + id)).andExpect(status().isNoContent()).andExpect(noMaximo(4));
+        mockMvc.perform(get("/atividades/" + id)).andExpect(status().isNotFound()).andExpect(noMaximo(1));
+    }
+
+    @Test
+    @DisplayName("Deve listar com filtros e paginar sem consultas por linha")
+    void deveListarDentroDoOrcamento() throws Exception {
+        String funcional = "ORC" + UUID.randomUUID().toString().substring(0, 8);
+        // Com o batch do JDBC, o lote não cresce com a quantidade de atividades
+        mockMvc.perform(post("/atividades/lote").contentType(MediaType.APPLICATION_JSON).content(lote(funcional, 20)))
+                .andExpect(status().isCreated())
+                .andExpect(noMaximo(5));
+
+        // A marca de alteração do funcional e a página
+        String etag = mockMvc.perform(get("/atividades").param("funcional", funcional).param("limite", "5"))
+                .andExpect(status().isOk())
+                .andExpect(noMaximo(2))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        // O 304 sai só da marca, sem a consulta da página
+        mockMvc.perform(get("/atividades").param("funcional", funcional).param("limite", "5").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(noMaximo(1));
+        mockMvc.perform(get("/atividades").param("funcional", funcional).param("codigoAtividade", "RUN")
+                        .param("descricaoAtividade", "Corrida").param("dataInicio", "2025-01-01").param("dataFim", "2025-12-31"))
+                .andExpect(status().isOk())
+                .andExpect(noMaximo(2));
+        mockMvc.perform(get("/atividades/estatisticas/por-periodo").param("funcional", funcional)
+                        .param("dataInicio", "2025-01-01").param("dataFim", "2025-12-31"))
+                .andExpect(status().isOk())
+                .andExpect(noMaximo(1));
+        mockMvc.perform(get("/atividades/estatisticas/por-codigo").param("funcional", funcional)
+                        .param("dataInicio", "2025-01-01").param("dataFim", "2025-12-31"))
+                .andExpect(status().isOk())
+                .andExpect(noMaximo(1));
+    }
+
+    private static String atividade(String funcional, String descricao) {
+        return """
+                {"funcional": "%s", "dataHora": "2025-06-01T07:00:00", "codigoAtividade": "RUN", "descricaoAtividade": "%s"}
+                """.formatted(funcional, descricao);
+    }
+
+    private static String lote(String funcional, int quantidade) {
+        return IntStream.range(0, quantidade)
+                .mapToObj(i -> atividade(funcional, "Corrida " + i).strip())
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+}
@@ -3,6 +3,9 @@ package br.com.atividade.controller;
 import br.com.atividade.sevice.AtividadeService;
 import br.com.atividade.sevice.dto.input.AtividadeInput;
 import br.com.atividade.sevice.dto.output.AtividadeOutput;
+import br.com.atividade.sevice.dto.output.PaginaAtividadeOutput;
+import br.com.atividade.sevice.dto.output.ResultadoLoteOutput;
+import br.com.atividade.sevice.ingestao.IngestaoAssincronaAtividades;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -10,8 +13,11 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -19,6 +25,9 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -35,6 +44,9 @@ class AtividadeControllerTest {
     @MockBean
     private AtividadeService atividadeService;
 
+    @MockBean
+    private IngestaoAssincronaAtividades ingestaoAssincrona;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -113,27 +125,72 @@ class AtividadeControllerTest {
                 .andExpect(status().isInternalServerError());
     }
 
+    @Test
+    @DisplayName("Deve criar lote e retornar 201 quando todos os itens forem criados")
+    void deveCriarLoteERetornar201() throws Exception {
+        when(atividadeService.criarAtividadesEmLote(anyList()))
+                .thenReturn(List.of(new ResultadoLoteOutput(0, ResultadoLoteOutput.Status.CRIADA, 1L, List.of())));
+
+        mockMvc.perform(post("/atividades/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(atividadeInputValida))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$[0].indice").value(0))
+                .andExpect(jsonPath("$[0].status").value("CRIADA"))
+                .andExpect(jsonPath("$[0].idAtividade").value(1L));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 207 Multi-Status quando parte do lote for rejeitada")
+    void deveRetornar207QuandoParteDoLoteForRejeitada() throws Exception {
+        when(atividadeService.criarAtividadesEmLote(anyList()))
+                .thenReturn(List.of(
+                        new ResultadoLoteOutput(0, ResultadoLoteOutput.Status.CRIADA, 1L, List.of()),
+                        new ResultadoLoteOutput(1, ResultadoLoteOutput.Status.REJEITADA, null, List.of("Funcional não pode estar vazio"))));
+
+        mockMvc.perform(post("/atividades/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(atividadeInputValida, new AtividadeInput()))))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$[1].status").value("REJEITADA"))
+                .andExpect(jsonPath("$[1].erros[0]").value("Funcional não pode estar vazio"));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 quando o lote for inválido")
+    void deveRetornar400QuandoLoteInvalido() throws Exception {
+        when(atividadeService.criarAtividadesEmLote(anyList()))
+                .thenThrow(new IllegalArgumentException("Lote deve conter ao menos uma atividade"));
+
+        mockMvc.perform(post("/atividades/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("Deve listar atividades sem filtros e retornar 200 OK")
     void deveListarAtividadesSemFiltros() throws Exception {
         List<AtividadeOutput> atividades = Arrays.asList(atividadeOutput);
-        when(atividadeService.listarAtividadesComFiltros(null, null, null, null, null))
-                .thenReturn(atividades);
+        when(atividadeService.listarAtividadesPaginadas(null, null, null, null, null, null, null))
+                .thenReturn(new PaginaAtividadeOutput(atividades, null));
 
         mockMvc.perform(get("/atividades"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$[0].idAtividade").value(1L))
-                .andExpect(jsonPath("$[0].funcional").value("EMP001"));
+                .andExpect(jsonPath("$[0].funcional").value("EMP001"))
+                .andExpect(header().doesNotExist("Link"))
+                .andExpect(header().doesNotExist(AtividadeController.HEADER_PROXIMO_CURSOR));
     }
 
     @Test
     @DisplayName("Deve listar atividades com filtros aplicados")
     void deveListarAtividadesComFiltros() throws Exception {
         List<AtividadeOutput> atividades = Arrays.asList(atividadeOutput);
-        when(atividadeService.listarAtividadesComFiltros(eq("EMP001"), eq("RUN"), eq("corrida"), 
-                any(LocalDate.class), any(LocalDate.class)))
-                .thenReturn(atividades);
+        when(atividadeService.listarAtividadesPaginadas(eq("EMP001"), eq("RUN"), eq("corrida"), 
+                any(LocalDate.class), any(LocalDate.class), isNull(), isNull()))
+                .thenReturn(new PaginaAtividadeOutput(atividades, null));
 
         mockMvc.perform(get("/atividades")
                 .param("funcional", "EMP001")
@@ -149,8 +206,8 @@ class AtividadeControllerTest {
     @Test
     @DisplayName("Deve retornar lista vazia quando nenhuma atividade é encontrada")
     void deveRetornarListaVaziaQuandoNenhumaAtividadeEncontrada() throws Exception {
-        when(atividadeService.listarAtividadesComFiltros(any(), any(), any(), any(), any()))
-                .thenReturn(Collections.emptyList());
+        when(atividadeService.listarAtividadesPaginadas(any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(new PaginaAtividadeOutput(Collections.emptyList(), null));
 
         mockMvc.perform(get("/atividades"))
                 .andExpect(status().isOk())
@@ -161,7 +218,7 @@ class AtividadeControllerTest {
     @Test
     @DisplayName("Deve retornar 400 ao listar com filtros inválidos")
     void deveRetornar400AoListarComFiltrosInvalidos() throws Exception {
-        when(atividadeService.listarAtividadesComFiltros(any(), any(), any(), any(), any()))
+        when(atividadeService.listarAtividadesPaginadas(any(), any(), any(), any(), any(), any(), any()))
                 .thenThrow(new IllegalArgumentException("Filtros inválidos"));
 
         mockMvc.perform(get("/atividades")
@@ -169,6 +226,70 @@ class AtividadeControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    @DisplayName("Deve retornar link para a próxima página quando houver mais registros")
+    void deveRetornarLinkParaProximaPagina() throws Exception {
+        when(atividadeService.listarAtividadesPaginadas(eq("EMP001"), isNull(), isNull(), isNull(), isNull(), eq("abc"), eq(1)))
+                .thenReturn(new PaginaAtividadeOutput(Arrays.asList(atividadeOutput), "def"));
+
+        mockMvc.perform(get("/atividades?funcional=EMP001&cursor=abc&limite=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].idAtividade").value(1L))
+                .andExpect(header().string(AtividadeController.HEADER_PROXIMO_CURSOR, "def"))
+                .andExpect(header().string("Link",
+                        "<http://localhost/atividades?funcional=EMP001&limite=1&cursor=def>; rel=\"next\""));
+    }
+
+    @Test
+    @DisplayName("Deve exportar atividades em NDJSON, uma por linha")
+    void deveExportarAtividadesEmNdjson() throws Exception {
+        when(atividadeService.exportarAtividadesComFiltros(eq("EMP001"), isNull(), isNull(), isNull(), isNull(), any()))
+                .thenAnswer(invocation -> {
+                    Consumer<AtividadeOutput> consumidor = invocation.getArgument(5);
+                    consumidor.accept(atividadeOutput);
+                    consumidor.accept(atividadeOutput);
+                    return 2L;
+                });
+
+        MvcResult resultado = mockMvc.perform(get("/atividades/exportacao")
+                .param("funcional", "EMP001")
+                .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String corpo = mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] linhas = corpo.split("\n");
+        assertThat(corpo).endsWith("\n");
+        assertThat(linhas).hasSize(2);
+        assertThat(objectMapper.readValue(linhas[0], AtividadeOutput.class)).isEqualTo(atividadeOutput);
+    }
+
+    @Test
+    @DisplayName("Deve exportar atividades como array JSON quando NDJSON não for solicitado")
+    void deveExportarAtividadesComoArrayJson() throws Exception {
+        when(atividadeService.exportarAtividadesComFiltros(any(), any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    Consumer<AtividadeOutput> consumidor = invocation.getArgument(5);
+                    consumidor.accept(atividadeOutput);
+                    return 1L;
+                });
+
+        MvcResult resultado = mockMvc.perform(get("/atividades/exportacao"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$").isArray())
+                .andExpect(jsonPath("$[0].idAtividade").value(1L))
+                .andExpect(jsonPath("$[0].dataHora").value("2025-12-25T10:30:00"));
+    }
+
     @Test
     @DisplayName("Deve buscar atividade por ID e retornar 200 OK")
     void deveBuscarAtividadePorIdERetornar200() throws Exception {
@@ -202,7 +323,7 @@ class AtividadeControllerTest {
     @Test
     @DisplayName("Deve atualizar atividade e retornar 200 OK")
     void deveAtualizarAtividadeERetornar200() throws Exception {
-        when(atividadeService.atualizarAtividade(eq(1L), any(AtividadeInput.class)))
+        when(atividadeService.atualizarAtividade(eq(1L), any(AtividadeInput.class), isNull()))
                 .thenReturn(atividadeOutput);
 
         mockMvc.perform(put("/atividades/1")
@@ -216,7 +337,7 @@ class AtividadeControllerTest {
     @Test
     @DisplayName("Deve retornar 400 ao atualizar com dados inválidos")
     void deveRetornar400AoAtualizarComDadosInvalidos() throws Exception {
-        when(atividadeService.atualizarAtividade(eq(1L), any(AtividadeInput.class)))
+        when(atividadeService.atualizarAtividade(eq(1L), any(AtividadeInput.class), isNull()))
                 .thenThrow(new IllegalArgumentException("Dados inválidos"));
 
         mockMvc.perform(put("/atividades/1")
@@ -228,7 +349,7 @@ class AtividadeControllerTest {
     @Test
     @DisplayName("Deve retornar 404 ao atualizar atividade inexistente")
     void deveRetornar404AoAtualizarAtividadeInexistente() throws Exception {
-        when(atividadeService.atualizarAtividade(eq(999L), any(AtividadeInput.class)))
+        when(atividadeService.atualizarAtividade(eq(999L), any(AtividadeInput.class), isNull()))
                 .thenThrow(new RuntimeException("Atividade não encontrada"));
 
         mockMvc.perform(put("/atividades/999")
@@ -237,6 +358,148 @@ class AtividadeControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @DisplayName("Deve devolver ETag da versão e responder 304 quando If-None-Match casar")
+    void deveResponder304QuandoVersaoNaoMudou() throws Exception {
+        atividadeOutput.setVersao(2L);
+        when(atividadeService.buscarAtividadePorId(1L)).thenReturn(Optional.of(atividadeOutput));
+
+        mockMvc.perform(get("/atividades/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+
+        mockMvc.perform(get("/atividades/1").header(HttpHeaders.IF_NONE_MATCH, "\"2\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("Deve responder 304 na listagem quando a página devolvida não mudou")
+    void deveResponder304NaListagemQuandoPaginaNaoMudou() throws Exception {
+        atividadeOutput.setVersao(0L);
+        when(atividadeService.listarAtividadesPaginadas(eq("EMP001"), any(), any(), any(), any(), any(), any()))
+                .thenReturn(new PaginaAtividadeOutput(List.of(atividadeOutput), null));
+
+        String etag = mockMvc.perform(get("/atividades?funcional=EMP001"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/atividades?funcional=EMP001").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+
+        atividadeOutput.setVersao(1L);
+        mockMvc.perform(get("/atividades?funcional=EMP001").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, org.hamcrest.Matchers.not(etag)));
+    }
+
+    @Test
+    @DisplayName("Deve usar um ETag por formato na listagem e não validar com 304 o corpo de outro formato")
+    void deveUsarEtagPorFormatoNaListagem() throws Exception {
+        atividadeOutput.setVersao(0L);
+        when(atividadeService.listarAtividadesPaginadas(eq("EMP001"), any(), any(), any(), any(), any(), any()))
+                .thenReturn(new PaginaAtividadeOutput(List.of(atividadeOutput), null));
+
+        String etagJson = mockMvc.perform(get("/atividades?funcional=EMP001").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String etagCbor = mockMvc.perform(get("/atividades?funcional=EMP001").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(etagJson).endsWith("-application/json\"");
+        assertThat(etagCbor).endsWith("-application/cbor\"");
+        mockMvc.perform(get("/atividades?funcional=EMP001").accept(MediaType.APPLICATION_CBOR).header(HttpHeaders.IF_NONE_MATCH, etagJson))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etagCbor));
+        mockMvc.perform(get("/atividades?funcional=EMP001").accept(MediaType.APPLICATION_CBOR).header(HttpHeaders.IF_NONE_MATCH, etagCbor))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("Deve repassar a versão do If-Match e devolver o novo ETag")
+    void deveAtualizarComIfMatch() throws Exception {
+        atividadeOutput.setVersao(3L);
+        when(atividadeService.atualizarAtividade(eq(1L), any(AtividadeInput.class), eq(2L))).thenReturn(atividadeOutput);
+
+        mockMvc.perform(put("/atividades/1")
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(atividadeInputValida)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 412 quando a atividade foi alterada por outra requisição")
+    void deveRetornar412QuandoVersaoDivergir() throws Exception {
+        when(atividadeService.atualizarAtividade(eq(1L), any(AtividadeInput.class), eq(2L)))
+                .thenThrow(new OptimisticLockingFailureException("Atividade com ID 1 foi alterada por outra requisição"));
+
+        mockMvc.perform(put("/atividades/1")
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(atividadeInputValida)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @DisplayName("Deve retornar 412 para If-Match com ETag fraco sem chamar o service")
+    void deveRetornar412ParaIfMatchFraco() throws Exception {
+        mockMvc.perform(put("/atividades/1")
+                .header(HttpHeaders.IF_MATCH, "W/\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(atividadeInputValida)))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(atividadeService, never()).atualizarAtividade(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve retornar 202 Accepted e enfileirar a atividade com a ingestão assíncrona habilitada")
+    void deveRetornar202ComIngestaoAssincrona() throws Exception {
+        when(ingestaoAssincrona.isHabilitada()).thenReturn(true);
+        when(ingestaoAssincrona.aceitar(any(AtividadeInput.class))).thenReturn(true);
+
+        mockMvc.perform(post("/atividades")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(atividadeInputValida)))
+                .andExpect(status().isAccepted());
+
+        verify(ingestaoAssincrona).aceitar(atividadeInputValida);
+        verify(atividadeService, never()).criarAtividade(any());
+    }
+
+    @Test
+    @DisplayName("Deve retornar 429 com Retry-After quando a fila de ingestão estiver cheia")
+    void deveRetornar429ComFilaDeIngestaoCheia() throws Exception {
+        when(ingestaoAssincrona.isHabilitada()).thenReturn(true);
+        when(ingestaoAssincrona.aceitar(any(AtividadeInput.class))).thenReturn(false);
+
+        mockMvc.perform(post("/atividades")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(atividadeInputValida)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+    }
+
+    @Test
+    @DisplayName("Deve validar a atividade antes de enfileirar")
+    void deveValidarAntesDeEnfileirar() throws Exception {
+        when(ingestaoAssincrona.isHabilitada()).thenReturn(true);
+
+        mockMvc.perform(post("/atividades")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new AtividadeInput())))
+                .andExpect(status().isBadRequest());
+
+        verify(ingestaoAssincrona, never()).aceitar(any());
+    }
+
     @Test
     @DisplayName("Deve deletar atividade e retornar 204 No Content")
     void deveDeletarAtividadeERetornar204() throws Exception {
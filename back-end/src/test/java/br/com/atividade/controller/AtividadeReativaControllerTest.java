@@ -0,0 +1,133 @@
+package br.com.atividade.controller;
+
+import br.com.atividade.sevice.dto.output.AtividadeOutput;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.main.web-application-type=reactive",
+        "spring.datasource.url=jdbc:h2:mem:reativo;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "atividade.reativo.url=r2dbc:h2:mem:///reativo?options=MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "atividade.reativo.username=sa",
+        "atividade.reativo.password=password"
+})
+@ActiveProfiles({"test", "reativo"})
+@AutoConfigureWebTestClient
+@DisplayName("Testes do AtividadeReativaController (WebFlux + R2DBC)")
+class AtividadeReativaControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    @DisplayName("Deve criar, buscar, atualizar com If-Match e deletar atividade")
+    void deveExecutarCrudComVersao() {
+        String funcional = "REAT" + UUID.randomUUID().toString().substring(0, 8);
+        AtividadeOutput criada = webTestClient.post().uri("/atividades")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(atividade(funcional, "Corrida"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"0\"")
+                .expectBody(AtividadeOutput.class)
+                .returnResult().getResponseBody();
+        assertThat(criada.getIdAtividade()).isPositive();
+
+        webTestClient.get().uri("/atividades/{id}", criada.getIdAtividade())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.descricaoAtividade").isEqualTo("Corrida");
+
+        webTestClient.put().uri("/atividades/{id}", criada.getIdAtividade())
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(atividade(funcional, "Corrida longa"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"")
+                .expectBody()
+                .jsonPath("$.versao").isEqualTo(1);
+
+        webTestClient.put().uri("/atividades/{id}", criada.getIdAtividade())
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(atividade(funcional, "Corrida curta"))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+
+        webTestClient.delete().uri("/atividades/{id}", criada.getIdAtividade())
+                .exchange()
+                .expectStatus().isNoContent();
+
+        webTestClient.get().uri("/atividades/{id}", criada.getIdAtividade())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("Deve transmitir a listagem filtrada em NDJSON e em JSON, sem ETag")
+    void deveTransmitirListagemFiltrada() {
+        String funcional = "REAT" + UUID.randomUUID().toString().substring(0, 8);
+        List<String> descricoes = List.of("Natação", "Corrida", "Ciclismo");
+        for (int i = 0; i < descricoes.size(); i++) {
+            webTestClient.post().uri("/atividades")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(atividade(funcional, descricoes.get(i), i))
+                    .exchange()
+                    .expectStatus().isCreated();
+        }
+
+        List<AtividadeOutput> atividades = webTestClient.get().uri("/atividades?funcional={funcional}", funcional)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(AtividadeOutput.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+        assertThat(atividades).extracting(AtividadeOutput::getDescricaoAtividade)
+                .containsExactly("Natação", "Corrida", "Ciclismo");
+
+        webTestClient.get().uri("/atividades?funcional={funcional}", funcional)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(HttpHeaders.ETAG)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 para atividade inválida")
+    void deveRetornar400ParaAtividadeInvalida() {
+        webTestClient.post().uri("/atividades")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"funcional\":\"EMP1\",\"codigoAtividade\":\"RUN\"}")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    private static String atividade(String funcional, String descricao) {
+        return atividade(funcional, descricao, 0);
+    }
+
+    private static String atividade(String funcional, String descricao, int minuto) {
+        return """
+                {"funcional":"%s","dataHora":"2025-06-01T07:%02d:00","codigoAtividade":"RUN","descricaoAtividade":"%s"}"""
+                .formatted(funcional, minuto, descricao);
+    }
+}
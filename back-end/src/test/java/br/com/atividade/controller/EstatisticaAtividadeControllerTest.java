@@ -0,0 +1,77 @@
+package br.com.atividade.controller;
+
+import br.com.atividade.sevice.EstatisticaAtividadeService;
+import br.com.atividade.sevice.dto.input.AgrupamentoEstatistica;
+import br.com.atividade.sevice.dto.output.EstatisticaCodigoOutput;
+import br.com.atividade.sevice.dto.output.EstatisticaPeriodoOutput;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(EstatisticaAtividadeController.class)
+@DisplayName("Testes do EstatisticaAtividadeController")
+class EstatisticaAtividadeControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private EstatisticaAtividadeService estatisticaAtividadeService;
+
+    @Test
+    @DisplayName("Deve retornar estatística por período com o agrupamento informado")
+    void deveRetornarEstatisticaPorPeriodo() throws Exception {
+        when(estatisticaAtividadeService.listarPorPeriodo("EMP001", null, AgrupamentoEstatistica.SEMANA,
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31)))
+                .thenReturn(List.of(new EstatisticaPeriodoOutput(LocalDate.of(2024, 12, 30), 5L)));
+
+        mockMvc.perform(get("/atividades/estatisticas/por-periodo")
+                        .param("funcional", "EMP001")
+                        .param("agrupamento", "SEMANA")
+                        .param("dataInicio", "2025-01-01")
+                        .param("dataFim", "2025-01-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].inicio").value("2024-12-30"))
+                .andExpect(jsonPath("$[0].quantidade").value(5));
+    }
+
+    @Test
+    @DisplayName("Deve retornar estatística por código da atividade")
+    void deveRetornarEstatisticaPorCodigo() throws Exception {
+        when(estatisticaAtividadeService.listarPorCodigo(isNull(), any(), any()))
+                .thenReturn(List.of(new EstatisticaCodigoOutput("RUN", 10L), new EstatisticaCodigoOutput("GYM", 4L)));
+
+        mockMvc.perform(get("/atividades/estatisticas/por-codigo")
+                        .param("dataInicio", "2025-01-01")
+                        .param("dataFim", "2025-01-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].codigoAtividade").value("RUN"));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 quando o período for inválido ou estiver ausente")
+    void deveRetornar400ParaPeriodoInvalido() throws Exception {
+        when(estatisticaAtividadeService.listarPorCodigo(any(), any(), any()))
+                .thenThrow(new IllegalArgumentException("Data inicial não pode ser posterior à data final"));
+
+        mockMvc.perform(get("/atividades/estatisticas/por-codigo")
+                        .param("dataInicio", "2025-02-01")
+                        .param("dataFim", "2025-01-01"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/atividades/estatisticas/por-periodo"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.atividade.controller;
+
+import br.com.atividade.sevice.EstatisticaAtividadeService;
+import br.com.atividade.sevice.dto.output.ReconstrucaoResumoOutput;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "management.endpoints.web.exposure.include=resumo")
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@DisplayName("Testes do endpoint /actuator/resumo")
+class ReconstrucaoResumoEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private EstatisticaAtividadeService estatisticaAtividadeService;
+
+    @Test
+    @DisplayName("Deve reconstruir o resumo diário pelo actuator com o período informado")
+    void deveReconstruirResumo() throws Exception {
+        when(estatisticaAtividadeService.reconstruirResumo(LocalDate.of(2025, 1, 1), null))
+                .thenReturn(new ReconstrucaoResumoOutput(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 3, 31), 4, 120, 35));
+
+        mockMvc.perform(post("/actuator/resumo")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"dataInicio\":\"2025-01-01\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tarefas").value(4))
+                .andExpect(jsonPath("$.linhasGeradas").value(120));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 para data ou período inválido")
+    void deveRetornar400ParaPeriodoInvalido() throws Exception {
+        mockMvc.perform(post("/actuator/resumo")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"dataInicio\":\"01/01/2025\"}"))
+                .andExpect(status().isBadRequest());
+
+        when(estatisticaAtividadeService.reconstruirResumo(any(), any()))
+                .thenThrow(new IllegalArgumentException("Data de início deve ser anterior ou igual à data de fim"));
+        mockMvc.perform(post("/actuator/resumo")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"dataInicio\":\"2025-02-01\",\"dataFim\":\"2025-01-01\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Não deve expor a reconstrução na API pública")
+    void naoDeveExporNaApiPublica() throws Exception {
+        mockMvc.perform(post("/atividades/estatisticas/reconstrucao"))
+                .andExpect(status().is4xxClientError());
+        verifyNoInteractions(estatisticaAtividadeService);
+    }
+}
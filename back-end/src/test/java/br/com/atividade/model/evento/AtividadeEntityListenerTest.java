@@ -0,0 +1,64 @@
+package br.com.atividade.model.evento;
+
+import br.com.atividade.model.Atividade;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do AtividadeEntityListener")
+class AtividadeEntityListenerTest {
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private AtividadeEntityListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new AtividadeEntityListener(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Deve publicar a descrição lida do banco como anterior nas atualizações seguidas e na remoção")
+    void devePublicarDescricaoAnterior() {
+        Atividade atividade = new Atividade();
+        atividade.setIdAtividade(1L);
+        atividade.setDescricaoAtividade("Corrida");
+        listener.aposCarregar(atividade);
+
+        atividade.setDescricaoAtividade("Natação");
+        listener.aposAtualizar(atividade);
+        atividade.setDescricaoAtividade("Yoga");
+        listener.aposAtualizar(atividade);
+        listener.aposRemover(atividade);
+
+        ArgumentCaptor<AtividadeAlteradaEvent> eventos = ArgumentCaptor.forClass(AtividadeAlteradaEvent.class);
+        verify(eventPublisher, times(3)).publishEvent(eventos.capture());
+        assertThat(eventos.getAllValues()).containsExactly(
+                new AtividadeAlteradaEvent(AtividadeAlteradaEvent.Tipo.ATUALIZADA, 1L, "Natação", "Corrida"),
+                new AtividadeAlteradaEvent(AtividadeAlteradaEvent.Tipo.ATUALIZADA, 1L, "Yoga", "Natação"),
+                new AtividadeAlteradaEvent(AtividadeAlteradaEvent.Tipo.REMOVIDA, 1L, "Yoga", "Yoga"));
+    }
+
+    @Test
+    @DisplayName("Não deve publicar descrição anterior na criação")
+    void naoDevePublicarAnteriorNaCriacao() {
+        Atividade atividade = new Atividade();
+        atividade.setIdAtividade(2L);
+        atividade.setDescricaoAtividade("Corrida");
+
+        listener.aposInserir(atividade);
+
+        verify(eventPublisher).publishEvent(new AtividadeAlteradaEvent(AtividadeAlteradaEvent.Tipo.CRIADA, 2L, "Corrida", null));
+        assertThat(atividade.getDescricaoCarregada()).isEqualTo("Corrida");
+    }
+}
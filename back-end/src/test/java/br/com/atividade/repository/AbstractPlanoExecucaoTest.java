@@ -0,0 +1,179 @@
+package br.com.atividade.repository;
+
+import br.com.atividade.model.Atividade;
+import br.com.atividade.repository.specification.AtividadeSpecification;
+import br.com.atividade.sevice.dto.output.AtividadeOutput;
+import br.com.atividade.sevice.paginacao.CursorAtividade;
+import br.com.atividade.support.CapturaSql;
+import br.com.atividade.support.CapturaSql.ConsultaCapturada;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Executa cada consulta do AtividadeRepository, captura o SQL gerado pelo Hibernate e roda
+ * EXPLAIN sobre ele. As subclasses decidem como ler o plano de cada banco.
+ */
+@Import(CapturaSql.class)
+abstract class AbstractPlanoExecucaoTest {
+
+    protected static final int TOTAL_REGISTROS = 2000;
+
+    @Autowired
+    protected AtividadeRepository atividadeRepository;
+
+    @Autowired
+    protected CapturaSql capturaSql;
+
+    @Autowired
+    protected DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Recebe o SQL com EXPLAIN já executado e deve falhar se o plano indicar full scan.
+     */
+    protected abstract void verificarSemFullScan(Connection conexao, ConsultaCapturada consulta) throws SQLException;
+
+    @BeforeEach
+    void popularTabela() {
+        if (atividadeRepository.count() >= TOTAL_REGISTROS) {
+            return;
+        }
+        List<Atividade> atividades = new ArrayList<>();
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 6, 0);
+        for (int i = 0; i < TOTAL_REGISTROS; i++) {
+            Atividade atividade = new Atividade();
+            atividade.setFuncional("EMP" + (i % 200));
+            atividade.setCodigoAtividade("COD" + (i % 50));
+            atividade.setDescricaoAtividade("Atividade " + i);
+            atividade.setDataHora(base.plusHours(i));
+            atividades.add(atividade);
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> atividadeRepository.salvarEmLote(atividades));
+        aposPopular();
+    }
+
+    protected void aposPopular() {
+    }
+
+    @Test
+    @DisplayName("findOutputsByFuncional deve usar índice")
+    void findOutputsByFuncionalDeveUsarIndice() throws SQLException {
+        verificar(() -> atividadeRepository.findOutputsByFuncional("EMP7"));
+    }
+
+    @Test
+    @DisplayName("findById deve usar a chave primária")
+    void findByIdDeveUsarIndice() throws SQLException {
+        verificar(() -> atividadeRepository.findById(10L));
+    }
+
+    @Test
+    @DisplayName("existsByCodigoAtividadeAndFuncional deve usar índice")
+    void existsByCodigoAtividadeAndFuncionalDeveUsarIndice() throws SQLException {
+        verificar(() -> atividadeRepository.existsByCodigoAtividadeAndFuncional("COD7", "EMP7"));
+    }
+
+    @Test
+    @DisplayName("Filtro por funcional e período deve usar índice")
+    void filtroPorFuncionalEPeriodoDeveUsarIndice() throws SQLException {
+        verificar(() -> atividadeRepository.listarOutputsComFiltros(AtividadeSpecification.comFiltros(
+                "EMP7", null, null, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31))));
+    }
+
+    @Test
+    @DisplayName("Filtro por código da atividade deve usar índice")
+    void filtroPorCodigoDeveUsarIndice() throws SQLException {
+        verificar(() -> atividadeRepository.listarOutputsComFiltros(AtividadeSpecification.comFiltros(
+                null, "COD7", null, null, null)));
+    }
+
+    @Test
+    @DisplayName("Filtro por funcional e código deve usar índice")
+    void filtroPorFuncionalECodigoDeveUsarIndice() throws SQLException {
+        verificar(() -> atividadeRepository.listarOutputsComFiltros(AtividadeSpecification.comFiltros(
+                "EMP7", "COD7", null, null, null)));
+    }
+
+    @Test
+    @DisplayName("Filtro só por período deve usar índice")
+    void filtroPorPeriodoDeveUsarIndice() throws SQLException {
+        verificar(() -> atividadeRepository.listarOutputsComFiltros(AtividadeSpecification.comFiltros(
+                null, null, null, LocalDate.of(2025, 1, 10), LocalDate.of(2025, 1, 12))));
+    }
+
+    @Test
+    @DisplayName("Página por cursor sem filtros deve percorrer o índice de data_hora")
+    void paginaPorCursorDeveUsarIndice() throws SQLException {
+        CursorAtividade cursor = new CursorAtividade(LocalDateTime.of(2025, 2, 1, 0, 0), 100L);
+        verificar(() -> atividadeRepository.listarOutputsPaginados(AtividadeSpecification.aposCursor(cursor), 101));
+    }
+
+    @Test
+    @DisplayName("Página por cursor com funcional deve usar índice")
+    void paginaPorCursorComFuncionalDeveUsarIndice() throws SQLException {
+        CursorAtividade cursor = new CursorAtividade(LocalDateTime.of(2025, 2, 1, 0, 0), 100L);
+        verificar(() -> atividadeRepository.listarOutputsPaginados(
+                AtividadeSpecification.comFiltros("EMP7", null, null, null, null).and(AtividadeSpecification.aposCursor(cursor)), 101));
+    }
+
+    @Test
+    @DisplayName("Exportação por período deve usar índice")
+    void exportacaoPorPeriodoDeveUsarIndice() throws SQLException {
+        verificar(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            try (Stream<AtividadeOutput> atividades = atividadeRepository.streamOutputsComFiltros(AtividadeSpecification.comFiltros(
+                    null, null, null, LocalDate.of(2025, 1, 10), LocalDate.of(2025, 1, 12)))) {
+                atividades.forEach(atividade -> { });
+            }
+        }));
+    }
+
+    private void verificar(Runnable consultaRepositorio) throws SQLException {
+        // Sem cache de segundo nível/consultas, senão a consulta nem chega ao banco
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        capturaSql.limpar();
+        consultaRepositorio.run();
+
+        List<ConsultaCapturada> consultas = capturaSql.getConsultas().stream()
+                .filter(consulta -> consulta.sql().toLowerCase().contains("from atividade"))
+                .toList();
+        assertThat(consultas).as("consultas capturadas").isNotEmpty();
+
+        try (Connection conexao = dataSource.getConnection()) {
+            for (ConsultaCapturada consulta : consultas) {
+                verificarSemFullScan(conexao, consulta);
+            }
+        }
+    }
+
+    protected static PreparedStatement prepararExplain(Connection conexao, ConsultaCapturada consulta) throws SQLException {
+        PreparedStatement explain = conexao.prepareStatement("EXPLAIN " + consulta.sql());
+        for (int i = 0; i < consulta.parametros().size(); i++) {
+            explain.setObject(i + 1, consulta.parametros().get(i));
+        }
+        return explain;
+    }
+}
@@ -0,0 +1,58 @@
+package br.com.atividade.repository;
+
+import br.com.atividade.support.CapturaSql.ConsultaCapturada;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Planos de execução do AtividadeRepository (MySQL)")
+class AtividadeRepositoryPlanoExecucaoMySqlTest extends AbstractPlanoExecucaoTest {
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0.35");
+
+    @DynamicPropertySource
+    static void configurarMySql(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> MYSQL.getJdbcUrl() + "?useCursorFetch=true&rewriteBatchedStatements=true");
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+        registry.add("spring.datasource.driverClassName", MYSQL::getDriverClassName);
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.MySQLDialect");
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.MySQLDialect");
+    }
+
+    @Override
+    protected void aposPopular() {
+        new JdbcTemplate(dataSource).execute("ANALYZE TABLE atividade");
+    }
+
+    @Override
+    protected void verificarSemFullScan(Connection conexao, ConsultaCapturada consulta) throws SQLException {
+        try (PreparedStatement explain = prepararExplain(conexao, consulta);
+             ResultSet plano = explain.executeQuery()) {
+            while (plano.next()) {
+                if ("atividade".equalsIgnoreCase(plano.getString("table"))) {
+                    assertThat(plano.getString("type"))
+                            .as("tipo de acesso de %s", consulta.sql())
+                            .isNotEqualToIgnoringCase("ALL");
+                }
+            }
+        }
+    }
+}
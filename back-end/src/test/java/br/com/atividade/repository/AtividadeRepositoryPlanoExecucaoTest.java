@@ -0,0 +1,31 @@
+package br.com.atividade.repository;
+
+import br.com.atividade.support.CapturaSql.ConsultaCapturada;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Planos de execução do AtividadeRepository (H2)")
+class AtividadeRepositoryPlanoExecucaoTest extends AbstractPlanoExecucaoTest {
+
+    @Override
+    protected void verificarSemFullScan(Connection conexao, ConsultaCapturada consulta) throws SQLException {
+        try (PreparedStatement explain = prepararExplain(conexao, consulta);
+             ResultSet plano = explain.executeQuery()) {
+            assertThat(plano.next()).isTrue();
+            String textoPlano = plano.getString(1);
+            assertThat(textoPlano)
+                    .as("plano de %s", consulta.sql())
+                    .doesNotContainIgnoringCase("tableScan");
+        }
+    }
+}
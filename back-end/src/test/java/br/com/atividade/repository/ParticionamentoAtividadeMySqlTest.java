@@ -0,0 +1,196 @@
+package br.com.atividade.repository;
+
+import br.com.atividade.config.ParticionamentoProperties;
+import br.com.atividade.model.Atividade;
+import br.com.atividade.repository.specification.AtividadeSpecification;
+import br.com.atividade.sevice.particao.ManutencaoParticoesAtividade;
+import br.com.atividade.sevice.particao.ManutencaoParticoesAtividade.ResultadoManutencao;
+import br.com.atividade.sevice.paginacao.CursorAtividade;
+import br.com.atividade.support.CapturaSql;
+import br.com.atividade.support.CapturaSql.ConsultaCapturada;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Confere, em um MySQL real, que a manutenção divide atividade em partições mensais, que os predicados de
+ * período montados pelo AtividadeSpecification podam partições no EXPLAIN e que a retenção descarta o mês
+ * inteiro com DROP PARTITION.
+ */
+@SpringBootTest(properties = "atividade.particionamento.habilitado=false")
+@ActiveProfiles("test")
+@Import(CapturaSql.class)
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Particionamento mensal de atividade (MySQL)")
+class ParticionamentoAtividadeMySqlTest {
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0.35");
+
+    @DynamicPropertySource
+    static void configurarMySql(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> MYSQL.getJdbcUrl() + "?useCursorFetch=true&rewriteBatchedStatements=true");
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+        registry.add("spring.datasource.driverClassName", MYSQL::getDriverClassName);
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.MySQLDialect");
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.MySQLDialect");
+    }
+
+    @Autowired
+    private AtividadeRepository atividadeRepository;
+
+    @Autowired
+    private ParticaoAtividadeRepository particaoRepository;
+
+    @Autowired
+    private ManutencaoParticoesAtividade manutencao;
+
+    @Autowired
+    private ParticionamentoProperties properties;
+
+    @Autowired
+    private CapturaSql capturaSql;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void restaurarProperties() {
+        properties.setRetencaoMeses(0);
+        properties.setEsperaLock(Duration.ofMinutes(10));
+    }
+
+    @Test
+    @DisplayName("Deve adiar a manutenção enquanto outra sessão segura o lock nomeado")
+    void deveAdiarManutencaoComLockEmOutraSessao() throws SQLException {
+        properties.setEsperaLock(Duration.ZERO);
+        List<String> antes = particaoRepository.listarParticoes();
+        // Outra instância seria outra sessão do MySQL segurando o mesmo lock
+        try (Connection outraInstancia = dataSource.getConnection();
+             PreparedStatement lock = outraInstancia.prepareStatement("SELECT GET_LOCK(?, 0)")) {
+            lock.setString(1, ParticaoAtividadeRepository.LOCK_MANUTENCAO);
+            try (ResultSet obtido = lock.executeQuery()) {
+                assertThat(obtido.next()).isTrue();
+                assertThat(obtido.getInt(1)).isEqualTo(1);
+            }
+
+            ResultadoManutencao adiada = manutencao.executar(YearMonth.of(2030, 1));
+
+            assertThat(adiada.criadas()).isEmpty();
+            assertThat(particaoRepository.listarParticoes()).isEqualTo(antes);
+
+            // A conexão volta ao pool sem fechar a sessão, então o lock é solto explicitamente
+            try (PreparedStatement liberar = outraInstancia.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+                liberar.setString(1, ParticaoAtividadeRepository.LOCK_MANUTENCAO);
+                liberar.execute();
+            }
+        }
+        assertThat(particaoRepository.comLockDeManutencao(Duration.ZERO, () -> true)).contains(true);
+    }
+
+    @Test
+    @DisplayName("Filtros por período devem podar partições e a retenção deve remover o mês")
+    void devePodarParticoesERemoverMesForaDaRetencao() throws SQLException {
+        popular(LocalDateTime.of(2025, 1, 1, 6, 0), 24 * 80);
+
+        ResultadoManutencao criacao = manutencao.executar(YearMonth.of(2025, 3));
+        assertThat(criacao.criadas()).startsWith(YearMonth.of(2025, 1)).contains(YearMonth.of(2025, 6));
+        assertThat(particaoRepository.listarParticoes()).startsWith("p202501", "p202502", "p202503").endsWith("p_max");
+
+        assertThat(particoesLidas(() -> atividadeRepository.listarOutputsComFiltros(AtividadeSpecification.comFiltros(
+                null, null, null, LocalDate.of(2025, 2, 10), LocalDate.of(2025, 2, 12)))))
+                .containsExactly("p202502");
+        assertThat(particoesLidas(() -> atividadeRepository.listarOutputsComFiltros(AtividadeSpecification.comFiltros(
+                "EMP7", null, null, LocalDate.of(2025, 1, 20), LocalDate.of(2025, 2, 5)))))
+                .containsExactly("p202501", "p202502");
+        assertThat(particoesLidas(() -> atividadeRepository.listarOutputsPaginados(AtividadeSpecification.comFiltros(
+                null, null, null, null, LocalDate.of(2025, 2, 28)).and(AtividadeSpecification.aposCursor(
+                new CursorAtividade(LocalDateTime.of(2025, 2, 1, 0, 0), 1L))), 101)))
+                .containsExactly("p202502");
+
+        Long idJaneiro = atividadeRepository.listarOutputsPaginados(AtividadeSpecification.comFiltros(
+                null, null, null, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 1)), 1).get(0).getIdAtividade();
+        assertThat(atividadeRepository.findById(idJaneiro)).isPresent();
+
+        properties.setRetencaoMeses(1);
+        ResultadoManutencao retencao = manutencao.executar(YearMonth.of(2025, 3));
+
+        assertThat(retencao.removidas()).containsExactly(YearMonth.of(2025, 1));
+        assertThat(particaoRepository.listarParticoes()).doesNotContain("p202501").startsWith("p202502");
+        assertThat(atividadeRepository.findById(idJaneiro)).isEmpty();
+        assertThat(atividadeRepository.listarOutputsComFiltros(AtividadeSpecification.comFiltros(
+                null, null, null, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31)))).isEmpty();
+        assertThat(atividadeRepository.count()).isEqualTo(24 * (80 - 31));
+    }
+
+    private void popular(LocalDateTime base, int total) {
+        List<Atividade> atividades = new ArrayList<>();
+        for (int i = 0; i < total; i++) {
+            Atividade atividade = new Atividade();
+            atividade.setFuncional("EMP" + (i % 20));
+            atividade.setCodigoAtividade("COD" + (i % 5));
+            atividade.setDescricaoAtividade("Atividade " + i);
+            atividade.setDataHora(base.plusHours(i));
+            atividades.add(atividade);
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> atividadeRepository.salvarEmLote(atividades));
+    }
+
+    // Coluna partitions do EXPLAIN de cada consulta em atividade executada pela chamada
+    private List<String> particoesLidas(Supplier<?> consultaRepositorio) throws SQLException {
+        capturaSql.limpar();
+        consultaRepositorio.get();
+        List<String> particoes = new ArrayList<>();
+        try (Connection conexao = dataSource.getConnection()) {
+            for (ConsultaCapturada consulta : capturaSql.getConsultas()) {
+                if (!consulta.sql().toLowerCase().contains("from atividade")) {
+                    continue;
+                }
+                try (PreparedStatement explain = conexao.prepareStatement("EXPLAIN " + consulta.sql())) {
+                    for (int i = 0; i < consulta.parametros().size(); i++) {
+                        explain.setObject(i + 1, consulta.parametros().get(i));
+                    }
+                    try (ResultSet plano = explain.executeQuery()) {
+                        while (plano.next()) {
+                            if ("atividade".equalsIgnoreCase(plano.getString("table"))) {
+                                particoes.addAll(List.of(plano.getString("partitions").split(",")));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        assertThat(particoes).as("partições lidas").isNotEmpty();
+        return particoes;
+    }
+}
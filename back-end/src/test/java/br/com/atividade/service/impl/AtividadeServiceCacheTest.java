@@ -0,0 +1,116 @@
+package br.com.atividade.service.impl;
+
+import br.com.atividade.sevice.AtividadeService;
+import br.com.atividade.sevice.dto.input.AtividadeInput;
+import br.com.atividade.sevice.dto.output.AtividadeOutput;
+import br.com.atividade.support.CapturaSql;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(CapturaSql.class)
+@DisplayName("Testes do cache de segundo nível do AtividadeService")
+class AtividadeServiceCacheTest {
+
+    @Autowired
+    private AtividadeService atividadeService;
+
+    @Autowired
+    private CapturaSql capturaSql;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Deve servir busca por ID do cache e refletir atualização e exclusão")
+    void deveServirBuscaPorIdDoCache() {
+        AtividadeOutput criada = atividadeService.criarAtividade(novaAtividade("CACHE" + UUID.randomUUID().toString().substring(0, 8), "Corrida"));
+        Long id = criada.getIdAtividade();
+
+        capturaSql.limpar();
+        assertThat(atividadeService.buscarAtividadePorId(id)).contains(criada);
+        assertThat(atividadeService.buscarAtividadePorId(id)).contains(criada);
+        assertThat(selectsNaTabela()).isZero();
+
+        AtividadeInput alteracao = novaAtividade(criada.getFuncional(), "Natação");
+        atividadeService.atualizarAtividade(id, alteracao, null);
+        capturaSql.limpar();
+        assertThat(atividadeService.buscarAtividadePorId(id)).get()
+                .extracting(AtividadeOutput::getDescricaoAtividade).isEqualTo("Natação");
+        assertThat(selectsNaTabela()).isZero();
+
+        atividadeService.deletarAtividade(id);
+        assertThat(atividadeService.buscarAtividadePorId(id)).isEmpty();
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "atividade").tag("result", "hit").functionCounter().count())
+                .isPositive();
+    }
+
+    @Test
+    @DisplayName("Deve atualizar pela versão do banco quando o cache desta instância estiver atrasado")
+    void deveIgnorarCacheAtrasadoNaAtualizacao() {
+        AtividadeOutput criada = atividadeService.criarAtividade(novaAtividade("CACHE" + UUID.randomUUID().toString().substring(0, 8), "Corrida"));
+        Long id = criada.getIdAtividade();
+        assertThat(atividadeService.buscarAtividadePorId(id)).get().extracting(AtividadeOutput::getVersao).isEqualTo(0L);
+
+        // Escrita feita por outra instância: o cache daqui continua com a versão 0
+        jdbcTemplate.update("UPDATE atividade SET descricao_atividade = 'Caminhada', versao = 1 WHERE id_atividade = ?", id);
+        assertThat(atividadeService.buscarAtividadePorId(id)).get().extracting(AtividadeOutput::getVersao).isEqualTo(0L);
+
+        // O cliente que viu a versão 1 na outra instância não recebe 412
+        AtividadeOutput atualizada = atividadeService.atualizarAtividade(id, novaAtividade(criada.getFuncional(), "Natação"), 1L);
+
+        assertThat(atualizada.getVersao()).isEqualTo(2L);
+        assertThat(atividadeService.buscarAtividadePorId(id)).get()
+                .extracting(AtividadeOutput::getVersao, AtividadeOutput::getDescricaoAtividade)
+                .containsExactly(2L, "Natação");
+    }
+
+    @Test
+    @DisplayName("Deve servir listagem por funcional do query cache até a próxima escrita na tabela")
+    void deveInvalidarQueryCacheAoEscrever() {
+        String funcional = "CACHE" + UUID.randomUUID().toString().substring(0, 8);
+        atividadeService.criarAtividade(novaAtividade(funcional, "Corrida"));
+
+        assertThat(atividadeService.listarAtividadesPorFuncional(funcional)).hasSize(1);
+        capturaSql.limpar();
+        assertThat(atividadeService.listarAtividadesPorFuncional(funcional)).hasSize(1);
+        assertThat(selectsNaTabela()).isZero();
+
+        atividadeService.criarAtividade(novaAtividade(funcional, "Caminhada"));
+        capturaSql.limpar();
+        assertThat(atividadeService.listarAtividadesPorFuncional(funcional)).hasSize(2);
+        assertThat(selectsNaTabela()).isEqualTo(1);
+    }
+
+    private long selectsNaTabela() {
+        return capturaSql.getConsultas().stream()
+                .filter(consulta -> consulta.sql().toLowerCase().startsWith("select")
+                        && consulta.sql().toLowerCase().contains("from atividade"))
+                .count();
+    }
+
+    private static AtividadeInput novaAtividade(String funcional, String descricao) {
+        AtividadeInput input = new AtividadeInput();
+        input.setFuncional(funcional);
+        input.setDataHora(LocalDateTime.of(2025, 6, 1, 7, 0));
+        input.setCodigoAtividade("RUN");
+        input.setDescricaoAtividade(descricao);
+        return input;
+    }
+}
@@ -1,26 +1,41 @@
 package br.com.atividade.service.impl;
 
+import br.com.atividade.config.LoteProperties;
 import br.com.atividade.mapper.AtividadeMapper;
 import br.com.atividade.model.Atividade;
+import br.com.atividade.repository.AtividadeMarcaAlteracaoRepository;
 import br.com.atividade.repository.AtividadeRepository;
+import br.com.atividade.repository.AtividadeResumoDiarioRepository;
 import br.com.atividade.sevice.dto.input.AtividadeInput;
 import br.com.atividade.sevice.dto.output.AtividadeOutput;
+import br.com.atividade.sevice.dto.output.PaginaAtividadeOutput;
+import br.com.atividade.sevice.dto.output.ResultadoLoteOutput;
+import br.com.atividade.sevice.indice.IndiceTrigramaDescricao;
+import br.com.atividade.sevice.paginacao.CursorAtividade;
 import br.com.atividade.sevice.impl.AtividadeServiceImpl;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -33,9 +48,24 @@ class AtividadeServiceImplTest {
     @Mock
     private AtividadeRepository atividadeRepository;
 
+    @Mock
+    private AtividadeResumoDiarioRepository resumoDiarioRepository;
+
+    @Mock
+    private AtividadeMarcaAlteracaoRepository marcaAlteracaoRepository;
+
     @Mock
     private AtividadeMapper atividadeMapper;
 
+    @Mock
+    private Validator validator;
+
+    @Spy
+    private LoteProperties loteProperties = new LoteProperties();
+
+    @Mock
+    private IndiceTrigramaDescricao indiceDescricao;
+
     @InjectMocks
     private AtividadeServiceImpl atividadeService;
 
@@ -83,6 +113,8 @@ class AtividadeServiceImplTest {
         verify(atividadeMapper).toEntity(atividadeInputValida);
         verify(atividadeRepository).save(any(Atividade.class));
         verify(atividadeMapper).toOutput(atividade);
+        verify(resumoDiarioRepository).somar("EMP001", LocalDate.of(2025, 12, 25), "RUN", 1);
+        verify(marcaAlteracaoRepository).incrementar("EMP001");
     }
 
     @Test
@@ -159,41 +191,153 @@ class AtividadeServiceImplTest {
         verifyNoInteractions(atividadeMapper, atividadeRepository);
     }
 
+    @Test
+    @DisplayName("Deve criar lote persistindo apenas itens válidos e reportar resultado por item")
+    void deveCriarLoteComResultadoPorItem() {
+        AtividadeInput inputInvalido = new AtividadeInput();
+        inputInvalido.setFuncional("EMP002");
+        inputInvalido.setDataHora(LocalDateTime.of(2025, 12, 26, 7, 0));
+        inputInvalido.setCodigoAtividade("RUN");
+        inputInvalido.setDescricaoAtividade(" ");
+
+        when(validator.validate(any(AtividadeInput.class))).thenReturn(Collections.emptySet());
+        when(atividadeMapper.toEntity(atividadeInputValida)).thenReturn(atividade);
+        when(atividadeRepository.salvarEmLote(List.of(atividade))).thenReturn(List.of(atividade));
+
+        List<ResultadoLoteOutput> result = atividadeService.criarAtividadesEmLote(
+                Arrays.asList(atividadeInputValida, inputInvalido, null));
+
+        assertThat(result).hasSize(3);
+        assertThat(result.get(0).getStatus()).isEqualTo(ResultadoLoteOutput.Status.CRIADA);
+        assertThat(result.get(0).getIdAtividade()).isEqualTo(1L);
+        assertThat(result.get(0).getErros()).isEmpty();
+        assertThat(result.get(1).getStatus()).isEqualTo(ResultadoLoteOutput.Status.REJEITADA);
+        assertThat(result.get(1).getIndice()).isEqualTo(1);
+        assertThat(result.get(1).getErros()).containsExactly("Descrição da atividade deve ser informada");
+        assertThat(result.get(2).getStatus()).isEqualTo(ResultadoLoteOutput.Status.REJEITADA);
+        assertThat(result.get(2).getErros()).containsExactly("Dados da atividade devem ser informados");
+
+        verify(atividadeRepository).salvarEmLote(List.of(atividade));
+        verify(atividadeRepository, never()).save(any());
+        verify(resumoDiarioRepository).somar("EMP001", LocalDate.of(2025, 12, 25), "RUN", 1);
+    }
+
+    @Test
+    @DisplayName("Deve somar no resumo diário uma vez por funcional, dia e código do lote")
+    void deveAgruparLoteNoResumoDiario() {
+        Atividade mesmoDia = new Atividade();
+        mesmoDia.setFuncional("EMP001");
+        mesmoDia.setDataHora(LocalDateTime.of(2025, 12, 25, 18, 0));
+        mesmoDia.setCodigoAtividade("RUN");
+        Atividade outroCodigo = new Atividade();
+        outroCodigo.setFuncional("EMP001");
+        outroCodigo.setDataHora(LocalDateTime.of(2025, 12, 25, 19, 0));
+        outroCodigo.setCodigoAtividade("GYM");
+
+        when(validator.validate(any(AtividadeInput.class))).thenReturn(Collections.emptySet());
+        when(atividadeMapper.toEntity(atividadeInputValida)).thenReturn(atividade, mesmoDia, outroCodigo);
+        when(atividadeRepository.salvarEmLote(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        atividadeService.criarAtividadesEmLote(List.of(atividadeInputValida, atividadeInputValida, atividadeInputValida));
+
+        verify(resumoDiarioRepository).somar("EMP001", LocalDate.of(2025, 12, 25), "RUN", 2);
+        verify(resumoDiarioRepository).somar("EMP001", LocalDate.of(2025, 12, 25), "GYM", 1);
+        verifyNoMoreInteractions(resumoDiarioRepository);
+        verify(marcaAlteracaoRepository).incrementar("EMP001");
+        verifyNoMoreInteractions(marcaAlteracaoRepository);
+    }
+
+    @Test
+    @DisplayName("Deve marcar como repetida a reentrega da ingestão que já está no banco e gravar só as demais")
+    void deveMarcarReentregaJaGravadaComoRepetida() {
+        Atividade naoGravada = new Atividade();
+        naoGravada.setIdAtividade(2L);
+        naoGravada.setFuncional("EMP001");
+        naoGravada.setDataHora(LocalDateTime.of(2025, 12, 25, 10, 30));
+        naoGravada.setCodigoAtividade("RUN");
+
+        when(validator.validate(any(AtividadeInput.class))).thenReturn(Collections.emptySet());
+        when(atividadeRepository.findChavesIngestaoGravadas(List.of("chave-1", "chave-2"))).thenReturn(Set.of("chave-1"));
+        when(atividadeMapper.toEntity(atividadeInputValida)).thenReturn(naoGravada);
+        when(atividadeRepository.salvarEmLote(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<ResultadoLoteOutput> result = atividadeService.criarAtividadesIngeridas(
+                List.of(atividadeInputValida, atividadeInputValida), List.of("chave-1", "chave-2"), true);
+
+        assertThat(result).extracting(ResultadoLoteOutput::getStatus)
+                .containsExactly(ResultadoLoteOutput.Status.REPETIDA, ResultadoLoteOutput.Status.CRIADA);
+        assertThat(result.get(1).getIdAtividade()).isEqualTo(2L);
+        assertThat(naoGravada.getChaveIngestao()).isEqualTo("chave-2");
+        verify(atividadeRepository).salvarEmLote(List.of(naoGravada));
+        verify(resumoDiarioRepository).somar("EMP001", LocalDate.of(2025, 12, 25), "RUN", 1);
+    }
+
+    @Test
+    @DisplayName("Não deve consultar as chaves de ingestão na primeira entrega do lote")
+    void naoDeveConsultarChavesNaPrimeiraEntrega() {
+        when(validator.validate(any(AtividadeInput.class))).thenReturn(Collections.emptySet());
+        when(atividadeMapper.toEntity(atividadeInputValida)).thenReturn(atividade);
+        when(atividadeRepository.salvarEmLote(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        atividadeService.criarAtividadesIngeridas(List.of(atividadeInputValida), List.of("chave-1"), false);
+
+        verify(atividadeRepository, never()).findChavesIngestaoGravadas(any());
+        assertThat(atividade.getChaveIngestao()).isEqualTo("chave-1");
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao criar lote vazio")
+    void deveLancarExcecaoAoCriarLoteVazio() {
+        assertThatThrownBy(() -> atividadeService.criarAtividadesEmLote(Collections.emptyList()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Lote deve conter ao menos uma atividade");
+
+        verifyNoInteractions(atividadeRepository, atividadeMapper);
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao criar lote acima do tamanho máximo")
+    void deveLancarExcecaoAoCriarLoteAcimaDoMaximo() {
+        loteProperties.setTamanhoMaximo(1);
+
+        assertThatThrownBy(() -> atividadeService.criarAtividadesEmLote(List.of(atividadeInputValida, atividadeInputValida)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Lote não pode ter mais de 1 atividades");
+
+        verifyNoInteractions(atividadeRepository, atividadeMapper);
+    }
+
     @Test
     @DisplayName("Deve listar todas as atividades com sucesso")
     void deveListarTodasAtividadesComSucesso() {
-        List<Atividade> atividades = Arrays.asList(atividade);
         List<AtividadeOutput> atividadeOutputs = Arrays.asList(atividadeOutput);
 
-        when(atividadeRepository.findAll()).thenReturn(atividades);
-        when(atividadeMapper.toOutputList(atividades)).thenReturn(atividadeOutputs);
+        when(atividadeRepository.findAllOutputs()).thenReturn(atividadeOutputs);
 
         List<AtividadeOutput> result = atividadeService.listarTodasAtividades();
 
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getFuncional()).isEqualTo("EMP001");
 
-        verify(atividadeRepository).findAll();
-        verify(atividadeMapper).toOutputList(atividades);
+        verify(atividadeRepository).findAllOutputs();
+        verifyNoInteractions(atividadeMapper);
     }
 
     @Test
     @DisplayName("Deve listar atividades por funcional com sucesso")
     void deveListarAtividadesPorFuncionalComSucesso() {
         String funcional = "EMP001";
-        List<Atividade> atividades = Arrays.asList(atividade);
         List<AtividadeOutput> atividadeOutputs = Arrays.asList(atividadeOutput);
 
-        when(atividadeRepository.findByFuncional(funcional)).thenReturn(atividades);
-        when(atividadeMapper.toOutputList(atividades)).thenReturn(atividadeOutputs);
+        when(atividadeRepository.findOutputsByFuncional(funcional)).thenReturn(atividadeOutputs);
 
         List<AtividadeOutput> result = atividadeService.listarAtividadesPorFuncional(funcional);
 
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getFuncional()).isEqualTo("EMP001");
 
-        verify(atividadeRepository).findByFuncional(funcional);
-        verify(atividadeMapper).toOutputList(atividades);
+        verify(atividadeRepository).findOutputsByFuncional(funcional);
+        verifyNoInteractions(atividadeMapper);
     }
 
     @Test
@@ -225,10 +369,7 @@ class AtividadeServiceImplTest {
         LocalDate dataInicio = LocalDate.of(2025, 9, 1);
         LocalDate dataFim = LocalDate.of(2025, 9, 30);
 
-        List<Atividade> atividades = Arrays.asList(atividade);
-
-        when(atividadeRepository.findAll(any(Specification.class))).thenReturn(atividades);
-        when(atividadeMapper.toOutput(atividade)).thenReturn(atividadeOutput);
+        when(atividadeRepository.listarOutputsComFiltros(any(Specification.class))).thenReturn(List.of(atividadeOutput));
 
         List<AtividadeOutput> result = atividadeService.listarAtividadesComFiltros(
                 funcional, codigoAtividade, descricaoAtividade, dataInicio, dataFim);
@@ -236,7 +377,98 @@ class AtividadeServiceImplTest {
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getFuncional()).isEqualTo("EMP001");
 
-        verify(atividadeRepository).findAll(any(Specification.class));
+        verify(indiceDescricao).buscar("corrida");
+        verify(atividadeRepository).listarOutputsComFiltros(any(Specification.class));
+        verifyNoInteractions(atividadeMapper);
+    }
+
+    @Test
+    @DisplayName("Deve resolver filtro de descrição pelo índice de trigramas quando disponível")
+    void deveResolverDescricaoPeloIndice() {
+        when(indiceDescricao.buscar("corrida")).thenReturn(Optional.of(Set.of(1L)));
+        when(atividadeRepository.listarOutputsComFiltros(any(Specification.class))).thenReturn(List.of(atividadeOutput));
+
+        List<AtividadeOutput> result = atividadeService.listarAtividadesComFiltros(null, null, "corrida", null, null);
+
+        assertThat(result).hasSize(1);
+        verify(indiceDescricao).buscar("corrida");
+    }
+
+    @Test
+    @DisplayName("Não deve consultar o índice quando não houver filtro de descrição")
+    void naoDeveConsultarIndiceSemFiltroDeDescricao() {
+        when(atividadeRepository.listarOutputsComFiltros(any(Specification.class))).thenReturn(List.of());
+
+        atividadeService.listarAtividadesComFiltros("EMP001", null, null, null, null);
+
+        verifyNoInteractions(indiceDescricao);
+    }
+
+    @Test
+    @DisplayName("Deve listar primeira página sem cursor e sem próxima página")
+    void deveListarPrimeiraPaginaSemProximaPagina() {
+        when(atividadeRepository.listarOutputsPaginados(any(Specification.class), eq(11))).thenReturn(List.of(atividadeOutput));
+
+        PaginaAtividadeOutput result = atividadeService.listarAtividadesPaginadas(
+                "EMP001", null, null, null, null, null, 10);
+
+        assertThat(result.getAtividades()).hasSize(1);
+        assertThat(result.getProximoCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve retornar cursor da última atividade quando houver próxima página")
+    void deveRetornarCursorQuandoHouverProximaPagina() {
+        AtividadeOutput segunda = new AtividadeOutput(2L, "EMP001", LocalDateTime.of(2025, 12, 26, 8, 0), "RUN", "Corrida", 0L);
+
+        when(atividadeRepository.listarOutputsPaginados(any(Specification.class), eq(2))).thenReturn(List.of(atividadeOutput, segunda));
+
+        PaginaAtividadeOutput result = atividadeService.listarAtividadesPaginadas(
+                null, null, null, null, null, null, 1);
+
+        assertThat(result.getAtividades()).containsExactly(atividadeOutput);
+        assertThat(CursorAtividade.decodificar(result.getProximoCursor()))
+                .isEqualTo(new CursorAtividade(atividadeOutput.getDataHora(), atividadeOutput.getIdAtividade()));
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao paginar com limite fora do intervalo permitido")
+    void deveLancarExcecaoAoPaginarComLimiteInvalido() {
+        assertThatThrownBy(() -> atividadeService.listarAtividadesPaginadas(null, null, null, null, null, null, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Limite deve estar entre 1 e 1000");
+
+        assertThatThrownBy(() -> atividadeService.listarAtividadesPaginadas(null, null, null, null, null, null, 1001))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Limite deve estar entre 1 e 1000");
+
+        verifyNoInteractions(atividadeRepository, atividadeMapper);
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao paginar com cursor inválido")
+    void deveLancarExcecaoAoPaginarComCursorInvalido() {
+        assertThatThrownBy(() -> atividadeService.listarAtividadesPaginadas(null, null, null, null, null, "???", null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Cursor inválido");
+
+        verifyNoInteractions(atividadeRepository, atividadeMapper);
+    }
+
+    @Test
+    @DisplayName("Deve exportar atividades entregando cada uma ao consumidor e fechando o stream")
+    void deveExportarAtividadesComStream() {
+        AtomicBoolean fechado = new AtomicBoolean(false);
+        when(atividadeRepository.streamOutputsComFiltros(any(Specification.class)))
+                .thenReturn(Stream.of(atividadeOutput, atividadeOutput).onClose(() -> fechado.set(true)));
+
+        List<AtividadeOutput> recebidas = new ArrayList<>();
+        long total = atividadeService.exportarAtividadesComFiltros("EMP001", null, null, null, null, recebidas::add);
+
+        assertThat(total).isEqualTo(2);
+        assertThat(recebidas).containsExactly(atividadeOutput, atividadeOutput);
+        assertThat(fechado).isTrue();
+        verifyNoInteractions(atividadeMapper);
     }
 
     @Test
@@ -294,27 +526,92 @@ class AtividadeServiceImplTest {
     @DisplayName("Deve atualizar atividade com sucesso")
     void deveAtualizarAtividadeComSucesso() {
         Long id = 1L;
-        when(atividadeRepository.findById(id)).thenReturn(Optional.of(atividade));
-        when(atividadeRepository.existsById(id)).thenReturn(true);
-        when(atividadeRepository.save(any(Atividade.class))).thenReturn(atividade);
+        when(atividadeRepository.buscarParaEscrita(id)).thenReturn(Optional.of(atividade));
+        when(atividadeRepository.saveAndFlush(any(Atividade.class))).thenReturn(atividade);
         when(atividadeMapper.toOutput(atividade)).thenReturn(atividadeOutput);
 
-        AtividadeOutput result = atividadeService.atualizarAtividade(id, atividadeInputValida);
+        AtividadeOutput result = atividadeService.atualizarAtividade(id, atividadeInputValida, null);
 
         assertThat(result).isNotNull();
         assertThat(result.getIdAtividade()).isEqualTo(id);
 
-        verify(atividadeRepository).existsById(id);
-        verify(atividadeRepository).findById(id);
+        verify(atividadeRepository).buscarParaEscrita(id);
+        verify(atividadeRepository, never()).existsById(any());
         verify(atividadeMapper).updateEntityFromInput(atividadeInputValida, atividade);
-        verify(atividadeRepository).save(atividade);
+        verify(atividadeRepository).saveAndFlush(atividade);
         verify(atividadeMapper).toOutput(atividade);
+        verifyNoInteractions(resumoDiarioRepository);
+        verify(marcaAlteracaoRepository).incrementar("EMP001");
+    }
+
+    @Test
+    @DisplayName("Deve atualizar quando a versão esperada (If-Match) for a atual")
+    void deveAtualizarQuandoVersaoEsperadaForAtual() {
+        atividade.setVersao(3L);
+        when(atividadeRepository.buscarParaEscrita(1L)).thenReturn(Optional.of(atividade));
+        when(atividadeRepository.saveAndFlush(atividade)).thenReturn(atividade);
+        when(atividadeMapper.toOutput(atividade)).thenReturn(atividadeOutput);
+
+        assertThat(atividadeService.atualizarAtividade(1L, atividadeInputValida, 3L)).isEqualTo(atividadeOutput);
+
+        verify(atividadeRepository).saveAndFlush(atividade);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar atualização quando a versão esperada (If-Match) estiver desatualizada")
+    void deveRejeitarAtualizacaoComVersaoDesatualizada() {
+        atividade.setVersao(4L);
+        when(atividadeRepository.buscarParaEscrita(1L)).thenReturn(Optional.of(atividade));
+
+        assertThatThrownBy(() -> atividadeService.atualizarAtividade(1L, atividadeInputValida, 3L))
+                .isInstanceOf(OptimisticLockingFailureException.class)
+                .hasMessage("Atividade com ID 1 foi alterada por outra requisição");
+
+        verify(atividadeRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(atividadeMapper, resumoDiarioRepository);
+    }
+
+    @Test
+    @DisplayName("Deve mover a atividade no resumo diário quando data ou código mudarem")
+    void deveMoverAtividadeNoResumoAoAtualizar() {
+        Long id = 1L;
+        when(atividadeRepository.buscarParaEscrita(id)).thenReturn(Optional.of(atividade));
+        doAnswer(invocation -> {
+            Atividade alvo = invocation.getArgument(1);
+            alvo.setDataHora(LocalDateTime.of(2025, 12, 26, 6, 0));
+            alvo.setCodigoAtividade("GYM");
+            return null;
+        }).when(atividadeMapper).updateEntityFromInput(atividadeInputValida, atividade);
+        when(atividadeRepository.saveAndFlush(atividade)).thenReturn(atividade);
+
+        atividadeService.atualizarAtividade(id, atividadeInputValida, null);
+
+        verify(resumoDiarioRepository).somar("EMP001", LocalDate.of(2025, 12, 25), "RUN", -1);
+        verify(resumoDiarioRepository).somar("EMP001", LocalDate.of(2025, 12, 26), "GYM", 1);
+    }
+
+    @Test
+    @DisplayName("Deve marcar alteração no funcional anterior e no novo quando a atualização trocar o funcional")
+    void deveMarcarAlteracaoNosDoisFuncionaisAoTrocarFuncional() {
+        when(atividadeRepository.buscarParaEscrita(1L)).thenReturn(Optional.of(atividade));
+        doAnswer(invocation -> {
+            Atividade alvo = invocation.getArgument(1);
+            alvo.setFuncional("EMP000");
+            return null;
+        }).when(atividadeMapper).updateEntityFromInput(atividadeInputValida, atividade);
+        when(atividadeRepository.saveAndFlush(atividade)).thenReturn(atividade);
+
+        atividadeService.atualizarAtividade(1L, atividadeInputValida, null);
+
+        InOrder ordem = inOrder(marcaAlteracaoRepository);
+        ordem.verify(marcaAlteracaoRepository).incrementar("EMP000");
+        ordem.verify(marcaAlteracaoRepository).incrementar("EMP001");
     }
 
     @Test
     @DisplayName("Deve lançar exceção ao atualizar com ID nulo")
     void deveLancarExcecaoAoAtualizarComIdNulo() {
-        assertThatThrownBy(() -> atividadeService.atualizarAtividade(null, atividadeInputValida))
+        assertThatThrownBy(() -> atividadeService.atualizarAtividade(null, atividadeInputValida, null))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("ID deve ser um número positivo");
 
@@ -325,13 +622,14 @@ class AtividadeServiceImplTest {
     @DisplayName("Deve lançar exceção ao atualizar atividade inexistente")
     void deveLancarExcecaoAoAtualizarAtividadeInexistente() {
         Long id = 999L;
-        when(atividadeRepository.existsById(id)).thenReturn(false);
+        when(atividadeRepository.buscarParaEscrita(id)).thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> atividadeService.atualizarAtividade(id, atividadeInputValida))
+        assertThatThrownBy(() -> atividadeService.atualizarAtividade(id, atividadeInputValida, null))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Atividade com ID " + id + " não encontrada");
 
-        verify(atividadeRepository).existsById(id);
+        verify(atividadeRepository).buscarParaEscrita(id);
+        verify(atividadeRepository, never()).saveAndFlush(any());
         verifyNoInteractions(atividadeMapper);
     }
 
@@ -339,12 +637,14 @@ class AtividadeServiceImplTest {
     @DisplayName("Deve deletar atividade com sucesso")
     void deveDeletarAtividadeComSucesso() {
         Long id = 1L;
-        when(atividadeRepository.existsById(id)).thenReturn(true);
+        when(atividadeRepository.buscarParaEscrita(id)).thenReturn(Optional.of(atividade));
 
         atividadeService.deletarAtividade(id);
 
-        verify(atividadeRepository).existsById(id);
-        verify(atividadeRepository).deleteById(id);
+        verify(atividadeRepository).buscarParaEscrita(id);
+        verify(atividadeRepository).delete(atividade);
+        verify(resumoDiarioRepository).somar("EMP001", LocalDate.of(2025, 12, 25), "RUN", -1);
+        verify(marcaAlteracaoRepository).incrementar("EMP001");
     }
 
     @Test
@@ -361,13 +661,13 @@ class AtividadeServiceImplTest {
     @DisplayName("Deve lançar exceção ao deletar atividade inexistente")
     void deveLancarExcecaoAoDeletarAtividadeInexistente() {
         Long id = 999L;
-        when(atividadeRepository.existsById(id)).thenReturn(false);
+        when(atividadeRepository.buscarParaEscrita(id)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> atividadeService.deletarAtividade(id))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Atividade com ID " + id + " não encontrada");
 
-        verify(atividadeRepository).existsById(id);
-        verify(atividadeRepository, never()).deleteById(any());
+        verify(atividadeRepository).buscarParaEscrita(id);
+        verify(atividadeRepository, never()).delete(any(Atividade.class));
     }
 }
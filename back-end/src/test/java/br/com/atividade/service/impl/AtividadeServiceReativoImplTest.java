@@ -0,0 +1,117 @@
+package br.com.atividade.service.impl;
+
+import br.com.atividade.sevice.AtividadeService;
+import br.com.atividade.sevice.AtividadeServiceReativo;
+import br.com.atividade.sevice.EstatisticaAtividadeService;
+import br.com.atividade.sevice.dto.input.AtividadeInput;
+import br.com.atividade.sevice.dto.output.AtividadeOutput;
+import br.com.atividade.sevice.dto.output.EstatisticaCodigoOutput;
+import org.assertj.core.groups.Tuple;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.main.web-application-type=reactive",
+        "spring.datasource.url=jdbc:h2:mem:reativo;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "atividade.reativo.url=r2dbc:h2:mem:///reativo?options=MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "atividade.reativo.username=sa",
+        "atividade.reativo.password=password"
+})
+@ActiveProfiles({"test", "reativo"})
+@DisplayName("Testes do AtividadeServiceReativoImpl (R2DBC)")
+class AtividadeServiceReativoImplTest {
+
+    private static final LocalDate DIA = LocalDate.of(2025, 7, 1);
+
+    @Autowired
+    private AtividadeServiceReativo atividadeServiceReativo;
+
+    @Autowired
+    private AtividadeService atividadeService;
+
+    @Autowired
+    private EstatisticaAtividadeService estatisticaService;
+
+    @Test
+    @DisplayName("Deve emitir a listagem conforme a demanda do assinante")
+    void deveRespeitarBackpressure() {
+        String funcional = "BP" + UUID.randomUUID().toString().substring(0, 8);
+        for (int i = 0; i < 5; i++) {
+            atividadeServiceReativo.criarAtividade(novaAtividade(funcional, "Corrida " + i, i)).block();
+        }
+
+        StepVerifier.create(atividadeServiceReativo.listarAtividadesComFiltros(funcional, null, null, null, null), 2)
+                .assertNext(atividade -> assertThat(atividade.getDescricaoAtividade()).isEqualTo("Corrida 0"))
+                .assertNext(atividade -> assertThat(atividade.getDescricaoAtividade()).isEqualTo("Corrida 1"))
+                .expectNoEvent(Duration.ofMillis(200))
+                .thenRequest(3)
+                .expectNextCount(3)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Deve compartilhar a sequência de IDs com o caminho JPA e manter o resumo diário")
+    void deveCompartilharSequenciaEResumo() {
+        String funcional = "SEQ" + UUID.randomUUID().toString().substring(0, 8);
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 60; i++) {
+            AtividadeInput input = novaAtividade(funcional, "Atividade " + i, i);
+            AtividadeOutput criada = i % 2 == 0
+                    ? atividadeServiceReativo.criarAtividade(input).block()
+                    : atividadeService.criarAtividade(input);
+            assertThat(ids.add(criada.getIdAtividade())).as("ID %d repetido", criada.getIdAtividade()).isTrue();
+        }
+
+        AtividadeOutput primeira = atividadeServiceReativo.listarAtividadesComFiltros(funcional, null, null, null, null).blockFirst();
+        AtividadeInput alteracao = novaAtividade(funcional, "Natação", 0);
+        alteracao.setCodigoAtividade("SWIM");
+        atividadeServiceReativo.atualizarAtividade(primeira.getIdAtividade(), alteracao, 0L).block();
+        StepVerifier.create(atividadeServiceReativo.deletarAtividade(primeira.getIdAtividade() + 10_000_000))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        assertThat(estatisticaService.listarPorCodigo(funcional, DIA, DIA))
+                .extracting(EstatisticaCodigoOutput::getCodigoAtividade, EstatisticaCodigoOutput::getQuantidade)
+                .containsExactlyInAnyOrder(Tuple.tuple("RUN", 59L), Tuple.tuple("SWIM", 1L));
+    }
+
+    @Test
+    @DisplayName("Deve falhar com OptimisticLockingFailureException quando a versão esperada está desatualizada")
+    void deveRejeitarVersaoDesatualizada() {
+        String funcional = "VER" + UUID.randomUUID().toString().substring(0, 8);
+        AtividadeOutput criada = atividadeServiceReativo.criarAtividade(novaAtividade(funcional, "Corrida", 0)).block();
+        atividadeServiceReativo.atualizarAtividade(criada.getIdAtividade(), novaAtividade(funcional, "Corrida longa", 0), 0L).block();
+
+        StepVerifier.create(atividadeServiceReativo.atualizarAtividade(criada.getIdAtividade(), novaAtividade(funcional, "Corrida curta", 0), 0L))
+                .expectError(OptimisticLockingFailureException.class)
+                .verify();
+        StepVerifier.create(atividadeServiceReativo.buscarAtividadePorId(criada.getIdAtividade()))
+                .assertNext(atividade -> {
+                    assertThat(atividade.getDescricaoAtividade()).isEqualTo("Corrida longa");
+                    assertThat(atividade.getVersao()).isEqualTo(1L);
+                })
+                .verifyComplete();
+    }
+
+    private static AtividadeInput novaAtividade(String funcional, String descricao, int minuto) {
+        AtividadeInput input = new AtividadeInput();
+        input.setFuncional(funcional);
+        input.setDataHora(DIA.atTime(6, 0).plusMinutes(minuto));
+        input.setCodigoAtividade("RUN");
+        input.setDescricaoAtividade(descricao);
+        return input;
+    }
+}
@@ -0,0 +1,184 @@
+package br.com.atividade.service.impl;
+
+import br.com.atividade.config.ResumoProperties;
+import br.com.atividade.repository.AtividadeResumoDiarioRepository;
+import br.com.atividade.repository.ParticaoAtividadeRepository;
+import br.com.atividade.sevice.AtividadeService;
+import br.com.atividade.sevice.EstatisticaAtividadeService;
+import br.com.atividade.sevice.dto.input.AgrupamentoEstatistica;
+import br.com.atividade.sevice.dto.input.AtividadeInput;
+import br.com.atividade.sevice.dto.output.AtividadeOutput;
+import br.com.atividade.sevice.dto.output.EstatisticaCodigoOutput;
+import br.com.atividade.sevice.dto.output.EstatisticaPeriodoOutput;
+import br.com.atividade.sevice.dto.output.ReconstrucaoResumoOutput;
+import br.com.atividade.sevice.impl.EstatisticaAtividadeServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Testes do EstatisticaAtividadeServiceImpl")
+class EstatisticaAtividadeServiceImplTest {
+
+    private static final LocalDate INICIO = LocalDate.of(2024, 3, 1);
+    private static final LocalDate FIM = LocalDate.of(2024, 3, 31);
+
+    @Autowired
+    private AtividadeService atividadeService;
+
+    @Autowired
+    private EstatisticaAtividadeService estatisticaAtividadeService;
+
+    @Autowired
+    private AtividadeResumoDiarioRepository resumoDiarioRepository;
+
+    @Autowired
+    private ResumoProperties resumoProperties;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Deve manter o resumo diário ao criar, atualizar e excluir atividades")
+    void deveManterResumoNasEscritas() {
+        String funcional = novoFuncional();
+        AtividadeOutput corrida = atividadeService.criarAtividade(novaAtividade(funcional, LocalDateTime.of(2024, 3, 4, 7, 0), "RUN"));
+        atividadeService.criarAtividade(novaAtividade(funcional, LocalDateTime.of(2024, 3, 4, 19, 0), "RUN"));
+        atividadeService.criarAtividadesEmLote(List.of(
+                novaAtividade(funcional, LocalDateTime.of(2024, 3, 5, 7, 0), "GYM"),
+                novaAtividade(funcional, LocalDateTime.of(2024, 3, 12, 7, 0), "RUN")));
+
+        assertThat(estatisticaAtividadeService.listarPorPeriodo(funcional, null, AgrupamentoEstatistica.DIA, INICIO, FIM))
+                .containsExactly(
+                        new EstatisticaPeriodoOutput(LocalDate.of(2024, 3, 4), 2L),
+                        new EstatisticaPeriodoOutput(LocalDate.of(2024, 3, 5), 1L),
+                        new EstatisticaPeriodoOutput(LocalDate.of(2024, 3, 12), 1L));
+
+        atividadeService.atualizarAtividade(corrida.getIdAtividade(), novaAtividade(funcional, LocalDateTime.of(2024, 3, 5, 8, 0), "GYM"), null);
+        assertThat(estatisticaAtividadeService.listarPorCodigo(funcional, INICIO, FIM))
+                .containsExactly(new EstatisticaCodigoOutput("GYM", 2L), new EstatisticaCodigoOutput("RUN", 2L));
+
+        atividadeService.deletarAtividade(corrida.getIdAtividade());
+        assertThat(estatisticaAtividadeService.listarPorPeriodo(funcional, "GYM", AgrupamentoEstatistica.DIA, INICIO, FIM))
+                .containsExactly(new EstatisticaPeriodoOutput(LocalDate.of(2024, 3, 5), 1L));
+    }
+
+    @Test
+    @DisplayName("Deve agrupar o resumo diário por semana e por mês")
+    void deveAgruparPorSemanaEMes() {
+        String funcional = novoFuncional();
+        atividadeService.criarAtividadesEmLote(List.of(
+                novaAtividade(funcional, LocalDateTime.of(2024, 3, 4, 7, 0), "RUN"),
+                novaAtividade(funcional, LocalDateTime.of(2024, 3, 10, 7, 0), "RUN"),
+                novaAtividade(funcional, LocalDateTime.of(2024, 3, 11, 7, 0), "GYM"),
+                novaAtividade(funcional, LocalDateTime.of(2024, 4, 1, 7, 0), "RUN")));
+
+        assertThat(estatisticaAtividadeService.listarPorPeriodo(funcional, null, AgrupamentoEstatistica.SEMANA, INICIO, LocalDate.of(2024, 4, 30)))
+                .containsExactly(
+                        new EstatisticaPeriodoOutput(LocalDate.of(2024, 3, 4), 2L),
+                        new EstatisticaPeriodoOutput(LocalDate.of(2024, 3, 11), 1L),
+                        new EstatisticaPeriodoOutput(LocalDate.of(2024, 4, 1), 1L));
+        assertThat(estatisticaAtividadeService.listarPorPeriodo(funcional, null, AgrupamentoEstatistica.MES, INICIO, LocalDate.of(2024, 4, 30)))
+                .containsExactly(
+                        new EstatisticaPeriodoOutput(LocalDate.of(2024, 3, 1), 3L),
+                        new EstatisticaPeriodoOutput(LocalDate.of(2024, 4, 1), 1L));
+    }
+
+    @Test
+    @DisplayName("Deve reconstruir o resumo a partir da tabela atividade dividindo o período em tarefas")
+    void deveReconstruirResumoEmParalelo() {
+        String funcional = novoFuncional();
+        atividadeService.criarAtividadesEmLote(List.of(
+                novaAtividade(funcional, LocalDateTime.of(2023, 1, 2, 7, 0), "RUN"),
+                novaAtividade(funcional, LocalDateTime.of(2023, 1, 2, 23, 59), "RUN"),
+                novaAtividade(funcional, LocalDateTime.of(2023, 2, 15, 7, 0), "GYM"),
+                novaAtividade(funcional, LocalDateTime.of(2023, 6, 30, 7, 0), "RUN")));
+        LocalDate inicio = LocalDate.of(2023, 1, 1);
+        LocalDate fim = LocalDate.of(2023, 12, 31);
+        List<EstatisticaPeriodoOutput> antes = estatisticaAtividadeService.listarPorPeriodo(funcional, null, AgrupamentoEstatistica.DIA, inicio, fim);
+
+        resumoDiarioRepository.deleteAllInBatch();
+        assertThat(estatisticaAtividadeService.listarPorPeriodo(funcional, null, AgrupamentoEstatistica.DIA, inicio, fim)).isEmpty();
+
+        ReconstrucaoResumoOutput reconstrucao = estatisticaAtividadeService.reconstruirResumo(inicio, fim);
+
+        assertThat(reconstrucao.getTarefas()).isGreaterThan(365 / resumoProperties.getDiasPorTarefa());
+        assertThat(reconstrucao.getLinhasGeradas()).isGreaterThanOrEqualTo(3);
+        assertThat(estatisticaAtividadeService.listarPorPeriodo(funcional, null, AgrupamentoEstatistica.DIA, inicio, fim))
+                .isEqualTo(antes)
+                .containsExactly(
+                        new EstatisticaPeriodoOutput(LocalDate.of(2023, 1, 2), 2L),
+                        new EstatisticaPeriodoOutput(LocalDate.of(2023, 2, 15), 1L),
+                        new EstatisticaPeriodoOutput(LocalDate.of(2023, 6, 30), 1L));
+    }
+
+    @Test
+    @DisplayName("Deve manter o resumo dos meses descartados pela retenção de partições ao reconstruir")
+    void deveManterResumoDosMesesDescartadosPelaRetencao() {
+        String funcional = novoFuncional();
+        atividadeService.criarAtividadesEmLote(List.of(
+                novaAtividade(funcional, LocalDateTime.of(2022, 12, 10, 7, 0), "RUN"),
+                novaAtividade(funcional, LocalDateTime.of(2023, 1, 5, 7, 0), "RUN")));
+        // O H2 não tem partições: o DELETE faz o papel do DROP PARTITION de dezembro
+        jdbcTemplate.update("DELETE FROM atividade WHERE funcional = ? AND data_hora < ?", funcional, LocalDateTime.of(2023, 1, 1, 0, 0));
+        ParticaoAtividadeRepository particaoRepository = mock(ParticaoAtividadeRepository.class);
+        when(particaoRepository.primeiroMesRetido()).thenReturn(Optional.of(YearMonth.of(2023, 1)));
+        EstatisticaAtividadeService comRetencao = new EstatisticaAtividadeServiceImpl(
+                resumoDiarioRepository, particaoRepository, transactionManager, resumoProperties);
+        LocalDate inicio = LocalDate.of(2022, 12, 1);
+        LocalDate fim = LocalDate.of(2023, 1, 31);
+
+        ReconstrucaoResumoOutput reconstrucao = comRetencao.reconstruirResumo(inicio, fim);
+        ReconstrucaoResumoOutput soDescartados = comRetencao.reconstruirResumo(inicio, LocalDate.of(2022, 12, 31));
+
+        assertThat(reconstrucao.getDataInicio()).isEqualTo(LocalDate.of(2023, 1, 1));
+        assertThat(soDescartados.getTarefas()).isZero();
+        assertThat(estatisticaAtividadeService.listarPorPeriodo(funcional, null, AgrupamentoEstatistica.DIA, inicio, fim))
+                .containsExactly(
+                        new EstatisticaPeriodoOutput(LocalDate.of(2022, 12, 10), 1L),
+                        new EstatisticaPeriodoOutput(LocalDate.of(2023, 1, 5), 1L));
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção para período ausente ou invertido")
+    void deveLancarExcecaoParaPeriodoInvalido() {
+        assertThatThrownBy(() -> estatisticaAtividadeService.listarPorCodigo(null, null, FIM))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Data inicial e data final devem ser informadas");
+
+        assertThatThrownBy(() -> estatisticaAtividadeService.listarPorPeriodo(null, null, null, FIM, INICIO))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Data inicial não pode ser posterior à data final");
+    }
+
+    private static String novoFuncional() {
+        return "EST" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    private static AtividadeInput novaAtividade(String funcional, LocalDateTime dataHora, String codigoAtividade) {
+        AtividadeInput input = new AtividadeInput();
+        input.setFuncional(funcional);
+        input.setDataHora(dataHora);
+        input.setCodigoAtividade(codigoAtividade);
+        input.setDescricaoAtividade("Atividade de " + codigoAtividade);
+        return input;
+    }
+}
@@ -0,0 +1,145 @@
+package br.com.atividade.service.indice;
+
+import br.com.atividade.config.IndiceDescricaoProperties;
+import br.com.atividade.model.evento.AtividadeAlteradaEvent;
+import br.com.atividade.repository.AtividadeRepository;
+import br.com.atividade.repository.projection.DescricaoAtividade;
+import br.com.atividade.sevice.indice.IndiceTrigramaDescricao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do IndiceTrigramaDescricao")
+class IndiceTrigramaDescricaoTest {
+
+    @Mock
+    private AtividadeRepository atividadeRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private IndiceDescricaoProperties properties;
+    private IndiceTrigramaDescricao indice;
+
+    @BeforeEach
+    void setUp() {
+        properties = new IndiceDescricaoProperties();
+        properties.setTamanhoBlocoConstrucao(2);
+        indice = new IndiceTrigramaDescricao(atividadeRepository, transactionManager, properties);
+    }
+
+    private void construir(DescricaoAtividade... descricoes) {
+        when(atividadeRepository.streamDescricoes()).thenReturn(Stream.of(descricoes));
+        indice.reconstruir();
+    }
+
+    @Test
+    @DisplayName("Não deve responder antes de ser construído")
+    void naoDeveResponderAntesDeConstruido() {
+        assertThat(indice.isPronto()).isFalse();
+        assertThat(indice.buscar("corrida")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve encontrar IDs por substring ignorando maiúsculas e acentos")
+    void deveEncontrarPorSubstring() {
+        construir(
+                new DescricaoAtividade(1L, "Corrida matinal no parque"),
+                new DescricaoAtividade(2L, "Caminhada leve"),
+                new DescricaoAtividade(3L, "CORRIDA de rua"),
+                new DescricaoAtividade(4L, "Natação"));
+
+        assertThat(indice.isPronto()).isTrue();
+        assertThat(indice.buscar("corrida")).contains(Set.of(1L, 3L));
+        assertThat(indice.buscar("NATACAO")).contains(Set.of(4L));
+        assertThat(indice.buscar("ada lev")).contains(Set.of(2L));
+        assertThat(indice.buscar("ciclismo")).contains(Set.of());
+    }
+
+    @Test
+    @DisplayName("Deve devolver como candidatos os IDs com todos os trigramas, que o LIKE confirma no banco")
+    void deveDevolverCandidatosComTodosOsTrigramas() {
+        construir(
+                new DescricaoAtividade(1L, "abcxbcd"),
+                new DescricaoAtividade(2L, "abcd"),
+                new DescricaoAtividade(3L, "abcx"));
+
+        assertThat(indice.buscar("abcd")).contains(Set.of(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("Deve recorrer ao banco para termos curtos ou com candidatos demais")
+    void deveRecorrerAoBancoQuandoNaoPuderResponder() {
+        properties.setLimiteCandidatos(1);
+        construir(
+                new DescricaoAtividade(1L, "Corrida"),
+                new DescricaoAtividade(2L, "Corrida"));
+
+        assertThat(indice.buscar("co")).isEmpty();
+        assertThat(indice.buscar("corrida")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve manter o índice atualizado com criações, atualizações e remoções")
+    void deveAtualizarIncrementalmente() {
+        construir(new DescricaoAtividade(1L, "Corrida"));
+
+        indice.aoAlterarAtividade(new AtividadeAlteradaEvent(AtividadeAlteradaEvent.Tipo.CRIADA, 2L, "Corrida noturna", null));
+        assertThat(indice.buscar("corrida")).contains(Set.of(1L, 2L));
+
+        indice.aoAlterarAtividade(new AtividadeAlteradaEvent(AtividadeAlteradaEvent.Tipo.ATUALIZADA, 1L, "Musculação", "Corrida"));
+        assertThat(indice.buscar("corrida")).contains(Set.of(2L));
+        assertThat(indice.buscar("musculacao")).contains(Set.of(1L));
+
+        indice.aoAlterarAtividade(new AtividadeAlteradaEvent(AtividadeAlteradaEvent.Tipo.REMOVIDA, 2L, "Corrida noturna", "Corrida noturna"));
+        assertThat(indice.buscar("corrida")).contains(Set.of());
+    }
+
+    @Test
+    @DisplayName("Deve remover o ID de todas as listas quando o evento não traz a descrição anterior")
+    void deveRemoverSemDescricaoAnterior() {
+        construir(new DescricaoAtividade(1L, "Corrida"), new DescricaoAtividade(2L, "Corrida leve"));
+
+        indice.aoAlterarAtividade(new AtividadeAlteradaEvent(AtividadeAlteradaEvent.Tipo.ATUALIZADA, 1L, "Yoga", null));
+
+        assertThat(indice.buscar("corrida")).contains(Set.of(2L));
+        assertThat(indice.buscar("yoga")).contains(Set.of(1L));
+    }
+
+    @Test
+    @DisplayName("Não deve sobrescrever alteração recebida durante a construção com o valor lido do banco")
+    void devePreservarAlteracaoDuranteConstrucao() {
+        when(atividadeRepository.streamDescricoes()).thenAnswer(invocation -> {
+            indice.aoAlterarAtividade(new AtividadeAlteradaEvent(AtividadeAlteradaEvent.Tipo.ATUALIZADA, 1L, "Yoga", "Corrida"));
+            return Stream.of(new DescricaoAtividade(1L, "Corrida"));
+        });
+
+        indice.reconstruir();
+
+        assertThat(indice.buscar("corrida")).contains(Set.of());
+        assertThat(indice.buscar("yoga")).contains(Set.of(1L));
+    }
+
+    @Test
+    @DisplayName("Deve continuar indisponível se a construção falhar")
+    void deveFicarIndisponivelSeConstrucaoFalhar() {
+        when(atividadeRepository.streamDescricoes()).thenThrow(new RuntimeException("Erro de conexão"));
+
+        indice.reconstruir();
+
+        assertThat(indice.isPronto()).isFalse();
+        assertThat(indice.buscar("corrida")).isEqualTo(Optional.empty());
+    }
+}
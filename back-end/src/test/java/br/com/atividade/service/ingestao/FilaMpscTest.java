@@ -0,0 +1,87 @@
+package br.com.atividade.service.ingestao;
+
+import br.com.atividade.sevice.ingestao.FilaMpsc;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Testes da FilaMpsc")
+class FilaMpscTest {
+
+    @Test
+    @DisplayName("Deve arredondar a capacidade para potência de dois")
+    void deveArredondarCapacidade() {
+        assertThat(new FilaMpsc<>(1).capacidade()).isEqualTo(1);
+        assertThat(new FilaMpsc<>(5).capacidade()).isEqualTo(8);
+        assertThat(new FilaMpsc<>(8192).capacidade()).isEqualTo(8192);
+        assertThatThrownBy(() -> new FilaMpsc<>(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Deve recusar quando cheia e voltar a aceitar após drenar, mantendo a ordem")
+    void deveRecusarQuandoCheia() {
+        FilaMpsc<Integer> fila = new FilaMpsc<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(fila.oferecer(i)).isTrue();
+        }
+        assertThat(fila.oferecer(4)).isFalse();
+        assertThat(fila.tamanho()).isEqualTo(4);
+
+        List<Integer> drenados = new ArrayList<>();
+        assertThat(fila.drenar(drenados::add, 3)).isEqualTo(3);
+        assertThat(drenados).containsExactly(0, 1, 2);
+
+        assertThat(fila.oferecer(5)).isTrue();
+        assertThat(fila.drenar(drenados::add, 10)).isEqualTo(2);
+        assertThat(drenados).containsExactly(0, 1, 2, 3, 5);
+        assertThat(fila.tamanho()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve entregar cada elemento exatamente uma vez com vários produtores concorrentes")
+    void deveEntregarTodosComProdutoresConcorrentes() throws Exception {
+        int produtores = 4;
+        int porProdutor = 20_000;
+        FilaMpsc<Long> fila = new FilaMpsc<>(1024);
+        ExecutorService executor = Executors.newFixedThreadPool(produtores);
+        CountDownLatch largada = new CountDownLatch(1);
+        for (int p = 0; p < produtores; p++) {
+            long base = (long) p * porProdutor;
+            executor.submit(() -> {
+                largada.await();
+                for (long i = 0; i < porProdutor; i++) {
+                    while (!fila.oferecer(base + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                return null;
+            });
+        }
+
+        Set<Long> recebidos = new HashSet<>();
+        long[] ultimoPorProdutor = new long[produtores];
+        java.util.Arrays.fill(ultimoPorProdutor, -1);
+        largada.countDown();
+        while (recebidos.size() < produtores * porProdutor) {
+            fila.drenar(valor -> {
+                assertThat(recebidos.add(valor)).isTrue();
+                int produtor = (int) (valor / porProdutor);
+                assertThat(valor).isGreaterThan(ultimoPorProdutor[produtor]);
+                ultimoPorProdutor[produtor] = valor;
+            }, 256);
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(fila.tamanho()).isZero();
+    }
+}
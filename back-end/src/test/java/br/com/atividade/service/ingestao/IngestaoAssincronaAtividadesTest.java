@@ -0,0 +1,378 @@
+package br.com.atividade.service.ingestao;
+
+import br.com.atividade.config.IngestaoProperties;
+import br.com.atividade.sevice.AtividadeService;
+import br.com.atividade.sevice.dto.input.AtividadeInput;
+import br.com.atividade.sevice.dto.output.ResultadoLoteOutput;
+import br.com.atividade.sevice.ingestao.IngestaoAssincronaAtividades;
+import br.com.atividade.sevice.ingestao.LogEscritaAntecipada;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLDataException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes da IngestaoAssincronaAtividades")
+class IngestaoAssincronaAtividadesTest {
+
+    @Mock
+    private AtividadeService atividadeService;
+
+    private IngestaoProperties properties;
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new IngestaoProperties();
+        properties.setAssincrona(true);
+        properties.setCapacidadeFila(8);
+        properties.setTamanhoLote(3);
+        properties.setIntervaloGravacao(Duration.ofHours(1));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Deve recusar com a fila cheia e contar a recusa")
+    void deveRecusarComFilaCheia() {
+        IngestaoAssincronaAtividades ingestao = new IngestaoAssincronaAtividades(atividadeService, properties, meterRegistry);
+
+        IntStream.range(0, 8).forEach(i -> assertThat(ingestao.aceitar(atividade(i))).isTrue());
+        assertThat(ingestao.aceitar(atividade(8))).isFalse();
+
+        assertThat(meterRegistry.get("atividade.ingestao.fila").gauge().value()).isEqualTo(8);
+        assertThat(meterRegistry.get("atividade.ingestao.recusadas").counter().count()).isEqualTo(1);
+        verifyNoInteractions(atividadeService);
+    }
+
+    @Test
+    @DisplayName("Deve gravar em lotes de até tamanho-lote e esvaziar a fila ao encerrar")
+    void deveGravarEmLotes() throws Exception {
+        List<List<AtividadeInput>> lotes = new ArrayList<>();
+        when(atividadeService.criarAtividadesIngeridas(anyList(), anyList(), anyBoolean())).thenAnswer(invocacao -> {
+            List<AtividadeInput> lote = List.copyOf(invocacao.getArgument(0));
+            synchronized (lotes) {
+                lotes.add(lote);
+            }
+            return IntStream.range(0, lote.size())
+                    .mapToObj(i -> new ResultadoLoteOutput(i, ResultadoLoteOutput.Status.CRIADA, (long) i, List.of()))
+                    .toList();
+        });
+        IngestaoAssincronaAtividades ingestao = new IngestaoAssincronaAtividades(atividadeService, properties, meterRegistry);
+        ingestao.iniciar();
+
+        IntStream.range(0, 7).forEach(i -> assertThat(ingestao.aceitar(atividade(i))).isTrue());
+        ingestao.encerrar();
+
+        assertThat(lotes).allSatisfy(lote -> assertThat(lote).hasSizeLessThanOrEqualTo(3));
+        assertThat(lotes.stream().flatMap(List::stream).map(AtividadeInput::getDescricaoAtividade))
+                .containsExactly(IntStream.range(0, 7).mapToObj(i -> "Atividade " + i).toArray(String[]::new));
+        assertThat(ingestao.tamanhoFila()).isZero();
+        assertThat(meterRegistry.get("atividade.ingestao.lote.tamanho").summary().totalAmount()).isEqualTo(7);
+        assertThat(meterRegistry.get("atividade.ingestao.atraso").timer().count()).isEqualTo(lotes.size());
+    }
+
+    @Test
+    @DisplayName("Deve devolver o lote à frente da fila em memória e recusar novas atividades até gravá-lo")
+    void deveTentarDeNovoNaFilaEmMemoria() throws Exception {
+        properties.setIntervaloGravacao(Duration.ofMillis(500));
+        properties.setEsperaMaxima(Duration.ofMillis(500));
+        when(atividadeService.criarAtividadesIngeridas(anyList(), anyList(), anyBoolean()))
+                .thenThrow(new CannotCreateTransactionException("Banco indisponível"))
+                .thenReturn(List.of(
+                        new ResultadoLoteOutput(0, ResultadoLoteOutput.Status.CRIADA, 1L, List.of()),
+                        new ResultadoLoteOutput(1, ResultadoLoteOutput.Status.REJEITADA, null, List.of("Funcional deve ser informado")),
+                        new ResultadoLoteOutput(2, ResultadoLoteOutput.Status.CRIADA, 3L, List.of())))
+                .thenAnswer(invocacao -> criadas(invocacao.getArgument(0)));
+        IngestaoAssincronaAtividades ingestao = new IngestaoAssincronaAtividades(atividadeService, properties, meterRegistry);
+        IntStream.range(0, 3).forEach(i -> ingestao.aceitar(atividade(i)));
+        ingestao.iniciar();
+
+        verify(atividadeService, timeout(5000)).criarAtividadesIngeridas(anyList(), anyList(), anyBoolean());
+        assertThat(ingestao.aceitar(atividade(3))).isFalse();
+        assertThat(ingestao.tamanhoFila()).isEqualTo(3);
+        verify(atividadeService, timeout(5000).times(2)).criarAtividadesIngeridas(anyList(), anyList(), anyBoolean());
+        assertThat(ingestao.aceitar(atividade(4))).isTrue();
+        ingestao.encerrar();
+
+        ArgumentCaptor<List<AtividadeInput>> captor = ArgumentCaptor.forClass(List.class);
+        verify(atividadeService, times(3)).criarAtividadesIngeridas(captor.capture(), anyList(), anyBoolean());
+        assertThat(captor.getAllValues().get(0)).isEqualTo(captor.getAllValues().get(1));
+        assertThat(captor.getAllValues().get(2)).extracting(AtividadeInput::getFuncional).containsExactly("EMP4");
+        assertThat(meterRegistry.get("atividade.ingestao.recusadas").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("atividade.ingestao.descartadas").counter().count()).isZero();
+        assertThat(meterRegistry.get("atividade.ingestao.rejeitadas").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve descartar só a atividade recusada por erro de dado na fila em memória")
+    void deveDescartarSoARecusadaNaFilaEmMemoria() throws Exception {
+        properties.setTamanhoLote(4);
+        properties.setIntervaloGravacao(Duration.ofMillis(5));
+        List<String> gravadas = new ArrayList<>();
+        when(atividadeService.criarAtividadesIngeridas(anyList(), anyList(), anyBoolean())).thenAnswer(invocacao -> {
+            List<AtividadeInput> lote = invocacao.getArgument(0);
+            if (lote.stream().anyMatch(atividade -> atividade.getFuncional().equals("EMP1"))) {
+                throw new DataIntegrityViolationException("Valor fora do domínio da coluna");
+            }
+            lote.forEach(atividade -> gravadas.add(atividade.getFuncional()));
+            return criadas(lote);
+        });
+        IngestaoAssincronaAtividades ingestao = new IngestaoAssincronaAtividades(atividadeService, properties, meterRegistry);
+        IntStream.range(0, 4).forEach(i -> ingestao.aceitar(atividade(i)));
+
+        ingestao.iniciar();
+        ingestao.encerrar();
+
+        assertThat(gravadas).containsExactly("EMP0", "EMP2", "EMP3");
+        assertThat(meterRegistry.get("atividade.ingestao.descartadas").counter().count()).isEqualTo(1);
+        assertThat(ingestao.tamanhoFila()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve gravar após reiniciar as atividades que ficaram no log local")
+    void deveGravarAtividadesRecuperadasDoLog(@TempDir Path diretorio) throws Exception {
+        properties.getWal().setHabilitado(true);
+        properties.getWal().setDiretorio(diretorio);
+        when(atividadeService.criarAtividadesIngeridas(anyList(), anyList(), anyBoolean())).thenAnswer(invocacao -> IntStream.range(0, invocacao.<List<?>>getArgument(0).size())
+                .mapToObj(i -> new ResultadoLoteOutput(i, ResultadoLoteOutput.Status.CRIADA, (long) i, List.of()))
+                .toList());
+
+        IngestaoAssincronaAtividades antesDaQueda = new IngestaoAssincronaAtividades(atividadeService, properties, meterRegistry);
+        IntStream.range(0, 4).forEach(i -> assertThat(antesDaQueda.aceitar(atividade(i))).isTrue());
+        // A instância cai antes do escritor rodar: nada de encerrar()
+
+        IngestaoAssincronaAtividades aposReinicio = new IngestaoAssincronaAtividades(atividadeService, properties, new SimpleMeterRegistry());
+        assertThat(aposReinicio.tamanhoFila()).isEqualTo(4);
+        aposReinicio.iniciar();
+        aposReinicio.encerrar();
+
+        // Recuperadas de uma queda: podem já estar no banco, então vão como reentrega e com a chave do log
+        ArgumentCaptor<List<AtividadeInput>> captor = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<String>> chaves = ArgumentCaptor.forClass(List.class);
+        verify(atividadeService, atLeastOnce()).criarAtividadesIngeridas(captor.capture(), chaves.capture(), eq(true));
+        assertThat(captor.getAllValues().stream().flatMap(List::stream).map(AtividadeInput::getFuncional))
+                .containsExactly("EMP0", "EMP1", "EMP2", "EMP3");
+        assertThat(chaves.getAllValues().stream().flatMap(List::stream)).hasSize(4).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(aposReinicio.tamanhoFila()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve manter o lote no log local e tentar de novo quando a gravação falhar")
+    void deveTentarDeNovoComLogLocal(@TempDir Path diretorio) throws Exception {
+        properties.getWal().setHabilitado(true);
+        properties.getWal().setDiretorio(diretorio);
+        properties.setIntervaloGravacao(Duration.ofMillis(10));
+        when(atividadeService.criarAtividadesIngeridas(anyList(), anyList(), anyBoolean()))
+                .thenThrow(new RuntimeException("Banco indisponível"))
+                .thenReturn(List.of(
+                        new ResultadoLoteOutput(0, ResultadoLoteOutput.Status.CRIADA, 1L, List.of()),
+                        new ResultadoLoteOutput(1, ResultadoLoteOutput.Status.CRIADA, 2L, List.of())));
+        IngestaoAssincronaAtividades ingestao = new IngestaoAssincronaAtividades(atividadeService, properties, meterRegistry);
+        IntStream.range(0, 2).forEach(i -> ingestao.aceitar(atividade(i)));
+
+        ingestao.iniciar();
+        verify(atividadeService, timeout(5000).times(2)).criarAtividadesIngeridas(anyList(), anyList(), anyBoolean());
+        ingestao.encerrar();
+
+        assertThat(ingestao.tamanhoFila()).isZero();
+        assertThat(meterRegistry.get("atividade.ingestao.descartadas").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve manter o lote no log local enquanto o banco estiver fora, sem limite de tentativas")
+    void deveTentarIndefinidamenteComBancoFora(@TempDir Path diretorio) throws Exception {
+        properties.getWal().setHabilitado(true);
+        properties.getWal().setDiretorio(diretorio);
+        properties.setEsperaMaxima(Duration.ofMillis(10));
+        properties.setIntervaloGravacao(Duration.ofMillis(2));
+        when(atividadeService.criarAtividadesIngeridas(anyList(), anyList(), anyBoolean()))
+                .thenThrow(new CannotCreateTransactionException("Banco indisponível"))
+                .thenThrow(new QueryTimeoutException("Failover em andamento"))
+                .thenThrow(new CannotCreateTransactionException("Banco indisponível"))
+                .thenThrow(new CannotCreateTransactionException("Banco indisponível"))
+                .thenThrow(new CannotCreateTransactionException("Banco indisponível"))
+                .thenAnswer(invocacao -> criadas(invocacao.getArgument(0)));
+        IngestaoAssincronaAtividades ingestao = new IngestaoAssincronaAtividades(atividadeService, properties, meterRegistry);
+        IntStream.range(0, 2).forEach(i -> ingestao.aceitar(atividade(i)));
+
+        ingestao.iniciar();
+        verify(atividadeService, timeout(5000).times(6)).criarAtividadesIngeridas(anyList(), anyList(), anyBoolean());
+        ingestao.encerrar();
+
+        ArgumentCaptor<List<AtividadeInput>> captor = ArgumentCaptor.forClass(List.class);
+        verify(atividadeService, times(6)).criarAtividadesIngeridas(captor.capture(), anyList(), anyBoolean());
+        assertThat(captor.getAllValues()).allSatisfy(lote -> assertThat(lote).extracting(AtividadeInput::getFuncional).containsExactly("EMP0", "EMP1"));
+        assertThat(meterRegistry.get("atividade.ingestao.quarentena").counter().count()).isZero();
+        assertThat(ingestao.arquivosQuarentena()).isEmpty();
+        assertThat(ingestao.tamanhoFila()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve dividir o lote recusado por erro de dado e mover só a atividade culpada para a quarentena")
+    void deveIsolarAtividadeRecusadaNaQuarentena(@TempDir Path diretorio) throws Exception {
+        properties.getWal().setHabilitado(true);
+        properties.getWal().setDiretorio(diretorio);
+        properties.setTamanhoLote(5);
+        properties.setIntervaloGravacao(Duration.ofMillis(5));
+        List<String> gravadas = new ArrayList<>();
+        when(atividadeService.criarAtividadesIngeridas(anyList(), anyList(), anyBoolean())).thenAnswer(invocacao -> {
+            List<AtividadeInput> lote = invocacao.getArgument(0);
+            if (lote.stream().anyMatch(atividade -> atividade.getFuncional().equals("EMP3"))) {
+                throw new DataIntegrityViolationException("Valor fora do domínio da coluna");
+            }
+            lote.forEach(atividade -> gravadas.add(atividade.getFuncional()));
+            return criadas(lote);
+        });
+        IngestaoAssincronaAtividades ingestao = new IngestaoAssincronaAtividades(atividadeService, properties, meterRegistry);
+        IntStream.range(0, 5).forEach(i -> ingestao.aceitar(atividade(i)));
+
+        ingestao.iniciar();
+        ingestao.encerrar();
+
+        assertThat(gravadas).containsExactly("EMP0", "EMP1", "EMP2", "EMP4");
+        assertThat(meterRegistry.get("atividade.ingestao.quarentena").counter().count()).isEqualTo(1);
+        assertThat(ingestao.tamanhoFila()).isZero();
+        assertThat(ingestao.arquivosQuarentena()).hasSize(1);
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            Path quarentena = arquivos.filter(arquivo -> arquivo.getFileName().toString().startsWith("quarentena-")).findFirst().orElseThrow();
+            assertThat(LogEscritaAntecipada.lerQuarentena(quarentena)).extracting(pendente -> pendente.atividade().getFuncional())
+                    .containsExactly("EMP3");
+        }
+    }
+
+    @Test
+    @DisplayName("Deve regravar a quarentena como reentrega e apagar só os arquivos gravados")
+    void deveReprocessarQuarentena(@TempDir Path diretorio) throws Exception {
+        properties.getWal().setHabilitado(true);
+        properties.getWal().setDiretorio(diretorio);
+        properties.setIntervaloGravacao(Duration.ofMillis(5));
+        when(atividadeService.criarAtividadesIngeridas(anyList(), anyList(), anyBoolean()))
+                .thenThrow(new DataIntegrityViolationException("Valor fora do domínio da coluna"))
+                .thenThrow(new DataIntegrityViolationException("Valor fora do domínio da coluna"))
+                .thenThrow(new DataIntegrityViolationException("Valor fora do domínio da coluna"))
+                // A causa foi corrigida: o reprocessamento do primeiro arquivo grava, o segundo já estava no banco
+                .thenReturn(List.of(new ResultadoLoteOutput(0, ResultadoLoteOutput.Status.CRIADA, 1L, List.of())))
+                .thenReturn(List.of(new ResultadoLoteOutput(0, ResultadoLoteOutput.Status.REPETIDA, null, List.of())));
+        IngestaoAssincronaAtividades ingestao = new IngestaoAssincronaAtividades(atividadeService, properties, meterRegistry);
+        IntStream.range(0, 2).forEach(i -> ingestao.aceitar(atividade(i)));
+        ingestao.iniciar();
+        ingestao.encerrar();
+        assertThat(ingestao.arquivosQuarentena()).hasSize(2);
+
+        IngestaoAssincronaAtividades.ReprocessamentoQuarentena resultado = ingestao.reprocessarQuarentena();
+
+        assertThat(resultado).isEqualTo(new IngestaoAssincronaAtividades.ReprocessamentoQuarentena(2, 1, 1, 0, List.of()));
+        assertThat(ingestao.arquivosQuarentena()).isEmpty();
+        ArgumentCaptor<List<AtividadeInput>> captor = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<String>> chaves = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<Boolean> reentrega = ArgumentCaptor.forClass(Boolean.class);
+        // Um lote de duas, depois cada uma sozinha até a quarentena e, por fim, os dois arquivos reprocessados
+        verify(atividadeService, times(5)).criarAtividadesIngeridas(captor.capture(), chaves.capture(), reentrega.capture());
+        assertThat(reentrega.getAllValues()).containsExactly(false, true, true, true, true);
+        assertThat(captor.getAllValues().subList(3, 5).stream().flatMap(List::stream).map(AtividadeInput::getFuncional))
+                .containsExactly("EMP0", "EMP1");
+        assertThat(chaves.getAllValues().subList(3, 5).stream().flatMap(List::stream))
+                .containsExactlyElementsOf(chaves.getAllValues().subList(1, 3).stream().flatMap(List::stream).toList());
+    }
+
+    @Test
+    @DisplayName("Deve manter o arquivo da quarentena que falha de novo no reprocessamento")
+    void deveManterQuarentenaQueFalhaDeNovo(@TempDir Path diretorio) throws Exception {
+        properties.getWal().setHabilitado(true);
+        properties.getWal().setDiretorio(diretorio);
+        properties.setIntervaloGravacao(Duration.ofMillis(5));
+        when(atividadeService.criarAtividadesIngeridas(anyList(), anyList(), anyBoolean()))
+                .thenThrow(new DataIntegrityViolationException("Valor fora do domínio da coluna"));
+        IngestaoAssincronaAtividades ingestao = new IngestaoAssincronaAtividades(atividadeService, properties, meterRegistry);
+        ingestao.aceitar(atividade(0));
+        ingestao.iniciar();
+        ingestao.encerrar();
+
+        IngestaoAssincronaAtividades.ReprocessamentoQuarentena resultado = ingestao.reprocessarQuarentena();
+
+        assertThat(resultado.arquivos()).isZero();
+        assertThat(resultado.falhas()).singleElement().asString().contains("Valor fora do domínio da coluna");
+        assertThat(ingestao.arquivosQuarentena()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Deve tratar como erro de dado só as recusas que se repetiriam em qualquer tentativa")
+    void deveClassificarErroDeDados() {
+        assertThat(IngestaoAssincronaAtividades.erroDeDados(new DataIntegrityViolationException("chave duplicada"))).isTrue();
+        assertThat(IngestaoAssincronaAtividades.erroDeDados(new RuntimeException(new SQLDataException("Data too long")))).isTrue();
+        assertThat(IngestaoAssincronaAtividades.erroDeDados(new CannotCreateTransactionException("Banco indisponível"))).isFalse();
+        assertThat(IngestaoAssincronaAtividades.erroDeDados(new QueryTimeoutException("timeout"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve contar as reentregas que já estavam gravadas")
+    void deveContarRepetidas(@TempDir Path diretorio) throws Exception {
+        properties.getWal().setHabilitado(true);
+        properties.getWal().setDiretorio(diretorio);
+        when(atividadeService.criarAtividadesIngeridas(anyList(), anyList(), anyBoolean())).thenReturn(List.of(
+                new ResultadoLoteOutput(0, ResultadoLoteOutput.Status.REPETIDA, null, List.of()),
+                new ResultadoLoteOutput(1, ResultadoLoteOutput.Status.CRIADA, 2L, List.of())));
+        IngestaoAssincronaAtividades ingestao = new IngestaoAssincronaAtividades(atividadeService, properties, meterRegistry);
+        IntStream.range(0, 2).forEach(i -> ingestao.aceitar(atividade(i)));
+
+        ingestao.iniciar();
+        ingestao.encerrar();
+
+        assertThat(meterRegistry.get("atividade.ingestao.repetidas").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("atividade.ingestao.rejeitadas").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Não deve iniciar o escritor com a ingestão assíncrona desabilitada")
+    void naoDeveIniciarDesabilitada() throws Exception {
+        properties.setAssincrona(false);
+        IngestaoAssincronaAtividades ingestao = new IngestaoAssincronaAtividades(atividadeService, properties, meterRegistry);
+
+        ingestao.iniciar();
+        ingestao.aceitar(atividade(0));
+        ingestao.encerrar();
+
+        assertThat(ingestao.isHabilitada()).isFalse();
+        verifyNoInteractions(atividadeService);
+    }
+
+    private static List<ResultadoLoteOutput> criadas(List<?> lote) {
+        return IntStream.range(0, lote.size())
+                .mapToObj(i -> new ResultadoLoteOutput(i, ResultadoLoteOutput.Status.CRIADA, (long) i, List.of()))
+                .toList();
+    }
+
+    private static AtividadeInput atividade(int i) {
+        AtividadeInput input = new AtividadeInput();
+        input.setFuncional("EMP" + i);
+        input.setDataHora(LocalDateTime.of(2025, 6, 1, 7, 0).plusMinutes(i));
+        input.setCodigoAtividade("RUN");
+        input.setDescricaoAtividade("Atividade " + i);
+        return input;
+    }
+}
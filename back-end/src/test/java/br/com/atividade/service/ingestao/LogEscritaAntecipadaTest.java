@@ -0,0 +1,249 @@
+package br.com.atividade.service.ingestao;
+
+import br.com.atividade.config.IngestaoProperties;
+import br.com.atividade.sevice.dto.input.AtividadeInput;
+import br.com.atividade.sevice.ingestao.AtividadePendente;
+import br.com.atividade.sevice.ingestao.LogEscritaAntecipada;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Testes do LogEscritaAntecipada")
+class LogEscritaAntecipadaTest {
+
+    @TempDir
+    Path diretorio;
+
+    @ParameterizedTest
+    @EnumSource(IngestaoProperties.Sincronizacao.class)
+    @DisplayName("Deve devolver as atividades anexadas na ordem e com todos os campos em cada modo de sincronização")
+    void deveDevolverAtividadesAnexadas(IngestaoProperties.Sincronizacao sincronizacao) throws IOException {
+        try (LogEscritaAntecipada wal = LogEscritaAntecipada.abrir(configuracao(sincronizacao, DataSize.ofMegabytes(1)), 100)) {
+            AtividadeInput atividade = atividade(1);
+            atividade.setDescricaoAtividade("Natação com acentuação e emoji 🏊");
+            assertThat(wal.oferecer(atividade)).isTrue();
+            assertThat(wal.oferecer(atividade(2))).isTrue();
+
+            List<AtividadePendente> lote = wal.retirar(10);
+
+            assertThat(lote).extracting(AtividadePendente::atividade).containsExactly(atividade, atividade(2));
+            assertThat(lote.get(0).recebidaEm()).isPositive();
+            assertThat(wal.tamanho()).isEqualTo(2);
+            wal.confirmar();
+            assertThat(wal.tamanho()).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve recuperar após uma queda apenas as atividades não confirmadas")
+    void deveRecuperarNaoConfirmadas() throws IOException {
+        LogEscritaAntecipada antes = LogEscritaAntecipada.abrir(configuracao(IngestaoProperties.Sincronizacao.LOTE, DataSize.ofMegabytes(1)), 100);
+        IntStream.range(0, 5).forEach(i -> antes.oferecer(atividade(i)));
+        assertThat(antes.retirar(2)).hasSize(2);
+        antes.confirmar();
+        assertThat(antes.retirar(2)).hasSize(2);
+        // Queda: o segundo lote foi retirado mas não confirmado e o log não foi fechado
+
+        try (LogEscritaAntecipada depois = LogEscritaAntecipada.abrir(configuracao(IngestaoProperties.Sincronizacao.LOTE, DataSize.ofMegabytes(1)), 100)) {
+            assertThat(depois.tamanho()).isEqualTo(3);
+            assertThat(depois.retirar(10)).extracting(pendente -> pendente.atividade().getFuncional())
+                    .containsExactly("EMP2", "EMP3", "EMP4");
+        }
+    }
+
+    @Test
+    @DisplayName("Deve retirar o mesmo lote de novo após devolver")
+    void deveRetirarMesmoLoteAposDevolver() throws IOException {
+        try (LogEscritaAntecipada wal = LogEscritaAntecipada.abrir(configuracao(IngestaoProperties.Sincronizacao.LOTE, DataSize.ofMegabytes(1)), 100)) {
+            IntStream.range(0, 3).forEach(i -> wal.oferecer(atividade(i)));
+
+            List<AtividadePendente> primeiraTentativa = wal.retirar(2);
+            wal.devolver();
+
+            assertThat(wal.retirar(2)).extracting(AtividadePendente::atividade)
+                    .containsExactlyElementsOf(primeiraTentativa.stream().map(AtividadePendente::atividade).toList());
+            wal.confirmar();
+            assertThat(wal.retirar(2)).extracting(pendente -> pendente.atividade().getFuncional()).containsExactly("EMP2");
+        }
+    }
+
+    @Test
+    @DisplayName("Deve rolar segmentos e apagar os que já foram confirmados")
+    void deveRolarEApagarSegmentos() throws IOException {
+        try (LogEscritaAntecipada wal = LogEscritaAntecipada.abrir(configuracao(IngestaoProperties.Sincronizacao.INTERVALO, DataSize.ofKilobytes(4)), 1000)) {
+            IntStream.range(0, 200).forEach(i -> assertThat(wal.oferecer(atividade(i))).isTrue());
+            assertThat(wal.quantidadeSegmentos()).isGreaterThan(2);
+
+            assertThat(wal.retirar(1000)).hasSize(200)
+                    .extracting(pendente -> pendente.atividade().getFuncional())
+                    .containsExactlyElementsOf(IntStream.range(0, 200).mapToObj(i -> "EMP" + i).toList());
+            wal.confirmar();
+
+            assertThat(wal.quantidadeSegmentos()).isEqualTo(1);
+            assertThat(arquivos()).hasSize(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve reentregar com a mesma chave o lote devolvido e o que ficou sem confirmação na queda")
+    void deveMarcarReentregaComAMesmaChave() throws IOException {
+        LogEscritaAntecipada antes = LogEscritaAntecipada.abrir(configuracao(IngestaoProperties.Sincronizacao.LOTE, DataSize.ofMegabytes(1)), 100);
+        IntStream.range(0, 3).forEach(i -> antes.oferecer(atividade(i)));
+
+        List<AtividadePendente> primeiraTentativa = antes.retirar(2);
+        assertThat(primeiraTentativa).extracting(AtividadePendente::reentrega).containsOnly(false);
+        assertThat(primeiraTentativa).extracting(AtividadePendente::chave).doesNotContainNull().doesNotHaveDuplicates();
+        antes.devolver();
+        List<AtividadePendente> segundaTentativa = antes.retirar(2);
+        assertThat(segundaTentativa).extracting(AtividadePendente::reentrega).containsOnly(true);
+        assertThat(segundaTentativa).extracting(AtividadePendente::chave)
+                .containsExactlyElementsOf(primeiraTentativa.stream().map(AtividadePendente::chave).toList());
+        antes.confirmar();
+
+        List<AtividadePendente> naoConfirmado = antes.retirar(1);
+        assertThat(naoConfirmado.get(0).reentrega()).isFalse();
+        // Queda depois do commit no banco e antes do confirmar
+
+        try (LogEscritaAntecipada depois = LogEscritaAntecipada.abrir(configuracao(IngestaoProperties.Sincronizacao.LOTE, DataSize.ofMegabytes(1)), 100)) {
+            depois.oferecer(atividade(3));
+            List<AtividadePendente> recuperados = depois.retirar(10);
+            assertThat(recuperados).extracting(AtividadePendente::chave)
+                    .startsWith(naoConfirmado.get(0).chave())
+                    .doesNotHaveDuplicates();
+            assertThat(recuperados).extracting(AtividadePendente::reentrega).containsExactly(true, false);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve mover o lote para a quarentena e lê-lo de volta com as chaves originais")
+    void deveMoverLoteParaQuarentena() throws IOException {
+        try (LogEscritaAntecipada wal = LogEscritaAntecipada.abrir(configuracao(IngestaoProperties.Sincronizacao.LOTE, DataSize.ofMegabytes(1)), 100)) {
+            IntStream.range(0, 3).forEach(i -> wal.oferecer(atividade(i)));
+            List<AtividadePendente> lote = wal.retirar(2);
+
+            Path quarentena = wal.quarentenar(lote);
+
+            assertThat(wal.arquivosQuarentena()).containsExactly(quarentena);
+            assertThat(wal.tamanho()).isEqualTo(1);
+            assertThat(wal.retirar(10)).extracting(pendente -> pendente.atividade().getFuncional()).containsExactly("EMP2");
+            wal.confirmar();
+
+            List<AtividadePendente> lidos = LogEscritaAntecipada.lerQuarentena(quarentena);
+            assertThat(lidos).extracting(AtividadePendente::atividade).containsExactly(atividade(0), atividade(1));
+            assertThat(lidos).extracting(AtividadePendente::chave)
+                    .containsExactlyElementsOf(lote.stream().map(AtividadePendente::chave).toList());
+            assertThat(lidos).extracting(AtividadePendente::reentrega).containsOnly(true);
+        }
+        // A quarentena não é um segmento: não volta sozinha ao reabrir o log
+        try (LogEscritaAntecipada wal = LogEscritaAntecipada.abrir(configuracao(IngestaoProperties.Sincronizacao.LOTE, DataSize.ofMegabytes(1)), 100)) {
+            assertThat(wal.tamanho()).isZero();
+            assertThat(wal.arquivosQuarentena()).hasSize(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve recusar quando a capacidade de atividades pendentes for atingida")
+    void deveRecusarAcimaDaCapacidade() throws IOException {
+        try (LogEscritaAntecipada wal = LogEscritaAntecipada.abrir(configuracao(IngestaoProperties.Sincronizacao.ESCRITA, DataSize.ofMegabytes(1)), 2)) {
+            assertThat(wal.oferecer(atividade(0))).isTrue();
+            assertThat(wal.oferecer(atividade(1))).isTrue();
+            assertThat(wal.oferecer(atividade(2))).isFalse();
+
+            wal.retirar(1);
+            wal.confirmar();
+            assertThat(wal.oferecer(atividade(2))).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve descartar registro incompleto na recuperação e continuar escrevendo no lugar dele")
+    void deveDescartarRegistroIncompleto() throws IOException {
+        try (LogEscritaAntecipada wal = LogEscritaAntecipada.abrir(configuracao(IngestaoProperties.Sincronizacao.LOTE, DataSize.ofMegabytes(1)), 100)) {
+            IntStream.range(0, 3).forEach(i -> wal.oferecer(atividade(i)));
+        }
+        // Corrompe o último byte do terceiro registro, como uma escrita interrompida
+        Path segmento = arquivos().get(0);
+        try (FileChannel canal = FileChannel.open(segmento, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            int posicao = 16;
+            for (int i = 0; i < 3; i++) {
+                ByteBuffer tamanho = ByteBuffer.allocate(4);
+                canal.read(tamanho, posicao);
+                posicao += 8 + tamanho.flip().getInt();
+            }
+            canal.write(ByteBuffer.wrap(new byte[]{(byte) 0xFF}), posicao - 1);
+        }
+
+        try (LogEscritaAntecipada wal = LogEscritaAntecipada.abrir(configuracao(IngestaoProperties.Sincronizacao.LOTE, DataSize.ofMegabytes(1)), 100)) {
+            assertThat(wal.tamanho()).isEqualTo(2);
+            wal.oferecer(atividade(9));
+        }
+        try (LogEscritaAntecipada wal = LogEscritaAntecipada.abrir(configuracao(IngestaoProperties.Sincronizacao.LOTE, DataSize.ofMegabytes(1)), 100)) {
+            assertThat(wal.retirar(10)).extracting(pendente -> pendente.atividade().getFuncional())
+                    .containsExactly("EMP0", "EMP1", "EMP9");
+        }
+    }
+
+    @Test
+    @DisplayName("Deve recusar abrir segmento de outra versão da codificação")
+    void deveRecusarSegmentoDeOutraVersao() throws IOException {
+        try (LogEscritaAntecipada wal = LogEscritaAntecipada.abrir(configuracao(IngestaoProperties.Sincronizacao.LOTE, DataSize.ofMegabytes(1)), 100)) {
+            wal.oferecer(atividade(0));
+        }
+        try (FileChannel canal = FileChannel.open(arquivos().get(0), StandardOpenOption.WRITE)) {
+            canal.write(ByteBuffer.allocate(4).putInt(0, 2), 4);
+        }
+
+        assertThatThrownBy(() -> LogEscritaAntecipada.abrir(configuracao(IngestaoProperties.Sincronizacao.LOTE, DataSize.ofMegabytes(1)), 100))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("versão 2");
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar segmento menor que 4KB")
+    void deveRejeitarSegmentoPequeno() {
+        assertThatThrownBy(() -> LogEscritaAntecipada.abrir(configuracao(IngestaoProperties.Sincronizacao.LOTE, DataSize.ofBytes(1024)), 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private IngestaoProperties.Wal configuracao(IngestaoProperties.Sincronizacao sincronizacao, DataSize tamanhoSegmento) {
+        IngestaoProperties.Wal configuracao = new IngestaoProperties.Wal();
+        configuracao.setHabilitado(true);
+        configuracao.setDiretorio(diretorio);
+        configuracao.setTamanhoSegmento(tamanhoSegmento);
+        configuracao.setSincronizacao(sincronizacao);
+        configuracao.setIntervaloSincronizacao(Duration.ofMillis(10));
+        return configuracao;
+    }
+
+    private List<Path> arquivos() throws IOException {
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos.sorted().toList();
+        }
+    }
+
+    private static AtividadeInput atividade(int i) {
+        AtividadeInput input = new AtividadeInput();
+        input.setFuncional("EMP" + i);
+        input.setDataHora(LocalDateTime.of(2025, 6, 1, 7, 0, 0, 123_000_000).plusMinutes(i));
+        input.setCodigoAtividade("RUN");
+        input.setDescricaoAtividade("Atividade " + i);
+        return input;
+    }
+}
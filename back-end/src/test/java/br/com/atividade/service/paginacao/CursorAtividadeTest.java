@@ -0,0 +1,44 @@
+package br.com.atividade.service.paginacao;
+
+import br.com.atividade.sevice.paginacao.CursorAtividade;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Testes do CursorAtividade")
+class CursorAtividadeTest {
+
+    @Test
+    @DisplayName("Deve codificar e decodificar cursor preservando data/hora e ID")
+    void deveCodificarEDecodificarCursor() {
+        CursorAtividade cursor = new CursorAtividade(LocalDateTime.of(2025, 12, 25, 10, 30, 15, 123000000), 42L);
+
+        String token = cursor.codificar();
+
+        assertThat(token).doesNotContain("|", "=", "+", "/");
+        assertThat(CursorAtividade.decodificar(token)).isEqualTo(cursor);
+    }
+
+    @Test
+    @DisplayName("Deve retornar nulo ao decodificar cursor vazio")
+    void deveRetornarNuloParaCursorVazio() {
+        assertThat(CursorAtividade.decodificar(null)).isNull();
+        assertThat(CursorAtividade.decodificar(" ")).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao decodificar cursor malformado")
+    void deveLancarExcecaoParaCursorMalformado() {
+        assertThatThrownBy(() -> CursorAtividade.decodificar("nao-e-base64!"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Cursor inválido");
+
+        String semSeparador = java.util.Base64.getUrlEncoder().encodeToString("2025-01-01T10:00".getBytes());
+        assertThatThrownBy(() -> CursorAtividade.decodificar(semSeparador))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Cursor inválido");
+    }
+}
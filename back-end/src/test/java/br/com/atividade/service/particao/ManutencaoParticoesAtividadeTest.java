@@ -0,0 +1,191 @@
+package br.com.atividade.service.particao;
+
+import br.com.atividade.config.ParticionamentoProperties;
+import br.com.atividade.model.Atividade;
+import br.com.atividade.repository.AtividadeMarcaAlteracaoRepository;
+import br.com.atividade.repository.ParticaoAtividadeRepository;
+import br.com.atividade.sevice.indice.IndiceTrigramaDescricao;
+import br.com.atividade.sevice.particao.ManutencaoParticoesAtividade;
+import br.com.atividade.sevice.particao.ManutencaoParticoesAtividade.ResultadoManutencao;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do ManutencaoParticoesAtividade")
+class ManutencaoParticoesAtividadeTest {
+
+    private static final YearMonth MES_ATUAL = YearMonth.of(2025, 3);
+
+    @Mock
+    private ParticaoAtividadeRepository particaoRepository;
+
+    @Mock
+    private AtividadeMarcaAlteracaoRepository marcaAlteracaoRepository;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private SessionFactory sessionFactory;
+
+    @Mock
+    private Cache cache;
+
+    @Mock
+    private IndiceTrigramaDescricao indiceDescricao;
+
+    private ParticionamentoProperties properties;
+
+    private ManutencaoParticoesAtividade manutencao;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ParticionamentoProperties();
+        properties.setMesesAntecipados(2);
+        manutencao = new ManutencaoParticoesAtividade(particaoRepository, marcaAlteracaoRepository, properties, entityManagerFactory, indiceDescricao);
+        // Lock de manutenção livre: a operação roda na hora
+        lenient().when(particaoRepository.comLockDeManutencao(any(), any()))
+                .thenAnswer(invocation -> Optional.of(invocation.<Supplier<?>>getArgument(1).get()));
+    }
+
+    @Test
+    @DisplayName("Deve dividir p_max a partir do mês da atividade mais antiga na primeira execução")
+    void deveCriarParticoesDesdeAtividadeMaisAntiga() {
+        when(particaoRepository.isParticionamentoSuportado()).thenReturn(true);
+        when(particaoRepository.listarParticoes()).thenReturn(List.of("p_max"));
+        when(particaoRepository.primeiraDataHora()).thenReturn(Optional.of(LocalDateTime.of(2024, 12, 15, 8, 0)));
+
+        ResultadoManutencao resultado = manutencao.executar(MES_ATUAL);
+
+        List<YearMonth> esperadas = List.of(YearMonth.of(2024, 12), YearMonth.of(2025, 1), YearMonth.of(2025, 2),
+                YearMonth.of(2025, 3), YearMonth.of(2025, 4), YearMonth.of(2025, 5));
+        assertThat(resultado.criadas()).isEqualTo(esperadas);
+        assertThat(resultado.removidas()).isEmpty();
+        verify(particaoRepository).criarParticoes(esperadas);
+        verifyNoInteractions(marcaAlteracaoRepository, entityManagerFactory, indiceDescricao);
+    }
+
+    @Test
+    @DisplayName("Deve criar apenas os meses que faltam até o limite antecipado")
+    void deveCriarApenasMesesFaltantes() {
+        when(particaoRepository.isParticionamentoSuportado()).thenReturn(true);
+        when(particaoRepository.listarParticoes()).thenReturn(List.of("p202502", "p202503", "p202504", "p_max"));
+
+        ResultadoManutencao resultado = manutencao.executar(MES_ATUAL);
+
+        assertThat(resultado.criadas()).containsExactly(YearMonth.of(2025, 5));
+        verify(particaoRepository).criarParticoes(List.of(YearMonth.of(2025, 5)));
+        verify(particaoRepository, never()).primeiraDataHora();
+    }
+
+    @Test
+    @DisplayName("Deve remover partições fora da retenção, limpar o cache e reconstruir o índice")
+    void deveRemoverParticoesForaDaRetencao() {
+        properties.setRetencaoMeses(1);
+        when(particaoRepository.isParticionamentoSuportado()).thenReturn(true);
+        when(particaoRepository.listarParticoes()).thenReturn(List.of("p202412", "p202501", "p202502", "p202503", "p202504", "p202505", "p_max"));
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(cache);
+
+        ResultadoManutencao resultado = manutencao.executar(MES_ATUAL);
+
+        assertThat(resultado.criadas()).isEmpty();
+        assertThat(resultado.removidas()).containsExactly(YearMonth.of(2024, 12), YearMonth.of(2025, 1));
+        InOrder ordem = inOrder(particaoRepository, marcaAlteracaoRepository, cache, indiceDescricao);
+        ordem.verify(particaoRepository).removerParticao(YearMonth.of(2024, 12));
+        ordem.verify(particaoRepository).removerParticao(YearMonth.of(2025, 1));
+        ordem.verify(marcaAlteracaoRepository).incrementarTodas();
+        ordem.verify(cache).evictEntityData(Atividade.class);
+        ordem.verify(cache).evictQueryRegions();
+        ordem.verify(indiceDescricao).reconstruir();
+        verify(particaoRepository, never()).criarParticoes(any());
+    }
+
+    @Test
+    @DisplayName("Deve arquivar partições fora da retenção quando configurado")
+    void deveArquivarParticoesForaDaRetencao() {
+        properties.setRetencaoMeses(2);
+        properties.setAcaoRetencao(ParticionamentoProperties.AcaoRetencao.ARQUIVAR);
+        when(particaoRepository.isParticionamentoSuportado()).thenReturn(true);
+        when(particaoRepository.listarParticoes()).thenReturn(List.of("p202412", "p202501", "p202502", "p202503", "p202504", "p202505", "p_max"));
+        when(particaoRepository.arquivarParticao(YearMonth.of(2024, 12))).thenReturn("atividade_arquivo_p202412");
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(cache);
+
+        ResultadoManutencao resultado = manutencao.executar(MES_ATUAL);
+
+        assertThat(resultado.removidas()).containsExactly(YearMonth.of(2024, 12));
+        verify(particaoRepository, never()).removerParticao(any());
+        verify(indiceDescricao).reconstruir();
+    }
+
+    @Test
+    @DisplayName("Deve adiar a manutenção sem DDL quando outra instância segura o lock")
+    void deveAdiarQuandoOutraInstanciaSeguraOLock() {
+        when(particaoRepository.isParticionamentoSuportado()).thenReturn(true);
+        doReturn(Optional.empty()).when(particaoRepository).comLockDeManutencao(eq(properties.getEsperaLock()), any());
+
+        ResultadoManutencao resultado = manutencao.executar(MES_ATUAL);
+
+        assertThat(resultado.criadas()).isEmpty();
+        assertThat(resultado.removidas()).isEmpty();
+        verify(particaoRepository, never()).listarParticoes();
+        verify(particaoRepository, never()).criarParticoes(any());
+        verifyNoInteractions(marcaAlteracaoRepository, entityManagerFactory, indiceDescricao);
+    }
+
+    @Test
+    @DisplayName("Deve limpar só as cópias locais quando outra instância descartou partições")
+    void deveLimparCopiasLocaisAposDescarteDeOutraInstancia() {
+        when(particaoRepository.isParticionamentoSuportado()).thenReturn(true);
+        when(particaoRepository.listarParticoes())
+                .thenReturn(List.of("p202501", "p202502", "p202503", "p202504", "p202505", "p_max"))
+                .thenReturn(List.of("p202502", "p202503", "p202504", "p202505", "p_max"));
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(cache);
+
+        manutencao.executar(MES_ATUAL);
+        verifyNoInteractions(cache, indiceDescricao);
+
+        ResultadoManutencao resultado = manutencao.executar(MES_ATUAL);
+
+        assertThat(resultado.removidas()).isEmpty();
+        verify(cache).evictEntityData(Atividade.class);
+        verify(cache).evictQueryRegions();
+        verify(indiceDescricao).reconstruir();
+        // A instância que descartou já incrementou as marcas no banco
+        verifyNoInteractions(marcaAlteracaoRepository);
+    }
+
+    @Test
+    @DisplayName("Não deve fazer nada em bancos sem particionamento")
+    void naoDeveFazerNadaSemParticionamento() {
+        when(particaoRepository.isParticionamentoSuportado()).thenReturn(false);
+
+        ResultadoManutencao resultado = manutencao.executar(MES_ATUAL);
+
+        assertThat(resultado.criadas()).isEmpty();
+        assertThat(resultado.removidas()).isEmpty();
+        verify(particaoRepository, never()).listarParticoes();
+        verifyNoInteractions(marcaAlteracaoRepository, entityManagerFactory, indiceDescricao);
+    }
+}
@@ -0,0 +1,88 @@
+package br.com.atividade.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Envolve o DataSource da aplicação e registra cada PreparedStatement executado,
+ * com os parâmetros na ordem em que foram ligados, para que os testes possam
+ * reexecutar o mesmo SQL (ex.: com EXPLAIN na frente).
+ */
+public class CapturaSql implements BeanPostProcessor {
+
+    public record ConsultaCapturada(String sql, List<Object> parametros) {
+    }
+
+    private final List<ConsultaCapturada> consultas = new CopyOnWriteArrayList<>();
+
+    public List<ConsultaCapturada> getConsultas() {
+        return List.copyOf(consultas);
+    }
+
+    public void limpar() {
+        consultas.clear();
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return proxy(DataSource.class, dataSource, (metodo, args, resultado) ->
+                    resultado instanceof Connection conexao ? proxyConexao(conexao) : resultado);
+        }
+        return bean;
+    }
+
+    private Connection proxyConexao(Connection conexao) {
+        return proxy(Connection.class, conexao, (metodo, args, resultado) -> {
+            if (metodo.getName().equals("prepareStatement") && resultado instanceof PreparedStatement statement) {
+                return proxyStatement(statement, (String) args[0]);
+            }
+            return resultado;
+        });
+    }
+
+    private PreparedStatement proxyStatement(PreparedStatement statement, String sql) {
+        Map<Integer, Object> parametros = new TreeMap<>();
+        return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{PreparedStatement.class},
+                (proxy, metodo, args) -> {
+                    String nome = metodo.getName();
+                    if (nome.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer indice) {
+                        parametros.put(indice, nome.equals("setNull") ? null : args[1]);
+                    } else if (nome.startsWith("execute")) {
+                        consultas.add(new ConsultaCapturada(sql, new ArrayList<>(parametros.values())));
+                    }
+                    return invocar(statement, metodo, args);
+                });
+    }
+
+    @FunctionalInterface
+    private interface PosProcessamento {
+        Object aplicar(Method metodo, Object[] args, Object resultado);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T proxy(Class<T> tipo, T alvo, PosProcessamento posProcessamento) {
+        InvocationHandler handler = (proxy, metodo, args) -> posProcessamento.aplicar(metodo, args, invocar(alvo, metodo, args));
+        return (T) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{tipo}, handler);
+    }
+
+    private static Object invocar(Object alvo, Method metodo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(alvo, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package br.com.atividade.support;
+
+import br.com.atividade.AtividadeApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Carga em modelo fechado para os benchmarks de vazão: cada cliente, em uma thread virtual, cria uma atividade,
+ * busca pelo ID e lista as do seu funcional, em laço, até o fim do tempo. Também sobe a aplicação com H2 em
+ * memória e porta aleatória, e desvia o console para um arquivo, para que os logs não disputem a CPU com a medição.
+ */
+public final class CargaFechada {
+
+    private static final Pattern ID = Pattern.compile("\"idAtividade\":(\\d+)");
+
+    private CargaFechada() {
+    }
+
+    public static ConfigurableApplicationContext iniciar(String banco, String... argumentos) {
+        return iniciar(List.of(), banco, argumentos);
+    }
+
+    // Sem show-sql e sem o log dos binds do Hibernate; o nível de br.com.atividade fica com quem chama
+    public static ConfigurableApplicationContext iniciar(List<Class<?>> configuracoes, String banco, String... argumentos) {
+        List<String> todos = new ArrayList<>(List.of("--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:" + banco + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.org.hibernate.SQL=INFO",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"));
+        todos.addAll(List.of(argumentos));
+        List<Class<?>> fontes = new ArrayList<>(List.of(AtividadeApplication.class));
+        fontes.addAll(configuracoes);
+        return new SpringApplicationBuilder(fontes.toArray(Class<?>[]::new))
+                .profiles("test")
+                .run(todos.toArray(String[]::new));
+    }
+
+    public static String urlAtividades(ConfigurableApplicationContext contexto) {
+        return "http://localhost:" + contexto.getEnvironment().getRequiredProperty("local.server.port") + "/atividades";
+    }
+
+    /**
+     * Executa a carga por {@code segundos} e devolve o total de requisições. Cada cliente usa o funcional
+     * {@code prefixo + número} e lista com {@code ?funcional=...} seguido de {@code filtros} (ex.: {@code &limite=20}).
+     */
+    public static long executar(String base, String prefixo, String filtros, int clientes, int segundos) throws Exception {
+        AtomicLong requisicoes = new AtomicLong();
+        long fim = System.nanoTime() + Duration.ofSeconds(segundos).toNanos();
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(threads).build();
+            List<Future<?>> execucoes = new ArrayList<>();
+            for (int c = 0; c < clientes; c++) {
+                String funcional = prefixo + c;
+                execucoes.add(threads.submit(() -> {
+                    int i = 0;
+                    while (System.nanoTime() < fim) {
+                        String corpo = "{\"funcional\":\"" + funcional + "\",\"dataHora\":\"2025-03-01T07:00:00\","
+                                + "\"codigoAtividade\":\"RUN\",\"descricaoAtividade\":\"Corrida " + i++ + "\"}";
+                        HttpResponse<String> criada = http.send(HttpRequest.newBuilder(URI.create(base))
+                                .header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofString(corpo)).build(), HttpResponse.BodyHandlers.ofString());
+                        assertThat(criada.statusCode()).isEqualTo(201);
+                        Matcher id = ID.matcher(criada.body());
+                        assertThat(id.find()).isTrue();
+
+                        assertThat(http.send(HttpRequest.newBuilder(URI.create(base + "/" + id.group(1))).GET().build(),
+                                HttpResponse.BodyHandlers.discarding()).statusCode()).isEqualTo(200);
+                        assertThat(http.send(HttpRequest.newBuilder(URI.create(base + "?funcional=" + funcional + filtros)).GET().build(),
+                                HttpResponse.BodyHandlers.discarding()).statusCode()).isEqualTo(200);
+                        requisicoes.addAndGet(3);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> execucao : execucoes) {
+                execucao.get();
+            }
+        }
+        return requisicoes.get();
+    }
+
+    public static SaidaDesviada desviarSaida(Path arquivo) throws IOException {
+        Files.createDirectories(arquivo.toAbsolutePath().getParent());
+        return desviarSaida(new BufferedOutputStream(new FileOutputStream(arquivo.toFile())));
+    }
+
+    public static SaidaDesviada desviarSaida(OutputStream destino) {
+        return new SaidaDesviada(destino);
+    }
+
+    // Enquanto aberta, System.out escreve no destino; ao fechar, volta ao console original
+    public static final class SaidaDesviada implements AutoCloseable {
+
+        private final PrintStream original = System.out;
+        private final PrintStream destino;
+
+        private SaidaDesviada(OutputStream destino) {
+            this.destino = new PrintStream(destino, false);
+            System.setOut(this.destino);
+        }
+
+        @Override
+        public void close() {
+            System.setOut(original);
+            destino.close();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package br.com.atividade.support;
+
+import br.com.atividade.config.consultas.ContagemConsultasFilter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+/**
+ * Orçamento de comandos SQL por requisição para os testes com MockMvc, lido do cabeçalho
+ * X-Comandos-Sql (atividade.consultas.cabecalhos=true no profile test). Uma mudança que
+ * acrescente consultas a uma rota (ex.: N+1) falha o build em vez de aparecer em produção.
+ */
+public final class OrcamentoConsultas {
+
+    private OrcamentoConsultas() {
+    }
+
+    public static ResultMatcher noMaximo(int comandos) {
+        return resultado -> {
+            MockHttpServletRequest request = resultado.getRequest();
+            String cabecalho = resultado.getResponse().getHeader(ContagemConsultasFilter.CABECALHO_COMANDOS);
+            if (cabecalho == null) {
+                throw new AssertionError("Resposta de " + request.getMethod() + " " + request.getRequestURI()
+                        + " sem o cabeçalho " + ContagemConsultasFilter.CABECALHO_COMANDOS);
+            }
+            int executados = Integer.parseInt(cabecalho);
+            if (executados > comandos) {
+                throw new AssertionError(request.getMethod() + " " + request.getRequestURI() + " executou " + executados
+                        + " comandos SQL; o orçamento é de " + comandos);
+            }
+        };
+    }
+}
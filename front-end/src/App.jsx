@@ -11,6 +11,9 @@ function App() {
   const [mostrarFormulario, setMostrarFormulario] = useState(false);
   const [atividadeEditando, setAtividadeEditando] = useState(null);
   const [apiStatus, setApiStatus] = useState("checking");
+  const [filtrosAtuais, setFiltrosAtuais] = useState({});
+  const [proximoCursor, setProximoCursor] = useState(null);
+  const [carregandoMais, setCarregandoMais] = useState(false);
 
   const verificarStatusAPI = async () => {
     try {
@@ -30,8 +33,10 @@ function App() {
   const carregarAtividades = async (filtros = {}) => {
     setCarregando(true);
     try {
-      const dados = await atividadeService.listar(filtros);
-      setAtividades(dados);
+      const pagina = await atividadeService.listar(filtros);
+      setAtividades(pagina.atividades);
+      setProximoCursor(pagina.proximoCursor);
+      setFiltrosAtuais(filtros);
       setApiStatus("online");
     } catch (error) {
       console.error("Erro ao carregar atividades:", error);
@@ -41,12 +46,26 @@ function App() {
     }
   };
 
+  const carregarMaisAtividades = async () => {
+    setCarregandoMais(true);
+    try {
+      const pagina = await atividadeService.listar(filtrosAtuais, proximoCursor);
+      setAtividades((anteriores) => [...anteriores, ...pagina.atividades]);
+      setProximoCursor(pagina.proximoCursor);
+    } catch (error) {
+      console.error("Erro ao carregar mais atividades:", error);
+    } finally {
+      setCarregandoMais(false);
+    }
+  };
+
   const handleSalvarAtividade = async (dadosAtividade) => {
     try {
       if (atividadeEditando) {
         await atividadeService.atualizar(
           atividadeEditando.idAtividade,
-          dadosAtividade
+          dadosAtividade,
+          atividadeEditando.versao
         );
         alert("Atividade atualizada com sucesso!");
       } else {
@@ -59,6 +78,13 @@ function App() {
       setMostrarFormulario(false);
       setAtividadeEditando(null);
     } catch (error) {
+      if (error.response?.status === 412) {
+        alert("Esta atividade foi alterada por outra pessoa. A lista será recarregada.");
+        await carregarAtividades();
+        setMostrarFormulario(false);
+        setAtividadeEditando(null);
+        return;
+      }
       console.error("Erro ao salvar atividade:", error);
       throw error;
     }
@@ -133,6 +159,18 @@ function App() {
             carregando={carregando}
           />
 
+          {!carregando && proximoCursor && (
+            <div className="carregar-mais">
+              <button
+                onClick={carregarMaisAtividades}
+                className="botao-carregar-mais"
+                disabled={carregandoMais}
+              >
+                {carregandoMais ? "Carregando..." : "Carregar mais"}
+              </button>
+            </div>
+          )}
+
           {/* Formulário Modal */}
           {mostrarFormulario && (
             <FormularioAtividade
@@ -19,7 +19,7 @@ const api = axios.create({
 });
 
 export const atividadeService = {
-  listar: async (filtros = {}) => {
+  listar: async (filtros = {}, cursor = null) => {
     try {
       const params = new URLSearchParams();
       if (filtros.funcional) params.append("funcional", filtros.funcional);
@@ -29,18 +29,20 @@ export const atividadeService = {
         params.append("descricaoAtividade", filtros.descricaoAtividade);
       if (filtros.dataInicio) params.append("dataInicio", filtros.dataInicio);
       if (filtros.dataFim) params.append("dataFim", filtros.dataFim);
+      if (cursor) params.append("cursor", cursor);
 
       const response = await api.get(`/atividades?${params}`);
+      const proximoCursor = response.headers["x-proximo-cursor"] || null;
 
       if (Array.isArray(response.data)) {
-        return response.data;
+        return { atividades: response.data, proximoCursor };
       } else {
         console.error("Resposta inesperada da API:", response.data);
-        return [];
+        return { atividades: [], proximoCursor: null };
       }
     } catch (error) {
       console.error("Erro ao listar atividades:", error);
-      return [];
+      return { atividades: [], proximoCursor: null };
     }
   },
 
@@ -54,8 +56,9 @@ export const atividadeService = {
     return response.data;
   },
 
-  atualizar: async (id, atividade) => {
-    const response = await api.put(`/atividades/${id}`, atividade);
+  atualizar: async (id, atividade, versao) => {
+    const headers = versao != null ? { "If-Match": `"${versao}"` } : {};
+    const response = await api.put(`/atividades/${id}`, atividade, { headers });
     return response.data;
   },
 